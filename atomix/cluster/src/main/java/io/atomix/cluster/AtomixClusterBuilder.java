@@ -20,6 +20,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.Lists;
 import io.atomix.cluster.discovery.NodeDiscoveryProvider;
+import io.atomix.cluster.messaging.ConnectionClass;
 import io.atomix.cluster.protocol.GroupMembershipProtocol;
 import io.atomix.cluster.protocol.GroupMembershipProtocolConfig;
 import io.atomix.cluster.protocol.HeartbeatMembershipProtocol;
@@ -366,6 +367,70 @@ public class AtomixClusterBuilder implements Builder<AtomixCluster> {
     return this;
   }
 
+  /**
+   * Sets the number of dedicated connections to each peer for the given connection class.
+   *
+   * <p>Messages of a class with dedicated connections never share a connection with other messages,
+   * such that large messages of one class cannot delay small messages of another. Within the class,
+   * messages are assigned to a connection by their partition. If 0, the messages of the class share
+   * the regular connection pool.
+   *
+   * @param connectionClass the connection class
+   * @param connectionPoolSize the number of dedicated connections
+   * @return the cluster builder
+   */
+  public AtomixClusterBuilder withConnectionPoolSize(
+      final ConnectionClass connectionClass, final int connectionPoolSize) {
+    config.getMessagingConfig().setConnectionPoolSize(connectionClass, connectionPoolSize);
+    return this;
+  }
+
+  /**
+   * Sets whether the messaging service uses the native epoll transport, if it is available.
+   *
+   * @param nativeTransportEnabled true to use the native transport when available
+   * @return the cluster builder
+   */
+  public AtomixClusterBuilder withNativeTransportEnabled(final boolean nativeTransportEnabled) {
+    config.getMessagingConfig().setNativeTransportEnabled(nativeTransportEnabled);
+    return this;
+  }
+
+  /**
+   * Sets whether the messaging service sets TCP_QUICKACK on its connections. This only has an
+   * effect with the native epoll transport.
+   *
+   * @param tcpQuickAckEnabled true to set TCP_QUICKACK
+   * @return the cluster builder
+   */
+  public AtomixClusterBuilder withTcpQuickAckEnabled(final boolean tcpQuickAckEnabled) {
+    config.getMessagingConfig().setTcpQuickAckEnabled(tcpQuickAckEnabled);
+    return this;
+  }
+
+  /**
+   * Sets the number of threads of the messaging service which accept incoming connections.
+   *
+   * @param acceptorThreads the number of acceptor threads
+   * @return the cluster builder
+   */
+  public AtomixClusterBuilder withMessagingAcceptorThreads(final int acceptorThreads) {
+    config.getMessagingConfig().setAcceptorThreads(acceptorThreads);
+    return this;
+  }
+
+  /**
+   * Sets the number of event loop threads of the messaging service which handle the traffic of all
+   * connections. If 0, Netty's default is used.
+   *
+   * @param workerThreads the number of worker threads
+   * @return the cluster builder
+   */
+  public AtomixClusterBuilder withMessagingWorkerThreads(final int workerThreads) {
+    config.getMessagingConfig().setWorkerThreads(workerThreads);
+    return this;
+  }
+
   /**
    * Sets the reachability broadcast interval.
    *
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.messaging;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Classes of messages which can be sent over dedicated connections, such that large messages of one
+ * class cannot delay small messages of another class on the same TCP connection.
+ *
+ * <p>A message is classified by its type. Within a class, messages are assigned to a connection by
+ * their partition key, such that large messages of one partition cannot delay the messages of
+ * another partition either, as long as the class has enough connections.
+ */
+public enum ConnectionClass {
+  /** Raft append requests and heartbeats. */
+  REPLICATION,
+  /** Raft install requests, which carry snapshot chunks. */
+  SNAPSHOT,
+  /** Requests from the gateway to the command API of a partition. */
+  COMMAND,
+  /** Cluster membership and gossip messages. */
+  GOSSIP;
+
+  // raft subjects are formatted as "<partition name>-<type>", see RaftMessageContext
+  private static final List<String> REPLICATION_SUFFIXES =
+      List.of("-append", "-leaderHeartbeat", "-heartbeats");
+  private static final String SNAPSHOT_SUFFIX = "-install";
+  private static final String COMMAND_PREFIX = "command-api-";
+  private static final String GOSSIP_PREFIX = "atomix-membership";
+  private static final String CLUSTER_MEMBERSHIP_PREFIX = "atomix-cluster-membership";
+
+  /**
+   * Returns the class of the given message type, if it belongs to one.
+   *
+   * @param messageType the message type to classify
+   * @return the class of the message type, or empty if it does not belong to any class
+   */
+  public static Optional<ConnectionClass> of(final String messageType) {
+    if (getReplicationSuffix(messageType) != null) {
+      return Optional.of(REPLICATION);
+    } else if (messageType.endsWith(SNAPSHOT_SUFFIX)) {
+      return Optional.of(SNAPSHOT);
+    } else if (messageType.startsWith(COMMAND_PREFIX)) {
+      return Optional.of(COMMAND);
+    } else if (messageType.startsWith(GOSSIP_PREFIX)
+        || messageType.startsWith(CLUSTER_MEMBERSHIP_PREFIX)) {
+      return Optional.of(GOSSIP);
+    }
+
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the key by which a message type is assigned to a connection of its class. For raft
+   * messages, this is the partition name, such that all messages of a partition and class share a
+   * connection; the command API already uses a message type per partition.
+   *
+   * @param messageType the message type
+   * @return the partition key of the message type
+   */
+  public static String partitionKey(final String messageType) {
+    final String replicationSuffix = getReplicationSuffix(messageType);
+    if (replicationSuffix != null) {
+      return messageType.substring(0, messageType.length() - replicationSuffix.length());
+    } else if (messageType.endsWith(SNAPSHOT_SUFFIX)) {
+      return messageType.substring(0, messageType.length() - SNAPSHOT_SUFFIX.length());
+    }
+
+    return messageType;
+  }
+
+  private static String getReplicationSuffix(final String messageType) {
+    for (final String suffix : REPLICATION_SUFFIXES) {
+      if (messageType.endsWith(suffix)) {
+        return suffix;
+      }
+    }
+
+    return null;
+  }
+}
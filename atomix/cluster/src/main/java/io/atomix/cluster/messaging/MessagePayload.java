@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.messaging;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A message payload which is written into a pooled buffer when it is created, such that the source
+ * of the payload can be reused right away without allocating a new byte array for every message.
+ *
+ * <p>A payload which is sent as request is shared with the messaging service without copying it,
+ * and can be sent again, e.g. on retries; its creator releases it once it is no longer needed. A
+ * payload which completes the response of a buffer handler is owned by the messaging service, which
+ * releases it once it was sent.
+ */
+public final class MessagePayload implements BufferWriter {
+
+  private final ByteBuf buffer;
+
+  private MessagePayload(final ByteBuf buffer) {
+    this.buffer = buffer;
+  }
+
+  /**
+   * Writes the given writer into a new pooled buffer.
+   *
+   * @param writer the writer of the payload
+   * @return the payload
+   */
+  public static MessagePayload copyOf(final BufferWriter writer) {
+    final int length = writer.getLength();
+    final ByteBuf buffer = PooledByteBufAllocator.DEFAULT.directBuffer(length, length);
+    try {
+      writer.write(new UnsafeBuffer(buffer.nioBuffer(0, length)), 0);
+    } catch (final RuntimeException e) {
+      buffer.release();
+      throw e;
+    }
+
+    buffer.writerIndex(length);
+    return new MessagePayload(buffer);
+  }
+
+  /**
+   * Returns the buffer which holds the payload.
+   *
+   * @return the pooled buffer of the payload
+   */
+  public ByteBuf buffer() {
+    return buffer;
+  }
+
+  /**
+   * Copies the payload into a new byte array and releases its buffer.
+   *
+   * @return the payload bytes
+   */
+  public byte[] toByteArrayAndRelease() {
+    try {
+      final byte[] bytes = new byte[buffer.readableBytes()];
+      buffer.getBytes(buffer.readerIndex(), bytes);
+      return bytes;
+    } finally {
+      buffer.release();
+    }
+  }
+
+  /** Releases the buffer of a payload which is not handed to the messaging service. */
+  public void release() {
+    buffer.release();
+  }
+
+  @Override
+  public int getLength() {
+    return buffer.readableBytes();
+  }
+
+  @Override
+  public void write(final MutableDirectBuffer destination, final int offset) {
+    final int length = getLength();
+    destination.putBytes(offset, buffer.nioBuffer(buffer.readerIndex(), length), 0, length);
+  }
+}
@@ -17,16 +17,27 @@
 package io.atomix.cluster.messaging;
 
 import io.atomix.utils.config.Config;
+import io.atomix.utils.memory.MemorySize;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /** Messaging configuration. */
 public class MessagingConfig implements Config {
   private List<String> interfaces = new ArrayList<>();
   private Integer port;
   private int connectionPoolSize = 8;
+  private final Map<ConnectionClass, Integer> connectionClassPoolSizes =
+      new EnumMap<>(ConnectionClass.class);
   private Duration connectTimeout = Duration.ofSeconds(10);
+  private int maxMessagesPerFlush = 64;
+  private MemorySize maxBytesPerFlush = MemorySize.from(256 * 1024);
+  private boolean nativeTransportEnabled = true;
+  private boolean tcpQuickAckEnabled = false;
+  private int acceptorThreads = 1;
+  private int workerThreads = 0;
 
   /**
    * Returns the local interfaces to which to bind the node.
@@ -88,6 +99,32 @@ public class MessagingConfig implements Config {
     return this;
   }
 
+  /**
+   * Returns the number of dedicated connections to each peer for the given connection class.
+   *
+   * @param connectionClass the connection class
+   * @return the number of dedicated connections, or 0 if the class uses the shared connections
+   */
+  public int getConnectionPoolSize(final ConnectionClass connectionClass) {
+    return connectionClassPoolSizes.getOrDefault(connectionClass, 0);
+  }
+
+  /**
+   * Sets the number of dedicated connections to each peer for the given connection class. Messages
+   * of the class are then only sent over these connections, assigned by their partition key, and
+   * never share a connection with messages of another class. If 0, messages of the class share the
+   * connections of the regular connection pool with all other messages.
+   *
+   * @param connectionClass the connection class
+   * @param connectionPoolSize the number of dedicated connections, or 0 to use the shared ones
+   * @return the messaging configuration
+   */
+  public MessagingConfig setConnectionPoolSize(
+      final ConnectionClass connectionClass, final int connectionPoolSize) {
+    connectionClassPoolSizes.put(connectionClass, connectionPoolSize);
+    return this;
+  }
+
   /**
    * Returns the Netty connection timeout.
    *
@@ -107,4 +144,134 @@ public class MessagingConfig implements Config {
     this.connectTimeout = connectTimeout;
     return this;
   }
+
+  /**
+   * Returns the maximum number of messages which are written to a connection before flushing it.
+   *
+   * @return the maximum number of messages per flush
+   */
+  public int getMaxMessagesPerFlush() {
+    return maxMessagesPerFlush;
+  }
+
+  /**
+   * Sets the maximum number of messages which are written to a connection before flushing it.
+   * Messages which are sent at the same time are written together and flushed once, up to this
+   * number of messages. Setting it to 1 flushes every message on its own.
+   *
+   * @param maxMessagesPerFlush the maximum number of messages per flush
+   * @return the messaging configuration
+   */
+  public MessagingConfig setMaxMessagesPerFlush(final int maxMessagesPerFlush) {
+    this.maxMessagesPerFlush = maxMessagesPerFlush;
+    return this;
+  }
+
+  /**
+   * Returns the maximum number of payload bytes which are written to a connection before flushing
+   * it.
+   *
+   * @return the maximum number of bytes per flush
+   */
+  public MemorySize getMaxBytesPerFlush() {
+    return maxBytesPerFlush;
+  }
+
+  /**
+   * Sets the maximum number of payload bytes which are written to a connection before flushing it.
+   * A flush always contains at least one message, even if it is larger.
+   *
+   * @param maxBytesPerFlush the maximum number of bytes per flush
+   * @return the messaging configuration
+   */
+  public MessagingConfig setMaxBytesPerFlush(final MemorySize maxBytesPerFlush) {
+    this.maxBytesPerFlush = maxBytesPerFlush;
+    return this;
+  }
+
+  /**
+   * Returns whether the native epoll transport is used, if it is available on this platform.
+   *
+   * @return true if the native transport is used when available
+   */
+  public boolean isNativeTransportEnabled() {
+    return nativeTransportEnabled;
+  }
+
+  /**
+   * Sets whether the native epoll transport is used, if it is available on this platform.
+   * Otherwise, or if it is not available, the NIO transport is used.
+   *
+   * @param nativeTransportEnabled true to use the native transport when available
+   * @return the messaging configuration
+   */
+  public MessagingConfig setNativeTransportEnabled(final boolean nativeTransportEnabled) {
+    this.nativeTransportEnabled = nativeTransportEnabled;
+    return this;
+  }
+
+  /**
+   * Returns whether TCP_QUICKACK is set on connections of the native transport.
+   *
+   * @return true if TCP_QUICKACK is set
+   */
+  public boolean isTcpQuickAckEnabled() {
+    return tcpQuickAckEnabled;
+  }
+
+  /**
+   * Sets whether TCP_QUICKACK is set on connections of the native transport, which sends ACKs
+   * immediately instead of delaying them. Has no effect with the NIO transport.
+   *
+   * @param tcpQuickAckEnabled true to set TCP_QUICKACK
+   * @return the messaging configuration
+   */
+  public MessagingConfig setTcpQuickAckEnabled(final boolean tcpQuickAckEnabled) {
+    this.tcpQuickAckEnabled = tcpQuickAckEnabled;
+    return this;
+  }
+
+  /**
+   * Returns the number of threads which accept incoming connections.
+   *
+   * @return the number of acceptor threads
+   */
+  public int getAcceptorThreads() {
+    return acceptorThreads;
+  }
+
+  /**
+   * Sets the number of threads which accept incoming connections. With the native transport and
+   * more than one thread, every thread binds its own server socket with SO_REUSEPORT, such that the
+   * kernel distributes incoming connections between them. With the NIO transport, only a single
+   * thread accepts connections.
+   *
+   * @param acceptorThreads the number of acceptor threads
+   * @return the messaging configuration
+   */
+  public MessagingConfig setAcceptorThreads(final int acceptorThreads) {
+    this.acceptorThreads = acceptorThreads;
+    return this;
+  }
+
+  /**
+   * Returns the number of event loop threads which handle the traffic of all connections.
+   *
+   * @return the number of worker threads, or 0 for the Netty default
+   */
+  public int getWorkerThreads() {
+    return workerThreads;
+  }
+
+  /**
+   * Sets the number of event loop threads which handle the traffic of all connections, incoming and
+   * outgoing. If 0, Netty's default of twice the number of available processors is used.
+   *
+   * @param workerThreads the number of worker threads, or 0 for the Netty default
+   * @return the messaging configuration
+   */
+  public MessagingConfig setWorkerThreads(final int workerThreads) {
+    this.workerThreads = workerThreads;
+    return this;
+  }
 }
@@ -17,12 +17,15 @@
 package io.atomix.cluster.messaging;
 
 import io.atomix.utils.net.Address;
+import io.zeebe.util.buffer.BufferWriter;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 /** Interface for low level messaging primitives. */
 public interface MessagingService {
@@ -186,6 +189,30 @@ public interface MessagingService {
       Duration timeout,
       Executor executor);
 
+  /**
+   * Sends a message asynchronously and expects a response. The payload is written into a pooled
+   * buffer before this method returns, instead of a new byte array, such that the caller can reuse
+   * it right away. A {@link MessagePayload} is sent without copying it again; it stays owned by the
+   * caller, which can send it again or release it once it is no longer needed.
+   *
+   * @param address address to send the message to.
+   * @param type type of message.
+   * @param payload writer of the message payload.
+   * @param keepAlive whether to keep the connection alive after usage
+   * @param timeout response timeout
+   * @return a response future
+   */
+  default CompletableFuture<byte[]> sendAndReceive(
+      final Address address,
+      final String type,
+      final BufferWriter payload,
+      final boolean keepAlive,
+      final Duration timeout) {
+    final byte[] bytes = new byte[payload.getLength()];
+    payload.write(new UnsafeBuffer(bytes), 0);
+    return sendAndReceive(address, type, bytes, keepAlive, timeout);
+  }
+
   /**
    * Registers a new message handler for message type.
    *
@@ -212,6 +239,26 @@ public interface MessagingService {
    */
   void registerHandler(String type, BiFunction<Address, byte[], CompletableFuture<byte[]>> handler);
 
+  /**
+   * Registers a new message handler for message type, which receives the payload as a view of the
+   * received frame instead of a copy of it. The view is only valid until the future returned by the
+   * handler is completed, and must not be accessed afterwards. The handler completes the future
+   * with a pooled response payload, which is then owned and released by the messaging service.
+   *
+   * @param type message type.
+   * @param handler message handler
+   */
+  default void registerBufferHandler(
+      final String type,
+      final BiFunction<Address, DirectBuffer, CompletableFuture<MessagePayload>> handler) {
+    registerHandler(
+        type,
+        (sender, payload) ->
+            handler
+                .apply(sender, new UnsafeBuffer(payload))
+                .thenApply(MessagePayload::toByteArrayAndRelease));
+  }
+
   /**
    * Unregister current handler, if one exists for message type.
    *
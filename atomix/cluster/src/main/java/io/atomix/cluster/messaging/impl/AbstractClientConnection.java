@@ -56,6 +56,15 @@ abstract class AbstractClientConnection implements ClientConnection {
 
   @Override
   public void dispatch(final ProtocolReply message) {
+    try {
+      complete(message);
+    } finally {
+      // replies of local requests may hold the pooled buffer of the response
+      message.release();
+    }
+  }
+
+  private void complete(final ProtocolReply message) {
     final Callback callback = callbacks.remove(message.id());
     if (callback != null) {
       if (message.status() == ProtocolReply.Status.OK) {
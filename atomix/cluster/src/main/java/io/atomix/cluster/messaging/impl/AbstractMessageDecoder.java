@@ -20,6 +20,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,8 +28,17 @@ import org.slf4j.LoggerFactory;
 abstract class AbstractMessageDecoder extends ByteToMessageDecoder {
 
   static final byte[] EMPTY_PAYLOAD = new byte[0];
+
+  /**
+   * Maximum number of request payloads per channel which are handed to the handlers as retained
+   * slices of the inbound buffer. Every retained slice pins the buffer it was read from, and forces
+   * the cumulator to copy instead of appending to it, so requests beyond this bound are copied out.
+   */
+  static final int MAX_RETAINED_REQUESTS = 64;
+
   private static final Escape ESCAPE = new Escape();
   private final Logger log = LoggerFactory.getLogger(getClass());
+  private final AtomicInteger retainedRequests = new AtomicInteger();
 
   static int readInt(final ByteBuf buffer) {
     if (buffer.readableBytes() < 5) {
@@ -243,6 +253,30 @@ abstract class AbstractMessageDecoder extends ByteToMessageDecoder {
     }
   }
 
+  /**
+   * Reads the content of a request as retained slice of the given buffer, as long as less than
+   * {@link #MAX_RETAINED_REQUESTS} slices of this channel are still retained.
+   *
+   * @return the retained slice, or null if the content has to be copied instead
+   */
+  ByteBuf tryReadRetainedRequestContent(final ByteBuf buffer, final int length) {
+    if (retainedRequests.get() >= MAX_RETAINED_REQUESTS) {
+      return null;
+    }
+
+    retainedRequests.incrementAndGet();
+    return buffer.readRetainedSlice(length);
+  }
+
+  /** Called once a request created from a retained slice was released. */
+  void onRetainedRequestReleased() {
+    retainedRequests.decrementAndGet();
+  }
+
+  int getRetainedRequests() {
+    return retainedRequests.get();
+  }
+
   @Override
   public void exceptionCaught(final ChannelHandlerContext context, final Throwable cause) {
     try {
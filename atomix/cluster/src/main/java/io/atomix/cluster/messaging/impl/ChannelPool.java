@@ -18,10 +18,12 @@ package io.atomix.cluster.messaging.impl;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import io.atomix.cluster.messaging.ConnectionClass;
 import io.atomix.utils.net.Address;
 import io.netty.channel.Channel;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -29,18 +31,47 @@ import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Internal Netty channel pool. */
+/**
+ * Internal Netty channel pool.
+ *
+ * <p>Each address has a shared set of channels, to which message types are assigned by their hash.
+ * A {@link ConnectionClass} can additionally have its own set of channels, in which case messages
+ * of that class are assigned to one of them by their partition key instead.
+ */
 class ChannelPool {
   private static final Logger LOGGER = LoggerFactory.getLogger(ChannelPool.class);
 
   private final Function<Address, CompletableFuture<Channel>> factory;
   private final int size;
+  private final int totalSize;
+  private final Map<ConnectionClass, Integer> classSizes = new EnumMap<>(ConnectionClass.class);
+  private final Map<ConnectionClass, Integer> classOffsets = new EnumMap<>(ConnectionClass.class);
+  private final Map<String, Integer> channelOffsets = Maps.newConcurrentMap();
   private final Map<InetSocketAddress, List<CompletableFuture<Channel>>> channels =
       Maps.newConcurrentMap();
 
   ChannelPool(final Function<Address, CompletableFuture<Channel>> factory, final int size) {
+    this(factory, size, Map.of());
+  }
+
+  ChannelPool(
+      final Function<Address, CompletableFuture<Channel>> factory,
+      final int size,
+      final Map<ConnectionClass, Integer> classSizes) {
     this.factory = factory;
     this.size = size;
+
+    // dedicated channels of each class are placed after the shared channels
+    int offset = size;
+    for (final ConnectionClass connectionClass : ConnectionClass.values()) {
+      final int classSize = classSizes.getOrDefault(connectionClass, 0);
+      if (classSize > 0) {
+        this.classSizes.put(connectionClass, classSize);
+        classOffsets.put(connectionClass, offset);
+        offset += classSize;
+      }
+    }
+    totalSize = offset;
   }
 
   /**
@@ -58,8 +89,8 @@ class ChannelPool {
     return channels.computeIfAbsent(
         targetAddress,
         e -> {
-          final List<CompletableFuture<Channel>> defaultList = new ArrayList<>(size);
-          for (int i = 0; i < size; i++) {
+          final List<CompletableFuture<Channel>> defaultList = new ArrayList<>(totalSize);
+          for (int i = 0; i < totalSize; i++) {
             defaultList.add(null);
           }
           return Lists.newCopyOnWriteArrayList(defaultList);
@@ -72,8 +103,19 @@ class ChannelPool {
    * @param messageType the message type for which to return the channel offset
    * @return the channel offset for the given message type
    */
-  private int getChannelOffset(final String messageType) {
-    return Math.abs(messageType.hashCode() % size);
+  int getChannelOffset(final String messageType) {
+    return channelOffsets.computeIfAbsent(messageType, this::computeChannelOffset);
+  }
+
+  private int computeChannelOffset(final String messageType) {
+    final var connectionClass = ConnectionClass.of(messageType).filter(classSizes::containsKey);
+    if (connectionClass.isEmpty()) {
+      return Math.abs(messageType.hashCode() % size);
+    }
+
+    final int classSize = classSizes.get(connectionClass.get());
+    final int partitionHash = ConnectionClass.partitionKey(messageType).hashCode();
+    return classOffsets.get(connectionClass.get()) + Math.floorMod(partitionHash, classSize);
   }
 
   /**
@@ -16,6 +16,7 @@
  */
 package io.atomix.cluster.messaging.impl;
 
+import io.netty.buffer.ByteBuf;
 import java.util.Optional;
 
 /** Local server-side connection. */
@@ -41,4 +42,14 @@ final class LocalServerConnection extends AbstractServerConnection {
           new ProtocolReply(message.id(), payload.orElse(EMPTY_PAYLOAD), status));
     }
   }
+
+  @Override
+  public void reply(final ProtocolRequest message, final ByteBuf payload) {
+    final LocalClientConnection clientConnection = this.clientConnection;
+    if (clientConnection != null) {
+      clientConnection.dispatch(new ProtocolReply(message.id(), payload, ProtocolReply.Status.OK));
+    } else {
+      payload.release();
+    }
+  }
 }
@@ -35,6 +35,7 @@ class MessageDecoderV1 extends AbstractMessageDecoder {
   private long messageId;
   private int contentLength;
   private byte[] content;
+  private ByteBuf requestContent;
   private int subjectLength;
 
   @Override
@@ -90,7 +91,14 @@ class MessageDecoderV1 extends AbstractMessageDecoder {
         if (buffer.readableBytes() < contentLength) {
           return;
         }
-        if (contentLength > 0) {
+        if (contentLength > 0 && type == ProtocolMessage.Type.REQUEST) {
+          // requests are handed to the handlers as slice of the frame, without copying them, as
+          // long as not too many of them are still retained
+          requestContent = tryReadRetainedRequestContent(buffer, contentLength);
+        }
+        if (requestContent != null) {
+          content = null;
+        } else if (contentLength > 0) {
           // TODO: Perform a sanity check on the size before allocating
           content = new byte[contentLength];
           buffer.readBytes(content);
@@ -127,9 +135,7 @@ class MessageDecoderV1 extends AbstractMessageDecoder {
               return;
             }
             final String subject = readString(buffer, subjectLength);
-            final ProtocolRequest message =
-                new ProtocolRequest(messageId, senderAddress, subject, content);
-            out.add(message);
+            out.add(createRequest(subject));
             currentState = DecoderState.READ_TYPE;
             break;
           default:
@@ -156,6 +162,27 @@ class MessageDecoderV1 extends AbstractMessageDecoder {
     }
   }
 
+  private ProtocolRequest createRequest(final String subject) {
+    if (requestContent == null) {
+      return new ProtocolRequest(messageId, senderAddress, subject, content);
+    }
+
+    final ProtocolRequest request =
+        new ProtocolRequest(
+            messageId, senderAddress, subject, requestContent, this::onRetainedRequestReleased);
+    requestContent = null;
+    return request;
+  }
+
+  @Override
+  protected void handlerRemoved0(final ChannelHandlerContext context) {
+    if (requestContent != null) {
+      requestContent.release();
+      requestContent = null;
+      onRetainedRequestReleased();
+    }
+  }
+
   /** V1 decoder state. */
   enum DecoderState {
     READ_TYPE,
@@ -40,9 +40,8 @@ class MessageEncoderV1 extends AbstractMessageEncoder {
     buffer.writeByte(message.type().id());
     writeLong(buffer, message.id());
 
-    final byte[] payload = message.payload();
-    writeInt(buffer, payload.length);
-    buffer.writeBytes(payload);
+    writeInt(buffer, message.payloadLength());
+    message.writePayload(buffer);
   }
 
   @Override
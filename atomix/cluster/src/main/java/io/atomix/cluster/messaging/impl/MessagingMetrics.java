@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.messaging.impl;
+
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+
+/** Metrics of the outbound message queues of the messaging service. */
+final class MessagingMetrics {
+
+  private static final Gauge QUEUED_MESSAGES =
+      Gauge.build()
+          .namespace("atomix")
+          .name("messaging_outbound_queue_depth")
+          .help("Number of messages which are queued to be written to a channel")
+          .register();
+
+  private static final Histogram MESSAGES_PER_FLUSH =
+      Histogram.build()
+          .namespace("atomix")
+          .name("messaging_messages_per_flush")
+          .help("Number of messages which are written to a channel with a single flush")
+          .buckets(1, 2, 4, 8, 16, 32, 64, 128, 256)
+          .register();
+
+  void queued() {
+    QUEUED_MESSAGES.inc();
+  }
+
+  void dequeued(final int messages) {
+    QUEUED_MESSAGES.dec(messages);
+  }
+
+  void flushed(final int messages) {
+    MESSAGES_PER_FLUSH.observe(messages);
+  }
+}
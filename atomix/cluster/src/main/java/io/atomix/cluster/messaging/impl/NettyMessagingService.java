@@ -21,7 +21,9 @@ import static io.atomix.utils.concurrent.Threads.namedThreads;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.atomix.cluster.messaging.ConnectionClass;
 import io.atomix.cluster.messaging.ManagedMessagingService;
+import io.atomix.cluster.messaging.MessagePayload;
 import io.atomix.cluster.messaging.MessagingConfig;
 import io.atomix.cluster.messaging.MessagingException;
 import io.atomix.cluster.messaging.MessagingService;
@@ -42,7 +44,9 @@ import io.netty.channel.ServerChannel;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollMode;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
@@ -50,10 +54,13 @@ import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.Future;
+import io.zeebe.util.buffer.BufferWriter;
 import java.net.InetAddress;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -72,6 +79,7 @@ import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.agrona.DirectBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -94,8 +102,12 @@ public class NettyMessagingService implements ManagedMessagingService {
   private Class<? extends ServerChannel> serverChannelClass;
   private Class<? extends Channel> clientChannelClass;
   private ScheduledExecutorService timeoutExecutor;
-  private Channel serverChannel;
+  private final List<Channel> serverChannels = new CopyOnWriteArrayList<>();
   private final List<CompletableFuture> openFutures;
+  private final MessagingConfig config;
+  private final int maxMessagesPerFlush;
+  private final int maxBytesPerFlush;
+  private final MessagingMetrics metrics = new MessagingMetrics();
 
   public NettyMessagingService(
       final String cluster, final Address advertisedAddress, final MessagingConfig config) {
@@ -111,7 +123,12 @@ public class NettyMessagingService implements ManagedMessagingService {
     this.advertisedAddress = advertisedAddress;
     this.protocolVersion = protocolVersion;
     openFutures = new CopyOnWriteArrayList<>();
-    channelPool = new ChannelPool(this::openChannel, config.getConnectionPoolSize());
+    this.config = config;
+    channelPool =
+        new ChannelPool(
+            this::openChannel, config.getConnectionPoolSize(), getConnectionClassSizes(config));
+    maxMessagesPerFlush = config.getMaxMessagesPerFlush();
+    maxBytesPerFlush = (int) config.getMaxBytesPerFlush().bytes();
     initAddresses(config);
   }
 
@@ -145,7 +162,7 @@ public class NettyMessagingService implements ManagedMessagingService {
     final ProtocolRequest message =
         new ProtocolRequest(messageId, advertisedAddress, type, payload);
     return executeOnPooledConnection(
-        address, type, c -> c.sendAsync(message), MoreExecutors.directExecutor());
+        address, type, message, c -> c.sendAsync(message), MoreExecutors.directExecutor());
   }
 
   @Override
@@ -183,20 +200,58 @@ public class NettyMessagingService implements ManagedMessagingService {
       final boolean keepAlive,
       final Duration timeout,
       final Executor executor) {
+    final long messageId = messageIdGenerator.incrementAndGet();
+    final ProtocolRequest message =
+        new ProtocolRequest(messageId, advertisedAddress, type, payload);
+    return sendAndReceive(address, type, message, keepAlive, timeout, executor);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> sendAndReceive(
+      final Address address,
+      final String type,
+      final BufferWriter payload,
+      final boolean keepAlive,
+      final Duration timeout) {
+    final long messageId = messageIdGenerator.incrementAndGet();
+    final ProtocolRequest message =
+        new ProtocolRequest(messageId, advertisedAddress, type, pooledPayload(payload));
+    return sendAndReceive(
+        address, type, message, keepAlive, timeout, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Returns a pooled buffer which holds the given payload. A {@link MessagePayload} is shared
+   * instead of copied, as its content does not change; all other writers are copied, since their
+   * content may be reused as soon as this returns.
+   */
+  private static ByteBuf pooledPayload(final BufferWriter payload) {
+    if (payload instanceof MessagePayload) {
+      return ((MessagePayload) payload).buffer().retainedDuplicate();
+    }
+
+    return MessagePayload.copyOf(payload).buffer();
+  }
+
+  private CompletableFuture<byte[]> sendAndReceive(
+      final Address address,
+      final String type,
+      final ProtocolRequest message,
+      final boolean keepAlive,
+      final Duration timeout,
+      final Executor executor) {
     if (!started.get()) {
+      message.release();
       return CompletableFuture.failedFuture(
           new IllegalStateException("MessagingService is closed."));
     }
 
-    final long messageId = messageIdGenerator.incrementAndGet();
-    final ProtocolRequest message =
-        new ProtocolRequest(messageId, advertisedAddress, type, payload);
     if (keepAlive) {
       return executeOnPooledConnection(
-          address, type, c -> c.sendAndReceive(message, timeout), executor);
+          address, type, message, c -> c.sendAndReceive(message, timeout), executor);
     } else {
       return executeOnTransientConnection(
-          address, c -> c.sendAndReceive(message, timeout), executor);
+          address, message, c -> c.sendAndReceive(message, timeout), executor);
     }
   }
 
@@ -205,8 +260,10 @@ public class NettyMessagingService implements ManagedMessagingService {
       final String type, final BiConsumer<Address, byte[]> handler, final Executor executor) {
     handlers.register(
         type,
-        (message, connection) ->
-            executor.execute(() -> handler.accept(message.sender(), message.payload())));
+        (message, connection) -> {
+          final byte[] payload = copyPayload(message);
+          executor.execute(() -> handler.accept(message.sender(), payload));
+        });
   }
 
   @Override
@@ -216,19 +273,21 @@ public class NettyMessagingService implements ManagedMessagingService {
       final Executor executor) {
     handlers.register(
         type,
-        (message, connection) ->
-            executor.execute(
-                () -> {
-                  byte[] responsePayload = null;
-                  ProtocolReply.Status status = ProtocolReply.Status.OK;
-                  try {
-                    responsePayload = handler.apply(message.sender(), message.payload());
-                  } catch (final Exception e) {
-                    log.warn("An error occurred in a message handler:", e);
-                    status = ProtocolReply.Status.ERROR_HANDLER_EXCEPTION;
-                  }
-                  connection.reply(message, status, Optional.ofNullable(responsePayload));
-                }));
+        (message, connection) -> {
+          final byte[] payload = copyPayload(message);
+          executor.execute(
+              () -> {
+                byte[] responsePayload = null;
+                ProtocolReply.Status status = ProtocolReply.Status.OK;
+                try {
+                  responsePayload = handler.apply(message.sender(), payload);
+                } catch (final Exception e) {
+                  log.warn("An error occurred in a message handler:", e);
+                  status = ProtocolReply.Status.ERROR_HANDLER_EXCEPTION;
+                }
+                connection.reply(message, status, Optional.ofNullable(responsePayload));
+              });
+        });
   }
 
   @Override
@@ -238,18 +297,60 @@ public class NettyMessagingService implements ManagedMessagingService {
         type,
         (message, connection) ->
             handler
-                .apply(message.sender(), message.payload())
-                .whenComplete(
-                    (result, error) -> {
-                      final ProtocolReply.Status status;
-                      if (error == null) {
-                        status = ProtocolReply.Status.OK;
-                      } else {
-                        log.warn("An error occurred in a message handler:", error);
-                        status = ProtocolReply.Status.ERROR_HANDLER_EXCEPTION;
-                      }
-                      connection.reply(message, status, Optional.ofNullable(result));
-                    }));
+                .apply(message.sender(), copyPayload(message))
+                .whenComplete((result, error) -> reply(message, connection, result, error)));
+  }
+
+  @Override
+  public void registerBufferHandler(
+      final String type,
+      final BiFunction<Address, DirectBuffer, CompletableFuture<MessagePayload>> handler) {
+    handlers.register(
+        type,
+        (message, connection) -> {
+          final CompletableFuture<MessagePayload> response;
+          try {
+            response = handler.apply(message.sender(), message.payloadBuffer());
+          } catch (final RuntimeException e) {
+            message.release();
+            throw e;
+          }
+
+          response.whenComplete(
+              (result, error) -> {
+                // the handler is done with the payload once it completed the response
+                message.release();
+                if (error == null && result != null) {
+                  connection.reply(message, result.buffer());
+                } else {
+                  reply(message, connection, null, error);
+                }
+              });
+        });
+  }
+
+  private void reply(
+      final ProtocolRequest message,
+      final ServerConnection connection,
+      final byte[] result,
+      final Throwable error) {
+    final ProtocolReply.Status status;
+    if (error == null) {
+      status = ProtocolReply.Status.OK;
+    } else {
+      log.warn("An error occurred in a message handler:", error);
+      status = ProtocolReply.Status.ERROR_HANDLER_EXCEPTION;
+    }
+    connection.reply(message, status, Optional.ofNullable(result));
+  }
+
+  /** Copies the payload of a received request, such that the frame can be released right away. */
+  private static byte[] copyPayload(final ProtocolRequest message) {
+    try {
+      return message.payload();
+    } finally {
+      message.release();
+    }
   }
 
   @Override
@@ -290,11 +391,14 @@ public class NettyMessagingService implements ManagedMessagingService {
           () -> {
             boolean interrupted = false;
             try {
-              try {
-                serverChannel.close().sync();
-              } catch (final InterruptedException e) {
-                interrupted = true;
+              for (final Channel serverChannel : serverChannels) {
+                try {
+                  serverChannel.close().sync();
+                } catch (final InterruptedException e) {
+                  interrupted = true;
+                }
               }
+              serverChannels.clear();
               final Future<?> serverShutdownFuture = serverGroup.shutdownGracefully();
               final Future<?> clientShutdownFuture = clientGroup.shutdownGracefully();
               try {
@@ -334,7 +438,7 @@ public class NettyMessagingService implements ManagedMessagingService {
   }
 
   private void initTransport() {
-    if (Epoll.isAvailable()) {
+    if (config.isNativeTransportEnabled() && Epoll.isAvailable()) {
       initEpollTransport();
     } else {
       initNioTransport();
@@ -343,18 +447,23 @@ public class NettyMessagingService implements ManagedMessagingService {
 
   private void initEpollTransport() {
     clientGroup =
-        new EpollEventLoopGroup(0, namedThreads("netty-messaging-event-epoll-client-%d", log));
+        new EpollEventLoopGroup(
+            config.getWorkerThreads(), namedThreads("netty-messaging-event-epoll-client-%d", log));
     serverGroup =
-        new EpollEventLoopGroup(0, namedThreads("netty-messaging-event-epoll-server-%d", log));
+        new EpollEventLoopGroup(
+            config.getAcceptorThreads(),
+            namedThreads("netty-messaging-event-epoll-server-%d", log));
     serverChannelClass = EpollServerSocketChannel.class;
     clientChannelClass = EpollSocketChannel.class;
   }
 
   private void initNioTransport() {
     clientGroup =
-        new NioEventLoopGroup(0, namedThreads("netty-messaging-event-nio-client-%d", log));
+        new NioEventLoopGroup(
+            config.getWorkerThreads(), namedThreads("netty-messaging-event-nio-client-%d", log));
     serverGroup =
-        new NioEventLoopGroup(0, namedThreads("netty-messaging-event-nio-server-%d", log));
+        new NioEventLoopGroup(
+            config.getAcceptorThreads(), namedThreads("netty-messaging-event-nio-server-%d", log));
     serverChannelClass = NioServerSocketChannel.class;
     clientChannelClass = NioSocketChannel.class;
   }
@@ -364,6 +473,7 @@ public class NettyMessagingService implements ManagedMessagingService {
    *
    * @param address the connection address
    * @param type the message type to map to the connection
+   * @param message the message which is sent by the callback, released if no connection is found
    * @param callback the callback to execute
    * @param executor an executor on which to complete the callback future
    * @param <T> the callback response type
@@ -372,10 +482,11 @@ public class NettyMessagingService implements ManagedMessagingService {
   private <T> CompletableFuture<T> executeOnPooledConnection(
       final Address address,
       final String type,
+      final ProtocolMessage message,
       final Function<ClientConnection, CompletableFuture<T>> callback,
       final Executor executor) {
     final CompletableFuture<T> future = new CompletableFuture<>();
-    executeOnPooledConnection(address, type, callback, executor, future);
+    executeOnPooledConnection(address, type, message, callback, executor, future);
     return future;
   }
 
@@ -384,6 +495,7 @@ public class NettyMessagingService implements ManagedMessagingService {
    *
    * @param address the connection address
    * @param type the message type to map to the connection
+   * @param message the message which is sent by the callback, released if no connection is found
    * @param callback the callback to execute
    * @param executor an executor on which to complete the callback future
    * @param future the future to be completed once the callback future is complete
@@ -392,6 +504,7 @@ public class NettyMessagingService implements ManagedMessagingService {
   private <T> void executeOnPooledConnection(
       final Address address,
       final String type,
+      final ProtocolMessage message,
       final Function<ClientConnection, CompletableFuture<T>> callback,
       final Executor executor,
       final CompletableFuture<T> future) {
@@ -442,6 +555,7 @@ public class NettyMessagingService implements ManagedMessagingService {
                           }
                         });
               } else {
+                message.release();
                 executor.execute(() -> future.completeExceptionally(channelError));
               }
             });
@@ -451,12 +565,14 @@ public class NettyMessagingService implements ManagedMessagingService {
    * Executes the given callback on a transient connection.
    *
    * @param address the connection address
+   * @param message the message which is sent by the callback, released if no connection is found
    * @param callback the callback to execute
    * @param executor an executor on which to complete the callback future
    * @param <T> the callback response type
    */
   private <T> CompletableFuture<T> executeOnTransientConnection(
       final Address address,
+      final ProtocolMessage message,
       final Function<ClientConnection, CompletableFuture<T>> callback,
       final Executor executor) {
     final CompletableFuture<T> future = new CompletableFuture<>();
@@ -490,17 +606,23 @@ public class NettyMessagingService implements ManagedMessagingService {
                           channel.close();
                         });
               } else {
+                message.release();
                 executor.execute(() -> future.completeExceptionally(channelError));
               }
             });
     return future;
   }
 
+  private OutboundMessageQueue createOutboundQueue(final Channel channel) {
+    return new OutboundMessageQueue(channel, maxMessagesPerFlush, maxBytesPerFlush, metrics);
+  }
+
   private RemoteClientConnection getOrCreateClientConnection(final Channel channel) {
     RemoteClientConnection connection = connections.get(channel);
     if (connection == null) {
       connection =
-          connections.computeIfAbsent(channel, c -> new RemoteClientConnection(timeoutExecutor, c));
+          connections.computeIfAbsent(
+              channel, c -> new RemoteClientConnection(timeoutExecutor, c, createOutboundQueue(c)));
       channel
           .closeFuture()
           .addListener(
@@ -552,6 +674,10 @@ public class NettyMessagingService implements ManagedMessagingService {
     bootstrap.option(ChannelOption.SO_KEEPALIVE, true);
     bootstrap.option(ChannelOption.TCP_NODELAY, true);
     bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 1000);
+    if (isEpoll()) {
+      bootstrap.option(EpollChannelOption.EPOLL_MODE, EpollMode.EDGE_TRIGGERED);
+      bootstrap.option(EpollChannelOption.TCP_QUICKACK, config.isTcpQuickAckEnabled());
+    }
     bootstrap.group(clientGroup);
     // TODO: Make this faster:
     // http://normanmaurer.me/presentations/2014-facebook-eng-netty/slides.html#37.0
@@ -585,6 +711,11 @@ public class NettyMessagingService implements ManagedMessagingService {
     b.childOption(ChannelOption.SO_KEEPALIVE, true);
     b.childOption(ChannelOption.TCP_NODELAY, true);
     b.childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+    if (isEpoll()) {
+      b.option(EpollChannelOption.SO_REUSEPORT, isReusePort());
+      b.childOption(EpollChannelOption.EPOLL_MODE, EpollMode.EDGE_TRIGGERED);
+      b.childOption(EpollChannelOption.TCP_QUICKACK, config.isTcpQuickAckEnabled());
+    }
     b.group(serverGroup, clientGroup);
     b.channel(serverChannelClass);
     b.childHandler(new BasicServerChannelInitializer());
@@ -600,11 +731,34 @@ public class NettyMessagingService implements ManagedMessagingService {
   private CompletableFuture<Void> bind(final ServerBootstrap bootstrap) {
     final CompletableFuture<Void> future = new CompletableFuture<>();
 
-    bind(bootstrap, bindingAddresses.iterator(), future);
+    // with SO_REUSEPORT, every acceptor thread gets its own server channel on the same address
+    final int channelsPerAddress = isReusePort() ? config.getAcceptorThreads() : 1;
+    final List<Address> addresses = new ArrayList<>();
+    for (final Address address : bindingAddresses) {
+      addresses.addAll(Collections.nCopies(channelsPerAddress, address));
+    }
+    bind(bootstrap, addresses.iterator(), future);
 
     return future;
   }
 
+  private static Map<ConnectionClass, Integer> getConnectionClassSizes(
+      final MessagingConfig config) {
+    final Map<ConnectionClass, Integer> sizes = new EnumMap<>(ConnectionClass.class);
+    for (final ConnectionClass connectionClass : ConnectionClass.values()) {
+      sizes.put(connectionClass, config.getConnectionPoolSize(connectionClass));
+    }
+    return sizes;
+  }
+
+  private boolean isEpoll() {
+    return serverChannelClass == EpollServerSocketChannel.class;
+  }
+
+  private boolean isReusePort() {
+    return isEpoll() && config.getAcceptorThreads() > 1;
+  }
+
   /**
    * Recursively binds the given bootstrap to the given interfaces.
    *
@@ -626,7 +780,7 @@ public class NettyMessagingService implements ManagedMessagingService {
                   f -> {
                     if (f.isSuccess()) {
                       log.info("TCP server listening for connections on {}", address);
-                      serverChannel = f.channel();
+                      serverChannels.add(f.channel());
                       bind(bootstrap, addressIterator, future);
                     } else {
                       log.warn(
@@ -798,7 +952,8 @@ public class NettyMessagingService implements ManagedMessagingService {
                 writeProtocolVersion(context, protocolVersion);
                 activateProtocolVersion(
                     context,
-                    new RemoteServerConnection(handlers, context.channel()),
+                    new RemoteServerConnection(
+                        handlers, context.channel(), createOutboundQueue(context.channel())),
                     protocolVersion);
               });
     }
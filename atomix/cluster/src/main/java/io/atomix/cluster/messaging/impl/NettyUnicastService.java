@@ -36,6 +36,9 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.DefaultMaxBytesRecvByteBufAllocator;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.socket.DatagramPacket;
@@ -71,6 +74,7 @@ public class NettyUnicastService implements ManagedUnicastService {
       Maps.newConcurrentMap();
   private final AtomicBoolean started = new AtomicBoolean();
   private EventLoopGroup group;
+  private Class<? extends DatagramChannel> channelClass;
   private DatagramChannel channel;
   private final int preamble;
 
@@ -126,7 +130,7 @@ public class NettyUnicastService implements ManagedUnicastService {
     final Bootstrap serverBootstrap =
         new Bootstrap()
             .group(group)
-            .channel(NioDatagramChannel.class)
+            .channel(channelClass)
             .handler(
                 new SimpleChannelInboundHandler<DatagramPacket>() {
                   @Override
@@ -221,7 +225,13 @@ public class NettyUnicastService implements ManagedUnicastService {
 
   @Override
   public CompletableFuture<UnicastService> start() {
-    group = new NioEventLoopGroup(0, namedThreads("netty-unicast-event-nio-client-%d", log));
+    if (config.isNativeTransportEnabled() && Epoll.isAvailable()) {
+      group = new EpollEventLoopGroup(0, namedThreads("netty-unicast-event-epoll-client-%d", log));
+      channelClass = EpollDatagramChannel.class;
+    } else {
+      group = new NioEventLoopGroup(0, namedThreads("netty-unicast-event-nio-client-%d", log));
+      channelClass = NioDatagramChannel.class;
+    }
     return bootstrap().thenRun(() -> started.set(true)).thenApply(v -> this);
   }
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.messaging.impl;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPromise;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Queues the outbound messages of a channel, such that they are not written and flushed one by one.
+ * Messages are written by the event loop of the channel, which drains the queue and flushes once
+ * for all messages that were queued in the meantime. A single flush covers at most the configured
+ * number of messages and bytes; if more messages are queued, the rest is written by another task,
+ * such that the event loop is not blocked by a single busy channel.
+ *
+ * <p>Messages are written in the order in which they are queued. The queue owns the payload of a
+ * message once it is queued, and releases it once the message was encoded or could not be written.
+ */
+final class OutboundMessageQueue {
+
+  private final Channel channel;
+  private final int maxMessagesPerFlush;
+  private final int maxBytesPerFlush;
+  private final MessagingMetrics metrics;
+  private final Queue<PendingMessage> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+  private final Runnable drainTask = this::drain;
+
+  OutboundMessageQueue(
+      final Channel channel,
+      final int maxMessagesPerFlush,
+      final int maxBytesPerFlush,
+      final MessagingMetrics metrics) {
+    this.channel = channel;
+    this.maxMessagesPerFlush = maxMessagesPerFlush;
+    this.maxBytesPerFlush = maxBytesPerFlush;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Queues the given message to be written to the channel. The promise is completed once the
+   * message is flushed, or failed if it could not be written.
+   *
+   * @param message the message to write
+   * @param promise the promise of the write
+   */
+  void write(final ProtocolMessage message, final ChannelPromise promise) {
+    queue.add(new PendingMessage(message, promise));
+    metrics.queued();
+    scheduleDrain();
+  }
+
+  private void scheduleDrain() {
+    if (drainScheduled.compareAndSet(false, true)) {
+      try {
+        channel.eventLoop().execute(drainTask);
+      } catch (final RejectedExecutionException e) {
+        // the event loop is shut down, so the messages can't be written anymore
+        failPendingMessages(e);
+        drainScheduled.set(false);
+      }
+    }
+  }
+
+  private void drain() {
+    int messages = 0;
+    long bytes = 0;
+    PendingMessage pending;
+    while (messages < maxMessagesPerFlush
+        && bytes < maxBytesPerFlush
+        && (pending = queue.poll()) != null) {
+      bytes += pending.message.payloadLength();
+      messages++;
+      try {
+        channel.write(pending.message, pending.promise);
+      } finally {
+        // the message is encoded right away on the event loop, so its payload can be released
+        pending.message.release();
+      }
+    }
+
+    metrics.dequeued(messages);
+    if (messages > 0) {
+      channel.flush();
+      metrics.flushed(messages);
+    }
+
+    drainScheduled.set(false);
+    if (!queue.isEmpty()) {
+      scheduleDrain();
+    }
+  }
+
+  private void failPendingMessages(final Throwable cause) {
+    int messages = 0;
+    PendingMessage pending;
+    while ((pending = queue.poll()) != null) {
+      messages++;
+      pending.message.release();
+      if (!pending.promise.isVoid()) {
+        pending.promise.tryFailure(cause);
+      }
+    }
+
+    metrics.dequeued(messages);
+  }
+
+  private static final class PendingMessage {
+    private final ProtocolMessage message;
+    private final ChannelPromise promise;
+
+    private PendingMessage(final ProtocolMessage message, final ChannelPromise promise) {
+      this.message = message;
+      this.promise = promise;
+    }
+  }
+}
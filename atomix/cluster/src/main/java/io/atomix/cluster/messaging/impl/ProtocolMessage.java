@@ -16,15 +16,48 @@
  */
 package io.atomix.cluster.messaging.impl;
 
-/** Base class for internal messages. */
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Base class for internal messages.
+ *
+ * <p>The payload of a message is either a byte array, or a reference counted buffer, i.e. a slice
+ * of a received frame or a pooled buffer into which an outbound payload was written. A message with
+ * a buffer as payload owns a reference to it, which must be given up by calling {@link #release()}
+ * once the payload is no longer accessed. Outbound messages are released once they were encoded.
+ */
 public abstract class ProtocolMessage {
 
   private final long id;
   private final byte[] payload;
+  private final ByteBuf payloadFrame;
+  private final Runnable releaseListener;
 
   protected ProtocolMessage(final long id, final byte[] payload) {
+    this(id, payload, null, null);
+  }
+
+  protected ProtocolMessage(final long id, final ByteBuf payloadFrame) {
+    this(id, null, payloadFrame, null);
+  }
+
+  protected ProtocolMessage(
+      final long id, final ByteBuf payloadFrame, final Runnable releaseListener) {
+    this(id, null, payloadFrame, releaseListener);
+  }
+
+  private ProtocolMessage(
+      final long id,
+      final byte[] payload,
+      final ByteBuf payloadFrame,
+      final Runnable releaseListener) {
     this.id = id;
     this.payload = payload;
+    this.payloadFrame = payloadFrame;
+    this.releaseListener = releaseListener;
   }
 
   public abstract Type type();
@@ -41,8 +74,69 @@ public abstract class ProtocolMessage {
     return id;
   }
 
+  /**
+   * Returns the payload as byte array. If the payload is not backed by a byte array, it is copied
+   * into a new one.
+   *
+   * @return the payload
+   */
   public byte[] payload() {
-    return payload;
+    if (payload != null) {
+      return payload;
+    }
+    return ByteBufUtil.getBytes(payloadFrame);
+  }
+
+  /**
+   * Returns a view of the payload. If the payload is a buffer, the view is only valid until the
+   * message is released.
+   *
+   * @return the payload as buffer
+   */
+  public DirectBuffer payloadBuffer() {
+    if (payloadFrame == null) {
+      return new UnsafeBuffer(payload());
+    }
+
+    final int index = payloadFrame.readerIndex();
+    final int length = payloadFrame.readableBytes();
+    if (payloadFrame.hasMemoryAddress()) {
+      return new UnsafeBuffer(payloadFrame.memoryAddress() + index, length);
+    } else if (payloadFrame.hasArray()) {
+      return new UnsafeBuffer(payloadFrame.array(), payloadFrame.arrayOffset() + index, length);
+    }
+    return new UnsafeBuffer(payloadFrame.nioBuffer(index, length));
+  }
+
+  /** @return the length of the payload in bytes */
+  public int payloadLength() {
+    if (payload != null) {
+      return payload.length;
+    }
+    return payloadFrame.readableBytes();
+  }
+
+  /**
+   * Writes the payload to the given buffer, starting at its writer index.
+   *
+   * @param buffer the buffer to write to
+   */
+  public void writePayload(final ByteBuf buffer) {
+    if (payload != null) {
+      buffer.writeBytes(payload);
+    } else {
+      buffer.writeBytes(payloadFrame, payloadFrame.readerIndex(), payloadFrame.readableBytes());
+    }
+  }
+
+  /** Gives up the reference to the payload buffer, if the payload is a buffer. */
+  public void release() {
+    if (payloadFrame != null) {
+      payloadFrame.release();
+      if (releaseListener != null) {
+        releaseListener.run();
+      }
+    }
   }
 
   /** Internal message type. */
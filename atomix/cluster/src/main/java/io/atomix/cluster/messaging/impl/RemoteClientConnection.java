@@ -17,6 +17,7 @@
 package io.atomix.cluster.messaging.impl;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelPromise;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
@@ -24,25 +25,30 @@ import java.util.concurrent.ScheduledExecutorService;
 /** Client-side Netty remote connection. */
 final class RemoteClientConnection extends AbstractClientConnection {
   private final Channel channel;
+  private final OutboundMessageQueue outboundQueue;
 
-  RemoteClientConnection(final ScheduledExecutorService executorService, final Channel channel) {
+  RemoteClientConnection(
+      final ScheduledExecutorService executorService,
+      final Channel channel,
+      final OutboundMessageQueue outboundQueue) {
     super(executorService);
     this.channel = channel;
+    this.outboundQueue = outboundQueue;
   }
 
   @Override
   public CompletableFuture<Void> sendAsync(final ProtocolRequest message) {
     final CompletableFuture<Void> future = new CompletableFuture<>();
-    channel
-        .writeAndFlush(message)
-        .addListener(
-            channelFuture -> {
-              if (!channelFuture.isSuccess()) {
-                future.completeExceptionally(channelFuture.cause());
-              } else {
-                future.complete(null);
-              }
-            });
+    final ChannelPromise promise = channel.newPromise();
+    outboundQueue.write(message, promise);
+    promise.addListener(
+        channelFuture -> {
+          if (!channelFuture.isSuccess()) {
+            future.completeExceptionally(channelFuture.cause());
+          } else {
+            future.complete(null);
+          }
+        });
     return future;
   }
 
@@ -51,14 +57,14 @@ final class RemoteClientConnection extends AbstractClientConnection {
       final ProtocolRequest message, final Duration timeout) {
     final CompletableFuture<byte[]> future = new CompletableFuture<>();
     final Callback callback = new Callback(message.id(), message.subject(), timeout, future);
-    channel
-        .writeAndFlush(message)
-        .addListener(
-            channelFuture -> {
-              if (!channelFuture.isSuccess()) {
-                callback.completeExceptionally(channelFuture.cause());
-              }
-            });
+    final ChannelPromise promise = channel.newPromise();
+    outboundQueue.write(message, promise);
+    promise.addListener(
+        channelFuture -> {
+          if (!channelFuture.isSuccess()) {
+            callback.completeExceptionally(channelFuture.cause());
+          }
+        });
     return future;
   }
 }
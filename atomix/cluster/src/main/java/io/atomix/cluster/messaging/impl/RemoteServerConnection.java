@@ -16,6 +16,7 @@
  */
 package io.atomix.cluster.messaging.impl;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import java.util.Optional;
 
@@ -24,10 +25,15 @@ final class RemoteServerConnection extends AbstractServerConnection {
   private static final byte[] EMPTY_PAYLOAD = new byte[0];
 
   private final Channel channel;
+  private final OutboundMessageQueue outboundQueue;
 
-  RemoteServerConnection(final HandlerRegistry handlers, final Channel channel) {
+  RemoteServerConnection(
+      final HandlerRegistry handlers,
+      final Channel channel,
+      final OutboundMessageQueue outboundQueue) {
     super(handlers);
     this.channel = channel;
+    this.outboundQueue = outboundQueue;
   }
 
   @Override
@@ -37,6 +43,12 @@ final class RemoteServerConnection extends AbstractServerConnection {
       final Optional<byte[]> payload) {
     final ProtocolReply response =
         new ProtocolReply(message.id(), payload.orElse(EMPTY_PAYLOAD), status);
-    channel.writeAndFlush(response, channel.voidPromise());
+    outboundQueue.write(response, channel.voidPromise());
+  }
+
+  @Override
+  public void reply(final ProtocolRequest message, final ByteBuf payload) {
+    outboundQueue.write(
+        new ProtocolReply(message.id(), payload, ProtocolReply.Status.OK), channel.voidPromise());
   }
 }
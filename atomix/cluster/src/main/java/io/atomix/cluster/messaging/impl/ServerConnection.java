@@ -16,6 +16,7 @@
  */
 package io.atomix.cluster.messaging.impl;
 
+import io.netty.buffer.ByteBuf;
 import java.util.Optional;
 
 /** Server-side connection interface which handles replying to messages. */
@@ -30,6 +31,15 @@ interface ServerConnection extends Connection<ProtocolRequest> {
    */
   void reply(ProtocolRequest message, ProtocolReply.Status status, Optional<byte[]> payload);
 
+  /**
+   * Sends a successful reply to the other side of the connection, which takes over the given
+   * payload buffer and releases it once it is sent.
+   *
+   * @param message the message to which to reply
+   * @param payload the pooled response payload
+   */
+  void reply(ProtocolRequest message, ByteBuf payload);
+
   /** Closes the connection. */
   default void close() {}
 }
@@ -421,6 +421,7 @@ public interface RaftServer {
     protected EntryValidator entryValidator = new NoopEntryValidator();
     protected int maxAppendsPerFollower = 2;
     protected int maxAppendBatchSize = 32 * 1024;
+    protected boolean adaptiveAppendBatchSize;
 
     protected Builder(final MemberId localMemberId) {
       this.localMemberId = checkNotNull(localMemberId, "localMemberId cannot be null");
@@ -561,6 +562,19 @@ public interface RaftServer {
       return this;
     }
 
+    /**
+     * Sets whether the batch size of append requests is adapted to each follower. If enabled, the
+     * batch size grows up to the maximum batch size while a follower is catching up, and requests
+     * contain a single entry once it is caught up. Default is false.
+     *
+     * @param adaptiveAppendBatchSize true to adapt the batch size per follower
+     * @return The server builder.
+     */
+    public Builder withAdaptiveAppendBatchSize(final boolean adaptiveAppendBatchSize) {
+      this.adaptiveAppendBatchSize = adaptiveAppendBatchSize;
+      return this;
+    }
+
     public Builder withEntryValidator(final EntryValidator entryValidator) {
       this.entryValidator = entryValidator;
       return this;
@@ -34,9 +34,14 @@ import org.slf4j.LoggerFactory;
 public final class RaftMemberContext {
 
   private static final int APPEND_WINDOW_SIZE = 8;
+  // an append which takes this many times longer than the previous ones halves the batch size
+  private static final int APPEND_LATENCY_BACKOFF_FACTOR = 2;
+  // a growing batch size starts at least at this fraction of the maximum batch size
+  private static final int APPEND_BATCH_SIZE_GROWTH_DIVISOR = 8;
   private final DefaultRaftMember member;
   private final DescriptiveStatistics timeStats = new DescriptiveStatistics(APPEND_WINDOW_SIZE);
   private final int maxAppendsPerMember;
+  private final int maxAppendBatchSize;
   private long term;
   private long configIndex;
   private long snapshotIndex;
@@ -46,6 +51,8 @@ public final class RaftMemberContext {
   private long heartbeatTime;
   private long responseTime;
   private int inFlightAppendCount;
+  private long appendEpoch;
+  private int appendBatchSize;
   private boolean appendSucceeded;
   private long appendTime;
   private boolean configuring;
@@ -59,9 +66,12 @@ public final class RaftMemberContext {
   RaftMemberContext(
       final DefaultRaftMember member,
       final RaftClusterContext cluster,
-      final int maxAppendsPerMember) {
+      final int maxAppendsPerMember,
+      final int maxAppendBatchSize) {
     this.member = checkNotNull(member, "member cannot be null").setCluster(cluster);
     this.maxAppendsPerMember = maxAppendsPerMember;
+    this.maxAppendBatchSize = maxAppendBatchSize;
+    appendBatchSize = maxAppendBatchSize;
   }
 
   /** Resets the member state. */
@@ -73,6 +83,8 @@ public final class RaftMemberContext {
     heartbeatTime = 0;
     responseTime = 0;
     inFlightAppendCount = 0;
+    appendEpoch++;
+    appendBatchSize = maxAppendBatchSize;
     timeStats.clear();
     configuring = false;
     installing = false;
@@ -115,6 +127,76 @@ public final class RaftMemberContext {
                 >= appendTime);
   }
 
+  /**
+   * Returns the number of append requests which were sent to the member, but for which no response
+   * was received yet.
+   *
+   * @return the number of in-flight append requests
+   */
+  public int getInFlightAppendCount() {
+    return inFlightAppendCount;
+  }
+
+  /**
+   * Returns the epoch of the append window. The epoch is incremented whenever the next index of the
+   * member is reset, such that failed responses to requests which were sent before the reset can be
+   * recognized as stale.
+   *
+   * @return the current append epoch
+   */
+  public long getAppendEpoch() {
+    return appendEpoch;
+  }
+
+  /**
+   * Returns the size in bytes after which no more entries are added to an append request to the
+   * member. A request always contains at least one entry, i.e. with a size of zero each request
+   * contains exactly one entry.
+   *
+   * @return the current append batch size
+   */
+  public int getAppendBatchSize() {
+    return appendBatchSize;
+  }
+
+  /**
+   * Adapts the append batch size after the member acknowledged an append request with entries. If
+   * the member is caught up, i.e. it lags behind by no more entries than can be in flight, each
+   * request only contains a single entry, such that new entries are replicated without waiting for
+   * a batch. While the member is catching up, the batch size is doubled up to the maximum batch
+   * size, unless the last append took considerably longer than the previous ones, in which case it
+   * is halved.
+   *
+   * @param lag the number of entries in the leader's log which the member did not acknowledge yet
+   */
+  public void updateAppendBatchSize(final long lag) {
+    if (lag <= maxAppendsPerMember) {
+      appendBatchSize = 0;
+    } else if (isLastAppendSlow()) {
+      appendBatchSize /= 2;
+    } else {
+      appendBatchSize =
+          Math.min(
+              maxAppendBatchSize,
+              Math.max(2 * appendBatchSize, maxAppendBatchSize / APPEND_BATCH_SIZE_GROWTH_DIVISOR));
+    }
+  }
+
+  /**
+   * Returns true if the last append took more than {@link #APPEND_LATENCY_BACKOFF_FACTOR} times as
+   * long as the mean of the appends before it in the window.
+   */
+  private boolean isLastAppendSlow() {
+    final long count = timeStats.getN();
+    if (count < 2) {
+      return false;
+    }
+
+    final double lastLatency = timeStats.getElement((int) count - 1);
+    final double previousMean = (timeStats.getSum() - lastLatency) / (count - 1);
+    return lastLatency > APPEND_LATENCY_BACKOFF_FACTOR * previousMean;
+  }
+
   /**
    * Returns whether a heartbeat can be sent to the member.
    *
@@ -232,6 +314,8 @@ public final class RaftMemberContext {
         .add("matchIndex", matchIndex)
         .add("heartbeatTime", heartbeatTime)
         .add("appending", inFlightAppendCount)
+        .add("appendEpoch", appendEpoch)
+        .add("appendBatchSize", appendBatchSize)
         .add("appendSucceeded", appendSucceeded)
         .add("appendTime", appendTime)
         .add("configuring", configuring)
@@ -437,8 +521,16 @@ public final class RaftMemberContext {
     return currentEntry != null ? currentEntry.index() : 0;
   }
 
+  /**
+   * Resets the reader of the member such that the next entry sent to it is the entry at the given
+   * index. All append requests which are still in flight become stale, see {@link
+   * #getAppendEpoch()}.
+   *
+   * @param index the index of the next entry to send
+   */
   public void reset(final long index) {
     reader.reset(index - 1);
     currentEntry = reader.next();
+    appendEpoch++;
   }
 }
@@ -268,6 +268,7 @@ public class DefaultRaftServer implements RaftServer {
       raft.setElectionTimeout(electionTimeout);
       raft.setHeartbeatInterval(heartbeatInterval);
       raft.setEntryValidator(entryValidator);
+      raft.setAdaptiveAppendBatchSize(adaptiveAppendBatchSize);
 
       return new DefaultRaftServer(raft);
     }
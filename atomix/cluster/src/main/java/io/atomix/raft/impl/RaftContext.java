@@ -48,6 +48,7 @@ import io.atomix.raft.roles.PromotableRole;
 import io.atomix.raft.roles.RaftRole;
 import io.atomix.raft.storage.RaftStorage;
 import io.atomix.raft.storage.log.RaftLog;
+import io.atomix.raft.storage.log.RaftLogFlusher;
 import io.atomix.raft.storage.log.RaftLogReader;
 import io.atomix.raft.storage.system.MetaStore;
 import io.atomix.raft.zeebe.EntryValidator;
@@ -94,6 +95,7 @@ public class RaftContext implements AutoCloseable {
   private final RaftReplicationMetrics replicationMetrics;
   private final MetaStore meta;
   private final RaftLog raftLog;
+  private final RaftLogFlusher logFlusher;
   private final RaftLogReader logReader;
   private final ReceivableSnapshotStore persistedSnapshotStore;
   private final LogCompactor logCompactor;
@@ -110,6 +112,7 @@ public class RaftContext implements AutoCloseable {
   private EntryValidator entryValidator;
   private final int maxAppendBatchSize;
   private final int maxAppendsPerFollower;
+  private boolean adaptiveAppendBatchSize;
   // Used for randomizing election timeout
   private final Random random;
   private PersistedSnapshot currentSnapshot;
@@ -154,6 +157,8 @@ public class RaftContext implements AutoCloseable {
     // Construct the core log, reader, writer, and compactor.
     raftLog = storage.openLog();
     logReader = raftLog.openReader(1, RaftLogReader.Mode.ALL);
+    logFlusher =
+        new RaftLogFlusher(raftLog, threadContext, storage.flushDelay(), storage.flushBatchSize());
 
     // Open the snapshot store.
     persistedSnapshotStore = storage.getPersistedSnapshotStore();
@@ -262,6 +267,26 @@ public class RaftContext implements AutoCloseable {
     return maxAppendsPerFollower;
   }
 
+  /**
+   * Returns whether the batch size of append requests is adapted per follower, see {@link
+   * io.atomix.raft.cluster.impl.RaftMemberContext#updateAppendBatchSize(long)}. If not, every
+   * append request is filled up to the maximum append batch size.
+   *
+   * @return true if the append batch size is adaptive
+   */
+  public boolean isAdaptiveAppendBatchSize() {
+    return adaptiveAppendBatchSize;
+  }
+
+  /**
+   * Sets whether the batch size of append requests is adapted per follower.
+   *
+   * @param adaptiveAppendBatchSize true to adapt the append batch size
+   */
+  public void setAdaptiveAppendBatchSize(final boolean adaptiveAppendBatchSize) {
+    this.adaptiveAppendBatchSize = adaptiveAppendBatchSize;
+  }
+
   /**
    * Adds a role change listener.
    *
@@ -370,9 +395,11 @@ public class RaftContext implements AutoCloseable {
     if (commitIndex > previousCommitIndex) {
       this.commitIndex = commitIndex;
       raftLog.setCommitIndex(Math.min(commitIndex, raftLog.getLastIndex()));
-      if (raftLog.shouldFlushExplicitly() && isLeader()) {
+      if (raftLog.shouldFlushExplicitly()
+          && isLeader()
+          && raftLog.getFlushedIndex() < this.commitIndex) {
         // leader counts itself in quorum, so in order to commit the leader must persist
-        raftLog.flush();
+        logFlusher.flush();
       }
       final long configurationIndex = cluster.getConfiguration().index();
       if (configurationIndex > previousCommitIndex && configurationIndex <= commitIndex) {
@@ -605,6 +632,7 @@ public class RaftContext implements AutoCloseable {
     unregisterHandlers(protocol);
 
     logCompactor.close();
+    logFlusher.close();
 
     // Close the log.
     try {
@@ -772,6 +800,15 @@ public class RaftContext implements AutoCloseable {
     return raftLog;
   }
 
+  /**
+   * Returns the flusher which groups the flushes of the log.
+   *
+   * @return the log flusher
+   */
+  public RaftLogFlusher getLogFlusher() {
+    return logFlusher;
+  }
+
   /**
    * Returns the server log reader.
    *
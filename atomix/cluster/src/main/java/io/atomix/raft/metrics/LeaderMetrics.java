@@ -16,6 +16,7 @@
  */
 package io.atomix.raft.metrics;
 
+import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
 
 public class LeaderMetrics extends RaftMetrics {
@@ -28,6 +29,31 @@ public class LeaderMetrics extends RaftMetrics {
           .labelNames("follower", "partitionGroupName", "partition")
           .register();
 
+  private static final Gauge APPENDS_IN_FLIGHT =
+      Gauge.build()
+          .namespace("atomix")
+          .name("append_entries_in_flight")
+          .help("Number of append requests sent to a follower which are awaiting a response")
+          .labelNames("follower", "partitionGroupName", "partition")
+          .register();
+
+  private static final Gauge REPLICATION_LAG =
+      Gauge.build()
+          .namespace("atomix")
+          .name("follower_replication_lag")
+          .help(
+              "Number of entries in the leader's log which were not yet acknowledged by a follower")
+          .labelNames("follower", "partitionGroupName", "partition")
+          .register();
+
+  private static final Gauge APPEND_BATCH_SIZE =
+      Gauge.build()
+          .namespace("atomix")
+          .name("append_entries_batch_size")
+          .help("Size in bytes up to which entries are added to an append request to a follower")
+          .labelNames("follower", "partitionGroupName", "partition")
+          .register();
+
   public LeaderMetrics(final String partitionName) {
     super(partitionName);
   }
@@ -35,4 +61,16 @@ public class LeaderMetrics extends RaftMetrics {
   public void appendComplete(final long latencyms, final String memberId) {
     APPEND_LATENCY.labels(memberId, partitionGroupName, partition).observe(latencyms / 1000f);
   }
+
+  public void appendsInFlight(final int inFlightCount, final String memberId) {
+    APPENDS_IN_FLIGHT.labels(memberId, partitionGroupName, partition).set(inFlightCount);
+  }
+
+  public void appendBatchSize(final int batchSize, final String memberId) {
+    APPEND_BATCH_SIZE.labels(memberId, partitionGroupName, partition).set(batchSize);
+  }
+
+  public void replicationLag(final long lag, final String memberId) {
+    REPLICATION_LAG.labels(memberId, partitionGroupName, partition).set(lag);
+  }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.metrics;
+
+import io.prometheus.client.Histogram;
+
+public class RaftCompressionMetrics extends RaftMetrics {
+
+  private static final Histogram COMPRESSION_RATIO =
+      Histogram.build()
+          .namespace("atomix")
+          .name("raft_message_compression_ratio")
+          .help("Ratio of the compressed to the uncompressed size of compressed raft messages")
+          .buckets(0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9, 1.0)
+          .labelNames("partitionGroupName", "partition")
+          .register();
+
+  private static final Histogram COMPRESSION_TIME =
+      Histogram.build()
+          .namespace("atomix")
+          .name("raft_message_compression_time")
+          .help("Time spent to compress or decompress a raft message")
+          .buckets(0.00001, 0.00005, 0.0001, 0.0005, 0.001, 0.005, 0.01, 0.05)
+          .labelNames("operation", "partitionGroupName", "partition")
+          .register();
+
+  public RaftCompressionMetrics(final String partitionName) {
+    super(partitionName);
+  }
+
+  public void compressed(
+      final int uncompressedLength, final int compressedLength, final long timeNanos) {
+    COMPRESSION_RATIO
+        .labels(partitionGroupName, partition)
+        .observe((double) compressedLength / uncompressedLength);
+    COMPRESSION_TIME.labels("compress", partitionGroupName, partition).observe(timeNanos / 1e9);
+  }
+
+  public void decompressed(final long timeNanos) {
+    COMPRESSION_TIME.labels("decompress", partitionGroupName, partition).observe(timeNanos / 1e9);
+  }
+}
@@ -26,6 +26,7 @@ import io.atomix.primitive.partition.PartitionMetadata;
 import io.atomix.raft.RaftFailureListener;
 import io.atomix.raft.RaftRoleChangeListener;
 import io.atomix.raft.RaftServer.Role;
+import io.atomix.raft.partition.impl.HeartbeatMultiplexer;
 import io.atomix.raft.partition.impl.RaftPartitionServer;
 import java.io.File;
 import java.util.Collection;
@@ -110,19 +111,23 @@ public class RaftPartition implements Partition {
 
   /** Opens the partition. */
   CompletableFuture<Partition> open(
-      final PartitionMetadata metadata, final PartitionManagementService managementService) {
+      final PartitionMetadata metadata,
+      final PartitionManagementService managementService,
+      final HeartbeatMultiplexer heartbeatMultiplexer) {
     partitionMetadata = metadata;
     if (partitionMetadata
         .members()
         .contains(managementService.getMembershipService().getLocalMember().id())) {
-      initServer(managementService);
+      initServer(managementService, heartbeatMultiplexer);
       return server.start().thenApply(v -> null);
     }
     return CompletableFuture.completedFuture(this);
   }
 
-  private void initServer(final PartitionManagementService managementService) {
-    server = createServer(managementService);
+  private void initServer(
+      final PartitionManagementService managementService,
+      final HeartbeatMultiplexer heartbeatMultiplexer) {
+    server = createServer(managementService, heartbeatMultiplexer);
 
     if (!deferredRoleChangeListeners.isEmpty()) {
       deferredRoleChangeListeners.forEach(server::addRoleChangeListener);
@@ -132,13 +137,16 @@ public class RaftPartition implements Partition {
   }
 
   /** Creates a Raft server. */
-  protected RaftPartitionServer createServer(final PartitionManagementService managementService) {
+  protected RaftPartitionServer createServer(
+      final PartitionManagementService managementService,
+      final HeartbeatMultiplexer heartbeatMultiplexer) {
     return new RaftPartitionServer(
         this,
         config,
         managementService.getMembershipService().getLocalMember().id(),
         managementService.getMembershipService(),
-        managementService.getMessagingService());
+        managementService.getMessagingService(),
+        heartbeatMultiplexer);
   }
 
   /**
@@ -33,6 +33,8 @@ import io.atomix.primitive.partition.PartitionGroupConfig;
 import io.atomix.primitive.partition.PartitionId;
 import io.atomix.primitive.partition.PartitionManagementService;
 import io.atomix.primitive.partition.PartitionMetadata;
+import io.atomix.raft.partition.impl.HeartbeatMultiplexer;
+import io.atomix.raft.partition.impl.RaftNamespaces;
 import io.atomix.raft.zeebe.EntryValidator;
 import io.atomix.utils.concurrent.Futures;
 import io.atomix.utils.logging.ContextualLoggerFactory;
@@ -40,6 +42,7 @@ import io.atomix.utils.logging.LoggerContext;
 import io.atomix.utils.memory.MemorySize;
 import io.atomix.utils.serializer.Namespace;
 import io.atomix.utils.serializer.Namespaces;
+import io.atomix.utils.serializer.Serializer;
 import io.zeebe.snapshots.raft.ReceivableSnapshotStoreFactory;
 import java.io.File;
 import java.time.Duration;
@@ -69,6 +72,7 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
   private final String snapshotSubject;
   private Collection<PartitionMetadata> metadata;
   private ClusterCommunicationService communicationService;
+  private HeartbeatMultiplexer heartbeatMultiplexer;
 
   public RaftPartitionGroup(final RaftPartitionGroupConfig config) {
     final Logger log =
@@ -193,12 +197,19 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
 
     communicationService = managementService.getMessagingService();
     communicationService.<Void, Void>subscribe(snapshotSubject, m -> handleSnapshot());
+    heartbeatMultiplexer =
+        new HeartbeatMultiplexer(
+            name,
+            Serializer.using(RaftNamespaces.RAFT_PROTOCOL),
+            communicationService,
+            config.getHeartbeatCoalescingInterval());
+    heartbeatMultiplexer.start();
     final List<CompletableFuture<Partition>> futures =
         metadata.stream()
             .map(
                 metadata -> {
                   final RaftPartition partition = partitions.get(metadata.id());
-                  return partition.open(metadata, managementService);
+                  return partition.open(metadata, managementService, heartbeatMultiplexer);
                 })
             .collect(Collectors.toList());
     return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]))
@@ -225,6 +236,9 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
               if (communicationService != null) {
                 communicationService.unsubscribe(snapshotSubject);
               }
+              if (heartbeatMultiplexer != null) {
+                heartbeatMultiplexer.close();
+              }
 
               LOGGER.info("Stopped");
             });
@@ -363,6 +377,22 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
       return this;
     }
 
+    /**
+     * Sets the interval at which the heartbeats of all partitions to the same member are sent as a
+     * single message. Heartbeats wait up to this interval before they are sent. Default is zero,
+     * i.e. every heartbeat is sent as its own message.
+     *
+     * @param heartbeatCoalescingInterval the heartbeat coalescing interval
+     * @return the Raft partition group configuration
+     */
+    public Builder withHeartbeatCoalescingInterval(final Duration heartbeatCoalescingInterval) {
+      checkArgument(
+          !heartbeatCoalescingInterval.isNegative(),
+          "heartbeatCoalescingInterval must not be negative");
+      config.setHeartbeatCoalescingInterval(heartbeatCoalescingInterval);
+      return this;
+    }
+
     /**
      * Sets the maximum append requests which are sent per follower at once. Default is 2.
      *
@@ -387,6 +417,61 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
       return this;
     }
 
+    /**
+     * Sets whether the batch size of append requests is adapted to each follower, between a single
+     * entry for a follower which is caught up and the maximum append batch size for a follower
+     * which is catching up. Default is false.
+     *
+     * @param adaptiveAppendBatchSize true to adapt the batch size per follower
+     * @return the Raft partition group builder
+     */
+    public Builder withAdaptiveAppendBatchSize(final boolean adaptiveAppendBatchSize) {
+      config.setAdaptiveAppendBatchSize(adaptiveAppendBatchSize);
+      return this;
+    }
+
+    /**
+     * Sets whether large raft messages, e.g. append requests or snapshot chunks, are compressed
+     * before they are sent to another member. Compressed messages are always understood, but
+     * compression must only be enabled once all members support it. Default is false.
+     *
+     * @param messageCompression true to compress large raft messages
+     * @return the Raft partition group builder
+     */
+    public Builder withMessageCompression(final boolean messageCompression) {
+      config.setMessageCompression(messageCompression);
+      return this;
+    }
+
+    /**
+     * Sets the size in bytes from which on a raft message is compressed, if compression is enabled.
+     * Smaller messages are sent as they are, since compressing them saves little. Default is 4 KB.
+     *
+     * @param messageCompressionThreshold the minimum size of a compressed message
+     * @return the Raft partition group builder
+     */
+    public Builder withMessageCompressionThreshold(final int messageCompressionThreshold) {
+      checkArgument(
+          messageCompressionThreshold >= 0, "messageCompressionThreshold must not be negative");
+      config.setMessageCompressionThreshold(messageCompressionThreshold);
+      return this;
+    }
+
+    /**
+     * Sets the maximum size in bytes of a raft message once it is decompressed. A compressed
+     * message which claims to be larger is rejected before any memory is allocated for it. It must
+     * be large enough to hold the largest entry or snapshot chunk, plus the request around it.
+     * Default is 8 MB.
+     *
+     * @param maxMessageSize the maximum size of a decompressed message
+     * @return the Raft partition group builder
+     */
+    public Builder withMaxMessageSize(final int maxMessageSize) {
+      checkArgument(maxMessageSize > 0, "maxMessageSize must be positive");
+      config.setMaxMessageSize(maxMessageSize);
+      return this;
+    }
+
     /**
      * Sets the path to the data directory.
      *
@@ -464,6 +549,41 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
       return this;
     }
 
+    /**
+     * Sets the maximum time for which a flush may be delayed, such that several flushes are
+     * performed as one.
+     *
+     * @param flushDelay the maximum delay of a flush
+     * @return the Raft partition group builder
+     */
+    public Builder withFlushDelay(final Duration flushDelay) {
+      config.getStorageConfig().setFlushDelay(flushDelay);
+      return this;
+    }
+
+    /**
+     * Sets the amount of bytes which may be appended before a delayed flush is performed
+     * immediately.
+     *
+     * @param flushBatchSize the maximum size in bytes of the entries which are flushed together
+     * @return the Raft partition group builder
+     */
+    public Builder withFlushBatchSize(final long flushBatchSize) {
+      config.getStorageConfig().setFlushBatchSize(flushBatchSize);
+      return this;
+    }
+
+    /**
+     * Sets whether the next segment of the log is preallocated in the background.
+     *
+     * @param preallocateSegments whether to preallocate the next segment
+     * @return the Raft partition group builder
+     */
+    public Builder withSegmentPreallocation(final boolean preallocateSegments) {
+      config.getStorageConfig().setPreallocateSegments(preallocateSegments);
+      return this;
+    }
+
     /**
      * Sets the Raft snapshot store factory to use.
      *
@@ -36,9 +36,14 @@ public class RaftPartitionGroupConfig extends PartitionGroupConfig<RaftPartition
   private int partitionSize;
   private Duration electionTimeout = DEFAULT_ELECTION_TIMEOUT;
   private Duration heartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
+  private Duration heartbeatCoalescingInterval = Duration.ZERO;
   private RaftStorageConfig storageConfig = new RaftStorageConfig();
   private int maxAppendsPerFollower = 2;
   private int maxAppendBatchSize = 32 * 1024;
+  private boolean adaptiveAppendBatchSize;
+  private boolean messageCompression;
+  private int messageCompressionThreshold = 4 * 1024;
+  private int maxMessageSize = 8 * 1024 * 1024;
 
   @Optional("EntryValidator")
   private EntryValidator entryValidator = new NoopEntryValidator();
@@ -88,6 +93,29 @@ public class RaftPartitionGroupConfig extends PartitionGroupConfig<RaftPartition
     return this;
   }
 
+  /**
+   * Returns the interval at which the heartbeats of all partitions to the same member are sent as a
+   * single message. Zero means heartbeats are sent individually.
+   *
+   * @return the heartbeat coalescing interval
+   */
+  public Duration getHeartbeatCoalescingInterval() {
+    return heartbeatCoalescingInterval;
+  }
+
+  /**
+   * Sets the interval at which the heartbeats of all partitions to the same member are sent as a
+   * single message. Zero means heartbeats are sent individually.
+   *
+   * @param heartbeatCoalescingInterval the heartbeat coalescing interval
+   * @return the Raft partition group configuration
+   */
+  public RaftPartitionGroupConfig setHeartbeatCoalescingInterval(
+      final Duration heartbeatCoalescingInterval) {
+    this.heartbeatCoalescingInterval = heartbeatCoalescingInterval;
+    return this;
+  }
+
   /**
    * Returns the set of members in the partition group.
    *
@@ -184,6 +212,38 @@ public class RaftPartitionGroupConfig extends PartitionGroupConfig<RaftPartition
     this.maxAppendBatchSize = maxAppendBatchSize;
   }
 
+  public boolean isAdaptiveAppendBatchSize() {
+    return adaptiveAppendBatchSize;
+  }
+
+  public void setAdaptiveAppendBatchSize(final boolean adaptiveAppendBatchSize) {
+    this.adaptiveAppendBatchSize = adaptiveAppendBatchSize;
+  }
+
+  public boolean isMessageCompression() {
+    return messageCompression;
+  }
+
+  public void setMessageCompression(final boolean messageCompression) {
+    this.messageCompression = messageCompression;
+  }
+
+  public int getMessageCompressionThreshold() {
+    return messageCompressionThreshold;
+  }
+
+  public void setMessageCompressionThreshold(final int messageCompressionThreshold) {
+    this.messageCompressionThreshold = messageCompressionThreshold;
+  }
+
+  public int getMaxMessageSize() {
+    return maxMessageSize;
+  }
+
+  public void setMaxMessageSize(final int maxMessageSize) {
+    this.maxMessageSize = maxMessageSize;
+  }
+
   @Override
   public PartitionGroup.Type getType() {
     return RaftPartitionGroup.TYPE;
@@ -19,6 +19,7 @@ package io.atomix.raft.partition;
 import com.esotericsoftware.kryo.serializers.FieldSerializer.Optional;
 import io.atomix.utils.memory.MemorySize;
 import io.zeebe.snapshots.raft.ReceivableSnapshotStoreFactory;
+import java.time.Duration;
 
 /** Raft storage configuration. */
 public class RaftStorageConfig {
@@ -29,6 +30,9 @@ public class RaftStorageConfig {
   private static final boolean DEFAULT_FLUSH_EXPLICITLY = true;
   private static final long DEFAULT_FREE_DISK_SPACE = 1024L * 1024 * 1024;
   private static final int DEFAULT_JOURNAL_INDEX_DENSITY = 100;
+  private static final long DEFAULT_FLUSH_DELAY_MILLIS = 0;
+  private static final long DEFAULT_FLUSH_BATCH_SIZE = 1024L * 1024 * 4;
+  private static final boolean DEFAULT_PREALLOCATE_SEGMENTS = false;
 
   private String directory;
   private int maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
@@ -36,6 +40,9 @@ public class RaftStorageConfig {
   private boolean flushExplicitly = DEFAULT_FLUSH_EXPLICITLY;
   private long freeDiskSpace = DEFAULT_FREE_DISK_SPACE;
   private int journalIndexDensity = DEFAULT_JOURNAL_INDEX_DENSITY;
+  private long flushDelayMillis = DEFAULT_FLUSH_DELAY_MILLIS;
+  private long flushBatchSize = DEFAULT_FLUSH_BATCH_SIZE;
+  private boolean preallocateSegments = DEFAULT_PREALLOCATE_SEGMENTS;
 
   @Optional("SnapshotStoreFactory")
   private ReceivableSnapshotStoreFactory persistedSnapshotStoreFactory;
@@ -114,6 +121,69 @@ public class RaftStorageConfig {
     return this;
   }
 
+  /**
+   * Returns the maximum time for which a flush may be delayed to group it with other flushes.
+   *
+   * @return the maximum delay of a flush
+   */
+  public Duration getFlushDelay() {
+    return Duration.ofMillis(flushDelayMillis);
+  }
+
+  /**
+   * Sets the maximum time for which a flush may be delayed to group it with other flushes. If zero,
+   * every flush is performed immediately.
+   *
+   * @param flushDelay the maximum delay of a flush
+   * @return the Raft storage configuration
+   */
+  public RaftStorageConfig setFlushDelay(final Duration flushDelay) {
+    flushDelayMillis = flushDelay.toMillis();
+    return this;
+  }
+
+  /**
+   * Returns the amount of bytes which may be appended before a delayed flush is performed
+   * immediately.
+   *
+   * @return the maximum size in bytes of the entries which are flushed together
+   */
+  public long getFlushBatchSize() {
+    return flushBatchSize;
+  }
+
+  /**
+   * Sets the amount of bytes which may be appended before a delayed flush is performed immediately.
+   *
+   * @param flushBatchSize the maximum size in bytes of the entries which are flushed together
+   * @return the Raft storage configuration
+   */
+  public RaftStorageConfig setFlushBatchSize(final long flushBatchSize) {
+    this.flushBatchSize = flushBatchSize;
+    return this;
+  }
+
+  /**
+   * Returns whether the next segment of the log is preallocated in the background.
+   *
+   * @return whether to preallocate the next segment
+   */
+  public boolean shouldPreallocateSegments() {
+    return preallocateSegments;
+  }
+
+  /**
+   * Sets whether the next segment of the log is preallocated in the background, such that rolling
+   * over to a new segment does not allocate a file on the append path.
+   *
+   * @param preallocateSegments whether to preallocate the next segment
+   * @return the Raft storage configuration
+   */
+  public RaftStorageConfig setPreallocateSegments(final boolean preallocateSegments) {
+    this.preallocateSegments = preallocateSegments;
+    return this;
+  }
+
   /**
    * Sets the partition data directory.
    *
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.partition.impl;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * A raft message which was compressed by the {@link CompressingSerializer}. The payload is the
+ * deflated serialized form of the original message.
+ */
+public final class CompressedRaftMessage {
+
+  private final int uncompressedLength;
+  private final byte[] payload;
+
+  CompressedRaftMessage(final int uncompressedLength, final byte[] payload) {
+    this.uncompressedLength = uncompressedLength;
+    this.payload = payload;
+  }
+
+  int uncompressedLength() {
+    return uncompressedLength;
+  }
+
+  byte[] payload() {
+    return payload;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("uncompressedLength", uncompressedLength)
+        .add("compressedLength", payload.length)
+        .toString();
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.partition.impl;
+
+import io.atomix.raft.metrics.RaftCompressionMetrics;
+import io.atomix.utils.serializer.Serializer;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Serializer which compresses the serialized form of large raft messages, e.g. append requests with
+ * many entries or snapshot chunks. A message is only compressed if its serialized form is at least
+ * as large as the given threshold, and if the compressed form is smaller. It is then sent as a
+ * {@link CompressedRaftMessage}, which must be registered with the delegate serializer.
+ *
+ * <p>Compressed messages are always decompressed on decode, even if compression is disabled, such
+ * that a member can receive compressed messages regardless of its own configuration. Enabling
+ * compression therefore requires that all members of the partition group use a version which
+ * supports it.
+ *
+ * <p>A compressed message is rejected if it claims to be larger than the given maximum message
+ * size, such that a corrupt message cannot make us allocate an arbitrary amount of memory.
+ *
+ * <p>Deflaters and inflaters hold native memory and are expensive to create, so they are pooled and
+ * shared by all serializers.
+ */
+public final class CompressingSerializer implements Serializer {
+
+  private static final Queue<Deflater> DEFLATERS = new ConcurrentLinkedQueue<>();
+  private static final Queue<Inflater> INFLATERS = new ConcurrentLinkedQueue<>();
+
+  private final Serializer delegate;
+  private final boolean compress;
+  private final int compressionThreshold;
+  private final int maxMessageSize;
+  private final RaftCompressionMetrics metrics;
+
+  public CompressingSerializer(
+      final Serializer delegate,
+      final boolean compress,
+      final int compressionThreshold,
+      final int maxMessageSize,
+      final String partitionName) {
+    this.delegate = delegate;
+    this.compress = compress;
+    this.compressionThreshold = compressionThreshold;
+    this.maxMessageSize = maxMessageSize;
+    metrics = new RaftCompressionMetrics(partitionName);
+  }
+
+  @Override
+  public <T> byte[] encode(final T object) {
+    final byte[] bytes = delegate.encode(object);
+    if (!compress || bytes.length < compressionThreshold) {
+      return bytes;
+    }
+
+    final byte[] compressed = compress(bytes);
+    return compressed == null
+        ? bytes
+        : delegate.encode(new CompressedRaftMessage(bytes.length, compressed));
+  }
+
+  @Override
+  public <T> T decode(final byte[] bytes) {
+    final Object decoded = delegate.decode(bytes);
+    if (decoded instanceof CompressedRaftMessage) {
+      return delegate.decode(decompress((CompressedRaftMessage) decoded));
+    }
+
+    @SuppressWarnings("unchecked")
+    final T message = (T) decoded;
+    return message;
+  }
+
+  /** @return the compressed bytes, or null if compressing them would not reduce their size */
+  private byte[] compress(final byte[] bytes) {
+    final long startTime = System.nanoTime();
+    final Deflater deflater = borrowDeflater();
+    try {
+      deflater.setInput(bytes);
+      deflater.finish();
+
+      // the compressed form is only useful if it is smaller than the original
+      final byte[] buffer = new byte[bytes.length];
+      int length = 0;
+      while (!deflater.finished() && length < buffer.length) {
+        length += deflater.deflate(buffer, length, buffer.length - length);
+      }
+
+      if (!deflater.finished() || length >= bytes.length) {
+        return null;
+      }
+
+      metrics.compressed(bytes.length, length, System.nanoTime() - startTime);
+      return Arrays.copyOf(buffer, length);
+    } finally {
+      deflater.reset();
+      DEFLATERS.offer(deflater);
+    }
+  }
+
+  private byte[] decompress(final CompressedRaftMessage message) {
+    // the length is sent by the peer, so check it before allocating a buffer of that size
+    final int uncompressedLength = message.uncompressedLength();
+    if (uncompressedLength < 0 || uncompressedLength > maxMessageSize) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected compressed raft message to have at most %d bytes, but it has %d bytes",
+              maxMessageSize, uncompressedLength));
+    }
+
+    final long startTime = System.nanoTime();
+    final Inflater inflater = borrowInflater();
+    try {
+      inflater.setInput(message.payload());
+
+      final byte[] bytes = new byte[uncompressedLength];
+      int length = 0;
+      while (!inflater.finished() && length < bytes.length) {
+        final int inflated = inflater.inflate(bytes, length, bytes.length - length);
+        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        length += inflated;
+      }
+
+      if (length != bytes.length || !inflater.finished()) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Expected compressed raft message to have %d bytes, but decompressed %d bytes",
+                bytes.length, length));
+      }
+
+      metrics.decompressed(System.nanoTime() - startTime);
+      return bytes;
+    } catch (final DataFormatException e) {
+      throw new IllegalArgumentException("Failed to decompress raft message", e);
+    } finally {
+      inflater.reset();
+      INFLATERS.offer(inflater);
+    }
+  }
+
+  private static Deflater borrowDeflater() {
+    final Deflater deflater = DEFLATERS.poll();
+    return deflater != null ? deflater : new Deflater(Deflater.BEST_SPEED);
+  }
+
+  private static Inflater borrowInflater() {
+    final Inflater inflater = INFLATERS.poll();
+    return inflater != null ? inflater : new Inflater();
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.partition.impl;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import io.atomix.raft.protocol.AppendRequest;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The heartbeats of several partitions to the same member, sent as a single message by the {@link
+ * HeartbeatMultiplexer}. The heartbeats are keyed by the name of their partition.
+ */
+public final class HeartbeatBatchRequest {
+
+  private final HashMap<String, AppendRequest> requests;
+
+  HeartbeatBatchRequest(final Map<String, AppendRequest> requests) {
+    this.requests = new HashMap<>(requests);
+  }
+
+  Map<String, AppendRequest> requests() {
+    return requests;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this).add("requests", requests).toString();
+  }
+}
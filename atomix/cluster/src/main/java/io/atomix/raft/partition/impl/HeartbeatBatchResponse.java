@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.partition.impl;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import io.atomix.raft.protocol.AppendResponse;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The responses to a {@link HeartbeatBatchRequest}, keyed by the name of their partition. A
+ * partition for which no response is contained could not handle its heartbeat, e.g. because it is
+ * not running on the receiving member.
+ */
+public final class HeartbeatBatchResponse {
+
+  private final HashMap<String, AppendResponse> responses;
+
+  HeartbeatBatchResponse(final Map<String, AppendResponse> responses) {
+    this.responses = new HashMap<>(responses);
+  }
+
+  Map<String, AppendResponse> responses() {
+    return responses;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this).add("responses", responses).toString();
+  }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.partition.impl;
+
+import io.atomix.cluster.MemberId;
+import io.atomix.cluster.messaging.ClusterCommunicationService;
+import io.atomix.cluster.messaging.MessagingException;
+import io.atomix.raft.protocol.AppendRequest;
+import io.atomix.raft.protocol.AppendResponse;
+import io.atomix.utils.concurrent.Scheduled;
+import io.atomix.utils.concurrent.SingleThreadContext;
+import io.atomix.utils.concurrent.ThreadContext;
+import io.atomix.utils.serializer.Serializer;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the periodic heartbeats, i.e. the empty append requests which the leaders of the
+ * partitions of a partition group send to the same member once per heartbeat interval. Instead of
+ * sending each heartbeat as its own message, the heartbeats to a member are collected and sent as a
+ * single {@link HeartbeatBatchRequest} once per interval. The receiving member dispatches each
+ * heartbeat to the append handler of its partition, and replies with all responses in a single
+ * {@link HeartbeatBatchResponse}.
+ *
+ * <p>Only the periodic heartbeats are coalesced. Other empty append requests, e.g. to propagate a
+ * new commit index or to probe a follower after a failed append, are sent right away, since
+ * delaying them would slow down commits and recovery.
+ *
+ * <p>Heartbeats are only coalesced if the interval is positive. Incoming batches are always
+ * handled, such that members can communicate regardless of their own setting.
+ */
+public final class HeartbeatMultiplexer implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(HeartbeatMultiplexer.class);
+
+  private final String groupName;
+  private final String subject;
+  private final Serializer serializer;
+  private final ClusterCommunicationService communicationService;
+  private final Duration interval;
+  private final Map<String, Function<AppendRequest, CompletableFuture<AppendResponse>>>
+      appendHandlers = new ConcurrentHashMap<>();
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  // only accessed from the thread context
+  private final Map<MemberId, Map<String, PendingHeartbeat>> pendingHeartbeats = new HashMap<>();
+  private ThreadContext threadContext;
+  private Scheduled scheduledSend;
+
+  public HeartbeatMultiplexer(
+      final String groupName,
+      final Serializer serializer,
+      final ClusterCommunicationService communicationService,
+      final Duration interval) {
+    this.groupName = groupName;
+    this.serializer = serializer;
+    this.communicationService = communicationService;
+    this.interval = interval;
+    subject = "raft-partition-group-" + groupName + "-heartbeats";
+  }
+
+  /** Subscribes to incoming heartbeat batches and, if enabled, starts sending batches. */
+  public void start() {
+    communicationService.<HeartbeatBatchRequest, HeartbeatBatchResponse>subscribe(
+        subject, serializer::decode, this::handleBatch, serializer::encode);
+
+    if (isEnabled()) {
+      threadContext = new SingleThreadContext("raft-heartbeats-" + groupName + "-%d");
+      scheduledSend = threadContext.schedule(interval, interval, this::sendPendingHeartbeats);
+    }
+  }
+
+  /** @return true if heartbeats are coalesced, false if they must be sent one by one */
+  public boolean isEnabled() {
+    return !interval.isNegative() && !interval.isZero();
+  }
+
+  /**
+   * Registers the append handler of the given partition, to which its incoming heartbeats are
+   * dispatched.
+   */
+  void registerAppendHandler(
+      final String partitionName,
+      final Function<AppendRequest, CompletableFuture<AppendResponse>> handler) {
+    appendHandlers.put(partitionName, handler);
+  }
+
+  void unregisterAppendHandler(final String partitionName) {
+    appendHandlers.remove(partitionName);
+  }
+
+  /**
+   * Queues the heartbeat of the given partition, to be sent with the next batch to the given
+   * member. Must only be called if {@link #isEnabled()}.
+   *
+   * @return a future which is completed with the response of the partition on the given member
+   */
+  CompletableFuture<AppendResponse> send(
+      final MemberId memberId, final String partitionName, final AppendRequest request) {
+    final CompletableFuture<AppendResponse> future = new CompletableFuture<>();
+    try {
+      threadContext.execute(
+          () ->
+              pendingHeartbeats
+                  .computeIfAbsent(memberId, id -> new HashMap<>())
+                  .merge(
+                      partitionName,
+                      new PendingHeartbeat(request, future),
+                      PendingHeartbeat::replacedBy));
+    } catch (final RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  @Override
+  public void close() {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+
+    communicationService.unsubscribe(subject);
+    appendHandlers.clear();
+
+    if (threadContext != null) {
+      CompletableFuture.runAsync(this::failPendingHeartbeats, threadContext).join();
+      threadContext.close();
+    }
+  }
+
+  private void failPendingHeartbeats() {
+    scheduledSend.cancel();
+    pendingHeartbeats.values().stream()
+        .flatMap(heartbeats -> heartbeats.values().stream())
+        .forEach(
+            heartbeat ->
+                heartbeat.future.completeExceptionally(
+                    new IllegalStateException("Heartbeat multiplexer was closed")));
+    pendingHeartbeats.clear();
+  }
+
+  private void sendPendingHeartbeats() {
+    for (final Entry<MemberId, Map<String, PendingHeartbeat>> pending :
+        pendingHeartbeats.entrySet()) {
+      final Map<String, PendingHeartbeat> heartbeats = pending.getValue();
+      if (heartbeats.isEmpty()) {
+        continue;
+      }
+
+      final Map<String, AppendRequest> requests = new HashMap<>();
+      heartbeats.forEach(
+          (partitionName, heartbeat) -> requests.put(partitionName, heartbeat.request));
+      final Map<String, PendingHeartbeat> sentHeartbeats = new HashMap<>(heartbeats);
+      heartbeats.clear();
+
+      communicationService
+          .<HeartbeatBatchRequest, HeartbeatBatchResponse>send(
+              subject,
+              new HeartbeatBatchRequest(requests),
+              serializer::encode,
+              serializer::decode,
+              pending.getKey())
+          .whenComplete((response, error) -> completeHeartbeats(sentHeartbeats, response, error));
+    }
+  }
+
+  private void completeHeartbeats(
+      final Map<String, PendingHeartbeat> heartbeats,
+      final HeartbeatBatchResponse batchResponse,
+      final Throwable error) {
+    heartbeats.forEach(
+        (partitionName, heartbeat) -> {
+          if (error != null) {
+            heartbeat.future.completeExceptionally(error);
+            return;
+          }
+
+          final AppendResponse response = batchResponse.responses().get(partitionName);
+          if (response != null) {
+            heartbeat.future.complete(response);
+          } else {
+            heartbeat.future.completeExceptionally(new MessagingException.NoRemoteHandler());
+          }
+        });
+  }
+
+  private CompletableFuture<HeartbeatBatchResponse> handleBatch(
+      final HeartbeatBatchRequest batchRequest) {
+    final Map<String, AppendResponse> responses = new ConcurrentHashMap<>();
+    final CompletableFuture<?>[] futures =
+        batchRequest.requests().entrySet().stream()
+            .map(request -> handleHeartbeat(request.getKey(), request.getValue(), responses))
+            .toArray(CompletableFuture[]::new);
+
+    return CompletableFuture.allOf(futures).thenApply(v -> new HeartbeatBatchResponse(responses));
+  }
+
+  private CompletableFuture<Void> handleHeartbeat(
+      final String partitionName,
+      final AppendRequest request,
+      final Map<String, AppendResponse> responses) {
+    final var handler = appendHandlers.get(partitionName);
+    if (handler == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    return handler
+        .apply(request)
+        .handle(
+            (response, error) -> {
+              if (error == null) {
+                responses.put(partitionName, response);
+              } else {
+                LOG.debug("Failed to handle heartbeat {} of {}", request, partitionName, error);
+              }
+              return null;
+            });
+  }
+
+  private static final class PendingHeartbeat {
+
+    private final AppendRequest request;
+    private final CompletableFuture<AppendResponse> future;
+
+    private PendingHeartbeat(
+        final AppendRequest request, final CompletableFuture<AppendResponse> future) {
+      this.request = request;
+      this.future = future;
+    }
+
+    /**
+     * Only the latest heartbeat of a partition is sent; the previous one is completed with its
+     * response.
+     */
+    private PendingHeartbeat replacedBy(final PendingHeartbeat next) {
+      next.future.whenComplete(
+          (response, error) -> {
+            if (error == null) {
+              future.complete(response);
+            } else {
+              future.completeExceptionally(error);
+            }
+          });
+      return next;
+    }
+  }
+}
@@ -81,6 +81,9 @@ public final class RaftNamespaces {
           .register(Instant.class)
           .register(Configuration.class)
           .register(ZeebeEntry.class)
+          .register(HeartbeatBatchRequest.class)
+          .register(HeartbeatBatchResponse.class)
+          .register(CompressedRaftMessage.class)
           .name("RaftProtocol")
           .build();
 
@@ -63,6 +63,7 @@ public class RaftPartitionServer implements Managed<RaftPartitionServer> {
   private final RaftPartitionGroupConfig config;
   private final ClusterMembershipService membershipService;
   private final ClusterCommunicationService clusterCommunicator;
+  private final HeartbeatMultiplexer heartbeatMultiplexer;
   private final Set<RaftRoleChangeListener> deferredRoleChangeListeners =
       new CopyOnWriteArraySet<>();
   private final Set<Runnable> deferredFailureListeners = new CopyOnWriteArraySet<>();
@@ -75,12 +76,14 @@ public class RaftPartitionServer implements Managed<RaftPartitionServer> {
       final RaftPartitionGroupConfig config,
       final MemberId localMemberId,
       final ClusterMembershipService membershipService,
-      final ClusterCommunicationService clusterCommunicator) {
+      final ClusterCommunicationService clusterCommunicator,
+      final HeartbeatMultiplexer heartbeatMultiplexer) {
     this.partition = partition;
     this.config = config;
     this.localMemberId = localMemberId;
     this.membershipService = membershipService;
     this.clusterCommunicator = clusterCommunicator;
+    this.heartbeatMultiplexer = heartbeatMultiplexer;
     log =
         ContextualLoggerFactory.getLogger(
             getClass(),
@@ -170,6 +173,7 @@ public class RaftPartitionServer implements Managed<RaftPartitionServer> {
         .withElectionTimeout(config.getElectionTimeout())
         .withMaxAppendBatchSize(config.getMaxAppendBatchSize())
         .withMaxAppendsPerFollower(config.getMaxAppendsPerFollower())
+        .withAdaptiveAppendBatchSize(config.isAdaptiveAppendBatchSize())
         .withStorage(createRaftStorage())
         .withEntryValidator(config.getEntryValidator())
         .build();
@@ -285,6 +289,9 @@ public class RaftPartitionServer implements Managed<RaftPartitionServer> {
         .withMaxSegmentSize((int) storageConfig.getSegmentSize().bytes())
         .withMaxEntrySize((int) storageConfig.getMaxEntrySize().bytes())
         .withFlushExplicitly(storageConfig.shouldFlushExplicitly())
+        .withFlushDelay(storageConfig.getFlushDelay())
+        .withFlushBatchSize(storageConfig.getFlushBatchSize())
+        .withSegmentPreallocation(storageConfig.shouldPreallocateSegments())
         .withFreeDiskSpace(storageConfig.getFreeDiskSpace())
         .withNamespace(RaftNamespaces.RAFT_STORAGE)
         .withSnapshotStore(persistedSnapshotStore)
@@ -294,7 +301,15 @@ public class RaftPartitionServer implements Managed<RaftPartitionServer> {
 
   private RaftServerCommunicator createServerProtocol() {
     return new RaftServerCommunicator(
-        partition.name(), Serializer.using(RaftNamespaces.RAFT_PROTOCOL), clusterCommunicator);
+        partition.name(),
+        new CompressingSerializer(
+            Serializer.using(RaftNamespaces.RAFT_PROTOCOL),
+            config.isMessageCompression(),
+            config.getMessageCompressionThreshold(),
+            config.getMaxMessageSize(),
+            partition.name()),
+        clusterCommunicator,
+        heartbeatMultiplexer);
   }
 
   public CompletableFuture<Void> stepDown() {
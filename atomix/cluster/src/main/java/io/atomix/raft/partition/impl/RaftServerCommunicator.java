@@ -46,18 +46,22 @@ public class RaftServerCommunicator implements RaftServerProtocol {
   private final RaftMessageContext context;
   private final Serializer serializer;
   private final ClusterCommunicationService clusterCommunicator;
+  private final HeartbeatMultiplexer heartbeatMultiplexer;
   private final String partitionName;
   private final RaftRequestMetrics metrics;
 
   public RaftServerCommunicator(
       final String prefix,
       final Serializer serializer,
-      final ClusterCommunicationService clusterCommunicator) {
+      final ClusterCommunicationService clusterCommunicator,
+      final HeartbeatMultiplexer heartbeatMultiplexer) {
     context = new RaftMessageContext(prefix);
     partitionName = prefix;
     this.serializer = Preconditions.checkNotNull(serializer, "serializer cannot be null");
     this.clusterCommunicator =
         Preconditions.checkNotNull(clusterCommunicator, "clusterCommunicator cannot be null");
+    this.heartbeatMultiplexer =
+        Preconditions.checkNotNull(heartbeatMultiplexer, "heartbeatMultiplexer cannot be null");
     metrics = new RaftRequestMetrics(partitionName);
   }
 
@@ -101,6 +105,17 @@ public class RaftServerCommunicator implements RaftServerProtocol {
     return sendAndReceive(context.appendSubject, request, memberId);
   }
 
+  @Override
+  public CompletableFuture<AppendResponse> heartbeat(
+      final MemberId memberId, final AppendRequest request) {
+    if (heartbeatMultiplexer.isEnabled()) {
+      metrics.sendMessage(memberId.id(), request.getClass().getSimpleName());
+      return heartbeatMultiplexer.send(memberId, partitionName, request);
+    }
+
+    return append(memberId, request);
+  }
+
   @Override
   public void registerTransferHandler(
       final Function<TransferRequest, CompletableFuture<TransferResponse>> handler) {
@@ -194,16 +209,17 @@ public class RaftServerCommunicator implements RaftServerProtocol {
   @Override
   public void registerAppendHandler(
       final Function<AppendRequest, CompletableFuture<AppendResponse>> handler) {
+    final Function<AppendRequest, CompletableFuture<AppendResponse>> appendHandler =
+        handler.compose(this::recordReceivedMetrics);
     clusterCommunicator.subscribe(
-        context.appendSubject,
-        serializer::decode,
-        handler.<AppendRequest>compose(this::recordReceivedMetrics),
-        serializer::encode);
+        context.appendSubject, serializer::decode, appendHandler, serializer::encode);
+    heartbeatMultiplexer.registerAppendHandler(partitionName, appendHandler);
   }
 
   @Override
   public void unregisterAppendHandler() {
     clusterCommunicator.unsubscribe(context.appendSubject);
+    heartbeatMultiplexer.unregisterAppendHandler(partitionName);
   }
 
   private <T, U> CompletableFuture<U> sendAndReceive(
@@ -23,6 +23,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import io.atomix.cluster.MemberId;
 import io.atomix.utils.misc.StringUtils;
 import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -34,6 +36,9 @@ import java.util.Objects;
  * received by the follower, the snapshot is reconstructed based on the provided {@link #chunkId()}
  * and other metadata. The last install request will be sent with {@link #complete()} being {@code
  * true} to indicate that all chunks of the snapshot have been sent.
+ *
+ * <p>The initial request additionally contains the checksums of the files of the snapshot, such
+ * that the follower can reuse the files it already has, and report them in its response.
  */
 public class InstallRequest extends AbstractRaftRequest {
 
@@ -59,6 +64,8 @@ public class InstallRequest extends AbstractRaftRequest {
   private final boolean initial;
   // true if this is the last chunk
   private final boolean complete;
+  // the checksums of the files of the snapshot by file name (only set on the first chunk)
+  private final Map<String, Long> fileChecksums;
 
   public InstallRequest(
       final long currentTerm,
@@ -71,7 +78,8 @@ public class InstallRequest extends AbstractRaftRequest {
       final ByteBuffer nextChunkId,
       final ByteBuffer data,
       final boolean initial,
-      final boolean complete) {
+      final boolean complete,
+      final Map<String, Long> fileChecksums) {
     this.currentTerm = currentTerm;
     this.leader = leader;
     this.index = index;
@@ -83,6 +91,7 @@ public class InstallRequest extends AbstractRaftRequest {
     this.initial = initial;
     this.complete = complete;
     this.term = term;
+    this.fileChecksums = fileChecksums;
   }
 
   /**
@@ -180,6 +189,15 @@ public class InstallRequest extends AbstractRaftRequest {
     return complete;
   }
 
+  /**
+   * Returns the checksums of the files of the snapshot, which are only sent with the first chunk.
+   *
+   * @return the checksums by file name; empty if none were sent
+   */
+  public Map<String, Long> fileChecksums() {
+    return fileChecksums != null ? fileChecksums : Map.of();
+  }
+
   @Override
   public int hashCode() {
     return Objects.hash(
@@ -193,7 +211,8 @@ public class InstallRequest extends AbstractRaftRequest {
         nextChunkId,
         data,
         initial,
-        complete);
+        complete,
+        fileChecksums());
   }
 
   @Override
@@ -215,7 +234,8 @@ public class InstallRequest extends AbstractRaftRequest {
         && Objects.equals(leader, that.leader)
         && Objects.equals(chunkId, that.chunkId)
         && Objects.equals(nextChunkId, that.nextChunkId)
-        && Objects.equals(data, that.data);
+        && Objects.equals(data, that.data)
+        && fileChecksums().equals(that.fileChecksums());
   }
 
   @Override
@@ -232,6 +252,7 @@ public class InstallRequest extends AbstractRaftRequest {
         .add("data", StringUtils.printShortBuffer(data))
         .add("initial", initial)
         .add("complete", complete)
+        .add("fileChecksums", fileChecksums().size())
         .toString();
   }
 
@@ -249,6 +270,7 @@ public class InstallRequest extends AbstractRaftRequest {
     private boolean complete;
     private boolean initial;
     private long term;
+    private Map<String, Long> fileChecksums = new HashMap<>();
 
     /**
      * Sets the request current term.
@@ -374,6 +396,18 @@ public class InstallRequest extends AbstractRaftRequest {
       return this;
     }
 
+    /**
+     * Sets the checksums of the files of the snapshot.
+     *
+     * @param fileChecksums the checksums by file name
+     * @return the request builder
+     */
+    public Builder withFileChecksums(final Map<String, Long> fileChecksums) {
+      this.fileChecksums =
+          new HashMap<>(checkNotNull(fileChecksums, "fileChecksums cannot be null"));
+      return this;
+    }
+
     /** @throws IllegalStateException if member is null */
     @Override
     public InstallRequest build() {
@@ -389,7 +423,8 @@ public class InstallRequest extends AbstractRaftRequest {
           nextChunkId,
           data,
           initial,
-          complete);
+          complete,
+          fileChecksums);
     }
 
     @Override
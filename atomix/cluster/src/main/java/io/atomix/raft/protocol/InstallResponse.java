@@ -16,19 +16,32 @@
  */
 package io.atomix.raft.protocol;
 
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import io.atomix.raft.RaftError;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Snapshot installation response.
  *
  * <p>Install responses are sent once a snapshot installation request has been received and
- * processed. Install responses provide no additional metadata aside from indicating whether or not
- * the request was successful.
+ * processed. The response to the initial request of a snapshot contains the files which the
+ * follower reuses from its own latest snapshot, such that the leader can skip the chunks of these
+ * files.
  */
 public class InstallResponse extends AbstractRaftResponse {
 
-  public InstallResponse(final Status status, final RaftError error) {
+  // the files of the snapshot which the follower already has
+  private final Set<String> reusedFiles;
+
+  public InstallResponse(
+      final Status status, final RaftError error, final Set<String> reusedFiles) {
     super(status, error);
+    this.reusedFiles = reusedFiles;
   }
 
   /**
@@ -40,13 +53,63 @@ public class InstallResponse extends AbstractRaftResponse {
     return new Builder();
   }
 
+  /**
+   * Returns the names of the files which the follower reuses from its latest snapshot.
+   *
+   * @return the names of the reused files; empty if none
+   */
+  public Set<String> reusedFiles() {
+    return reusedFiles != null ? reusedFiles : Set.of();
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getClass(), status, reusedFiles());
+  }
+
+  @Override
+  public boolean equals(final Object object) {
+    if (object instanceof InstallResponse) {
+      final InstallResponse response = (InstallResponse) object;
+      return response.status == status
+          && Objects.equals(response.error, error)
+          && response.reusedFiles().equals(reusedFiles());
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    if (status == Status.OK) {
+      return toStringHelper(this)
+          .add("status", status)
+          .add("reusedFiles", reusedFiles().size())
+          .toString();
+    } else {
+      return toStringHelper(this).add("status", status).add("error", error).toString();
+    }
+  }
+
   /** Install response builder. */
   public static class Builder extends AbstractRaftResponse.Builder<Builder, InstallResponse> {
 
+    private Set<String> reusedFiles = new HashSet<>();
+
+    /**
+     * Sets the files which the follower reuses from its latest snapshot.
+     *
+     * @param reusedFiles the names of the reused files
+     * @return the response builder
+     */
+    public Builder withReusedFiles(final Collection<String> reusedFiles) {
+      this.reusedFiles = new HashSet<>(checkNotNull(reusedFiles, "reusedFiles cannot be null"));
+      return this;
+    }
+
     @Override
     public InstallResponse build() {
       validate();
-      return new InstallResponse(status, error);
+      return new InstallResponse(status, error, reusedFiles);
     }
   }
 }
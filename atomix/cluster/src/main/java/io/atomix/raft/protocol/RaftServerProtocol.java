@@ -86,6 +86,20 @@ public interface RaftServerProtocol {
    */
   CompletableFuture<AppendResponse> append(MemberId memberId, AppendRequest request);
 
+  /**
+   * Sends the leader's periodic heartbeat, i.e. an empty append request, to the given node. Unlike
+   * other append requests, a heartbeat may be delayed and coalesced with the heartbeats of other
+   * partitions to the same node. By default it is sent like any other append request.
+   *
+   * @param memberId the node to which to send the heartbeat
+   * @param request the empty append request to send
+   * @return a future to be completed with the response
+   */
+  default CompletableFuture<AppendResponse> heartbeat(
+      final MemberId memberId, final AppendRequest request) {
+    return append(memberId, request);
+  }
+
   /**
    * Registers a transfer request callback.
    *
@@ -18,6 +18,7 @@ package io.atomix.raft.roles;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import io.atomix.cluster.MemberId;
 import io.atomix.raft.RaftServer;
 import io.atomix.raft.cluster.impl.DefaultRaftMember;
 import io.atomix.raft.cluster.impl.RaftMemberContext;
@@ -45,6 +46,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 
 /** Abstract appender. */
@@ -146,6 +149,7 @@ abstract class AbstractAppender implements AutoCloseable {
     // counted towards the size of the batch.
     // If there exists an entry in the log with size >= MAX_BATCH_SIZE the logic ensures that
     // entry will be sent in a batch of size one
+    final int batchSize = getAppendBatchSize(member);
     int size = 0;
 
     // Iterate through the log until the last index or the end of the log is reached.
@@ -155,7 +159,7 @@ abstract class AbstractAppender implements AutoCloseable {
       entries.add(entry.entry());
       checksums.add(entry.checksum());
       size += entry.size();
-      if (entry.index() == lastIndex || size >= maxBatchSizePerAppend) {
+      if (entry.index() == lastIndex || size >= batchSize) {
         break;
       }
     }
@@ -164,6 +168,14 @@ abstract class AbstractAppender implements AutoCloseable {
     return builder.withEntries(entries).withChecksums(checksums).build();
   }
 
+  /**
+   * Returns the size up to which entries are added to the next append request to the member. This
+   * is the configured maximum, unless the batch size is adapted per member.
+   */
+  private int getAppendBatchSize(final RaftMemberContext member) {
+    return raft.isAdaptiveAppendBatchSize() ? member.getAppendBatchSize() : maxBatchSizePerAppend;
+  }
+
   /** Connects to the member and sends a commit message. */
   protected void sendAppendRequest(final RaftMemberContext member, final AppendRequest request) {
     // If this is a heartbeat message and a heartbeat is already in progress, skip the request.
@@ -173,39 +185,79 @@ abstract class AbstractAppender implements AutoCloseable {
 
     // Start the append to the member.
     member.startAppend();
+    metrics.appendsInFlight(member.getInFlightAppendCount(), member.getMember().memberId().id());
 
     final long timestamp = System.currentTimeMillis();
-
-    log.trace("Sending {} to {}", request, member.getMember().memberId());
-    raft.getProtocol()
-        .append(member.getMember().memberId(), request)
-        .whenCompleteAsync(
-            (response, error) -> {
-              // Complete the append to the member.
-              final long appendLatency = System.currentTimeMillis() - timestamp;
-              metrics.appendComplete(appendLatency, member.getMember().memberId().id());
-              if (!request.entries().isEmpty()) {
-                member.completeAppend(appendLatency);
-              } else {
-                member.completeAppend();
-              }
-
-              if (open) {
-                if (error == null) {
-                  log.trace("Received {} from {}", response, member.getMember().memberId());
-                  handleAppendResponse(member, request, response, timestamp);
-                } else {
-                  handleAppendResponseFailure(member, request, error);
-                }
-              }
-            },
-            raft.getThreadContext());
+    final long epoch = member.getAppendEpoch();
+
+    final MemberId memberId = member.getMember().memberId();
+    log.trace("Sending {} to {}", request, memberId);
+    final CompletableFuture<AppendResponse> responseFuture =
+        isHeartbeat(member, request)
+            ? raft.getProtocol().heartbeat(memberId, request)
+            : raft.getProtocol().append(memberId, request);
+    responseFuture.whenCompleteAsync(
+        (response, error) -> {
+          // Complete the append to the member.
+          final long appendLatency = System.currentTimeMillis() - timestamp;
+          metrics.appendComplete(appendLatency, member.getMember().memberId().id());
+          if (!request.entries().isEmpty()) {
+            member.completeAppend(appendLatency);
+          } else {
+            member.completeAppend();
+          }
+          metrics.appendsInFlight(
+              member.getInFlightAppendCount(), member.getMember().memberId().id());
+
+          if (open) {
+            if (isStaleFailure(member, epoch, response, error)) {
+              // the member was already reset after the request was sent, e.g. because an
+              // earlier request of the same window failed, so the failure is not news
+              log.trace(
+                  "Ignoring failed {} to {}, it was sent before the member was reset",
+                  request,
+                  member.getMember().memberId());
+            } else if (error == null) {
+              log.trace("Received {} from {}", response, member.getMember().memberId());
+              handleAppendResponse(member, request, response, timestamp);
+            } else {
+              handleAppendResponseFailure(member, request, error);
+            }
+          }
+        },
+        raft.getThreadContext());
 
     if (!request.entries().isEmpty() && hasMoreEntries(member)) {
       appendEntries(member);
     }
   }
 
+  /**
+   * Returns whether the append request to the member is a periodic heartbeat, which may be delayed
+   * and coalesced with other heartbeats. All other append requests are sent right away.
+   */
+  protected boolean isHeartbeat(final RaftMemberContext member, final AppendRequest request) {
+    return false;
+  }
+
+  /**
+   * Returns true if the request to the member failed, but was sent before the member's next index
+   * was reset. As several append requests can be in flight, the first failure resets the member,
+   * and the failures of the requests sent after it can be ignored. Responses with a higher term are
+   * never stale.
+   */
+  private boolean isStaleFailure(
+      final RaftMemberContext member,
+      final long epoch,
+      final AppendResponse response,
+      final Throwable error) {
+    if (epoch == member.getAppendEpoch()) {
+      return false;
+    }
+
+    return error != null || (!response.succeeded() && response.term() <= raft.getTerm());
+  }
+
   /** Handles an append failure. */
   protected void handleAppendResponseFailure(
       final RaftMemberContext member, final AppendRequest request, final Throwable error) {
@@ -249,6 +301,7 @@ abstract class AbstractAppender implements AutoCloseable {
     // If replication succeeded then trigger commit futures.
     if (response.succeeded()) {
       updateMatchIndex(member, response);
+      updateAppendBatchSize(member, request);
 
       // If there are more entries to send then attempt to send another commit.
       if (request.prevLogIndex() != response.lastLogIndex() && hasMoreEntries(member)) {
@@ -300,8 +353,25 @@ abstract class AbstractAppender implements AutoCloseable {
 
   /** Updates the match index when a response is received. */
   protected void updateMatchIndex(final RaftMemberContext member, final AppendResponse response) {
-    // If the replica returned a valid match index then update the existing match index.
-    member.setMatchIndex(response.lastLogIndex());
+    // If the replica returned a valid match index then update the existing match index. Responses
+    // to in-flight requests may arrive out of order, so the match index is never decreased here.
+    member.setMatchIndex(Math.max(member.getMatchIndex(), response.lastLogIndex()));
+    metrics.replicationLag(
+        raft.getLog().getLastIndex() - member.getMatchIndex(), member.getMember().memberId().id());
+  }
+
+  /**
+   * Adapts the append batch size of the member to its lag after a successful append, if the request
+   * contained entries and the adaptive batch size is enabled.
+   */
+  protected void updateAppendBatchSize(
+      final RaftMemberContext member, final AppendRequest request) {
+    if (request.entries().isEmpty() || !raft.isAdaptiveAppendBatchSize()) {
+      return;
+    }
+
+    member.updateAppendBatchSize(raft.getLog().getLastIndex() - member.getMatchIndex());
+    metrics.appendBatchSize(member.getAppendBatchSize(), member.getMember().memberId().id());
   }
 
   /** Resets the match index when a response fails. */
@@ -318,7 +388,7 @@ abstract class AbstractAppender implements AutoCloseable {
     resetNextIndex(member, nextIndex);
   }
 
-  private void resetNextIndex(final RaftMemberContext member, final long nextIndex) {
+  protected void resetNextIndex(final RaftMemberContext member, final long nextIndex) {
     member.reset(nextIndex);
     log.trace("Reset next index for {} to {}", member, nextIndex);
   }
@@ -469,13 +539,16 @@ abstract class AbstractAppender implements AutoCloseable {
     }
 
     try {
+      // a file may be split into several chunks, so the chunk name does not identify a chunk
+      final ByteBuffer chunkId = reader.nextId();
       final SnapshotChunk chunk = reader.next();
+      final boolean initial = member.getNextSnapshotChunk() == null;
 
       // Create the install request, indicating whether this is the last chunk of data based on
       // the number of bytes remaining in the buffer.
       final DefaultRaftMember leader = raft.getLeader();
 
-      final InstallRequest request =
+      final InstallRequest.Builder builder =
           InstallRequest.builder()
               .withCurrentTerm(raft.getTerm())
               .withLeader(leader.memberId())
@@ -484,12 +557,15 @@ abstract class AbstractAppender implements AutoCloseable {
               .withTimestamp(persistedSnapshot.getTimestamp().unixTimestamp())
               .withVersion(persistedSnapshot.version())
               .withData(new SnapshotChunkImpl(chunk).toByteBuffer())
-              .withChunkId(ByteBuffer.wrap(chunk.getChunkName().getBytes()))
-              .withInitial(member.getNextSnapshotChunk() == null)
+              .withChunkId(chunkId)
+              .withInitial(initial)
               .withComplete(!reader.hasNext())
-              .withNextChunkId(reader.nextId())
-              .build();
-      return Optional.of(request);
+              .withNextChunkId(reader.nextId());
+      if (initial) {
+        // allows the member to reuse the files it already has, see handleInstallResponseOk
+        builder.withFileChecksums(persistedSnapshot.getFileChecksums());
+      }
+      return Optional.of(builder.build());
     } catch (final UncheckedIOException e) {
       log.warn(
           "Expected to send next chunk of Snapshot {} to {}. But could not read SnapshotChunk. Snapshot may have been deleted. Will retry.",
@@ -574,7 +650,15 @@ abstract class AbstractAppender implements AutoCloseable {
     }
     // If more install requests remain, increment the member's snapshot offset.
     else {
-      member.setNextSnapshotChunk(request.nextChunkId());
+      final Set<String> reusedFiles = response.reusedFiles();
+      if (request.isInitial() && !reusedFiles.isEmpty()) {
+        // the member already has these files, so their chunks do not have to be sent
+        final SnapshotChunkReader reader = member.getSnapshotChunkReader();
+        reader.excludeChunks(reusedFiles);
+        member.setNextSnapshotChunk(reader.nextId());
+      } else {
+        member.setNextSnapshotChunk(request.nextChunkId());
+      }
     }
 
     // Recursively append entries to the member.
@@ -51,6 +51,8 @@ final class LeaderAppender extends AbstractAppender {
   private final Map<Long, CompletableFuture<Long>> appendFutures = new HashMap<>();
   private final List<TimestampedFuture<Long>> heartbeatFutures = new ArrayList<>();
   private final long heartbeatTime;
+  // whether the periodic heartbeat is currently being sent, see heartbeat()
+  private boolean sendingHeartbeat;
 
   LeaderAppender(final LeaderRole leader) {
     super(leader.raft);
@@ -148,6 +150,15 @@ final class LeaderAppender extends AbstractAppender {
       final RaftMemberContext member, final AppendRequest request, final Throwable error) {
     failHeartbeat();
     super.handleAppendResponseFailure(member, request, error);
+
+    // The entries of this request and of all requests sent after it are not known to have reached
+    // the member, so continue after the last acknowledged entry. If nothing was acknowledged yet,
+    // continue with the entries of the failed request.
+    if (open && !request.entries().isEmpty()) {
+      member.appendFailed();
+      final long matchIndex = member.getMatchIndex();
+      resetNextIndex(member, matchIndex > 0 ? matchIndex + 1 : request.prevLogIndex() + 1);
+    }
   }
 
   @Override
@@ -199,6 +210,7 @@ final class LeaderAppender extends AbstractAppender {
     if (response.succeeded()) {
       member.appendSucceeded();
       updateMatchIndex(member, response);
+      updateAppendBatchSize(member, request);
 
       // If entries were committed to the replica then check commit indexes.
       if (!request.entries().isEmpty()) {
@@ -238,6 +250,30 @@ final class LeaderAppender extends AbstractAppender {
     }
   }
 
+  /**
+   * Sends the leader's periodic heartbeat to all followers. It triggers the same requests as {@link
+   * #appendEntries()}, but the empty append requests to followers which are caught up are sent as
+   * heartbeats, which may be coalesced with the heartbeats of other partitions. Empty append
+   * requests sent for any other reason, e.g. to propagate a new commit index or to probe a follower
+   * after a failed append, are always sent right away.
+   *
+   * @return A completable future to be completed the next time a heartbeat is received by a
+   *     majority of the cluster.
+   */
+  public CompletableFuture<Long> heartbeat() {
+    sendingHeartbeat = true;
+    try {
+      return appendEntries();
+    } finally {
+      sendingHeartbeat = false;
+    }
+  }
+
+  @Override
+  protected boolean isHeartbeat(final RaftMemberContext member, final AppendRequest request) {
+    return sendingHeartbeat && request.entries().isEmpty() && member.getFailureCount() == 0;
+  }
+
   @Override
   protected void appendEntries(final RaftMemberContext member) {
     // Prevent recursive, asynchronous appends from being executed if the appender has been closed.
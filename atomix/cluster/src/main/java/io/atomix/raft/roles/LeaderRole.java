@@ -284,7 +284,7 @@ public final class LeaderRole extends ActiveRole implements ZeebeLogAppender {
   private void appendMembers() {
     raft.checkThread();
     if (isRunning()) {
-      appender.appendEntries();
+      appender.heartbeat();
     }
   }
 
@@ -34,6 +34,7 @@ import io.atomix.raft.protocol.VoteResponse;
 import io.atomix.raft.snapshot.impl.SnapshotChunkImpl;
 import io.atomix.raft.storage.log.Indexed;
 import io.atomix.raft.storage.log.RaftLog;
+import io.atomix.raft.storage.log.RaftLogFlusher;
 import io.atomix.raft.storage.log.RaftLogReader;
 import io.atomix.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.storage.StorageException;
@@ -42,6 +43,7 @@ import io.zeebe.snapshots.raft.PersistedSnapshot;
 import io.zeebe.snapshots.raft.PersistedSnapshotListener;
 import io.zeebe.snapshots.raft.ReceivedSnapshot;
 import java.nio.ByteBuffer;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
@@ -94,7 +96,7 @@ public class PassiveRole extends InactiveRole {
   /** Truncates uncommitted entries from the log. */
   private void truncateUncommittedEntries() {
     if (role() == RaftServer.Role.PASSIVE) {
-      raft.getLog().truncate(raft.getCommitIndex());
+      truncateLog(raft.getCommitIndex());
     }
 
     // to fix the edge case where we might have been stopped
@@ -114,7 +116,8 @@ public class PassiveRole extends InactiveRole {
    * @return the snapshot listener which will be installed
    */
   protected PersistedSnapshotListener createSnapshotListener() {
-    return new ResetWriterSnapshotListener(log, raft.getThreadContext(), raft.getLog());
+    return new ResetWriterSnapshotListener(
+        log, raft.getThreadContext(), raft.getLog(), raft.getLogFlusher());
   }
 
   private void addSnapshotListener() {
@@ -199,6 +202,8 @@ public class PassiveRole extends InactiveRole {
                   .build()));
     }
 
+    Set<String> reusedFiles = Set.of();
+
     // If there is no pending snapshot, create a new snapshot.
     if (pendingSnapshot == null) {
       // if we have no pending snapshot then the request must be the first chunk, otherwise we could
@@ -218,6 +223,19 @@ public class PassiveRole extends InactiveRole {
       log.info("Started receiving new snapshot {} from {}", pendingSnapshot, request.leader());
       pendingSnapshotStartTimestamp = System.currentTimeMillis();
       snapshotReplicationMetrics.incrementCount();
+
+      try {
+        reusedFiles = pendingSnapshot.reuseFiles(request.fileChecksums()).join();
+      } catch (final Exception e) {
+        log.warn("Failed to reuse files for pending snapshot {}", pendingSnapshot, e);
+      }
+      if (!reusedFiles.isEmpty()) {
+        log.info(
+            "Reusing {} of {} files of the latest snapshot for snapshot {}",
+            reusedFiles.size(),
+            request.fileChecksums().size(),
+            pendingSnapshot);
+      }
     } else {
       // fail the request if this is not the expected next chunk
       if (!isExpectedChunk(request.chunkId())) {
@@ -278,12 +296,19 @@ public class PassiveRole extends InactiveRole {
       pendingSnapshotStartTimestamp = 0L;
       snapshotReplicationMetrics.decrementCount();
       snapshotReplicationMetrics.observeDuration(elapsed);
-    } else {
+    } else if (reusedFiles.isEmpty()) {
       setNextExpected(request.nextChunkId());
+    } else {
+      // the leader skips the chunks of the reused files, so the next chunk is not known here
+      setNextExpected(null);
     }
 
     return CompletableFuture.completedFuture(
-        logResponse(InstallResponse.builder().withStatus(RaftResponse.Status.OK).build()));
+        logResponse(
+            InstallResponse.builder()
+                .withStatus(RaftResponse.Status.OK)
+                .withReusedFiles(reusedFiles)
+                .build()));
   }
 
   @Override
@@ -530,7 +555,7 @@ public class PassiveRole extends InactiveRole {
       // Reset the log to the previous index plus one.
       if (request.prevLogTerm() == 0) {
         log.debug("Reset first index to {}", request.prevLogIndex() + 1);
-        raft.getLog().reset(request.prevLogIndex() + 1);
+        resetLog(request.prevLogIndex() + 1);
       }
 
       // Iterate through entries and append them.
@@ -565,12 +590,7 @@ public class PassiveRole extends InactiveRole {
       raft.notifyCommitListeners(commitIndex);
     }
 
-    // Make sure all entries are flushed before ack to ensure we have persisted what we acknowledge
-    if (raft.getLog().shouldFlushExplicitly()) {
-      raft.getLog().flush();
-    }
-
-    // Return a successful append response.
+    // Return a successful append response, which is only sent once the entries are flushed
     succeedAppend(lastLogIndex, future);
   }
 
@@ -593,7 +613,7 @@ public class PassiveRole extends InactiveRole {
         // If the last entry term doesn't match the leader's term for the same entry, truncate
         // the log and append the leader's entry.
         if (lastEntry.entry().term() != entry.term()) {
-          raft.getLog().truncate(index - 1);
+          truncateLog(index - 1);
           failedToAppend = !appendEntry(index, entry, future);
         }
       } else { // Otherwise, this entry is being appended at the end of the log.
@@ -642,7 +662,7 @@ public class PassiveRole extends InactiveRole {
     // truncate
     // the log and append the leader's entry.
     if (existingEntry.entry().term() != entry.term()) {
-      raft.getLog().truncate(index - 1);
+      truncateLog(index - 1);
       if (!appendEntry(index, entry, future)) {
         return false;
       }
@@ -679,6 +699,21 @@ public class PassiveRole extends InactiveRole {
     return true;
   }
 
+  /**
+   * Truncates the log after the given index. Append responses which wait for a flush are completed
+   * first, such that they are not completed after other entries were written at their indexes.
+   */
+  private void truncateLog(final long index) {
+    raft.getLogFlusher().flush();
+    raft.getLog().truncate(index);
+  }
+
+  /** Resets the log to the given index, after completing the append responses like on truncate. */
+  private void resetLog(final long index) {
+    raft.getLogFlusher().flush();
+    raft.getLog().reset(index);
+  }
+
   /**
    * Returns a failed append response.
    *
@@ -715,7 +750,7 @@ public class PassiveRole extends InactiveRole {
       final boolean succeeded,
       final long lastLogIndex,
       final CompletableFuture<AppendResponse> future) {
-    future.complete(
+    final AppendResponse response =
         logResponse(
             AppendResponse.builder()
                 .withStatus(RaftResponse.Status.OK)
@@ -723,7 +758,12 @@ public class PassiveRole extends InactiveRole {
                 .withSucceeded(succeeded)
                 .withLastLogIndex(lastLogIndex)
                 .withLastSnapshotIndex(raft.getCurrentSnapshotIndex())
-                .build()));
+                .build());
+
+    // Make sure all entries are flushed before ack to ensure we have persisted what we acknowledge.
+    // Responses are completed in order, so a failed append is not acknowledged before an earlier
+    // successful one.
+    raft.getLogFlusher().completeWhenFlushed(future, response);
     return succeeded;
   }
 
@@ -731,13 +771,18 @@ public class PassiveRole extends InactiveRole {
 
     private final ThreadContext threadContext;
     private final RaftLog raftLog;
+    private final RaftLogFlusher logFlusher;
     private final Logger log;
 
     ResetWriterSnapshotListener(
-        final Logger log, final ThreadContext threadContext, final RaftLog raftLog) {
+        final Logger log,
+        final ThreadContext threadContext,
+        final RaftLog raftLog,
+        final RaftLogFlusher logFlusher) {
       this.log = log;
       this.threadContext = threadContext;
       this.raftLog = raftLog;
+      this.logFlusher = logFlusher;
     }
 
     @Override
@@ -757,6 +802,8 @@ public class PassiveRole extends InactiveRole {
               "Delete existing log (lastIndex '{}') and replace with received snapshot (index '{}')",
               lastIndex,
               index);
+          // complete the pending append responses before their entries are deleted
+          logFlusher.flush();
           raftLog.reset(index + 1);
         }
       } else {
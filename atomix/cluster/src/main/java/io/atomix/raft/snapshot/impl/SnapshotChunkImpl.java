@@ -33,6 +33,7 @@ public final class SnapshotChunkImpl
   private String snapshotId;
   private int totalCount;
   private String chunkName;
+  private long fileBlockPosition;
   private long checksum;
   private long snapshotChecksum;
 
@@ -42,6 +43,7 @@ public final class SnapshotChunkImpl
     snapshotId = chunk.getSnapshotId();
     totalCount = chunk.getTotalCount();
     chunkName = chunk.getChunkName();
+    fileBlockPosition = chunk.getFileBlockPosition();
     checksum = chunk.getChecksum();
     snapshotChecksum = chunk.getSnapshotChecksum();
     content.wrap(chunk.getContent());
@@ -63,6 +65,7 @@ public final class SnapshotChunkImpl
 
     totalCount = SnapshotChunkDecoder.totalCountNullValue();
     checksum = SnapshotChunkDecoder.checksumNullValue();
+    fileBlockPosition = 0;
     snapshotChecksum = SnapshotChunkDecoder.snapshotChecksumNullValue();
 
     snapshotId = "";
@@ -91,6 +94,7 @@ public final class SnapshotChunkImpl
         .chunkName(chunkName)
         .checksum(checksum)
         .snapshotChecksum(snapshotChecksum)
+        .fileBlockPosition(fileBlockPosition)
         .putContent(content, 0, content.capacity());
   }
 
@@ -104,6 +108,13 @@ public final class SnapshotChunkImpl
     checksum = decoder.checksum();
     snapshotChecksum = decoder.snapshotChecksum();
 
+    // chunks of older versions always contain a whole file
+    final long decodedFileBlockPosition = decoder.fileBlockPosition();
+    fileBlockPosition =
+        decodedFileBlockPosition == SnapshotChunkDecoder.fileBlockPositionNullValue()
+            ? 0
+            : decodedFileBlockPosition;
+
     if (decoder.contentLength() > 0) {
       decoder.wrapContent(content);
     }
@@ -124,6 +135,11 @@ public final class SnapshotChunkImpl
     return chunkName;
   }
 
+  @Override
+  public long getFileBlockPosition() {
+    return fileBlockPosition;
+  }
+
   @Override
   public long getChecksum() {
     return checksum;
@@ -149,6 +165,8 @@ public final class SnapshotChunkImpl
         + ", chunkName='"
         + chunkName
         + '\''
+        + ", fileBlockPosition="
+        + fileBlockPosition
         + ", checksum="
         + checksum
         + ", snapshotChecksum="
@@ -31,6 +31,7 @@ import io.zeebe.snapshots.raft.ReceivableSnapshotStore;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.time.Duration;
 import java.util.function.Predicate;
 import org.agrona.IoUtil;
 
@@ -62,6 +63,9 @@ public final class RaftStorage {
   private final boolean flushExplicitly;
   private final ReceivableSnapshotStore persistedSnapshotStore;
   private final int journalIndexDensity;
+  private final boolean preallocateSegments;
+  private final Duration flushDelay;
+  private final long flushBatchSize;
 
   private RaftStorage(
       final String prefix,
@@ -72,7 +76,10 @@ public final class RaftStorage {
       final long freeDiskSpace,
       final boolean flushExplicitly,
       final ReceivableSnapshotStore persistedSnapshotStore,
-      final int journalIndexDensity) {
+      final int journalIndexDensity,
+      final boolean preallocateSegments,
+      final Duration flushDelay,
+      final long flushBatchSize) {
     this.prefix = prefix;
     this.directory = directory;
     this.namespace = namespace;
@@ -82,6 +89,9 @@ public final class RaftStorage {
     this.flushExplicitly = flushExplicitly;
     this.persistedSnapshotStore = persistedSnapshotStore;
     this.journalIndexDensity = journalIndexDensity;
+    this.preallocateSegments = preallocateSegments;
+    this.flushDelay = flushDelay;
+    this.flushBatchSize = flushBatchSize;
 
     IoUtil.ensureDirectoryExists(directory, prefix + " raft partition storage");
   }
@@ -240,6 +250,7 @@ public final class RaftStorage {
         .withFreeDiskSpace(freeDiskSpace)
         .withFlushExplicitly(flushExplicitly)
         .withJournalIndexDensity(journalIndexDensity)
+        .withSegmentPreallocation(preallocateSegments)
         .build();
   }
 
@@ -270,6 +281,26 @@ public final class RaftStorage {
     return flushExplicitly;
   }
 
+  /**
+   * Returns the maximum time for which a flush of the log may be delayed to group it with other
+   * flushes.
+   *
+   * @return The maximum delay of a flush.
+   */
+  public Duration flushDelay() {
+    return flushDelay;
+  }
+
+  /**
+   * Returns the amount of bytes which may be appended to the log before a delayed flush is
+   * performed immediately.
+   *
+   * @return The maximum size in bytes of the entries which are flushed together.
+   */
+  public long flushBatchSize() {
+    return flushBatchSize;
+  }
+
   /**
    * Builds a {@link RaftStorage} configuration.
    *
@@ -296,6 +327,9 @@ public final class RaftStorage {
     private static final long DEFAULT_FREE_DISK_SPACE = 1024L * 1024 * 1024;
     private static final boolean DEFAULT_FLUSH_EXPLICITLY = true;
     private static final int DEFAULT_JOURNAL_INDEX_DENSITY = 100;
+    private static final boolean DEFAULT_PREALLOCATE_SEGMENTS = false;
+    private static final Duration DEFAULT_FLUSH_DELAY = Duration.ZERO;
+    private static final long DEFAULT_FLUSH_BATCH_SIZE = 1024L * 1024 * 4;
 
     private String prefix = DEFAULT_PREFIX;
     private File directory = new File(DEFAULT_DIRECTORY);
@@ -306,6 +340,9 @@ public final class RaftStorage {
     private boolean flushExplicitly = DEFAULT_FLUSH_EXPLICITLY;
     private ReceivableSnapshotStore persistedSnapshotStore;
     private int journalIndexDensity = DEFAULT_JOURNAL_INDEX_DENSITY;
+    private boolean preallocateSegments = DEFAULT_PREALLOCATE_SEGMENTS;
+    private Duration flushDelay = DEFAULT_FLUSH_DELAY;
+    private long flushBatchSize = DEFAULT_FLUSH_BATCH_SIZE;
 
     private Builder() {}
 
@@ -420,6 +457,35 @@ public final class RaftStorage {
       return this;
     }
 
+    /**
+     * Sets the maximum time for which a flush may be delayed, returning the builder for chaining.
+     *
+     * <p>Flushes which are requested within this time are performed together as a single flush,
+     * e.g. followers acknowledge the entries of several append requests with one flush. By default,
+     * the delay is zero, i.e. every requested flush is performed immediately.
+     *
+     * @param flushDelay the maximum delay of a flush
+     * @return the storage builder
+     */
+    public Builder withFlushDelay(final Duration flushDelay) {
+      checkArgument(!flushDelay.isNegative(), "flushDelay must not be negative");
+      this.flushDelay = flushDelay;
+      return this;
+    }
+
+    /**
+     * Sets the amount of bytes which may be appended before a delayed flush is performed
+     * immediately, returning the builder for chaining.
+     *
+     * @param flushBatchSize the maximum size in bytes of the entries which are flushed together
+     * @return the storage builder
+     */
+    public Builder withFlushBatchSize(final long flushBatchSize) {
+      checkArgument(flushBatchSize > 0, "flushBatchSize must be positive");
+      this.flushBatchSize = flushBatchSize;
+      return this;
+    }
+
     /**
      * Sets the snapshot store to use for remote snapshot installation.
      *
@@ -436,6 +502,20 @@ public final class RaftStorage {
       return this;
     }
 
+    /**
+     * Sets whether the next segment of the log is preallocated in the background, such that rolling
+     * over to a new segment does not allocate a file on the append path.
+     *
+     * <p>By default, segments are not preallocated.
+     *
+     * @param preallocateSegments true to preallocate the next segment
+     * @return the storage builder
+     */
+    public Builder withSegmentPreallocation(final boolean preallocateSegments) {
+      this.preallocateSegments = preallocateSegments;
+      return this;
+    }
+
     /**
      * Builds the {@link RaftStorage} object.
      *
@@ -452,7 +532,10 @@ public final class RaftStorage {
           freeDiskSpace,
           flushExplicitly,
           persistedSnapshotStore,
-          journalIndexDensity);
+          journalIndexDensity,
+          preallocateSegments,
+          flushDelay,
+          flushBatchSize);
     }
   }
 }
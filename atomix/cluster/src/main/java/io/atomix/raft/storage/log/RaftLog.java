@@ -39,12 +39,15 @@ public class RaftLog implements Closeable {
 
   private Indexed<RaftLogEntry> lastAppendedEntry;
   private volatile long commitIndex;
+  private long flushedIndex;
+  private long unflushedBytes;
 
   protected RaftLog(
       final Journal journal, final Namespace serializer, final boolean flushExplicitly) {
     this.journal = journal;
     this.serializer = serializer;
     this.flushExplicitly = flushExplicitly;
+    flushedIndex = journal.getLastIndex();
   }
 
   /**
@@ -148,6 +151,7 @@ public class RaftLog implements Closeable {
         new Indexed<>(
             journalRecord.index(), entry, serializedEntry.length, journalRecord.checksum());
     lastAppendedEntry = (Indexed<RaftLogEntry>) writtenEntry;
+    unflushedBytes += serializedEntry.length;
 
     return writtenEntry;
   }
@@ -155,17 +159,46 @@ public class RaftLog implements Closeable {
   public void reset(final long index) {
     journal.reset(index);
     lastAppendedEntry = null;
+    flushedIndex = Math.min(flushedIndex, index - 1);
   }
 
   public void truncate(final long index) {
     journal.deleteAfter(index);
     lastAppendedEntry = null;
+    flushedIndex = Math.min(flushedIndex, index);
   }
 
   public void flush() {
     if (flushExplicitly) {
       journal.flush();
     }
+    flushedIndex = journal.getLastIndex();
+    unflushedBytes = 0;
+  }
+
+  /**
+   * Returns the index up to which the log was flushed. Entries after this index may not be
+   * persisted yet.
+   *
+   * @return the index of the last flushed entry
+   */
+  public long getFlushedIndex() {
+    return flushedIndex;
+  }
+
+  /**
+   * Returns whether all appended entries are flushed. This is always the case if the log is not
+   * flushed explicitly.
+   *
+   * @return true if there are no entries waiting to be flushed
+   */
+  public boolean isFlushed() {
+    return !flushExplicitly || flushedIndex >= journal.getLastIndex();
+  }
+
+  /** @return the size in bytes of the entries appended since the last flush */
+  public long getUnflushedBytes() {
+    return unflushedBytes;
   }
 
   public Namespace getSerializer() {
@@ -315,6 +348,11 @@ public class RaftLog implements Closeable {
       return this;
     }
 
+    public Builder withSegmentPreallocation(final boolean preallocateSegments) {
+      journalBuilder.withSegmentPreallocation(preallocateSegments);
+      return this;
+    }
+
     @Override
     public RaftLog build() {
       final Journal journal = journalBuilder.build();
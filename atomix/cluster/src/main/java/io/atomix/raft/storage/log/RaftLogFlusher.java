@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.storage.log;
+
+import io.atomix.utils.concurrent.Scheduled;
+import io.atomix.utils.concurrent.Scheduler;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Groups the flushes of a {@link RaftLog}. Instead of flushing after every append, callers register
+ * a future which is completed once everything appended so far is flushed. A single flush completes
+ * all futures registered since the last flush. The log is flushed at the latest after the
+ * configured delay, or as soon as the configured amount of bytes was appended without being
+ * flushed.
+ *
+ * <p>Futures are completed in the order in which they were registered. With a delay of zero, the
+ * log is flushed whenever a future is registered, i.e. every future is completed immediately.
+ *
+ * <p>The log must be flushed with {@link #flush()} before it is truncated or reset, such that a
+ * pending future is not completed after entries at its indexes were replaced. Futures which are
+ * still pending when the flusher is closed are completed exceptionally.
+ *
+ * <p>This class is not thread-safe; it must only be used from the thread of the given scheduler.
+ */
+public final class RaftLogFlusher implements AutoCloseable {
+
+  private final RaftLog raftLog;
+  private final Scheduler scheduler;
+  private final Duration flushDelay;
+  private final long flushBatchSize;
+  private final Queue<PendingCompletion<?>> pendingCompletions = new ArrayDeque<>();
+  private Scheduled scheduledFlush;
+
+  public RaftLogFlusher(
+      final RaftLog raftLog,
+      final Scheduler scheduler,
+      final Duration flushDelay,
+      final long flushBatchSize) {
+    this.raftLog = raftLog;
+    this.scheduler = scheduler;
+    this.flushDelay = flushDelay;
+    this.flushBatchSize = flushBatchSize;
+  }
+
+  /**
+   * Completes the given future with the given value once every entry which was appended to the log
+   * before calling this method is flushed. If nothing is waiting to be flushed, the future is
+   * completed immediately.
+   *
+   * @param future the future to complete once the log is flushed
+   * @param value the value to complete the future with
+   * @param <T> the type of the value
+   */
+  public <T> void completeWhenFlushed(final CompletableFuture<T> future, final T value) {
+    if (pendingCompletions.isEmpty() && raftLog.isFlushed()) {
+      future.complete(value);
+      return;
+    }
+
+    pendingCompletions.add(new PendingCompletion<>(future, value));
+    if (flushDelay.isZero() || raftLog.getUnflushedBytes() >= flushBatchSize) {
+      flush();
+    } else if (scheduledFlush == null) {
+      scheduledFlush = scheduler.schedule(flushDelay, this::flush);
+    }
+  }
+
+  /**
+   * Flushes the log immediately, and completes all futures which are waiting for it. Does not flush
+   * the log if everything is already flushed.
+   */
+  public void flush() {
+    cancelScheduledFlush();
+    if (!raftLog.isFlushed()) {
+      raftLog.flush();
+    }
+
+    PendingCompletion<?> pendingCompletion;
+    while ((pendingCompletion = pendingCompletions.poll()) != null) {
+      pendingCompletion.complete();
+    }
+  }
+
+  /** Completes all futures which are still waiting for a flush exceptionally. */
+  @Override
+  public void close() {
+    cancelScheduledFlush();
+
+    PendingCompletion<?> pendingCompletion;
+    while ((pendingCompletion = pendingCompletions.poll()) != null) {
+      pendingCompletion.future.completeExceptionally(
+          new IllegalStateException("Log flusher was closed before the log was flushed"));
+    }
+  }
+
+  private void cancelScheduledFlush() {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel();
+      scheduledFlush = null;
+    }
+  }
+
+  private static final class PendingCompletion<T> {
+    private final CompletableFuture<T> future;
+    private final T value;
+
+    private PendingCompletion(final CompletableFuture<T> future, final T value) {
+      this.future = future;
+      this.value = value;
+    }
+
+    private void complete() {
+      future.complete(value);
+    }
+  }
+}
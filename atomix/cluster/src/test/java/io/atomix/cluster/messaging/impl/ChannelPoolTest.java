@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.messaging.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.atomix.cluster.messaging.ConnectionClass;
+import io.atomix.utils.net.Address;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ChannelPoolTest {
+
+  private static final int SHARED_POOL_SIZE = 4;
+  private static final String PARTITION_1 = "raft-partition-partition-1";
+  private static final String PARTITION_2 = "raft-partition-partition-2";
+
+  private final List<Channel> openedChannels = new ArrayList<>();
+  private ChannelPool pool;
+
+  @Before
+  public void setUp() {
+    pool =
+        new ChannelPool(
+            this::openChannel,
+            SHARED_POOL_SIZE,
+            Map.of(ConnectionClass.REPLICATION, 2, ConnectionClass.SNAPSHOT, 1));
+  }
+
+  @Test
+  public void shouldUseSharedChannelsForUnclassifiedMessages() {
+    // when
+    final int offset = pool.getChannelOffset(PARTITION_1 + "-poll");
+
+    // then
+    assertThat(offset).isBetween(0, SHARED_POOL_SIZE - 1);
+  }
+
+  @Test
+  public void shouldUseSharedChannelsForClassWithoutDedicatedChannels() {
+    // when
+    final int offset = pool.getChannelOffset("command-api-1");
+
+    // then
+    assertThat(offset).isBetween(0, SHARED_POOL_SIZE - 1);
+  }
+
+  @Test
+  public void shouldUseDedicatedChannelsPerClass() {
+    // when
+    final int replicationOffset = pool.getChannelOffset(PARTITION_1 + "-append");
+    final int snapshotOffset = pool.getChannelOffset(PARTITION_1 + "-install");
+
+    // then
+    assertThat(replicationOffset).isBetween(SHARED_POOL_SIZE, SHARED_POOL_SIZE + 1);
+    assertThat(snapshotOffset).isEqualTo(SHARED_POOL_SIZE + 2);
+  }
+
+  @Test
+  public void shouldAssignMessagesOfSamePartitionAndClassToSameChannel() {
+    // when
+    final int appendOffset = pool.getChannelOffset(PARTITION_2 + "-append");
+    final int heartbeatOffset = pool.getChannelOffset(PARTITION_2 + "-leaderHeartbeat");
+
+    // then
+    assertThat(appendOffset).isEqualTo(heartbeatOffset);
+  }
+
+  @Test
+  public void shouldAssignPartitionsToChannelsOfClass() {
+    // given
+    final int partitionCount = 8;
+
+    // when
+    final var offsets = new ArrayList<Integer>();
+    for (int partition = 1; partition <= partitionCount; partition++) {
+      offsets.add(pool.getChannelOffset("raft-partition-partition-" + partition + "-append"));
+    }
+
+    // then
+    assertThat(offsets).containsOnly(SHARED_POOL_SIZE, SHARED_POOL_SIZE + 1);
+  }
+
+  @Test
+  public void shouldOpenSeparateChannelsForDifferentClasses() {
+    // given
+    final var address = Address.from(1234);
+
+    // when
+    final var replicationChannel = pool.getChannel(address, PARTITION_1 + "-append").join();
+    final var snapshotChannel = pool.getChannel(address, PARTITION_1 + "-install").join();
+    final var sameReplicationChannel =
+        pool.getChannel(address, PARTITION_1 + "-leaderHeartbeat").join();
+
+    // then
+    assertThat(replicationChannel).isNotSameAs(snapshotChannel);
+    assertThat(sameReplicationChannel).isSameAs(replicationChannel);
+    assertThat(openedChannels).hasSize(2);
+  }
+
+  private CompletableFuture<Channel> openChannel(final Address address) {
+    final var channel = new EmbeddedChannel();
+    openedChannels.add(channel);
+    return CompletableFuture.completedFuture(channel);
+  }
+}
@@ -17,10 +17,14 @@
 package io.atomix.cluster.messaging.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Test;
 
 /** Message decoder test. */
@@ -80,4 +84,29 @@ public class MessageDecoderV1Test {
       byteBuf.release();
     }
   }
+
+  @Test
+  public void testRetainRequestContentUpToBound() {
+    final MessageDecoderV1 decoder = new MessageDecoderV1();
+    final ByteBuf byteBuf = Unpooled.buffer(AbstractMessageDecoder.MAX_RETAINED_REQUESTS + 1);
+    byteBuf.writerIndex(byteBuf.capacity());
+    final List<ByteBuf> retained = new ArrayList<>();
+    try {
+      for (int i = 0; i < AbstractMessageDecoder.MAX_RETAINED_REQUESTS; i++) {
+        retained.add(decoder.tryReadRetainedRequestContent(byteBuf, 1));
+      }
+      assertNull(decoder.tryReadRetainedRequestContent(byteBuf, 1));
+      assertEquals(AbstractMessageDecoder.MAX_RETAINED_REQUESTS + 1, byteBuf.refCnt());
+
+      retained.remove(0).release();
+      decoder.onRetainedRequestReleased();
+      final ByteBuf slice = decoder.tryReadRetainedRequestContent(byteBuf, 1);
+      assertNotNull(slice);
+      retained.add(slice);
+      assertEquals(AbstractMessageDecoder.MAX_RETAINED_REQUESTS, decoder.getRetainedRequests());
+    } finally {
+      retained.forEach(ByteBuf::release);
+      byteBuf.release();
+    }
+  }
 }
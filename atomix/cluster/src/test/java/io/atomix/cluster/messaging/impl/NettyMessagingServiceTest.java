@@ -28,10 +28,12 @@ import static org.slf4j.LoggerFactory.getLogger;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.Uninterruptibles;
 import io.atomix.cluster.messaging.ManagedMessagingService;
+import io.atomix.cluster.messaging.MessagePayload;
 import io.atomix.cluster.messaging.MessagingConfig;
 import io.atomix.cluster.messaging.MessagingService;
 import io.atomix.utils.net.Address;
 import io.zeebe.test.util.socket.SocketUtil;
+import io.zeebe.util.buffer.BufferWriter;
 import java.net.ConnectException;
 import java.time.Duration;
 import java.util.Arrays;
@@ -39,6 +41,7 @@ import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -47,6 +50,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
+import org.agrona.MutableDirectBuffer;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -201,6 +205,106 @@ public class NettyMessagingServiceTest {
     assertEquals(address1.address(), sender.get().address());
   }
 
+  @Test
+  public void shouldSendAndReceiveWithPayloadWriter() {
+    // given
+    final String subject = nextSubject();
+    final AtomicReference<byte[]> request = new AtomicReference<>();
+    netty2.registerHandler(
+        subject,
+        (ep, data) -> {
+          request.set(data);
+          return "hello there".getBytes();
+        },
+        MoreExecutors.directExecutor());
+
+    // when
+    final CompletableFuture<byte[]> response =
+        netty1.sendAndReceive(
+            address2, subject, new StringWriter("hello world"), true, Duration.ofSeconds(5));
+
+    // then
+    assertThat(response.join()).isEqualTo("hello there".getBytes());
+    assertThat(request.get()).isEqualTo("hello world".getBytes());
+  }
+
+  @Test
+  public void shouldHandleRequestAsBuffer() {
+    // given
+    final String subject = nextSubject();
+    final AtomicReference<String> request = new AtomicReference<>();
+    final AtomicReference<Address> sender = new AtomicReference<>();
+    netty2.registerBufferHandler(
+        subject,
+        (ep, buffer) -> {
+          sender.set(ep);
+          request.set(buffer.getStringWithoutLengthAscii(0, buffer.capacity()));
+          return CompletableFuture.completedFuture(
+              MessagePayload.copyOf(new StringWriter("hello there")));
+        });
+
+    // when
+    final CompletableFuture<byte[]> response =
+        netty1.sendAndReceive(address2, subject, "hello world".getBytes());
+
+    // then
+    assertThat(response.join()).isEqualTo("hello there".getBytes());
+    assertThat(request.get()).isEqualTo("hello world");
+    assertThat(sender.get().address()).isEqualTo(address1.address());
+  }
+
+  @Test
+  public void shouldSendPayloadWriterToLocalBufferHandler() {
+    // given
+    final String subject = nextSubject();
+    final StringWriter writer = new StringWriter("hello world");
+    final CompletableFuture<MessagePayload> responseFuture = new CompletableFuture<>();
+    final AtomicReference<String> request = new AtomicReference<>();
+    netty1.registerBufferHandler(
+        subject,
+        (ep, buffer) -> {
+          request.set(buffer.getStringWithoutLengthAscii(0, buffer.capacity()));
+          return responseFuture;
+        });
+
+    // when
+    final CompletableFuture<byte[]> response =
+        netty1.sendAndReceive(address1, subject, writer, true, Duration.ofSeconds(5));
+    writer.value = "hello again";
+    responseFuture.complete(MessagePayload.copyOf(new StringWriter("hello there")));
+
+    // then
+    assertThat(response.join()).isEqualTo("hello there".getBytes());
+    assertThat(request.get()).isEqualTo("hello world");
+  }
+
+  @Test
+  public void shouldSendMessagePayloadAgainAfterItWasSent() {
+    // given
+    final String subject = nextSubject();
+    final List<String> requests = new CopyOnWriteArrayList<>();
+    netty2.registerBufferHandler(
+        subject,
+        (ep, buffer) -> {
+          requests.add(buffer.getStringWithoutLengthAscii(0, buffer.capacity()));
+          return CompletableFuture.completedFuture(
+              MessagePayload.copyOf(new StringWriter("hello there")));
+        });
+    final MessagePayload payload = MessagePayload.copyOf(new StringWriter("hello world"));
+
+    // when
+    try {
+      netty1.sendAndReceive(address2, subject, payload, true, Duration.ofSeconds(5)).join();
+      netty1.sendAndReceive(address2, subject, payload, true, Duration.ofSeconds(5)).join();
+    } finally {
+      payload.release();
+    }
+
+    // then
+    assertThat(requests).containsExactly("hello world", "hello world");
+    assertThat(payload.buffer().refCnt()).isZero();
+  }
+
   @Test
   public void shouldCompleteExistingRequestFutureExceptionallyWhenMessagingServiceIsClosed() {
     final String subject = nextSubject();
@@ -445,4 +549,68 @@ public class NettyMessagingServiceTest {
     assertThat(messagingService.bindingAddresses()).contains(bindingAddress);
     assertThat(messagingService.address()).isEqualTo(nonBindableAddress);
   }
+
+  @Test
+  public void shouldSendAndReceiveWithMultipleAcceptorThreads() {
+    // given
+    final var address = Address.from(SocketUtil.getNextAddress().getPort());
+    final var config = new MessagingConfig().setAcceptorThreads(2).setWorkerThreads(2);
+    final var service =
+        (ManagedMessagingService) new NettyMessagingService("test", address, config).start().join();
+    final String subject = nextSubject();
+    final BiFunction<Address, byte[], byte[]> handler = (ep, data) -> "hello there".getBytes();
+    service.registerHandler(subject, handler, MoreExecutors.directExecutor());
+
+    try {
+      // when
+      final var response1 = netty1.sendAndReceive(address, subject, "hello world".getBytes());
+      final var response2 = netty2.sendAndReceive(address, subject, "hello world".getBytes());
+
+      // then
+      assertThat(response1.join()).isEqualTo("hello there".getBytes());
+      assertThat(response2.join()).isEqualTo("hello there".getBytes());
+    } finally {
+      service.stop().join();
+    }
+  }
+
+  @Test
+  public void shouldSendAndReceiveWithoutNativeTransport() {
+    // given
+    final var address = Address.from(SocketUtil.getNextAddress().getPort());
+    final var config = new MessagingConfig().setNativeTransportEnabled(false);
+    final var service =
+        (ManagedMessagingService) new NettyMessagingService("test", address, config).start().join();
+    final String subject = nextSubject();
+    final BiFunction<Address, byte[], byte[]> handler = (ep, data) -> "hello there".getBytes();
+    netty1.registerHandler(subject, handler, MoreExecutors.directExecutor());
+
+    try {
+      // when
+      final var response = service.sendAndReceive(address1, subject, "hello world".getBytes());
+
+      // then
+      assertThat(response.join()).isEqualTo("hello there".getBytes());
+    } finally {
+      service.stop().join();
+    }
+  }
+
+  private static final class StringWriter implements BufferWriter {
+    private String value;
+
+    private StringWriter(final String value) {
+      this.value = value;
+    }
+
+    @Override
+    public int getLength() {
+      return value.length();
+    }
+
+    @Override
+    public void write(final MutableDirectBuffer buffer, final int offset) {
+      buffer.putStringWithoutLengthAscii(offset, value);
+    }
+  }
 }
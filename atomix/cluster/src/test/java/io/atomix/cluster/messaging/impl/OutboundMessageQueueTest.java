@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.messaging.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.atomix.utils.net.Address;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OutboundMessageQueueTest {
+
+  private static final Address SENDER = Address.from("localhost", 26502);
+
+  private final List<Integer> flushedMessages = new ArrayList<>();
+  private EmbeddedChannel channel;
+
+  @Before
+  public void setup() {
+    channel = new EmbeddedChannel(new FlushRecorder());
+  }
+
+  @Test
+  public void shouldWriteQueuedMessagesWithSingleFlush() {
+    // given
+    final var queue = new OutboundMessageQueue(channel, 64, 1024, new MessagingMetrics());
+    final var promise = channel.newPromise();
+
+    // when
+    queue.write(request(1, 10), promise);
+    queue.write(request(2, 10), channel.voidPromise());
+    queue.write(request(3, 10), channel.voidPromise());
+    assertThat(channel.outboundMessages()).isEmpty();
+    channel.runPendingTasks();
+
+    // then
+    assertThat(flushedMessages).containsExactly(3);
+    assertThat(readOutboundIds()).containsExactly(1L, 2L, 3L);
+    assertThat(promise.isSuccess()).isTrue();
+  }
+
+  @Test
+  public void shouldFlushAfterMaxMessages() {
+    // given
+    final var queue = new OutboundMessageQueue(channel, 2, 1024, new MessagingMetrics());
+
+    // when
+    for (int i = 1; i <= 5; i++) {
+      queue.write(request(i, 10), channel.voidPromise());
+    }
+    channel.runPendingTasks();
+
+    // then
+    assertThat(flushedMessages).containsExactly(2, 2, 1);
+    assertThat(readOutboundIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+  }
+
+  @Test
+  public void shouldFlushAfterMaxBytes() {
+    // given
+    final var queue = new OutboundMessageQueue(channel, 64, 100, new MessagingMetrics());
+
+    // when
+    queue.write(request(1, 60), channel.voidPromise());
+    queue.write(request(2, 60), channel.voidPromise());
+    queue.write(request(3, 150), channel.voidPromise());
+    queue.write(request(4, 10), channel.voidPromise());
+    channel.runPendingTasks();
+
+    // then
+    assertThat(flushedMessages).containsExactly(2, 1, 1);
+    assertThat(readOutboundIds()).containsExactly(1L, 2L, 3L, 4L);
+  }
+
+  @Test
+  public void shouldFailWriteOnClosedChannel() {
+    // given
+    final var queue = new OutboundMessageQueue(channel, 64, 1024, new MessagingMetrics());
+    final var promise = channel.newPromise();
+    channel.close();
+
+    // when
+    queue.write(request(1, 10), promise);
+    channel.runPendingTasks();
+
+    // then
+    assertThat(promise.isDone()).isTrue();
+    assertThat(promise.isSuccess()).isFalse();
+  }
+
+  private List<Long> readOutboundIds() {
+    final List<Long> ids = new ArrayList<>();
+    ProtocolMessage message;
+    while ((message = channel.readOutbound()) != null) {
+      ids.add(message.id());
+    }
+    return ids;
+  }
+
+  private static ProtocolRequest request(final long id, final int payloadLength) {
+    return new ProtocolRequest(id, SENDER, "subject", new byte[payloadLength]);
+  }
+
+  private final class FlushRecorder extends ChannelOutboundHandlerAdapter {
+    private int pendingMessages;
+
+    @Override
+    public void write(
+        final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+      pendingMessages++;
+      ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(final ChannelHandlerContext ctx) {
+      flushedMessages.add(pendingMessages);
+      pendingMessages = 0;
+      ctx.flush();
+    }
+  }
+}
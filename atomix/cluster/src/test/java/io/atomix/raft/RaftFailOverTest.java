@@ -17,6 +17,7 @@ package io.atomix.raft;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.atomix.raft.snapshot.InMemorySnapshot;
 import io.atomix.raft.storage.log.Indexed;
 import java.util.Collection;
 import java.util.List;
@@ -189,6 +190,27 @@ public class RaftFailOverTest {
     assertThat(snapshot.getTerm()).isEqualTo(snapshot.getTerm());
   }
 
+  @Test
+  public void shouldReuseSnapshotFilesOnJoin() throws Exception {
+    // given
+    raftRule.appendEntries(20);
+    raftRule.doSnapshot(10, 10);
+    final var follower = raftRule.shutdownFollower();
+    raftRule.appendEntries(20);
+    raftRule.doSnapshot(30, 12);
+    final var leaderSnapshot = raftRule.getSnapshotFromLeader();
+
+    // when
+    raftRule.joinCluster(follower);
+
+    // then
+    assertThat(raftRule.allNodesHaveSnapshotWithIndex(30)).isTrue();
+    final var snapshot = (InMemorySnapshot) raftRule.getSnapshotOnNode(follower);
+
+    assertThat(snapshot).isEqualTo(leaderSnapshot);
+    assertThat(snapshot.getReusedChunks()).hasSize(10);
+  }
+
   @Test
   public void shouldReplicateEntriesAfterSnapshotOnJoin() throws Exception {
     // given
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.cluster.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.atomix.cluster.MemberId;
+import io.atomix.raft.cluster.RaftMember.Type;
+import io.atomix.raft.storage.log.RaftLog;
+import io.atomix.raft.storage.log.RaftLogReader;
+import io.atomix.raft.storage.log.RaftLogReader.Mode;
+import java.time.Instant;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RaftMemberContextTest {
+
+  private static final int MAX_APPEND_BATCH_SIZE = 32 * 1024;
+
+  private RaftMemberContext memberContext;
+  private RaftLogReader reader;
+
+  @Before
+  public void setup() {
+    final RaftLog log = mock(RaftLog.class);
+    reader = mock(RaftLogReader.class);
+    when(log.openReader(anyLong(), eq(Mode.ALL))).thenReturn(reader);
+
+    memberContext =
+        new RaftMemberContext(
+            new DefaultRaftMember(MemberId.from("1"), Type.ACTIVE, Instant.now()),
+            mock(RaftClusterContext.class),
+            2,
+            MAX_APPEND_BATCH_SIZE);
+    memberContext.resetState(log);
+  }
+
+  @Test
+  public void shouldTrackInFlightAppends() {
+    // when
+    memberContext.startAppend();
+    memberContext.startAppend();
+    memberContext.completeAppend();
+
+    // then
+    assertThat(memberContext.getInFlightAppendCount()).isEqualTo(1);
+    assertThat(memberContext.canHeartbeat()).isFalse();
+  }
+
+  @Test
+  public void shouldIncrementAppendEpochOnReset() {
+    // given
+    final long epoch = memberContext.getAppendEpoch();
+
+    // when
+    memberContext.reset(5);
+
+    // then
+    assertThat(memberContext.getAppendEpoch()).isGreaterThan(epoch);
+    verify(reader).reset(4);
+  }
+
+  @Test
+  public void shouldNotAllowSecondAppendUntilAnAppendSucceeded() {
+    // given
+    memberContext.startAppend();
+
+    // when
+    memberContext.appendFailed();
+
+    // then
+    assertThat(memberContext.canAppend()).isFalse();
+  }
+
+  @Test
+  public void shouldSendSingleEntriesToCaughtUpMember() {
+    // when
+    memberContext.updateAppendBatchSize(1);
+
+    // then
+    assertThat(memberContext.getAppendBatchSize()).isZero();
+  }
+
+  @Test
+  public void shouldGrowAppendBatchSizeWhileMemberIsCatchingUp() {
+    // given
+    memberContext.updateAppendBatchSize(0);
+
+    // when
+    memberContext.updateAppendBatchSize(100);
+    final int firstBatchSize = memberContext.getAppendBatchSize();
+    memberContext.updateAppendBatchSize(100);
+
+    // then
+    assertThat(firstBatchSize).isEqualTo(MAX_APPEND_BATCH_SIZE / 8);
+    assertThat(memberContext.getAppendBatchSize()).isEqualTo(2 * firstBatchSize);
+  }
+
+  @Test
+  public void shouldNotGrowAppendBatchSizeBeyondMaximum() {
+    // when
+    for (int i = 0; i < 10; i++) {
+      memberContext.updateAppendBatchSize(100);
+    }
+
+    // then
+    assertThat(memberContext.getAppendBatchSize()).isEqualTo(MAX_APPEND_BATCH_SIZE);
+  }
+
+  @Test
+  public void shouldHalveAppendBatchSizeIfAppendLatencyIncreases() {
+    // given
+    memberContext.startAppend();
+    memberContext.completeAppend(10);
+    memberContext.startAppend();
+    memberContext.completeAppend(100);
+
+    // when
+    memberContext.updateAppendBatchSize(100);
+
+    // then
+    assertThat(memberContext.getAppendBatchSize()).isEqualTo(MAX_APPEND_BATCH_SIZE / 2);
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.partition.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.atomix.utils.serializer.Serializer;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+public class CompressingSerializerTest {
+
+  private static final int THRESHOLD = 1024;
+  private static final int MAX_MESSAGE_SIZE = 64 * THRESHOLD;
+
+  private final Serializer plainSerializer = Serializer.using(RaftNamespaces.RAFT_PROTOCOL);
+  private final CompressingSerializer serializer =
+      new CompressingSerializer(
+          plainSerializer, true, THRESHOLD, MAX_MESSAGE_SIZE, "raft-partition-1");
+
+  @Test
+  public void shouldCompressLargeMessage() {
+    // given
+    final byte[] message = compressibleBytes(4 * THRESHOLD);
+
+    // when
+    final byte[] encoded = serializer.encode(message);
+
+    // then
+    assertThat(encoded.length).isLessThan(plainSerializer.encode(message).length);
+    assertThat(plainSerializer.<Object>decode(encoded)).isInstanceOf(CompressedRaftMessage.class);
+    assertThat(serializer.<byte[]>decode(encoded)).isEqualTo(message);
+  }
+
+  @Test
+  public void shouldNotCompressMessageBelowThreshold() {
+    // given
+    final byte[] message = compressibleBytes(THRESHOLD / 2);
+
+    // when
+    final byte[] encoded = serializer.encode(message);
+
+    // then
+    assertThat(encoded).isEqualTo(plainSerializer.encode(message));
+    assertThat(serializer.<byte[]>decode(encoded)).isEqualTo(message);
+  }
+
+  @Test
+  public void shouldNotCompressIncompressibleMessage() {
+    // given
+    final byte[] message = new byte[4 * THRESHOLD];
+    new Random(1).nextBytes(message);
+
+    // when
+    final byte[] encoded = serializer.encode(message);
+
+    // then
+    assertThat(encoded).isEqualTo(plainSerializer.encode(message));
+  }
+
+  @Test
+  public void shouldDecodeCompressedMessageIfCompressionIsDisabled() {
+    // given
+    final var uncompressingSerializer =
+        new CompressingSerializer(
+            plainSerializer, false, THRESHOLD, MAX_MESSAGE_SIZE, "raft-partition-1");
+    final byte[] message = compressibleBytes(4 * THRESHOLD);
+
+    // when
+    final byte[] encoded = serializer.encode(message);
+
+    // then
+    assertThat(uncompressingSerializer.encode(message)).isEqualTo(plainSerializer.encode(message));
+    assertThat(uncompressingSerializer.<byte[]>decode(encoded)).isEqualTo(message);
+  }
+
+  @Test
+  public void shouldRejectCompressedMessageLargerThanMaxMessageSize() {
+    // given
+    final byte[] compressed = serializer.encode(compressibleBytes(4 * THRESHOLD));
+    final CompressedRaftMessage message = plainSerializer.decode(compressed);
+    final byte[] oversized =
+        plainSerializer.encode(new CompressedRaftMessage(Integer.MAX_VALUE, message.payload()));
+
+    // when - then
+    assertThatThrownBy(() -> serializer.decode(oversized))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("at most " + MAX_MESSAGE_SIZE + " bytes");
+  }
+
+  @Test
+  public void shouldRejectCompressedMessageWithNegativeLength() {
+    // given
+    final byte[] compressed = serializer.encode(compressibleBytes(4 * THRESHOLD));
+    final CompressedRaftMessage message = plainSerializer.decode(compressed);
+    final byte[] negative =
+        plainSerializer.encode(new CompressedRaftMessage(-1, message.payload()));
+
+    // when - then
+    assertThatThrownBy(() -> serializer.decode(negative))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static byte[] compressibleBytes(final int length) {
+    final byte[] bytes = new byte[length];
+    Arrays.fill(bytes, (byte) 'a');
+    return bytes;
+  }
+}
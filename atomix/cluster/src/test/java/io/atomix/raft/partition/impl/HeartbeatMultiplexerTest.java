@@ -0,0 +1,209 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.partition.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import io.atomix.cluster.MemberId;
+import io.atomix.cluster.messaging.ClusterCommunicationService;
+import io.atomix.cluster.messaging.MessagingException.NoRemoteHandler;
+import io.atomix.raft.protocol.AppendRequest;
+import io.atomix.raft.protocol.AppendResponse;
+import io.atomix.raft.protocol.RaftResponse.Status;
+import io.atomix.utils.serializer.Serializer;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class HeartbeatMultiplexerTest {
+
+  private static final MemberId MEMBER = MemberId.from("2");
+  private static final Duration INTERVAL = Duration.ofMillis(200);
+  private static final String SUBJECT = "raft-partition-group-raft-heartbeats";
+
+  private final CompletableFuture<HeartbeatBatchResponse> sentBatch = new CompletableFuture<>();
+  private ClusterCommunicationService communicationService;
+  private HeartbeatMultiplexer multiplexer;
+
+  @Before
+  public void setup() {
+    communicationService = mock(ClusterCommunicationService.class);
+    doReturn(sentBatch)
+        .when(communicationService)
+        .send(anyString(), any(), any(), any(), any(MemberId.class));
+  }
+
+  @After
+  public void tearDown() {
+    multiplexer.close();
+  }
+
+  @Test
+  public void shouldSendHeartbeatsToSameMemberAsOneBatch() {
+    // given
+    multiplexer = createMultiplexer(INTERVAL);
+    final var firstHeartbeat = heartbeat(1);
+    final var secondHeartbeat = heartbeat(2);
+
+    // when
+    final var firstResponse = multiplexer.send(MEMBER, "raft-partition-1", firstHeartbeat);
+    final var secondResponse = multiplexer.send(MEMBER, "raft-partition-2", secondHeartbeat);
+
+    // then
+    final HeartbeatBatchRequest batch = awaitSentBatch();
+    assertThat(batch.requests())
+        .containsOnly(
+            Map.entry("raft-partition-1", firstHeartbeat),
+            Map.entry("raft-partition-2", secondHeartbeat));
+
+    sentBatch.complete(
+        new HeartbeatBatchResponse(
+            Map.of("raft-partition-1", response(1), "raft-partition-2", response(2))));
+    assertThat(firstResponse.join().lastLogIndex()).isEqualTo(1);
+    assertThat(secondResponse.join().lastLogIndex()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldFailHeartbeatWithoutResponse() {
+    // given
+    multiplexer = createMultiplexer(INTERVAL);
+    final var response = multiplexer.send(MEMBER, "raft-partition-1", heartbeat(1));
+    awaitSentBatch();
+
+    // when
+    sentBatch.complete(new HeartbeatBatchResponse(Collections.emptyMap()));
+
+    // then
+    assertThat(response).hasFailedWithThrowableThat().isInstanceOf(NoRemoteHandler.class);
+  }
+
+  @Test
+  public void shouldCompleteReplacedHeartbeatWithLatestResponse() {
+    // given
+    multiplexer = createMultiplexer(INTERVAL);
+    final var firstResponse = multiplexer.send(MEMBER, "raft-partition-1", heartbeat(1));
+    final var secondResponse = multiplexer.send(MEMBER, "raft-partition-1", heartbeat(2));
+
+    // when
+    final HeartbeatBatchRequest batch = awaitSentBatch();
+    sentBatch.complete(new HeartbeatBatchResponse(Map.of("raft-partition-1", response(2))));
+
+    // then
+    assertThat(batch.requests().get("raft-partition-1").prevLogIndex()).isEqualTo(2);
+    assertThat(firstResponse.join()).isEqualTo(secondResponse.join());
+  }
+
+  @Test
+  public void shouldDispatchIncomingHeartbeatsToPartitions() {
+    // given
+    multiplexer = createMultiplexer(Duration.ZERO);
+    multiplexer.registerAppendHandler(
+        "raft-partition-1",
+        request -> CompletableFuture.completedFuture(response(request.prevLogIndex())));
+    final Function<HeartbeatBatchRequest, CompletableFuture<HeartbeatBatchResponse>> handler =
+        captureBatchHandler();
+
+    // when
+    final var batchResponse =
+        handler
+            .apply(
+                new HeartbeatBatchRequest(
+                    Map.of("raft-partition-1", heartbeat(3), "raft-partition-2", heartbeat(4))))
+            .join();
+
+    // then
+    assertThat(batchResponse.responses()).containsOnlyKeys("raft-partition-1");
+    assertThat(batchResponse.responses().get("raft-partition-1").lastLogIndex()).isEqualTo(3);
+    verify(communicationService, never())
+        .send(anyString(), any(), any(), any(), any(MemberId.class));
+  }
+
+  @Test
+  public void shouldFailPendingHeartbeatsOnClose() {
+    // given
+    multiplexer = createMultiplexer(INTERVAL);
+    final var response = multiplexer.send(MEMBER, "raft-partition-1", heartbeat(1));
+
+    // when
+    multiplexer.close();
+
+    // then - closing again in tearDown must not block
+    assertThat(response).isCompletedExceptionally();
+  }
+
+  private HeartbeatMultiplexer createMultiplexer(final Duration interval) {
+    final var heartbeatMultiplexer =
+        new HeartbeatMultiplexer(
+            "raft", Serializer.using(RaftNamespaces.RAFT_PROTOCOL), communicationService, interval);
+    heartbeatMultiplexer.start();
+    return heartbeatMultiplexer;
+  }
+
+  @SuppressWarnings("unchecked")
+  private HeartbeatBatchRequest awaitSentBatch() {
+    final ArgumentCaptor<HeartbeatBatchRequest> captor =
+        ArgumentCaptor.forClass(HeartbeatBatchRequest.class);
+    verify(communicationService, timeout(5_000))
+        .send(eq(SUBJECT), captor.capture(), any(), any(), eq(MEMBER));
+    return captor.getValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private Function<HeartbeatBatchRequest, CompletableFuture<HeartbeatBatchResponse>>
+      captureBatchHandler() {
+    final ArgumentCaptor<Function<HeartbeatBatchRequest, CompletableFuture<HeartbeatBatchResponse>>>
+        captor = ArgumentCaptor.forClass(Function.class);
+    verify(communicationService)
+        .<HeartbeatBatchRequest, HeartbeatBatchResponse>subscribe(
+            eq(SUBJECT), any(), captor.capture(), any());
+    return captor.getValue();
+  }
+
+  private static AppendRequest heartbeat(final long prevLogIndex) {
+    return AppendRequest.builder()
+        .withTerm(1)
+        .withLeader(MemberId.from("1"))
+        .withPrevLogIndex(prevLogIndex)
+        .withPrevLogTerm(1)
+        .withEntries(Collections.emptyList())
+        .withChecksums(Collections.emptyList())
+        .withCommitIndex(prevLogIndex)
+        .build();
+  }
+
+  private static AppendResponse response(final long lastLogIndex) {
+    return AppendResponse.builder()
+        .withStatus(Status.OK)
+        .withTerm(1)
+        .withSucceeded(true)
+        .withLastLogIndex(lastLogIndex)
+        .build();
+  }
+}
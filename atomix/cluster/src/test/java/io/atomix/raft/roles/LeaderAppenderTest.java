@@ -0,0 +1,205 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.roles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import io.atomix.cluster.MemberId;
+import io.atomix.raft.cluster.RaftMember.Type;
+import io.atomix.raft.cluster.impl.DefaultRaftMember;
+import io.atomix.raft.cluster.impl.RaftClusterContext;
+import io.atomix.raft.cluster.impl.RaftMemberContext;
+import io.atomix.raft.impl.RaftContext;
+import io.atomix.raft.metrics.RaftReplicationMetrics;
+import io.atomix.raft.protocol.AppendRequest;
+import io.atomix.raft.protocol.AppendResponse;
+import io.atomix.raft.protocol.RaftResponse.Status;
+import io.atomix.raft.protocol.RaftServerProtocol;
+import io.atomix.raft.storage.log.RaftLog;
+import io.atomix.raft.storage.log.RaftLogReader;
+import io.atomix.raft.storage.log.entry.InitializeEntry;
+import io.atomix.raft.storage.system.Configuration;
+import io.atomix.utils.concurrent.ThreadContext;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LeaderAppenderTest {
+
+  private static final int MAX_APPEND_BATCH_SIZE = 32 * 1024;
+
+  private RaftContext context;
+  private RaftLog log;
+  private RaftMemberContext member;
+  private RaftServerProtocol protocol;
+  private LeaderAppender appender;
+
+  @Before
+  public void setup() {
+    context = mock(RaftContext.class);
+    when(context.getName()).thenReturn("leader");
+    when(context.getElectionTimeout()).thenReturn(Duration.ofMillis(100));
+    when(context.getHeartbeatInterval()).thenReturn(Duration.ofMillis(100));
+    when(context.getReplicationMetrics()).thenReturn(mock(RaftReplicationMetrics.class));
+    when(context.getMaxAppendBatchSize()).thenReturn(MAX_APPEND_BATCH_SIZE);
+    when(context.isAdaptiveAppendBatchSize()).thenReturn(true);
+
+    log = mock(RaftLog.class);
+    when(log.openReader(anyLong(), any())).thenReturn(mock(RaftLogReader.class));
+    when(context.getLog()).thenReturn(log);
+
+    member =
+        mock(
+            RaftMemberContext.class,
+            withSettings()
+                .useConstructor(
+                    new DefaultRaftMember(MemberId.from("1"), Type.ACTIVE, Instant.now()),
+                    mock(RaftClusterContext.class),
+                    2,
+                    MAX_APPEND_BATCH_SIZE)
+                .defaultAnswer(CALLS_REAL_METHODS));
+    member.resetState(log);
+
+    when(context.getTerm()).thenReturn(1L);
+    member.setConfigTerm(1);
+
+    protocol = mock(RaftServerProtocol.class);
+    when(protocol.append(any(), any())).thenReturn(new CompletableFuture<>());
+    when(protocol.heartbeat(any(), any())).thenReturn(new CompletableFuture<>());
+    when(context.getProtocol()).thenReturn(protocol);
+    when(context.getThreadContext()).thenReturn(mock(ThreadContext.class));
+    when(context.getLeader())
+        .thenReturn(new DefaultRaftMember(MemberId.from("0"), Type.ACTIVE, Instant.now()));
+
+    final RaftClusterContext cluster = mock(RaftClusterContext.class);
+    when(cluster.getActiveMemberStates(any())).thenReturn(List.of(member));
+    when(cluster.getRemoteMemberStates()).thenReturn(List.of(member));
+    when(cluster.getConfiguration()).thenReturn(mock(Configuration.class));
+    when(cluster.getQuorum()).thenReturn(2);
+    when(context.getCluster()).thenReturn(cluster);
+
+    appender = new LeaderAppender(new LeaderRole(context));
+  }
+
+  @Test
+  public void shouldShrinkAppendBatchSizeIfMemberIsCaughtUp() {
+    // given
+    when(log.getLastIndex()).thenReturn(100L);
+
+    // when
+    appender.handleAppendResponseOk(member, appendRequest(), appendResponse(100));
+
+    // then
+    assertThat(member.getAppendBatchSize()).isZero();
+  }
+
+  @Test
+  public void shouldGrowAppendBatchSizeIfMemberLagsBehind() {
+    // given
+    when(log.getLastIndex()).thenReturn(100L);
+    appender.handleAppendResponseOk(member, appendRequest(), appendResponse(100));
+    when(log.getLastIndex()).thenReturn(1_000L);
+
+    // when
+    appender.handleAppendResponseOk(member, appendRequest(), appendResponse(200));
+    final int firstBatchSize = member.getAppendBatchSize();
+    appender.handleAppendResponseOk(member, appendRequest(), appendResponse(300));
+
+    // then
+    assertThat(firstBatchSize).isPositive();
+    assertThat(member.getAppendBatchSize()).isEqualTo(2 * firstBatchSize);
+  }
+
+  @Test
+  public void shouldNotAdaptAppendBatchSizeIfDisabled() {
+    // given
+    when(context.isAdaptiveAppendBatchSize()).thenReturn(false);
+    when(log.getLastIndex()).thenReturn(100L);
+
+    // when
+    appender.handleAppendResponseOk(member, appendRequest(), appendResponse(100));
+
+    // then
+    assertThat(member.getAppendBatchSize()).isEqualTo(MAX_APPEND_BATCH_SIZE);
+  }
+
+  @Test
+  public void shouldSendPeriodicHeartbeatToCaughtUpMemberAsHeartbeat() {
+    // when
+    appender.heartbeat();
+
+    // then
+    verify(protocol).heartbeat(eq(member.getMember().memberId()), any());
+    verify(protocol, never()).append(any(), any());
+  }
+
+  @Test
+  public void shouldSendOtherEmptyAppendRequestsRightAway() {
+    // when
+    appender.appendEntries();
+
+    // then
+    verify(protocol).append(eq(member.getMember().memberId()), any());
+    verify(protocol, never()).heartbeat(any(), any());
+  }
+
+  @Test
+  public void shouldProbeFailedMemberRightAwayOnPeriodicHeartbeat() {
+    // given
+    member.incrementFailureCount();
+
+    // when
+    appender.heartbeat();
+
+    // then
+    verify(protocol).append(eq(member.getMember().memberId()), any());
+    verify(protocol, never()).heartbeat(any(), any());
+  }
+
+  private AppendRequest appendRequest() {
+    return AppendRequest.builder()
+        .withTerm(1)
+        .withLeader(MemberId.from("0"))
+        .withPrevLogIndex(0)
+        .withPrevLogTerm(1)
+        .withEntries(new InitializeEntry(1, 0))
+        .withChecksums(Collections.singletonList(0L))
+        .withCommitIndex(0)
+        .build();
+  }
+
+  private AppendResponse appendResponse(final long lastLogIndex) {
+    return AppendResponse.builder()
+        .withStatus(Status.OK)
+        .withTerm(1)
+        .withSucceeded(true)
+        .withLastLogIndex(lastLogIndex)
+        .build();
+  }
+}
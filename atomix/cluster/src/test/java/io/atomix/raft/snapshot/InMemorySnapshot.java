@@ -28,8 +28,12 @@ import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
+import java.util.Set;
 import java.util.TreeMap;
 import org.agrona.concurrent.UnsafeBuffer;
 
@@ -41,6 +45,7 @@ public class InMemorySnapshot implements PersistedSnapshot, ReceivedSnapshot {
   private final WallClockTimestamp timestamp;
   private final String id;
   private final NavigableMap<String, String> chunks = new TreeMap<>();
+  private final Set<String> reusedChunks = new HashSet<>();
 
   InMemorySnapshot(final TestSnapshotStore testSnapshotStore, final String snapshotId) {
     this.testSnapshotStore = testSnapshotStore;
@@ -116,6 +121,18 @@ public class InMemorySnapshot implements PersistedSnapshot, ReceivedSnapshot {
         return ByteBuffer.wrap(iterator.firstEntry().getKey().getBytes());
       }
 
+      @Override
+      public void excludeChunks(final Set<String> chunkNames) {
+        if (iterator.isEmpty()) {
+          return;
+        }
+
+        final var lastChunk = iterator.lastKey();
+        final var remaining = new TreeMap<>(iterator);
+        remaining.keySet().removeIf(name -> !name.equals(lastChunk) && chunkNames.contains(name));
+        iterator = remaining;
+      }
+
       @Override
       public void close() {
         iterator = null;
@@ -129,7 +146,7 @@ public class InMemorySnapshot implements PersistedSnapshot, ReceivedSnapshot {
       @Override
       public SnapshotChunk next() {
         final var nextEntry = iterator.firstEntry();
-        iterator = chunks.tailMap(nextEntry.getKey(), false);
+        iterator = iterator.tailMap(nextEntry.getKey(), false);
         return new TestSnapshotChunkImpl(
             id, nextEntry.getKey(), StringUtil.getBytes(nextEntry.getValue()), chunks.size());
       }
@@ -154,6 +171,13 @@ public class InMemorySnapshot implements PersistedSnapshot, ReceivedSnapshot {
     return id;
   }
 
+  @Override
+  public Map<String, Long> getFileChecksums() {
+    final var checksums = new HashMap<String, Long>();
+    chunks.forEach((name, content) -> checksums.put(name, (long) content.hashCode()));
+    return checksums;
+  }
+
   @Override
   public void close() {}
 
@@ -164,10 +188,35 @@ public class InMemorySnapshot implements PersistedSnapshot, ReceivedSnapshot {
 
   @Override
   public ActorFuture<Boolean> apply(final SnapshotChunk chunk) throws IOException {
+    if (reusedChunks.contains(chunk.getChunkName())) {
+      return CompletableActorFuture.completed(true);
+    }
     chunks.put(chunk.getChunkName(), StringUtil.fromBytes(chunk.getContent()));
     return CompletableActorFuture.completed(true);
   }
 
+  @Override
+  public ActorFuture<Set<String>> reuseFiles(final Map<String, Long> fileChecksums) {
+    testSnapshotStore
+        .getLatestSnapshot()
+        .map(InMemorySnapshot.class::cast)
+        .ifPresent(
+            latest ->
+                latest.chunks.forEach(
+                    (name, content) -> {
+                      if (fileChecksums.get(name) != null
+                          && fileChecksums.get(name) == content.hashCode()) {
+                        chunks.put(name, content);
+                        reusedChunks.add(name);
+                      }
+                    }));
+    return CompletableActorFuture.completed(Set.copyOf(reusedChunks));
+  }
+
+  public Set<String> getReusedChunks() {
+    return reusedChunks;
+  }
+
   @Override
   public ActorFuture<Void> abort() {
     return CompletableActorFuture.completed(null);
@@ -47,6 +47,11 @@ class TestSnapshotChunkImpl implements SnapshotChunk {
     return chunkName;
   }
 
+  @Override
+  public long getFileBlockPosition() {
+    return 0;
+  }
+
   @Override
   public long getChecksum() {
     return 0;
@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.storage.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.atomix.utils.concurrent.Scheduled;
+import io.atomix.utils.concurrent.Scheduler;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class RaftLogFlusherTest {
+
+  private static final Duration FLUSH_DELAY = Duration.ofMillis(10);
+  private static final long FLUSH_BATCH_SIZE = 1024;
+
+  private final List<Integer> completedFutures = new ArrayList<>();
+  private RaftLog raftLog;
+  private Scheduler scheduler;
+  private RaftLogFlusher flusher;
+
+  @Before
+  public void setup() {
+    raftLog = mock(RaftLog.class);
+    scheduler = mock(Scheduler.class);
+    when(scheduler.schedule(any(Duration.class), any(Runnable.class)))
+        .thenReturn(mock(Scheduled.class));
+    flusher = new RaftLogFlusher(raftLog, scheduler, FLUSH_DELAY, FLUSH_BATCH_SIZE);
+  }
+
+  @Test
+  public void shouldCompleteFutureImmediatelyIfFlushed() {
+    // given
+    when(raftLog.isFlushed()).thenReturn(true);
+
+    // when
+    completeWhenFlushed(1);
+
+    // then
+    assertThat(completedFutures).containsExactly(1);
+    verify(raftLog, never()).flush();
+    verify(scheduler, never()).schedule(any(Duration.class), any(Runnable.class));
+  }
+
+  @Test
+  public void shouldFlushImmediatelyWithoutDelay() {
+    // given
+    flusher = new RaftLogFlusher(raftLog, scheduler, Duration.ZERO, FLUSH_BATCH_SIZE);
+
+    // when
+    completeWhenFlushed(1);
+
+    // then
+    assertThat(completedFutures).containsExactly(1);
+    verify(raftLog).flush();
+  }
+
+  @Test
+  public void shouldGroupFlushesWithinDelay() {
+    // given
+    completeWhenFlushed(1);
+    completeWhenFlushed(2);
+    assertThat(completedFutures).isEmpty();
+    final ArgumentCaptor<Runnable> scheduledFlush = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler).schedule(eq(FLUSH_DELAY), scheduledFlush.capture());
+
+    // when
+    scheduledFlush.getValue().run();
+
+    // then
+    assertThat(completedFutures).containsExactly(1, 2);
+    verify(raftLog, times(1)).flush();
+  }
+
+  @Test
+  public void shouldFlushImmediatelyWhenBatchSizeIsReached() {
+    // given
+    completeWhenFlushed(1);
+    when(raftLog.getUnflushedBytes()).thenReturn(FLUSH_BATCH_SIZE);
+
+    // when
+    completeWhenFlushed(2);
+
+    // then
+    assertThat(completedFutures).containsExactly(1, 2);
+    verify(raftLog, times(1)).flush();
+  }
+
+  @Test
+  public void shouldCompleteFuturesInOrderIfLogIsFlushedInBetween() {
+    // given
+    completeWhenFlushed(1);
+    when(raftLog.isFlushed()).thenReturn(true);
+
+    // when
+    completeWhenFlushed(2);
+    assertThat(completedFutures).isEmpty();
+    flusher.flush();
+
+    // then
+    assertThat(completedFutures).containsExactly(1, 2);
+  }
+
+  @Test
+  public void shouldCompletePendingFuturesExceptionallyOnClose() {
+    // given
+    final CompletableFuture<Integer> future = new CompletableFuture<>();
+    flusher.completeWhenFlushed(future, 1);
+
+    // when
+    flusher.close();
+
+    // then
+    assertThat(future).isCompletedExceptionally();
+    verify(raftLog, never()).flush();
+  }
+
+  private void completeWhenFlushed(final int value) {
+    final CompletableFuture<Integer> future = new CompletableFuture<>();
+    future.thenAccept(completedFutures::add);
+    flusher.completeWhenFlushed(future, value);
+  }
+}
@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import io.atomix.cluster.AtomixClusterBuilder;
 import io.atomix.cluster.MemberId;
 import io.atomix.cluster.discovery.NodeDiscoveryProvider;
+import io.atomix.cluster.messaging.ConnectionClass;
 import io.atomix.cluster.protocol.GroupMembershipProtocol;
 import io.atomix.primitive.partition.ManagedPartitionGroup;
 import io.atomix.utils.net.Address;
@@ -268,6 +269,37 @@ public class AtomixBuilder extends AtomixClusterBuilder {
     return this;
   }
 
+  @Override
+  public AtomixBuilder withConnectionPoolSize(
+      final ConnectionClass connectionClass, final int connectionPoolSize) {
+    super.withConnectionPoolSize(connectionClass, connectionPoolSize);
+    return this;
+  }
+
+  @Override
+  public AtomixBuilder withNativeTransportEnabled(final boolean nativeTransportEnabled) {
+    super.withNativeTransportEnabled(nativeTransportEnabled);
+    return this;
+  }
+
+  @Override
+  public AtomixBuilder withTcpQuickAckEnabled(final boolean tcpQuickAckEnabled) {
+    super.withTcpQuickAckEnabled(tcpQuickAckEnabled);
+    return this;
+  }
+
+  @Override
+  public AtomixBuilder withMessagingAcceptorThreads(final int acceptorThreads) {
+    super.withMessagingAcceptorThreads(acceptorThreads);
+    return this;
+  }
+
+  @Override
+  public AtomixBuilder withMessagingWorkerThreads(final int workerThreads) {
+    super.withMessagingWorkerThreads(workerThreads);
+    return this;
+  }
+
   @Override
   public AtomixBuilder setBroadcastInterval(final Duration interval) {
     super.setBroadcastInterval(interval);
@@ -32,6 +32,7 @@ import io.zeebe.broker.system.SystemContext;
 import io.zeebe.broker.system.configuration.BrokerCfg;
 import io.zeebe.broker.system.configuration.ClusterCfg;
 import io.zeebe.broker.system.configuration.DataCfg;
+import io.zeebe.broker.system.configuration.ExperimentalCfg;
 import io.zeebe.broker.system.configuration.NetworkCfg;
 import io.zeebe.broker.system.configuration.SocketBindingCfg;
 import io.zeebe.broker.system.configuration.backpressure.BackpressureCfg;
@@ -210,7 +211,10 @@ public final class Broker implements AutoCloseable {
         "command api transport",
         () ->
             commandApiTransportStep(
-                clusterCfg, brokerCfg.getNetwork().getCommandApi(), localBroker));
+                clusterCfg,
+                brokerCfg.getNetwork().getCommandApi(),
+                brokerCfg.getExperimental(),
+                localBroker));
     startContext.addStep(
         "command api handler", () -> commandApiHandlerStep(brokerCfg, localBroker));
     startContext.addStep("subscription api", () -> subscriptionAPIStep(localBroker));
@@ -254,7 +258,10 @@ public final class Broker implements AutoCloseable {
 
   private AutoCloseable atomixCreateStep(final BrokerCfg brokerCfg, final BrokerInfo localBroker) {
     final var snapshotStoreFactory =
-        new FileBasedSnapshotStoreFactory(scheduler, localBroker.getNodeId());
+        new FileBasedSnapshotStoreFactory(
+            scheduler,
+            localBroker.getNodeId(),
+            brokerCfg.getExperimental().getSnapshotChunkSizeInBytes());
     snapshotStoreSupplier = snapshotStoreFactory;
     atomix = AtomixFactory.fromConfiguration(brokerCfg, snapshotStoreFactory);
 
@@ -265,8 +272,10 @@ public final class Broker implements AutoCloseable {
   private AutoCloseable commandApiTransportStep(
       final ClusterCfg clusterCfg,
       final SocketBindingCfg commpandApiConfig,
+      final ExperimentalCfg experimentalCfg,
       final BrokerInfo localBroker) {
-    final var messagingService = createMessagingService(clusterCfg, commpandApiConfig);
+    final var messagingService =
+        createMessagingService(clusterCfg, commpandApiConfig, experimentalCfg);
     messagingService.start().join();
     LOG.debug(
         "Bound command API to {}, using advertised address {} ",
@@ -284,10 +293,16 @@ public final class Broker implements AutoCloseable {
   }
 
   private ManagedMessagingService createMessagingService(
-      final ClusterCfg clusterCfg, final SocketBindingCfg socketCfg) {
+      final ClusterCfg clusterCfg,
+      final SocketBindingCfg socketCfg,
+      final ExperimentalCfg experimentalCfg) {
     final var messagingConfig = new MessagingConfig();
     messagingConfig.setInterfaces(List.of(socketCfg.getHost()));
     messagingConfig.setPort(socketCfg.getPort());
+    messagingConfig.setNativeTransportEnabled(experimentalCfg.isEnableNativeTransport());
+    messagingConfig.setTcpQuickAckEnabled(experimentalCfg.isEnableTcpQuickAck());
+    messagingConfig.setAcceptorThreads(experimentalCfg.getMessagingAcceptorThreads());
+    messagingConfig.setWorkerThreads(experimentalCfg.getCommandApiThreads());
     return new NettyMessagingService(
         clusterCfg.getClusterName(),
         Address.from(socketCfg.getAdvertisedHost(), socketCfg.getAdvertisedPort()),
@@ -11,6 +11,7 @@ import io.atomix.cluster.Node;
 import io.atomix.cluster.discovery.BootstrapDiscoveryBuilder;
 import io.atomix.cluster.discovery.BootstrapDiscoveryProvider;
 import io.atomix.cluster.discovery.NodeDiscoveryProvider;
+import io.atomix.cluster.messaging.ConnectionClass;
 import io.atomix.cluster.protocol.GroupMembershipProtocol;
 import io.atomix.cluster.protocol.SwimMembershipProtocol;
 import io.atomix.core.Atomix;
@@ -47,6 +48,7 @@ public final class AtomixFactory {
     final var nodeId = clusterCfg.getNodeId();
     final var localMemberId = Integer.toString(nodeId);
     final var networkCfg = configuration.getNetwork();
+    final var experimentalCfg = configuration.getExperimental();
 
     final NodeDiscoveryProvider discoveryProvider =
         createDiscoveryProvider(clusterCfg, localMemberId);
@@ -77,6 +79,18 @@ public final class AtomixFactory {
                 Address.from(
                     networkCfg.getInternalApi().getAdvertisedHost(),
                     networkCfg.getInternalApi().getAdvertisedPort()))
+            .withNativeTransportEnabled(experimentalCfg.isEnableNativeTransport())
+            .withTcpQuickAckEnabled(experimentalCfg.isEnableTcpQuickAck())
+            .withMessagingAcceptorThreads(experimentalCfg.getMessagingAcceptorThreads())
+            .withMessagingWorkerThreads(experimentalCfg.getInternalApiThreads())
+            .withConnectionPoolSize(
+                ConnectionClass.REPLICATION, experimentalCfg.getReplicationConnectionPoolSize())
+            .withConnectionPoolSize(
+                ConnectionClass.SNAPSHOT, experimentalCfg.getSnapshotConnectionPoolSize())
+            .withConnectionPoolSize(
+                ConnectionClass.COMMAND, experimentalCfg.getCommandConnectionPoolSize())
+            .withConnectionPoolSize(
+                ConnectionClass.GOSSIP, experimentalCfg.getGossipConnectionPoolSize())
             .withMembershipProvider(discoveryProvider);
 
     final DataCfg dataConfiguration = configuration.getData();
@@ -111,8 +125,16 @@ public final class AtomixFactory {
             .withSnapshotStoreFactory(snapshotStoreFactory)
             .withMaxAppendBatchSize((int) experimentalCfg.getMaxAppendBatchSizeInBytes())
             .withMaxAppendsPerFollower(experimentalCfg.getMaxAppendsPerFollower())
+            .withAdaptiveAppendBatchSize(experimentalCfg.isEnableAdaptiveAppendBatchSize())
             .withEntryValidator(new ZeebeEntryValidator())
             .withFlushExplicitly(!experimentalCfg.isDisableExplicitRaftFlush())
+            .withFlushDelay(experimentalCfg.getRaftFlushDelay())
+            .withFlushBatchSize(experimentalCfg.getRaftFlushBatchSizeInBytes())
+            .withSegmentPreallocation(experimentalCfg.isEnableSegmentPreallocation())
+            .withHeartbeatCoalescingInterval(experimentalCfg.getHeartbeatCoalescingInterval())
+            .withMessageCompression(experimentalCfg.isEnableRaftMessageCompression())
+            .withMessageCompressionThreshold(
+                experimentalCfg.getRaftMessageCompressionThresholdInBytes())
             .withFreeDiskSpace(dataCfg.getFreeDiskSpaceReplicationWatermark())
             .withJournalIndexDensity(dataCfg.getLogIndexDensity());
 
@@ -120,6 +142,12 @@ public final class AtomixFactory {
     final int maxMessageSize = (int) networkCfg.getMaxMessageSizeInBytes();
     partitionGroupBuilder.withMaxEntrySize(maxMessageSize);
 
+    // a raft message holds at most one entry or snapshot chunk of the max size, plus a small
+    // request around it; doubling the larger of both leaves room for that but still rejects
+    // compressed messages which claim an absurd size
+    final int maxSnapshotChunkSize = experimentalCfg.getSnapshotChunkSizeInBytes();
+    partitionGroupBuilder.withMaxMessageSize(2 * Math.max(maxMessageSize, maxSnapshotChunkSize));
+
     final var segmentSize = dataCfg.getLogSegmentSizeInBytes();
     if (segmentSize < maxMessageSize) {
       throw new IllegalArgumentException(
@@ -7,6 +7,7 @@
  */
 package io.zeebe.broker.system.configuration;
 
+import java.time.Duration;
 import java.util.Optional;
 import org.springframework.util.unit.DataSize;
 
@@ -19,13 +20,51 @@ public class ExperimentalCfg implements ConfigurationEntry {
 
   public static final int DEFAULT_MAX_APPENDS_PER_FOLLOWER = 2;
   public static final DataSize DEFAULT_MAX_APPEND_BATCH_SIZE = DataSize.ofKilobytes(32);
+  public static final boolean DEFAULT_ENABLE_ADAPTIVE_APPEND_BATCH_SIZE = false;
   public static final boolean DEFAULT_DISABLE_EXPLICIT_RAFT_FLUSH = false;
+  public static final Duration DEFAULT_RAFT_FLUSH_DELAY = Duration.ZERO;
+  public static final DataSize DEFAULT_RAFT_FLUSH_BATCH_SIZE = DataSize.ofMegabytes(4);
+  public static final boolean DEFAULT_ENABLE_SEGMENT_PREALLOCATION = false;
+  public static final DataSize DEFAULT_SNAPSHOT_CHUNK_SIZE = DataSize.ofMegabytes(1);
+  public static final Duration DEFAULT_HEARTBEAT_COALESCING_INTERVAL = Duration.ZERO;
+  public static final boolean DEFAULT_ENABLE_RAFT_MESSAGE_COMPRESSION = false;
+  public static final DataSize DEFAULT_RAFT_MESSAGE_COMPRESSION_THRESHOLD = DataSize.ofKilobytes(4);
   private static final boolean DEFAULT_DETECT_REPROCESSING_INCONSISTENCY = false;
+  public static final int DEFAULT_MAX_COMMANDS_IN_BATCH = 1;
+  public static final boolean DEFAULT_ENABLE_INLINE_PROCESSING_STEPS = false;
+  public static final boolean DEFAULT_ENABLE_NATIVE_TRANSPORT = true;
+  public static final boolean DEFAULT_ENABLE_TCP_QUICK_ACK = false;
+  public static final int DEFAULT_MESSAGING_ACCEPTOR_THREADS = 1;
+  public static final int DEFAULT_COMMAND_API_THREADS = 0;
+  public static final int DEFAULT_INTERNAL_API_THREADS = 0;
+  public static final int DEFAULT_REPLICATION_CONNECTION_POOL_SIZE = 0;
+  public static final int DEFAULT_SNAPSHOT_CONNECTION_POOL_SIZE = 0;
+  public static final int DEFAULT_COMMAND_CONNECTION_POOL_SIZE = 0;
+  public static final int DEFAULT_GOSSIP_CONNECTION_POOL_SIZE = 0;
 
   private int maxAppendsPerFollower = DEFAULT_MAX_APPENDS_PER_FOLLOWER;
   private DataSize maxAppendBatchSize = DEFAULT_MAX_APPEND_BATCH_SIZE;
+  private boolean enableAdaptiveAppendBatchSize = DEFAULT_ENABLE_ADAPTIVE_APPEND_BATCH_SIZE;
   private boolean disableExplicitRaftFlush = DEFAULT_DISABLE_EXPLICIT_RAFT_FLUSH;
+  private Duration raftFlushDelay = DEFAULT_RAFT_FLUSH_DELAY;
+  private DataSize raftFlushBatchSize = DEFAULT_RAFT_FLUSH_BATCH_SIZE;
+  private boolean enableSegmentPreallocation = DEFAULT_ENABLE_SEGMENT_PREALLOCATION;
+  private DataSize snapshotChunkSize = DEFAULT_SNAPSHOT_CHUNK_SIZE;
+  private Duration heartbeatCoalescingInterval = DEFAULT_HEARTBEAT_COALESCING_INTERVAL;
+  private boolean enableRaftMessageCompression = DEFAULT_ENABLE_RAFT_MESSAGE_COMPRESSION;
+  private DataSize raftMessageCompressionThreshold = DEFAULT_RAFT_MESSAGE_COMPRESSION_THRESHOLD;
   private boolean detectReprocessingInconsistency = DEFAULT_DETECT_REPROCESSING_INCONSISTENCY;
+  private int maxCommandsInBatch = DEFAULT_MAX_COMMANDS_IN_BATCH;
+  private boolean enableInlineProcessingSteps = DEFAULT_ENABLE_INLINE_PROCESSING_STEPS;
+  private boolean enableNativeTransport = DEFAULT_ENABLE_NATIVE_TRANSPORT;
+  private boolean enableTcpQuickAck = DEFAULT_ENABLE_TCP_QUICK_ACK;
+  private int messagingAcceptorThreads = DEFAULT_MESSAGING_ACCEPTOR_THREADS;
+  private int commandApiThreads = DEFAULT_COMMAND_API_THREADS;
+  private int internalApiThreads = DEFAULT_INTERNAL_API_THREADS;
+  private int replicationConnectionPoolSize = DEFAULT_REPLICATION_CONNECTION_POOL_SIZE;
+  private int snapshotConnectionPoolSize = DEFAULT_SNAPSHOT_CONNECTION_POOL_SIZE;
+  private int commandConnectionPoolSize = DEFAULT_COMMAND_CONNECTION_POOL_SIZE;
+  private int gossipConnectionPoolSize = DEFAULT_GOSSIP_CONNECTION_POOL_SIZE;
   private RocksdbCfg rocksdb = new RocksdbCfg();
 
   @Override
@@ -53,6 +92,14 @@ public class ExperimentalCfg implements ConfigurationEntry {
     return Optional.ofNullable(maxAppendBatchSize).orElse(DEFAULT_MAX_APPEND_BATCH_SIZE).toBytes();
   }
 
+  public boolean isEnableAdaptiveAppendBatchSize() {
+    return enableAdaptiveAppendBatchSize;
+  }
+
+  public void setEnableAdaptiveAppendBatchSize(final boolean enableAdaptiveAppendBatchSize) {
+    this.enableAdaptiveAppendBatchSize = enableAdaptiveAppendBatchSize;
+  }
+
   public boolean isDisableExplicitRaftFlush() {
     return disableExplicitRaftFlush;
   }
@@ -61,6 +108,78 @@ public class ExperimentalCfg implements ConfigurationEntry {
     this.disableExplicitRaftFlush = disableExplicitRaftFlush;
   }
 
+  public Duration getRaftFlushDelay() {
+    return raftFlushDelay;
+  }
+
+  public void setRaftFlushDelay(final Duration raftFlushDelay) {
+    this.raftFlushDelay = raftFlushDelay;
+  }
+
+  public DataSize getRaftFlushBatchSize() {
+    return raftFlushBatchSize;
+  }
+
+  public void setRaftFlushBatchSize(final DataSize raftFlushBatchSize) {
+    this.raftFlushBatchSize = raftFlushBatchSize;
+  }
+
+  public long getRaftFlushBatchSizeInBytes() {
+    return Optional.ofNullable(raftFlushBatchSize).orElse(DEFAULT_RAFT_FLUSH_BATCH_SIZE).toBytes();
+  }
+
+  public boolean isEnableSegmentPreallocation() {
+    return enableSegmentPreallocation;
+  }
+
+  public void setEnableSegmentPreallocation(final boolean enableSegmentPreallocation) {
+    this.enableSegmentPreallocation = enableSegmentPreallocation;
+  }
+
+  public DataSize getSnapshotChunkSize() {
+    return snapshotChunkSize;
+  }
+
+  public void setSnapshotChunkSize(final DataSize snapshotChunkSize) {
+    this.snapshotChunkSize = snapshotChunkSize;
+  }
+
+  public int getSnapshotChunkSizeInBytes() {
+    return (int)
+        Optional.ofNullable(snapshotChunkSize).orElse(DEFAULT_SNAPSHOT_CHUNK_SIZE).toBytes();
+  }
+
+  public Duration getHeartbeatCoalescingInterval() {
+    return heartbeatCoalescingInterval;
+  }
+
+  public void setHeartbeatCoalescingInterval(final Duration heartbeatCoalescingInterval) {
+    this.heartbeatCoalescingInterval = heartbeatCoalescingInterval;
+  }
+
+  public boolean isEnableRaftMessageCompression() {
+    return enableRaftMessageCompression;
+  }
+
+  public void setEnableRaftMessageCompression(final boolean enableRaftMessageCompression) {
+    this.enableRaftMessageCompression = enableRaftMessageCompression;
+  }
+
+  public DataSize getRaftMessageCompressionThreshold() {
+    return raftMessageCompressionThreshold;
+  }
+
+  public void setRaftMessageCompressionThreshold(final DataSize raftMessageCompressionThreshold) {
+    this.raftMessageCompressionThreshold = raftMessageCompressionThreshold;
+  }
+
+  public int getRaftMessageCompressionThresholdInBytes() {
+    return (int)
+        Optional.ofNullable(raftMessageCompressionThreshold)
+            .orElse(DEFAULT_RAFT_MESSAGE_COMPRESSION_THRESHOLD)
+            .toBytes();
+  }
+
   public boolean isDetectReprocessingInconsistency() {
     return detectReprocessingInconsistency;
   }
@@ -69,6 +188,94 @@ public class ExperimentalCfg implements ConfigurationEntry {
     this.detectReprocessingInconsistency = detectReprocessingInconsistency;
   }
 
+  public int getMaxCommandsInBatch() {
+    return maxCommandsInBatch;
+  }
+
+  public void setMaxCommandsInBatch(final int maxCommandsInBatch) {
+    this.maxCommandsInBatch = maxCommandsInBatch;
+  }
+
+  public boolean isEnableInlineProcessingSteps() {
+    return enableInlineProcessingSteps;
+  }
+
+  public void setEnableInlineProcessingSteps(final boolean enableInlineProcessingSteps) {
+    this.enableInlineProcessingSteps = enableInlineProcessingSteps;
+  }
+
+  public boolean isEnableNativeTransport() {
+    return enableNativeTransport;
+  }
+
+  public void setEnableNativeTransport(final boolean enableNativeTransport) {
+    this.enableNativeTransport = enableNativeTransport;
+  }
+
+  public boolean isEnableTcpQuickAck() {
+    return enableTcpQuickAck;
+  }
+
+  public void setEnableTcpQuickAck(final boolean enableTcpQuickAck) {
+    this.enableTcpQuickAck = enableTcpQuickAck;
+  }
+
+  public int getMessagingAcceptorThreads() {
+    return messagingAcceptorThreads;
+  }
+
+  public void setMessagingAcceptorThreads(final int messagingAcceptorThreads) {
+    this.messagingAcceptorThreads = messagingAcceptorThreads;
+  }
+
+  public int getCommandApiThreads() {
+    return commandApiThreads;
+  }
+
+  public void setCommandApiThreads(final int commandApiThreads) {
+    this.commandApiThreads = commandApiThreads;
+  }
+
+  public int getInternalApiThreads() {
+    return internalApiThreads;
+  }
+
+  public void setInternalApiThreads(final int internalApiThreads) {
+    this.internalApiThreads = internalApiThreads;
+  }
+
+  public int getReplicationConnectionPoolSize() {
+    return replicationConnectionPoolSize;
+  }
+
+  public void setReplicationConnectionPoolSize(final int replicationConnectionPoolSize) {
+    this.replicationConnectionPoolSize = replicationConnectionPoolSize;
+  }
+
+  public int getSnapshotConnectionPoolSize() {
+    return snapshotConnectionPoolSize;
+  }
+
+  public void setSnapshotConnectionPoolSize(final int snapshotConnectionPoolSize) {
+    this.snapshotConnectionPoolSize = snapshotConnectionPoolSize;
+  }
+
+  public int getCommandConnectionPoolSize() {
+    return commandConnectionPoolSize;
+  }
+
+  public void setCommandConnectionPoolSize(final int commandConnectionPoolSize) {
+    this.commandConnectionPoolSize = commandConnectionPoolSize;
+  }
+
+  public int getGossipConnectionPoolSize() {
+    return gossipConnectionPoolSize;
+  }
+
+  public void setGossipConnectionPoolSize(final int gossipConnectionPoolSize) {
+    this.gossipConnectionPoolSize = gossipConnectionPoolSize;
+  }
+
   public RocksdbCfg getRocksdb() {
     return rocksdb;
   }
@@ -84,10 +291,48 @@ public class ExperimentalCfg implements ConfigurationEntry {
         + maxAppendsPerFollower
         + ", maxAppendBatchSize="
         + maxAppendBatchSize
+        + ", enableAdaptiveAppendBatchSize="
+        + enableAdaptiveAppendBatchSize
         + ", disableExplicitRaftFlush="
         + disableExplicitRaftFlush
+        + ", raftFlushDelay="
+        + raftFlushDelay
+        + ", raftFlushBatchSize="
+        + raftFlushBatchSize
+        + ", enableSegmentPreallocation="
+        + enableSegmentPreallocation
+        + ", snapshotChunkSize="
+        + snapshotChunkSize
+        + ", heartbeatCoalescingInterval="
+        + heartbeatCoalescingInterval
+        + ", enableRaftMessageCompression="
+        + enableRaftMessageCompression
+        + ", raftMessageCompressionThreshold="
+        + raftMessageCompressionThreshold
         + ", detectReprocessingInconsistency="
         + detectReprocessingInconsistency
+        + ", maxCommandsInBatch="
+        + maxCommandsInBatch
+        + ", enableInlineProcessingSteps="
+        + enableInlineProcessingSteps
+        + ", enableNativeTransport="
+        + enableNativeTransport
+        + ", enableTcpQuickAck="
+        + enableTcpQuickAck
+        + ", messagingAcceptorThreads="
+        + messagingAcceptorThreads
+        + ", commandApiThreads="
+        + commandApiThreads
+        + ", internalApiThreads="
+        + internalApiThreads
+        + ", replicationConnectionPoolSize="
+        + replicationConnectionPoolSize
+        + ", snapshotConnectionPoolSize="
+        + snapshotConnectionPoolSize
+        + ", commandConnectionPoolSize="
+        + commandConnectionPoolSize
+        + ", gossipConnectionPoolSize="
+        + gossipConnectionPoolSize
         + ", rocksdb="
         + rocksdb
         + '}';
@@ -7,7 +7,13 @@
  */
 package io.zeebe.broker.system.configuration;
 
+import io.zeebe.db.impl.rocksdb.ColumnFamilyConfiguration;
 import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.zeebe.engine.state.ZbColumnFamilies;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Properties;
@@ -16,6 +22,8 @@ import org.springframework.util.unit.DataSize;
 
 public final class RocksdbCfg implements ConfigurationEntry {
 
+  private static final Pattern NON_ALPHANUMERIC_CHARS_PATTERN = Pattern.compile("[^A-Za-z0-9]");
+
   private Properties columnFamilyOptions;
   private boolean enableStatistics = RocksDbConfiguration.DEFAULT_STATISTICS_ENABLED;
   private DataSize memoryLimit = DataSize.ofBytes(RocksDbConfiguration.DEFAULT_MEMORY_LIMIT);
@@ -25,6 +33,11 @@ public final class RocksdbCfg implements ConfigurationEntry {
       RocksDbConfiguration.DEFAULT_MIN_WRITE_BUFFER_NUMBER_TO_MERGE;
   private int ioRateBytesPerSecond = RocksDbConfiguration.DEFAULT_IO_RATE_BYTES_PER_SECOND;
   private boolean disableWal = RocksDbConfiguration.DEFAULT_WAL_DISABLED;
+  private boolean enablePhysicalColumnFamilies =
+      RocksDbConfiguration.DEFAULT_PHYSICAL_COLUMN_FAMILIES_ENABLED;
+  private boolean enableWriteBatchTransactions =
+      RocksDbConfiguration.DEFAULT_WRITE_BATCH_TRANSACTIONS_ENABLED;
+  private Map<String, RocksdbColumnFamilyCfg> columnFamilies = new HashMap<>();
 
   @Override
   public void init(final BrokerCfg globalConfig, final String brokerBase) {
@@ -36,6 +49,38 @@ public final class RocksdbCfg implements ConfigurationEntry {
       // we must do some transformations on the entries of this properties object.
       columnFamilyOptions = initColumnFamilyOptions(columnFamilyOptions);
     }
+
+    columnFamilies = initColumnFamilies(columnFamilies);
+  }
+
+  private static Map<String, RocksdbColumnFamilyCfg> initColumnFamilies(
+      final Map<String, RocksdbColumnFamilyCfg> original) {
+    final var result = new HashMap<String, RocksdbColumnFamilyCfg>();
+    original.forEach((name, cfg) -> result.put(toColumnFamilyName(name), cfg));
+    return result;
+  }
+
+  /**
+   * Column families are configured by the name of their {@link ZbColumnFamilies} entry. Since
+   * environment variables can't contain the underscores of the name, e.g. `jobdeadlines` instead of
+   * `JOB_DEADLINES`, the names are compared without case and underscores.
+   */
+  private static String toColumnFamilyName(final String name) {
+    final var normalizedName = normalizeColumnFamilyName(name);
+    for (final var columnFamily : ZbColumnFamilies.values()) {
+      if (normalizeColumnFamilyName(columnFamily.name()).equals(normalizedName)) {
+        return columnFamily.name();
+      }
+    }
+
+    throw new IllegalArgumentException(
+        String.format(
+            "Expected to configure a RocksDB column family, but '%s' is not one of %s",
+            name, Arrays.toString(ZbColumnFamilies.values())));
+  }
+
+  private static String normalizeColumnFamilyName(final String name) {
+    return NON_ALPHANUMERIC_CHARS_PATTERN.matcher(name).replaceAll("").toUpperCase(Locale.ROOT);
   }
 
   private static Properties initColumnFamilyOptions(final Properties original) {
@@ -110,7 +155,35 @@ public final class RocksdbCfg implements ConfigurationEntry {
     this.disableWal = disableWal;
   }
 
+  public boolean isEnablePhysicalColumnFamilies() {
+    return enablePhysicalColumnFamilies;
+  }
+
+  public void setEnablePhysicalColumnFamilies(final boolean enablePhysicalColumnFamilies) {
+    this.enablePhysicalColumnFamilies = enablePhysicalColumnFamilies;
+  }
+
+  public boolean isEnableWriteBatchTransactions() {
+    return enableWriteBatchTransactions;
+  }
+
+  public void setEnableWriteBatchTransactions(final boolean enableWriteBatchTransactions) {
+    this.enableWriteBatchTransactions = enableWriteBatchTransactions;
+  }
+
+  public Map<String, RocksdbColumnFamilyCfg> getColumnFamilies() {
+    return columnFamilies;
+  }
+
+  public void setColumnFamilies(final Map<String, RocksdbColumnFamilyCfg> columnFamilies) {
+    this.columnFamilies = columnFamilies;
+  }
+
   public RocksDbConfiguration createRocksDbConfiguration() {
+    final Map<String, ColumnFamilyConfiguration> columnFamilyConfigurations = new HashMap<>();
+    columnFamilies.forEach(
+        (name, cfg) -> columnFamilyConfigurations.put(name, cfg.createColumnFamilyConfiguration()));
+
     return new RocksDbConfiguration()
         .setColumnFamilyOptions(columnFamilyOptions)
         .setMaxOpenFiles(maxOpenFiles)
@@ -119,7 +192,10 @@ public final class RocksdbCfg implements ConfigurationEntry {
         .setMinWriteBufferNumberToMerge(minWriteBufferNumberToMerge)
         .setStatisticsEnabled(enableStatistics)
         .setIoRateBytesPerSecond(ioRateBytesPerSecond)
-        .setWalDisabled(disableWal);
+        .setWalDisabled(disableWal)
+        .setPhysicalColumnFamiliesEnabled(enablePhysicalColumnFamilies)
+        .setWriteBatchTransactionsEnabled(enableWriteBatchTransactions)
+        .setColumnFamilyConfigurations(columnFamilyConfigurations);
   }
 
   @Override
@@ -141,6 +217,12 @@ public final class RocksdbCfg implements ConfigurationEntry {
         + ioRateBytesPerSecond
         + ", disableWal="
         + disableWal
+        + ", enablePhysicalColumnFamilies="
+        + enablePhysicalColumnFamilies
+        + ", enableWriteBatchTransactions="
+        + enableWriteBatchTransactions
+        + ", columnFamilies="
+        + columnFamilies
         + '}';
   }
 
@@ -0,0 +1,85 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.system.configuration;
+
+import io.zeebe.db.impl.rocksdb.ColumnFamilyConfiguration;
+import java.util.Locale;
+import org.rocksdb.CompactionStyle;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Tuning of a single logical column family. Except for the read cache, the settings are only used
+ * if physical column families are enabled, see {@link RocksdbCfg#isEnablePhysicalColumnFamilies()}.
+ */
+public final class RocksdbColumnFamilyCfg {
+
+  private int prefixExtractorLength = ColumnFamilyConfiguration.DEFAULT_PREFIX_EXTRACTOR_LENGTH;
+  private int bloomFilterBitsPerKey = ColumnFamilyConfiguration.DEFAULT_BLOOM_FILTER_BITS_PER_KEY;
+
+  /** one of LEVEL, UNIVERSAL or FIFO */
+  private String compactionStyle = ColumnFamilyConfiguration.DEFAULT_COMPACTION_STYLE.name();
+
+  /** the memory of the in-memory read cache of the column family; 0 disables it */
+  private DataSize readCacheSize =
+      DataSize.ofBytes(ColumnFamilyConfiguration.DEFAULT_READ_CACHE_SIZE);
+
+  public int getPrefixExtractorLength() {
+    return prefixExtractorLength;
+  }
+
+  public void setPrefixExtractorLength(final int prefixExtractorLength) {
+    this.prefixExtractorLength = prefixExtractorLength;
+  }
+
+  public int getBloomFilterBitsPerKey() {
+    return bloomFilterBitsPerKey;
+  }
+
+  public void setBloomFilterBitsPerKey(final int bloomFilterBitsPerKey) {
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+  }
+
+  public String getCompactionStyle() {
+    return compactionStyle;
+  }
+
+  public void setCompactionStyle(final String compactionStyle) {
+    this.compactionStyle = compactionStyle;
+  }
+
+  public DataSize getReadCacheSize() {
+    return readCacheSize;
+  }
+
+  public void setReadCacheSize(final DataSize readCacheSize) {
+    this.readCacheSize = readCacheSize;
+  }
+
+  public ColumnFamilyConfiguration createColumnFamilyConfiguration() {
+    return new ColumnFamilyConfiguration()
+        .setPrefixExtractorLength(prefixExtractorLength)
+        .setBloomFilterBitsPerKey(bloomFilterBitsPerKey)
+        .setCompactionStyle(CompactionStyle.valueOf(compactionStyle.toUpperCase(Locale.ROOT)))
+        .setReadCacheSize(readCacheSize.toBytes());
+  }
+
+  @Override
+  public String toString() {
+    return "RocksdbColumnFamilyCfg{"
+        + "prefixExtractorLength="
+        + prefixExtractorLength
+        + ", bloomFilterBitsPerKey="
+        + bloomFilterBitsPerKey
+        + ", compactionStyle='"
+        + compactionStyle
+        + '\''
+        + ", readCacheSize="
+        + readCacheSize
+        + '}';
+  }
+}
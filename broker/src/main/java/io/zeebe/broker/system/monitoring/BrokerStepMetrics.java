@@ -13,6 +13,7 @@ public class BrokerStepMetrics {
 
   public static final String ZEEBE_NAMESPACE = "zeebe";
   public static final String STEP_NAME_LABEL = "stepName";
+  public static final String PARTITION_LABEL = "partition";
   private static final Gauge STARTUP_METRIC =
       Gauge.build()
           .namespace(ZEEBE_NAMESPACE)
@@ -29,6 +30,14 @@ public class BrokerStepMetrics {
           .labelNames(STEP_NAME_LABEL)
           .register();
 
+  private static final Gauge PARTITION_TRANSITION_METRICS =
+      Gauge.build()
+          .namespace(ZEEBE_NAMESPACE)
+          .name("partition_transition_step_latency")
+          .help("Time for each partition step to open on a partition transition.")
+          .labelNames(PARTITION_LABEL, STEP_NAME_LABEL)
+          .register();
+
   /**
    * Meter the time to start for a single step.
    *
@@ -48,4 +57,16 @@ public class BrokerStepMetrics {
   public void observeDurationForCloseStep(String stepName, long closeDuration) {
     CLOSE_METRICS.labels(stepName).set(closeDuration);
   }
+
+  /**
+   * Meter the time to open a single partition step on a partition transition.
+   *
+   * @param partitionId the id of the partition
+   * @param stepName the name of the step
+   * @param openDuration the step open duration in ms
+   */
+  public void observeDurationForTransitionStep(
+      final int partitionId, final String stepName, final long openDuration) {
+    PARTITION_TRANSITION_METRICS.labels(Integer.toString(partitionId), stepName).set(openDuration);
+  }
 }
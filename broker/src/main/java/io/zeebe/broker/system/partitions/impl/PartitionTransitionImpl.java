@@ -8,6 +8,7 @@
 package io.zeebe.broker.system.partitions.impl;
 
 import io.zeebe.broker.Loggers;
+import io.zeebe.broker.system.monitoring.BrokerStepMetrics;
 import io.zeebe.broker.system.partitions.PartitionContext;
 import io.zeebe.broker.system.partitions.PartitionStep;
 import io.zeebe.broker.system.partitions.PartitionTransition;
@@ -28,6 +29,7 @@ public class PartitionTransitionImpl implements PartitionTransition {
   private final List<PartitionStep> leaderSteps;
   private final List<PartitionStep> followerSteps;
   private final List<PartitionStep> openedSteps = new ArrayList<>();
+  private final BrokerStepMetrics stepMetrics = new BrokerStepMetrics();
   private CompletableActorFuture<Void> currentTransition = CompletableActorFuture.completed(null);
 
   public PartitionTransitionImpl(
@@ -95,11 +97,22 @@ public class PartitionTransitionImpl implements PartitionTransition {
     }
 
     final PartitionStep step = steps.remove(0);
+    final String stepName = step.getName();
+    final long startTime = System.currentTimeMillis();
     step.open(currentTerm, context)
         .onComplete(
             (value, err) -> {
+              final long openDuration = System.currentTimeMillis() - startTime;
+              stepMetrics.observeDurationForTransitionStep(
+                  context.getPartitionId(), stepName, openDuration);
+              LOG.debug(
+                  "Partition {} step '{}' opened in {} ms",
+                  context.getPartitionId(),
+                  stepName,
+                  openDuration);
+
               if (err != null) {
-                LOG.error("Expected to open step '{}' but failed with", step.getName(), err);
+                LOG.error("Expected to open step '{}' but failed with", stepName, err);
                 tryCloseStep(step);
                 future.completeExceptionally(err);
               } else {
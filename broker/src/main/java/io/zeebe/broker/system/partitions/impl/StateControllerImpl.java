@@ -36,6 +36,7 @@ public class StateControllerImpl implements StateController, PersistedSnapshotLi
 
   private static final ReplicationContext INVALID_SNAPSHOT = new ReplicationContext(null, -1, null);
   private static final Logger LOG = Loggers.SNAPSHOT_LOGGER;
+  private static final String SST_FILE_EXTENSION = ".sst";
 
   private final SnapshotReplication replication;
   private final Map<String, ReplicationContext> receivedSnapshots =
@@ -119,7 +120,8 @@ public class StateControllerImpl implements StateController, PersistedSnapshotLi
       final var snapshot = optLatestSnapshot.get();
       LOG.debug("Available snapshot: {}", snapshot);
 
-      FileUtil.copySnapshot(runtimeDirectory, snapshot.getPath());
+      // SST files are never modified once written, so they can be shared with the snapshot
+      FileUtil.copySnapshot(runtimeDirectory, snapshot.getPath(), StateControllerImpl::isSstFile);
 
       try {
         // open database to verify that the snapshot is recoverable
@@ -137,6 +139,10 @@ public class StateControllerImpl implements StateController, PersistedSnapshotLi
     }
   }
 
+  private static boolean isSstFile(final Path file) {
+    return file.getFileName().toString().endsWith(SST_FILE_EXTENSION);
+  }
+
   @Override
   public ZeebeDb openDb() {
     if (db == null) {
@@ -73,6 +73,9 @@ public class StreamProcessorPartitionStep implements PartitionStep {
         .commandResponseWriter(state.getCommandApiService().newCommandResponseWriter())
         .detectReprocessingInconsistency(
             state.getBrokerCfg().getExperimental().isDetectReprocessingInconsistency())
+        .maxCommandsInBatch(state.getBrokerCfg().getExperimental().getMaxCommandsInBatch())
+        .inlineProcessingSteps(
+            state.getBrokerCfg().getExperimental().isEnableInlineProcessingSteps())
         .onProcessedListener(
             state.getCommandApiService().getOnProcessedListener(state.getPartitionId()))
         .streamProcessorFactory(
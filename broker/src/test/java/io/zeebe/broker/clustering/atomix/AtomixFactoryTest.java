@@ -16,10 +16,12 @@ import io.atomix.raft.partition.RaftPartitionGroupConfig;
 import io.zeebe.broker.system.configuration.BrokerCfg;
 import io.zeebe.snapshots.broker.impl.FileBasedSnapshotStoreFactory;
 import io.zeebe.util.Environment;
+import java.time.Duration;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.springframework.util.unit.DataSize;
 
 public final class AtomixFactoryTest {
   @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
@@ -60,6 +62,23 @@ public final class AtomixFactoryTest {
     assertThat(config.getStorageConfig().shouldFlushExplicitly()).isTrue();
   }
 
+  @Test
+  public void shouldConfigureFlushDelay() {
+    // given
+    final var brokerConfig = newConfig();
+    brokerConfig.getExperimental().setRaftFlushDelay(Duration.ofMillis(5));
+    brokerConfig.getExperimental().setRaftFlushBatchSize(DataSize.ofKilobytes(512));
+
+    // when
+    final var atomix =
+        AtomixFactory.fromConfiguration(brokerConfig, mock(FileBasedSnapshotStoreFactory.class));
+
+    // then
+    final var config = getPartitionGroupConfig(atomix);
+    assertThat(config.getStorageConfig().getFlushDelay()).isEqualTo(Duration.ofMillis(5));
+    assertThat(config.getStorageConfig().getFlushBatchSize()).isEqualTo(512 * 1024);
+  }
+
   private RaftPartitionGroup getPartitionGroup(final Atomix atomix) {
     return (RaftPartitionGroup)
         atomix.getPartitionService().getPartitionGroup(AtomixFactory.GROUP_NAME);
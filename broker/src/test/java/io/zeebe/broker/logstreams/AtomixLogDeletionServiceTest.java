@@ -15,6 +15,7 @@ import io.atomix.raft.storage.log.Indexed;
 import io.atomix.raft.storage.log.RaftLogReader;
 import io.zeebe.logstreams.util.AtomixLogStorageRule;
 import io.zeebe.snapshots.broker.impl.FileBasedSnapshotStore;
+import io.zeebe.snapshots.broker.impl.FileBasedSnapshotStoreFactory;
 import io.zeebe.snapshots.broker.impl.SnapshotMetrics;
 import io.zeebe.util.sched.testing.ActorSchedulerRule;
 import java.io.IOException;
@@ -138,7 +139,8 @@ public final class AtomixLogDeletionServiceTest {
                   1,
                   new SnapshotMetrics("1"),
                   folder.newFolder("runtime").toPath(),
-                  folder.newFolder("snapshots").toPath()));
+                  folder.newFolder("snapshots").toPath(),
+                  FileBasedSnapshotStoreFactory.DEFAULT_MAX_CHUNK_SIZE));
     } catch (final IOException e) {
       throw new UncheckedIOException(e);
     }
@@ -17,6 +17,7 @@ import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class NoopSnapshotStore implements PersistedSnapshotStore {
@@ -71,6 +72,11 @@ public class NoopSnapshotStore implements PersistedSnapshotStore {
                     return null;
                   }
 
+                  @Override
+                  public Map<String, Long> getFileChecksums() {
+                    return Map.of();
+                  }
+
                   @Override
                   public void close() {}
                 }));
@@ -62,10 +62,40 @@ public final class BrokerCfgTest {
       "zeebe.broker.experimental.maxAppendsPerFollower";
   private static final String ZEEBE_BROKER_EXPERIMENTAL_MAX_APPEND_BATCH_SIZE =
       "zeebe.broker.experimental.maxAppendBatchSize";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_ENABLEADAPTIVEAPPENDBATCHSIZE =
+      "zeebe.broker.experimental.enableAdaptiveAppendBatchSize";
   private static final String ZEEBE_BROKER_EXPERIMENTAL_DETECT_REPROCESSING_INCONSISTENCY =
       "zeebe.broker.experimental.detectReprocessingInconsistency";
   private static final String ZEEBE_BROKER_EXPERIMENTAL_DISABLEEXPLICITRAFTFLUSH =
       "zeebe.broker.experimental.disableExplicitRaftFlush";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_MAXCOMMANDSINBATCH =
+      "zeebe.broker.experimental.maxCommandsInBatch";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_RAFTFLUSHDELAY =
+      "zeebe.broker.experimental.raftFlushDelay";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_RAFTFLUSHBATCHSIZE =
+      "zeebe.broker.experimental.raftFlushBatchSize";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_ENABLESEGMENTPREALLOCATION =
+      "zeebe.broker.experimental.enableSegmentPreallocation";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_SNAPSHOTCHUNKSIZE =
+      "zeebe.broker.experimental.snapshotChunkSize";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_HEARTBEATCOALESCINGINTERVAL =
+      "zeebe.broker.experimental.heartbeatCoalescingInterval";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_ENABLERAFTMESSAGECOMPRESSION =
+      "zeebe.broker.experimental.enableRaftMessageCompression";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_RAFTMESSAGECOMPRESSIONTHRESHOLD =
+      "zeebe.broker.experimental.raftMessageCompressionThreshold";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_ENABLEINLINEPROCESSINGSTEPS =
+      "zeebe.broker.experimental.enableInlineProcessingSteps";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_ENABLENATIVETRANSPORT =
+      "zeebe.broker.experimental.enableNativeTransport";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_COMMANDAPITHREADS =
+      "zeebe.broker.experimental.commandApiThreads";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_INTERNALAPITHREADS =
+      "zeebe.broker.experimental.internalApiThreads";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_REPLICATIONCONNECTIONPOOLSIZE =
+      "zeebe.broker.experimental.replicationConnectionPoolSize";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_SNAPSHOTCONNECTIONPOOLSIZE =
+      "zeebe.broker.experimental.snapshotConnectionPoolSize";
   private static final String ZEEBE_BROKER_DATA_DIRECTORY = "zeebe.broker.data.directory";
 
   @Deprecated(since = "0.26.0")
@@ -494,6 +524,119 @@ public final class BrokerCfgTest {
     assertThat(experimentalCfg.getMaxAppendBatchSizeInBytes()).isEqualTo(256 * 1024);
   }
 
+  @Test
+  public void shouldProcessCommandsOnTheirOwnPerDefault() {
+    // given
+    final BrokerCfg cfg = TestConfigReader.readConfig("default", environment);
+
+    // when
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.getMaxCommandsInBatch()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldOverrideMaxCommandsInBatchViaEnvironment() {
+    // given
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_MAXCOMMANDSINBATCH, "16");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("cluster-cfg", environment);
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.getMaxCommandsInBatch()).isEqualTo(16);
+  }
+
+  @Test
+  public void shouldDisableInlineProcessingStepsPerDefault() {
+    // given
+    final BrokerCfg cfg = TestConfigReader.readConfig("default", environment);
+
+    // when
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.isEnableInlineProcessingSteps()).isFalse();
+  }
+
+  @Test
+  public void shouldEnableInlineProcessingStepsViaEnvironment() {
+    // given
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_ENABLEINLINEPROCESSINGSTEPS, "true");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("cluster-cfg", environment);
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.isEnableInlineProcessingSteps()).isTrue();
+  }
+
+  @Test
+  public void shouldUseDefaultMessagingTransportSettings() {
+    // given
+    final BrokerCfg cfg = TestConfigReader.readConfig("default", environment);
+
+    // when
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.isEnableNativeTransport()).isTrue();
+    assertThat(experimentalCfg.isEnableTcpQuickAck()).isFalse();
+    assertThat(experimentalCfg.getMessagingAcceptorThreads()).isEqualTo(1);
+    assertThat(experimentalCfg.getCommandApiThreads()).isZero();
+    assertThat(experimentalCfg.getInternalApiThreads()).isZero();
+  }
+
+  @Test
+  public void shouldOverrideMessagingTransportSettingsViaEnvironment() {
+    // given
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_ENABLENATIVETRANSPORT, "false");
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_COMMANDAPITHREADS, "4");
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_INTERNALAPITHREADS, "2");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("cluster-cfg", environment);
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.isEnableNativeTransport()).isFalse();
+    assertThat(experimentalCfg.getCommandApiThreads()).isEqualTo(4);
+    assertThat(experimentalCfg.getInternalApiThreads()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldShareConnectionsBetweenMessageClassesPerDefault() {
+    // given
+    final BrokerCfg cfg = TestConfigReader.readConfig("default", environment);
+
+    // when
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.getReplicationConnectionPoolSize()).isZero();
+    assertThat(experimentalCfg.getSnapshotConnectionPoolSize()).isZero();
+    assertThat(experimentalCfg.getCommandConnectionPoolSize()).isZero();
+    assertThat(experimentalCfg.getGossipConnectionPoolSize()).isZero();
+  }
+
+  @Test
+  public void shouldSetConnectionPoolSizesViaEnvironment() {
+    // given
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_REPLICATIONCONNECTIONPOOLSIZE, "3");
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_SNAPSHOTCONNECTIONPOOLSIZE, "1");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("cluster-cfg", environment);
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.getReplicationConnectionPoolSize()).isEqualTo(3);
+    assertThat(experimentalCfg.getSnapshotConnectionPoolSize()).isEqualTo(1);
+  }
+
   @Test
   public void shouldDisableDetectReprocessingInconsistencyPerDefault() {
     // given
@@ -531,6 +674,165 @@ public final class BrokerCfgTest {
             "Failed to bind properties under 'zeebe.broker.experimental.detect-reprocessing-inconsistency' to boolean");
   }
 
+  @Test
+  public void shouldNotDelayRaftFlushPerDefault() {
+    // given
+    final BrokerCfg cfg = TestConfigReader.readConfig("default", environment);
+
+    // when
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.getRaftFlushDelay()).isZero();
+    assertThat(experimentalCfg.getRaftFlushBatchSizeInBytes())
+        .isEqualTo(ExperimentalCfg.DEFAULT_RAFT_FLUSH_BATCH_SIZE.toBytes());
+  }
+
+  @Test
+  public void shouldOverrideRaftFlushDelayViaEnvironment() {
+    // given
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_RAFTFLUSHDELAY, "5ms");
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_RAFTFLUSHBATCHSIZE, "1MB");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("cluster-cfg", environment);
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.getRaftFlushDelay()).isEqualTo(Duration.ofMillis(5));
+    assertThat(experimentalCfg.getRaftFlushBatchSizeInBytes()).isEqualTo(1024 * 1024);
+  }
+
+  @Test
+  public void shouldNotPreallocateSegmentsPerDefault() {
+    // given
+    final BrokerCfg cfg = TestConfigReader.readConfig("default", environment);
+
+    // when
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.isEnableSegmentPreallocation()).isFalse();
+  }
+
+  @Test
+  public void shouldOverrideSegmentPreallocationViaEnvironment() {
+    // given
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_ENABLESEGMENTPREALLOCATION, "true");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("cluster-cfg", environment);
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.isEnableSegmentPreallocation()).isTrue();
+  }
+
+  @Test
+  public void shouldNotAdaptAppendBatchSizePerDefault() {
+    // given
+    final BrokerCfg cfg = TestConfigReader.readConfig("default", environment);
+
+    // when
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.isEnableAdaptiveAppendBatchSize()).isFalse();
+  }
+
+  @Test
+  public void shouldEnableAdaptiveAppendBatchSizeViaEnvironment() {
+    // given
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_ENABLEADAPTIVEAPPENDBATCHSIZE, "true");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("cluster-cfg", environment);
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.isEnableAdaptiveAppendBatchSize()).isTrue();
+  }
+
+  @Test
+  public void shouldNotCoalesceHeartbeatsPerDefault() {
+    // given
+    final BrokerCfg cfg = TestConfigReader.readConfig("default", environment);
+
+    // when
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.getHeartbeatCoalescingInterval()).isZero();
+  }
+
+  @Test
+  public void shouldOverrideHeartbeatCoalescingIntervalViaEnvironment() {
+    // given
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_HEARTBEATCOALESCINGINTERVAL, "50ms");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("cluster-cfg", environment);
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.getHeartbeatCoalescingInterval()).isEqualTo(Duration.ofMillis(50));
+  }
+
+  @Test
+  public void shouldNotCompressRaftMessagesPerDefault() {
+    // given
+    final BrokerCfg cfg = TestConfigReader.readConfig("default", environment);
+
+    // when
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.isEnableRaftMessageCompression()).isFalse();
+    assertThat(experimentalCfg.getRaftMessageCompressionThresholdInBytes())
+        .isEqualTo(ExperimentalCfg.DEFAULT_RAFT_MESSAGE_COMPRESSION_THRESHOLD.toBytes());
+  }
+
+  @Test
+  public void shouldOverrideRaftMessageCompressionViaEnvironment() {
+    // given
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_ENABLERAFTMESSAGECOMPRESSION, "true");
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_RAFTMESSAGECOMPRESSIONTHRESHOLD, "16KB");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("cluster-cfg", environment);
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.isEnableRaftMessageCompression()).isTrue();
+    assertThat(experimentalCfg.getRaftMessageCompressionThresholdInBytes()).isEqualTo(16 * 1024);
+  }
+
+  @Test
+  public void shouldUseDefaultSnapshotChunkSize() {
+    // given
+    final BrokerCfg cfg = TestConfigReader.readConfig("default", environment);
+
+    // when
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.getSnapshotChunkSizeInBytes())
+        .isEqualTo(ExperimentalCfg.DEFAULT_SNAPSHOT_CHUNK_SIZE.toBytes());
+  }
+
+  @Test
+  public void shouldOverrideSnapshotChunkSizeViaEnvironment() {
+    // given
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_SNAPSHOTCHUNKSIZE, "64KB");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("cluster-cfg", environment);
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.getSnapshotChunkSizeInBytes()).isEqualTo(64 * 1024);
+  }
+
   @Test
   public void shouldOverrideDisableExplicitRaftFlushViaEnvironment() {
     // given
@@ -8,10 +8,12 @@
 package io.zeebe.broker.system.configuration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.Test;
+import org.rocksdb.CompactionStyle;
 import org.springframework.util.unit.DataSize;
 
 public final class RocksdbCfgTest {
@@ -77,6 +79,9 @@ public final class RocksdbCfgTest {
     assertThat(rocksDbConfiguration.getMinWriteBufferNumberToMerge()).isEqualTo(3);
     assertThat(rocksDbConfiguration.getIoRateBytesPerSecond()).isZero();
     assertThat(rocksDbConfiguration.isWalDisabled()).isFalse();
+    assertThat(rocksDbConfiguration.isPhysicalColumnFamiliesEnabled()).isFalse();
+    assertThat(rocksDbConfiguration.isWriteBatchTransactionsEnabled()).isFalse();
+    assertThat(rocksDbConfiguration.getColumnFamilyConfigurations()).isEmpty();
   }
 
   @Test
@@ -285,4 +290,129 @@ public final class RocksdbCfgTest {
     // then
     assertThat(rocksdb.isDisableWal()).isTrue();
   }
+
+  @Test
+  public void shouldEnablePhysicalColumnFamiliesViaConfig() {
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("rocksdb-cfg", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.isEnablePhysicalColumnFamilies()).isTrue();
+  }
+
+  @Test
+  public void shouldEnablePhysicalColumnFamiliesViaEnvironmentVariables() {
+    // given
+    environment.put("zeebe.broker.experimental.rocksdb.enablePhysicalColumnFamilies", "true");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("empty", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.isEnablePhysicalColumnFamilies()).isTrue();
+  }
+
+  @Test
+  public void shouldEnableWriteBatchTransactionsViaConfig() {
+    // given
+    final BrokerCfg cfg = TestConfigReader.readConfig("rocksdb-cfg", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // when
+    final var rocksDbConfiguration = rocksdb.createRocksDbConfiguration();
+
+    // then
+    assertThat(rocksdb.isEnableWriteBatchTransactions()).isTrue();
+    assertThat(rocksDbConfiguration.isWriteBatchTransactionsEnabled()).isTrue();
+  }
+
+  @Test
+  public void shouldEnableWriteBatchTransactionsViaEnvironmentVariables() {
+    // given
+    environment.put("zeebe.broker.experimental.rocksdb.enableWriteBatchTransactions", "true");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("empty", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.isEnableWriteBatchTransactions()).isTrue();
+  }
+
+  @Test
+  public void shouldCreateColumnFamilyConfigurationFromConfig() {
+    // given
+    final BrokerCfg cfg = TestConfigReader.readConfig("rocksdb-cfg", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // when
+    final var rocksDbConfiguration = rocksdb.createRocksDbConfiguration();
+
+    // then
+    final var columnFamilyConfiguration =
+        rocksDbConfiguration.getColumnFamilyConfiguration("JOB_DEADLINES");
+    assertThat(rocksDbConfiguration.isPhysicalColumnFamiliesEnabled()).isTrue();
+    assertThat(columnFamilyConfiguration.getPrefixExtractorLength()).isEqualTo(16);
+    assertThat(columnFamilyConfiguration.getBloomFilterBitsPerKey()).isEqualTo(5);
+    assertThat(columnFamilyConfiguration.getCompactionStyle()).isEqualTo(CompactionStyle.UNIVERSAL);
+    assertThat(columnFamilyConfiguration.getReadCacheSize()).isZero();
+    assertThat(
+            rocksDbConfiguration
+                .getColumnFamilyConfiguration("ELEMENT_INSTANCE_KEY")
+                .getReadCacheSize())
+        .isEqualTo(DataSize.ofMegabytes(16).toBytes());
+  }
+
+  @Test
+  public void shouldSetReadCacheSizeViaEnvironmentVariables() {
+    // given
+    environment.put(
+        "zeebe.broker.experimental.rocksdb.columnFamilies.variables.readCacheSize", "4MB");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("empty", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(
+            rocksdb
+                .createRocksDbConfiguration()
+                .getColumnFamilyConfiguration("VARIABLES")
+                .getReadCacheSize())
+        .isEqualTo(DataSize.ofMegabytes(4).toBytes());
+  }
+
+  @Test
+  public void shouldSetColumnFamilyConfigurationViaEnvironmentVariables() {
+    // given
+    environment.put(
+        "zeebe.broker.experimental.rocksdb.columnFamilies.jobdeadlines.compactionStyle", "fifo");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("empty", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then keys should be the column family names
+    assertThat(rocksdb.getColumnFamilies()).containsOnlyKeys("JOB_DEADLINES");
+    assertThat(
+            rocksdb
+                .createRocksDbConfiguration()
+                .getColumnFamilyConfiguration("JOB_DEADLINES")
+                .getCompactionStyle())
+        .isEqualTo(CompactionStyle.FIFO);
+  }
+
+  @Test
+  public void shouldRejectUnknownColumnFamily() {
+    // given
+    environment.put(
+        "zeebe.broker.experimental.rocksdb.columnFamilies.unknown.compactionStyle", "fifo");
+
+    // expect
+    assertThatThrownBy(() -> TestConfigReader.readConfig("empty", environment))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("'unknown' is not one of");
+  }
 }
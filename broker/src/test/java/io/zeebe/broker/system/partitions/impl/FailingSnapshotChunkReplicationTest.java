@@ -204,6 +204,11 @@ public final class FailingSnapshotChunkReplicationTest {
       return snapshotChunk.getChunkName();
     }
 
+    @Override
+    public long getFileBlockPosition() {
+      return snapshotChunk.getFileBlockPosition();
+    }
+
     @Override
     public long getChecksum() {
       return 0;
@@ -26,9 +26,11 @@ import io.zeebe.util.sched.testing.ActorSchedulerRule;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.Comparator;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.agrona.collections.MutableLong;
 import org.junit.Before;
 import org.junit.Rule;
@@ -45,6 +47,7 @@ public final class StateControllerImplTest {
   private final MutableLong exporterPosition = new MutableLong(Long.MAX_VALUE);
   private StateControllerImpl snapshotController;
   private ConstructableSnapshotStore store;
+  private Path runtimeDirectory;
 
   @Before
   public void setup() throws IOException {
@@ -53,6 +56,7 @@ public final class StateControllerImplTest {
     final var factory = new FileBasedSnapshotStoreFactory(actorSchedulerRule.get(), 1);
     factory.createReceivableSnapshotStore(rootDirectory, 1);
     store = factory.getConstructableSnapshotStore(1);
+    runtimeDirectory = rootDirectory.resolve("runtime");
 
     snapshotController =
         new StateControllerImpl(
@@ -60,7 +64,7 @@ public final class StateControllerImplTest {
             ZeebeRocksDbFactory.newFactory(),
             store,
             factory.getReceivableSnapshotStore(1),
-            rootDirectory.resolve("runtime"),
+            runtimeDirectory,
             new NoneSnapshotReplication(),
             l ->
                 Optional.ofNullable(
@@ -268,6 +272,35 @@ public final class StateControllerImplTest {
     assertThat(wrapper.getInt("x")).isEqualTo(3);
   }
 
+  @Test
+  public void shouldLinkSstFilesOfSnapshotOnRecover() throws Exception {
+    // given
+    final RocksDBWrapper wrapper = new RocksDBWrapper();
+    wrapper.wrap(snapshotController.openDb());
+    wrapper.putInt("x", 1);
+    final var snapshotDirectory = takeSnapshot(1).toPath();
+    snapshotController.close();
+
+    // when
+    snapshotController.recover();
+
+    // then
+    try (final var files = Files.list(snapshotDirectory)) {
+      final var sstFiles =
+          files.filter(file -> file.toString().endsWith(".sst")).collect(Collectors.toList());
+      assertThat(sstFiles).isNotEmpty();
+      for (final var file : sstFiles) {
+        assertThat(Files.isSameFile(file, runtimeDirectory.resolve(file.getFileName())))
+            .as("runtime file %s is linked to the snapshot", file.getFileName())
+            .isTrue();
+      }
+    }
+    assertThat(
+            Files.isSameFile(
+                snapshotDirectory.resolve("CURRENT"), runtimeDirectory.resolve("CURRENT")))
+        .isFalse();
+  }
+
   @Test
   public void shouldFailToRecoverIfAllSnapshotsAreCorrupted() throws Exception {
     // given two snapshots
@@ -87,4 +87,19 @@ public final class TypedStreamWriterProxy implements TypedStreamWriter {
   public long flush() {
     return writer.flush();
   }
+
+  @Override
+  public void mark() {
+    writer.mark();
+  }
+
+  @Override
+  public void resetToMark() {
+    writer.resetToMark();
+  }
+
+  @Override
+  public int getBatchLength() {
+    return writer.getBatchLength();
+  }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.processing.streamprocessor;
+
+import static io.zeebe.engine.processing.streamprocessor.TypedEventRegistry.EVENT_REGISTRY;
+
+import io.zeebe.logstreams.impl.log.LoggedEventImpl;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.impl.record.UnifiedRecordValue;
+import io.zeebe.protocol.record.RecordType;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.util.ReflectUtil;
+import java.util.EnumMap;
+import java.util.Map;
+import org.agrona.ExpandableArrayBuffer;
+
+/**
+ * Holds a copy of a command which was processed as part of a batch, such that it can be passed to
+ * the processed listener after the batch is committed. The copy is required, since the record read
+ * from the log stream is only valid until the next record is read. Instances are reused for the
+ * following batches.
+ */
+final class ProcessedCommand {
+
+  private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+  private final LoggedEventImpl event = new LoggedEventImpl();
+  private final RecordMetadata metadata = new RecordMetadata();
+  private final Map<ValueType, UnifiedRecordValue> values = new EnumMap<>(ValueType.class);
+  private final TypedEventImpl typedEvent;
+  private long processingStartTime;
+
+  ProcessedCommand(final int partitionId) {
+    typedEvent = new TypedEventImpl(partitionId);
+  }
+
+  void copy(final LoggedEvent processedEvent, final long processingStartTime) {
+    processedEvent.write(buffer, 0);
+    event.wrap(buffer, 0);
+
+    metadata.reset();
+    event.readMetadata(metadata);
+
+    final UnifiedRecordValue value =
+        values.computeIfAbsent(
+            metadata.getValueType(), type -> ReflectUtil.newInstance(EVENT_REGISTRY.get(type)));
+    value.reset();
+    event.readValue(value);
+
+    typedEvent.wrap(event, metadata, value);
+    this.processingStartTime = processingStartTime;
+  }
+
+  TypedRecord getRecord() {
+    return typedEvent;
+  }
+
+  RecordType getRecordType() {
+    return metadata.getRecordType();
+  }
+
+  long getProcessingStartTime() {
+    return processingStartTime;
+  }
+}
@@ -43,7 +43,9 @@ public final class ProcessingContext implements ReadonlyProcessingContext {
   private Consumer<TypedRecord> onProcessedListener = record -> {};
   private Consumer<LoggedEvent> onSkippedListener = record -> {};
   private int maxFragmentSize;
+  private int maxCommandsInBatch = 1;
   private boolean detectReprocessingInconsistency;
+  private boolean inlineProcessingSteps;
 
   public ProcessingContext actor(final ActorControl actor) {
     this.actor = actor;
@@ -195,6 +197,15 @@ public final class ProcessingContext implements ReadonlyProcessingContext {
     return onSkippedListener;
   }
 
+  public int getMaxCommandsInBatch() {
+    return maxCommandsInBatch;
+  }
+
+  public ProcessingContext maxCommandsInBatch(final int maxCommandsInBatch) {
+    this.maxCommandsInBatch = maxCommandsInBatch;
+    return this;
+  }
+
   public boolean isDetectReprocessingInconsistency() {
     return detectReprocessingInconsistency;
   }
@@ -204,4 +215,13 @@ public final class ProcessingContext implements ReadonlyProcessingContext {
     this.detectReprocessingInconsistency = detectReprocessingInconsistency;
     return this;
   }
+
+  public boolean isInlineProcessingSteps() {
+    return inlineProcessingSteps;
+  }
+
+  public ProcessingContext setInlineProcessingSteps(final boolean inlineProcessingSteps) {
+    this.inlineProcessingSteps = inlineProcessingSteps;
+    return this;
+  }
 }
@@ -11,6 +11,7 @@ import io.zeebe.db.TransactionContext;
 import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.engine.metrics.StreamProcessorMetrics;
 import io.zeebe.engine.processing.streamprocessor.sideeffect.SideEffectProducer;
+import io.zeebe.engine.processing.streamprocessor.sideeffect.SideEffectQueue;
 import io.zeebe.engine.processing.streamprocessor.writers.TypedResponseWriterImpl;
 import io.zeebe.engine.processing.streamprocessor.writers.TypedStreamWriter;
 import io.zeebe.engine.state.ZeebeState;
@@ -33,6 +34,8 @@ import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
@@ -75,6 +78,27 @@ import org.slf4j.Logger;
  *                                       +-----+
  *
  * </pre>
+ *
+ * <p>If more than one command is allowed in a batch, {@link #processBatch(LoggedEvent)} replaces
+ * {@code processEvent()}: the next ready commands are processed one after another in the same
+ * transaction and their follow-up records are collected in the same batch. Afterwards, the batch
+ * continues with {@code writeEvent()}, {@code updateState()} and {@code executeSideEffects()} as a
+ * single command would, which means the records are written at once, the transaction is committed
+ * once, and the responses of all commands are sent together. Only afterwards, the processed
+ * commands are passed to the processed listener and counted in the metrics.
+ *
+ * <p>Every command of a batch is processed on top of a save point. If a command fails, or its
+ * follow-up records don't fit into the batch, only its changes are rolled back and the batch ends
+ * before it. The command is then processed on its own (see {@code processEvent()}), such that
+ * errors are handled and commands are blacklisted per command.
+ *
+ * <p>With inline processing steps, {@code writeEvent()}, {@code updateState()} and {@code
+ * executeSideEffects()} are first tried directly, one after another, in the same actor job. Only if
+ * a step doesn't succeed on the first attempt, it is handed to its retry strategy and the state
+ * machine continues once the retry completes, as it always does otherwise. This avoids scheduling a
+ * job and a future per step for the common case, in which every step succeeds right away. The steps
+ * are not overlapped with the processing of the next command, which still starts only after the
+ * side effects of the current one are executed.
  */
 public final class ProcessingStateMachine {
 
@@ -91,6 +115,14 @@ public final class ProcessingStateMachine {
       "Expected to find event processor for event '{}', but caught an exception. Skip this event.";
   private static final String ERROR_MESSAGE_PROCESSING_FAILED_SKIP_EVENT =
       "Expected to successfully process event '{}' with processor, but caught an exception. Skip this event.";
+  private static final String LOG_MESSAGE_PROCESSING_IN_BATCH_FAILED =
+      "Expected to process event '{}' in batch successfully, but caught an exception. Process it on its own.";
+  private static final String ERROR_MESSAGE_ROLLBACK_TO_SAVE_POINT_FAILED =
+      "Expected to roll back the changes of event '{}' in batch successfully, but exception was thrown. Discard the batch and process its events on their own.";
+  private static final String ERROR_MESSAGE_WRITE_BATCH_ABORTED =
+      "Expected to write the follow up events of the batch which ends with event '{}' without errors, but exception was thrown. Discard the batch and process its events on their own.";
+  private static final String ERROR_MESSAGE_UPDATE_STATE_OF_BATCH_FAILED =
+      "Expected to successfully update state for the batch which ends with event '%s', but caught an exception.";
   private static final String ERROR_MESSAGE_PROCESSING_FAILED_RETRY_PROCESSING =
       "Expected to process event '{}' successfully on stream processor, but caught recoverable exception. Retry processing.";
   private static final String PROCESSING_ERROR_MESSAGE =
@@ -136,12 +168,19 @@ public final class ProcessingStateMachine {
   private final StreamProcessorMetrics metrics;
   private final Consumer<TypedRecord> onProcessedListener;
   private final Consumer<LoggedEvent> onSkippedListener;
+  private final int maxCommandsInBatch;
+  private final int maxFragmentSize;
+  private final boolean inlineProcessingSteps;
+  private final SideEffectQueue batchSideEffects = new SideEffectQueue();
+  private final List<ProcessedCommand> processedCommands = new ArrayList<>();
+  private final int partitionId;
 
   // current iteration
   private SideEffectProducer sideEffectProducer;
   private LoggedEvent currentEvent;
   private TypedRecordProcessor<?> currentProcessor;
   private ZeebeDbTransaction zeebeDbTransaction;
+  private long processedEventPosition = StreamProcessor.UNSET_POSITION;
   private long writtenEventPosition = StreamProcessor.UNSET_POSITION;
   private long lastSuccessfulProcessedEventPosition = StreamProcessor.UNSET_POSITION;
   private long lastWrittenEventPosition = StreamProcessor.UNSET_POSITION;
@@ -151,6 +190,11 @@ public final class ProcessingStateMachine {
   private int onErrorRetries;
   // Used for processing duration metrics
   private long processingStartTime;
+  // current batch
+  private boolean isBatch;
+  private int commandsInBatch;
+  private long firstEventPositionInBatch;
+  private LoggedEvent pendingEvent;
 
   public ProcessingStateMachine(
       final ProcessingContext context, final BooleanSupplier shouldProcessNext) {
@@ -171,13 +215,16 @@ public final class ProcessingStateMachine {
     updateStateRetryStrategy = new RecoverableRetryStrategy(actor);
     this.shouldProcessNext = shouldProcessNext;
 
-    final int partitionId = logStream.getPartitionId();
+    partitionId = logStream.getPartitionId();
     typedEvent = new TypedEventImpl(partitionId);
     responseWriter = new TypedResponseWriterImpl(context.getWriters().response(), partitionId);
 
     metrics = new StreamProcessorMetrics(partitionId);
     onProcessedListener = context.getOnProcessedListener();
     onSkippedListener = context.getOnSkippedListener();
+    maxCommandsInBatch = context.getMaxCommandsInBatch();
+    maxFragmentSize = context.getMaxFragmentSize();
+    inlineProcessingSteps = context.isInlineProcessingSteps();
   }
 
   private void skipRecord() {
@@ -216,15 +263,18 @@ public final class ProcessingStateMachine {
     if (shouldProcessNext.getAsBoolean() && logStreamReader.hasNext() && currentProcessor == null) {
       currentEvent = logStreamReader.next();
 
-      if (eventFilter.applies(currentEvent)) {
-        processEvent(currentEvent);
-      } else {
+      if (!eventFilter.applies(currentEvent)) {
         skipRecord();
+      } else if (maxCommandsInBatch > 1) {
+        processBatch(currentEvent);
+      } else {
+        processEvent(currentEvent);
       }
     }
   }
 
   private void processEvent(final LoggedEvent event) {
+    isBatch = false;
     metadata.reset();
     event.readMetadata(metadata);
 
@@ -235,6 +285,7 @@ public final class ProcessingStateMachine {
     }
 
     processingStartTime = ActorClock.currentTimeMillis();
+    processedEventPosition = event.getPosition();
 
     try {
       final UnifiedRecordValue value = recordValues.readRecordValue(event, metadata.getValueType());
@@ -255,15 +306,195 @@ public final class ProcessingStateMachine {
       processInTransaction(typedEvent);
 
       metrics.eventProcessed();
-
-      writeEvent();
     } catch (final RecoverableException recoverableException) {
       // recoverable
       LOG.error(ERROR_MESSAGE_PROCESSING_FAILED_RETRY_PROCESSING, event, recoverableException);
       actor.runDelayed(PROCESSING_RETRY_DELAY, () -> processEvent(currentEvent));
+      return;
     } catch (final Exception e) {
       LOG.error(ERROR_MESSAGE_PROCESSING_FAILED_SKIP_EVENT, event, e);
       onError(e, this::writeEvent);
+      return;
+    }
+
+    // outside of the try block, such that failures of the next steps are not handled as
+    // processing failures
+    writeEvent();
+  }
+
+  private void processBatch(final LoggedEvent firstEvent) {
+    isBatch = true;
+    commandsInBatch = 0;
+    pendingEvent = null;
+    zeebeDbTransaction = null;
+    sideEffectProducer = responseWriter;
+    responseWriter.resetAll();
+    logStreamWriter.reset();
+    firstEventPositionInBatch = firstEvent.getPosition();
+
+    LoggedEvent event = firstEvent;
+    while (event != null) {
+      currentEvent = event;
+
+      if (!eventFilter.applies(event) || !processInBatch(event)) {
+        // skipped records are not part of the batch, but can be skipped within it
+        notifySkippedListener(event);
+        metrics.eventSkipped();
+      }
+
+      if (pendingEvent == null && canAddToBatch()) {
+        event = logStreamReader.next();
+      } else {
+        event = null;
+      }
+    }
+
+    if (commandsInBatch > 0) {
+      if (sideEffectProducer != responseWriter) {
+        // the last command has its own side effect, which is flushed after the retained responses
+        batchSideEffects.clear();
+        batchSideEffects.add(responseWriter::flushRetainedResponses);
+        batchSideEffects.add(sideEffectProducer);
+        sideEffectProducer = batchSideEffects;
+      }
+
+      writeEvent();
+    } else {
+      if (zeebeDbTransaction != null) {
+        // nothing was processed - close the transaction, such that others can start a new one
+        rollbackBatch();
+      }
+      continueWithPendingEvent();
+    }
+  }
+
+  private boolean canAddToBatch() {
+    return commandsInBatch < maxCommandsInBatch
+        && sideEffectProducer == responseWriter
+        && shouldProcessNext.getAsBoolean()
+        && logStreamReader.hasNext();
+  }
+
+  /**
+   * Processes the given event as part of the current batch. If the processing fails, or the
+   * follow-up records don't fit into the batch, then all changes of the event are discarded and the
+   * event is kept as pending event, which is processed on its own after the batch is completed.
+   *
+   * @return {@code false} if the event is skipped, otherwise {@code true}
+   */
+  private boolean processInBatch(final LoggedEvent event) {
+    metadata.reset();
+    event.readMetadata(metadata);
+
+    currentProcessor = chooseNextProcessor(event);
+    if (currentProcessor == null) {
+      return false;
+    }
+
+    final UnifiedRecordValue value = recordValues.readRecordValue(event, metadata.getValueType());
+    typedEvent.wrap(event, metadata, value);
+
+    // process only commands - skip events and rejections
+    if (MigratedStreamProcessors.isMigrated(typedEvent)
+        && typedEvent.getRecordType() != RecordType.COMMAND) {
+      return false;
+    }
+
+    final long commandStartTime = ActorClock.currentTimeMillis();
+    metrics.processingLatency(metadata.getRecordType(), event.getTimestamp(), commandStartTime);
+
+    try {
+      if (zeebeDbTransaction == null) {
+        zeebeDbTransaction = transactionContext.getCurrentTransaction();
+      }
+      zeebeDbTransaction.setSavePoint();
+      logStreamWriter.mark();
+
+      zeebeDbTransaction.run(
+          () -> {
+            final long position = typedEvent.getPosition();
+            responseWriter.reset();
+            logStreamWriter.configureSourceContext(position);
+            sideEffectProducer = responseWriter;
+
+            processRecord(position, typedEvent);
+          });
+
+      if (commandsInBatch > 0 && logStreamWriter.getBatchLength() >= maxFragmentSize) {
+        // the follow-up records don't fit into the batch anymore
+        rollbackToSavePoint();
+        return true;
+      }
+    } catch (final Exception e) {
+      LOG.debug(LOG_MESSAGE_PROCESSING_IN_BATCH_FAILED, event, e);
+      rollbackToSavePoint();
+      return true;
+    }
+
+    if (sideEffectProducer == responseWriter) {
+      responseWriter.retainStagedResponse();
+    }
+
+    // the listeners are notified after the batch is committed, but the record is only valid until
+    // the next one is read
+    if (processedCommands.size() == commandsInBatch) {
+      processedCommands.add(new ProcessedCommand(partitionId));
+    }
+    processedCommands.get(commandsInBatch).copy(event, commandStartTime);
+
+    commandsInBatch++;
+    processedEventPosition = event.getPosition();
+    return true;
+  }
+
+  private void rollbackToSavePoint() {
+    pendingEvent = currentEvent;
+    logStreamWriter.resetToMark();
+    responseWriter.reset();
+    sideEffectProducer = responseWriter;
+
+    try {
+      zeebeDbTransaction.rollbackToSavePoint();
+    } catch (final Exception e) {
+      // the changes of the event may remain in the transaction
+      LOG.error(ERROR_MESSAGE_ROLLBACK_TO_SAVE_POINT_FAILED, currentEvent, e);
+      discardBatch();
+    }
+  }
+
+  /**
+   * Discards all changes and follow-up records of the current batch. The reader is set back to the
+   * first event of the batch, which is then processed on its own.
+   */
+  private void discardBatch() {
+    rollbackBatch();
+    logStreamWriter.reset();
+    responseWriter.resetAll();
+    sideEffectProducer = responseWriter;
+    commandsInBatch = 0;
+
+    logStreamReader.seek(firstEventPositionInBatch);
+    pendingEvent = logStreamReader.next();
+  }
+
+  private void rollbackBatch() {
+    try {
+      zeebeDbTransaction.rollback();
+    } catch (final Exception e) {
+      LOG.error(ERROR_MESSAGE_ROLLBACK_ABORTED, currentEvent, e);
+    }
+  }
+
+  private void continueWithPendingEvent() {
+    isBatch = false;
+
+    if (pendingEvent != null) {
+      currentEvent = pendingEvent;
+      pendingEvent = null;
+      processEvent(currentEvent);
+    } else {
+      currentProcessor = null;
+      actor.submit(this::readNextEvent);
     }
   }
 
@@ -290,21 +521,20 @@ public final class ProcessingStateMachine {
 
           // default side effect is responses; can be changed by processor
           sideEffectProducer = responseWriter;
-          final boolean isNotOnBlacklist =
-              !zeebeState.getBlackListState().isOnBlacklist(typedRecord);
-          if (isNotOnBlacklist) {
-            currentProcessor.processRecord(
-                position,
-                typedRecord,
-                responseWriter,
-                logStreamWriter,
-                this::setSideEffectProducer);
-          }
-
-          lastProcessedPositionState.markAsProcessed(position);
+          processRecord(position, typedRecord);
         });
   }
 
+  private void processRecord(final long position, final TypedEventImpl typedRecord) {
+    final boolean isNotOnBlacklist = !zeebeState.getBlackListState().isOnBlacklist(typedRecord);
+    if (isNotOnBlacklist) {
+      currentProcessor.processRecord(
+          position, typedRecord, responseWriter, logStreamWriter, this::setSideEffectProducer);
+    }
+
+    lastProcessedPositionState.markAsProcessed(position);
+  }
+
   private void resetOutput(final long sourceRecordPosition) {
     responseWriter.reset();
     logStreamWriter.reset();
@@ -336,12 +566,13 @@ public final class ProcessingStateMachine {
           }
           try {
             errorHandlingInTransaction(processingException);
-
-            onErrorHandling = true;
-            nextStep.run();
           } catch (final Exception ex) {
             onError(ex, nextStep);
+            return;
           }
+
+          onErrorHandling = true;
+          nextStep.run();
         });
   }
 
@@ -377,90 +608,171 @@ public final class ProcessingStateMachine {
   }
 
   private void writeEvent() {
+    if (inlineProcessingSteps) {
+      final boolean written;
+      try {
+        written = writeFollowUpEvents();
+      } catch (final Exception e) {
+        onEventWritten(e);
+        return;
+      }
+
+      // the next steps run outside of the try block, such that their failures are not handled as
+      // failures of this step
+      if (written) {
+        onEventWritten(null);
+        return;
+      }
+    }
+
     final ActorFuture<Boolean> retryFuture =
-        writeRetryStrategy.runWithRetry(
-            () -> {
-              final long position = logStreamWriter.flush();
+        writeRetryStrategy.runWithRetry(this::writeFollowUpEvents, abortCondition);
 
-              // only overwrite position if events were flushed
-              if (position > 0) {
-                writtenEventPosition = position;
-              }
+    actor.runOnCompletion(retryFuture, (bool, t) -> onEventWritten(t));
+  }
 
-              return position >= 0;
-            },
-            abortCondition);
+  private boolean writeFollowUpEvents() {
+    final long position = logStreamWriter.flush();
 
-    actor.runOnCompletion(
-        retryFuture,
-        (bool, t) -> {
-          if (t != null) {
-            LOG.error(ERROR_MESSAGE_WRITE_EVENT_ABORTED, currentEvent, t);
-            onError(t, this::writeEvent);
-          } else {
-            updateState();
-            metrics.eventWritten();
-          }
-        });
+    // only overwrite position if events were flushed
+    if (position > 0) {
+      writtenEventPosition = position;
+    }
+
+    return position >= 0;
+  }
+
+  private void onEventWritten(final Throwable t) {
+    if (t != null && isBatch) {
+      LOG.error(ERROR_MESSAGE_WRITE_BATCH_ABORTED, currentEvent, t);
+      discardBatch();
+      continueWithPendingEvent();
+    } else if (t != null) {
+      LOG.error(ERROR_MESSAGE_WRITE_EVENT_ABORTED, currentEvent, t);
+      onError(t, this::writeEvent);
+    } else {
+      // counted once per written batch of follow-up records, i.e. once per command or once per
+      // batch of commands; counted before the next steps, which may run inline
+      metrics.eventWritten();
+      updateState();
+    }
   }
 
   private void updateState() {
+    if (inlineProcessingSteps) {
+      boolean committed = false;
+      try {
+        committed = commitState();
+      } catch (final RecoverableException e) {
+        // retry the commit as usual
+      } catch (final Exception e) {
+        onStateUpdated(e);
+        return;
+      }
+
+      if (committed) {
+        onStateUpdated(null);
+        return;
+      }
+    }
+
     final ActorFuture<Boolean> retryFuture =
-        updateStateRetryStrategy.runWithRetry(
-            () -> {
-              zeebeDbTransaction.commit();
-
-              // needs to be directly after commit
-              // so no other ActorJob can interfere between commit and update the positions
-              if (onErrorHandling) {
-                errorRecordPosition = writtenEventPosition;
-                logStream
-                    .getCommitPositionAsync()
-                    .onComplete(
-                        (commitPosition, error) -> {
-                          if (error == null) {
-                            LOG.info(LOG_ERROR_EVENT_WRITTEN, errorRecordPosition, commitPosition);
-                          }
-                        });
-              }
-              lastSuccessfulProcessedEventPosition = currentEvent.getPosition();
-              metrics.setLastProcessedPosition(lastSuccessfulProcessedEventPosition);
-              lastWrittenEventPosition = writtenEventPosition;
-              return true;
-            },
-            abortCondition);
+        updateStateRetryStrategy.runWithRetry(this::commitState, abortCondition);
 
-    actor.runOnCompletion(
-        retryFuture,
-        (bool, throwable) -> {
-          if (throwable != null) {
-            LOG.error(ERROR_MESSAGE_UPDATE_STATE_FAILED, currentEvent, throwable);
-            onError(throwable, this::updateState);
-          } else {
-            executeSideEffects();
-          }
-        });
+    actor.runOnCompletion(retryFuture, (bool, throwable) -> onStateUpdated(throwable));
+  }
+
+  private boolean commitState() throws Exception {
+    zeebeDbTransaction.commit();
+
+    // needs to be directly after commit
+    // so no other ActorJob can interfere between commit and update the positions
+    if (onErrorHandling) {
+      errorRecordPosition = writtenEventPosition;
+      logStream
+          .getCommitPositionAsync()
+          .onComplete(
+              (commitPosition, error) -> {
+                if (error == null) {
+                  LOG.info(LOG_ERROR_EVENT_WRITTEN, errorRecordPosition, commitPosition);
+                }
+              });
+    }
+    lastSuccessfulProcessedEventPosition = processedEventPosition;
+    metrics.setLastProcessedPosition(lastSuccessfulProcessedEventPosition);
+    lastWrittenEventPosition = writtenEventPosition;
+    return true;
+  }
+
+  private void onStateUpdated(final Throwable throwable) {
+    if (throwable != null && isBatch) {
+      // the follow-up records of the batch are already written, the state can only be
+      // restored by replaying them
+      throw new IllegalStateException(
+          String.format(ERROR_MESSAGE_UPDATE_STATE_OF_BATCH_FAILED, currentEvent), throwable);
+    } else if (throwable != null) {
+      LOG.error(ERROR_MESSAGE_UPDATE_STATE_FAILED, currentEvent, throwable);
+      onError(throwable, this::updateState);
+    } else {
+      executeSideEffects();
+    }
   }
 
   private void executeSideEffects() {
+    if (inlineProcessingSteps) {
+      final boolean executed;
+      try {
+        executed = sideEffectProducer.flush();
+      } catch (final Exception e) {
+        onSideEffectsExecuted(e);
+        return;
+      }
+
+      if (executed) {
+        onSideEffectsExecuted(null);
+        return;
+      }
+    }
+
     final ActorFuture<Boolean> retryFuture =
         sideEffectsRetryStrategy.runWithRetry(sideEffectProducer::flush, abortCondition);
 
-    actor.runOnCompletion(
-        retryFuture,
-        (bool, throwable) -> {
-          if (throwable != null) {
-            LOG.error(ERROR_MESSAGE_EXECUTE_SIDE_EFFECT_ABORTED, currentEvent, throwable);
-          }
+    actor.runOnCompletion(retryFuture, (bool, throwable) -> onSideEffectsExecuted(throwable));
+  }
 
-          notifyProcessedListener(typedEvent);
+  private void onSideEffectsExecuted(final Throwable throwable) {
+    if (throwable != null) {
+      LOG.error(ERROR_MESSAGE_EXECUTE_SIDE_EFFECT_ABORTED, currentEvent, throwable);
+    }
 
-          metrics.processingDuration(
-              metadata.getRecordType(), processingStartTime, ActorClock.currentTimeMillis());
-          // continue with next event
-          currentProcessor = null;
-          actor.submit(this::readNextEvent);
-        });
+    if (isBatch) {
+      onBatchProcessed();
+      // continue with the event which didn't fit into the batch, or the next event
+      continueWithPendingEvent();
+      return;
+    }
+
+    notifyProcessedListener(typedEvent);
+
+    metrics.processingDuration(
+        metadata.getRecordType(), processingStartTime, ActorClock.currentTimeMillis());
+    // continue with next event
+    currentProcessor = null;
+    actor.submit(this::readNextEvent);
+  }
+
+  private void onBatchProcessed() {
+    final long processingEndTime = ActorClock.currentTimeMillis();
+    for (int i = 0; i < commandsInBatch; i++) {
+      final ProcessedCommand processedCommand = processedCommands.get(i);
+      notifyProcessedListener(processedCommand.getRecord());
+
+      metrics.eventProcessed();
+      metrics.processingDuration(
+          processedCommand.getRecordType(),
+          processedCommand.getProcessingStartTime(),
+          processingEndTime);
+    }
   }
 
   private void notifyProcessedListener(final TypedRecord processedRecord) {
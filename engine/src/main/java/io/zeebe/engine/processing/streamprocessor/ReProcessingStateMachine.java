@@ -36,12 +36,11 @@ import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import org.agrona.collections.LongHashSet;
 import org.slf4j.Logger;
 
 /**
@@ -79,6 +78,13 @@ import org.slf4j.Logger;
  * </pre>
  *
  * See https://textik.com/#773271ce7ea2096a
+ *
+ * <p>Records of migrated processors are not reprocessed one by one. Instead, consecutive migrated
+ * records are replayed in a batch (see {@link #replayBatch()}): the events are applied to the state
+ * in one transaction, which is committed once, without going through the retry strategies for every
+ * record. The batch ends before a record which must be reprocessed by its processor, which then
+ * continues on the path above. If a batch fails, its changes are rolled back and its records are
+ * reprocessed one by one.
  */
 public final class ReProcessingStateMachine {
 
@@ -100,6 +106,11 @@ public final class ReProcessingStateMachine {
 
   private static final Consumer<Long> NOOP_LONG_CONSUMER = (instanceKey) -> {};
 
+  private static final String LOG_STMT_REPLAY_BATCH_FAILED =
+      "Expected to replay the records from position {} in a batch, but caught an exception. Reprocess them one by one.";
+
+  private static final int MAX_RECORDS_IN_REPLAY_BATCH = 1_000;
+
   private static final MetadataFilter REPLAY_FILTER =
       recordMetadata ->
           recordMetadata.getRecordType() == RecordType.EVENT
@@ -134,12 +145,15 @@ public final class ReProcessingStateMachine {
   private final RetryStrategy processRetryStrategy;
 
   private final BooleanSupplier abortCondition;
-  private final Set<Long> failedEventPositions = new HashSet<>();
+  private final LongHashSet failedEventPositions = new LongHashSet();
   // current iteration
   private long lastSourceEventPosition;
   private long lastFollowUpEventPosition;
   private long snapshotPosition;
   private long highestRecordKey = -1L;
+  // records until this position are reprocessed one by one, after a replay batch failed
+  private long reprocessOneByOneUntilPosition = StreamProcessor.UNSET_POSITION;
+  private boolean batchEndsBeforeRecordToReprocess;
 
   private final Map<Long, Long> lastGeneratedKeyBySourceCommandPosition = new HashMap<>();
 
@@ -290,10 +304,16 @@ public final class ReProcessingStateMachine {
     try {
       readNextEvent();
 
-      if (eventFilter.applies(currentEvent)) {
-        reprocessEvent(currentEvent);
-      } else {
+      if (!eventFilter.applies(currentEvent)) {
         onRecordReprocessed(currentEvent);
+        return;
+      }
+
+      wrapRecord(currentEvent);
+      if (canBeReplayedInBatch(typedEvent)) {
+        replayBatch();
+      } else {
+        reprocessEvent(currentEvent);
       }
 
     } catch (final RuntimeException e) {
@@ -301,12 +321,114 @@ public final class ReProcessingStateMachine {
     }
   }
 
-  private void reprocessEvent(final LoggedEvent currentEvent) {
+  private void wrapRecord(final LoggedEvent record) {
+    metadata.reset();
+    record.readMetadata(metadata);
+
+    final UnifiedRecordValue value = recordValues.readRecordValue(record, metadata.getValueType());
+    typedEvent.wrap(record, metadata, value);
+  }
+
+  /**
+   * Records of migrated processors don't need their processor on replay. They only apply events to
+   * the state or restore the key generator, so they can be replayed in a batch. Records which
+   * failed on processing are reprocessed one by one, to blacklist the workflow instance again.
+   */
+  private boolean canBeReplayedInBatch(final TypedRecord<?> record) {
+    final long position = record.getPosition();
+    return position > reprocessOneByOneUntilPosition
+        && MigratedStreamProcessors.isMigrated(record)
+        && !failedEventPositions.contains(position);
+  }
+
+  /**
+   * Replays the current record and the following records, as long as these can be replayed in a
+   * batch, in one transaction. Afterwards, it continues with the record which ended the batch, or
+   * with the next record.
+   */
+  private void replayBatch() {
+    final long firstPosition = currentEvent.getPosition();
+    batchEndsBeforeRecordToReprocess = false;
+
+    try {
+      zeebeDbTransaction = transactionContext.getCurrentTransaction();
+      zeebeDbTransaction.run(this::replayRecordsOfBatch);
+      zeebeDbTransaction.commit();
+      zeebeDbTransaction = null;
+
+    } catch (final Exception e) {
+      LOG.debug(LOG_STMT_REPLAY_BATCH_FAILED, firstPosition, e);
+      rollbackReplayBatch();
+
+      reprocessOneByOneUntilPosition = currentEvent.getPosition();
+      logStreamReader.seek(firstPosition);
+      actor.submit(this::reprocessNextEvent);
+      return;
+    }
+
+    if (batchEndsBeforeRecordToReprocess) {
+      reprocessEvent(currentEvent);
+    } else if (isLastRecordToReprocess(currentEvent)) {
+      onReprocessingFinished(currentEvent);
+    } else {
+      actor.submit(this::reprocessNextEvent);
+    }
+  }
+
+  private void replayRecordsOfBatch() {
+    int replayedRecords = 0;
+    boolean isLastRecordInBatch = false;
+
+    while (!isLastRecordInBatch) {
+      if (eventFilter.applies(currentEvent)) {
+        replayRecord();
+        replayedRecords += 1;
+      }
+
+      reprocessingStreamWriter.removeRecord(
+          currentEvent.getKey(), currentEvent.getSourceEventPosition());
+
+      isLastRecordInBatch =
+          isLastRecordToReprocess(currentEvent) || replayedRecords >= MAX_RECORDS_IN_REPLAY_BATCH;
+
+      if (!isLastRecordInBatch) {
+        readNextEvent();
+
+        if (eventFilter.applies(currentEvent)) {
+          wrapRecord(currentEvent);
+          batchEndsBeforeRecordToReprocess = !canBeReplayedInBatch(typedEvent);
+          isLastRecordInBatch = batchEndsBeforeRecordToReprocess;
+        }
+      }
+    }
+  }
+
+  private void replayRecord() {
+    if (detectReprocessingInconsistency) {
+      verifyRecordMatchesToReprocessing(typedEvent);
+    }
 
+    final long position = typedEvent.getPosition();
+    if (!zeebeState.getBlackListState().isOnBlacklist(typedEvent)) {
+      reprocessRecord(typedEvent);
+    }
+    lastProcessedPositionState.markAsProcessed(position);
+  }
+
+  private void rollbackReplayBatch() {
     try {
-      metadata.reset();
-      currentEvent.readMetadata(metadata);
+      zeebeDbTransaction.rollback();
+    } catch (final Exception e) {
+      throw new IllegalStateException(
+          "Expected to roll back the failed replay batch, but caught an exception.", e);
+    } finally {
+      zeebeDbTransaction = null;
+    }
+  }
+
+  private void reprocessEvent(final LoggedEvent currentEvent) {
 
+    try {
       eventProcessor =
           recordProcessorMap.get(
               metadata.getRecordType(), metadata.getValueType(), metadata.getIntent().value());
@@ -314,10 +436,6 @@ public final class ReProcessingStateMachine {
       LOG.error(ERROR_MESSAGE_ON_EVENT_FAILED_SKIP_EVENT, currentEvent, e);
     }
 
-    final UnifiedRecordValue value =
-        recordValues.readRecordValue(currentEvent, metadata.getValueType());
-    typedEvent.wrap(currentEvent, metadata, value);
-
     if (detectReprocessingInconsistency) {
       verifyRecordMatchesToReprocessing(typedEvent);
     }
@@ -452,18 +570,26 @@ public final class ReProcessingStateMachine {
     reprocessingStreamWriter.removeRecord(
         currentEvent.getKey(), currentEvent.getSourceEventPosition());
 
+    if (isLastRecordToReprocess(currentEvent)) {
+      onReprocessingFinished(currentEvent);
+    } else {
+      actor.submit(this::reprocessNextEvent);
+    }
+  }
+
+  private boolean isLastRecordToReprocess(final LoggedEvent currentEvent) {
     // do reprocessing until the last source event but read until the last follow-up event to check
     // for inconsistent reprocessing records
-    if (currentEvent.getPosition() >= lastFollowUpEventPosition) {
-      LOG.info(LOG_STMT_REPROCESSING_FINISHED, currentEvent.getPosition());
+    return currentEvent.getPosition() >= lastFollowUpEventPosition;
+  }
 
-      // reset the position to the first event where the processing should start
-      logStreamReader.seekToNextEvent(lastSourceEventPosition);
+  private void onReprocessingFinished(final LoggedEvent currentEvent) {
+    LOG.info(LOG_STMT_REPROCESSING_FINISHED, currentEvent.getPosition());
 
-      onRecovered(lastSourceEventPosition);
-    } else {
-      actor.submit(this::reprocessNextEvent);
-    }
+    // reset the position to the first event where the processing should start
+    logStreamReader.seekToNextEvent(lastSourceEventPosition);
+
+    onRecovered(lastSourceEventPosition);
   }
 
   private void onRecovered(final long lastProcessedPosition) {
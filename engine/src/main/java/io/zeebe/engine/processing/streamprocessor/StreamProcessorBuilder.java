@@ -76,6 +76,26 @@ public final class StreamProcessorBuilder {
     return this;
   }
 
+  /**
+   * Sets the maximum number of commands which are processed in one transaction, before the
+   * follow-up records are written and the transaction is committed. With a value of 1, every
+   * command is processed, written and committed on its own.
+   */
+  public StreamProcessorBuilder maxCommandsInBatch(final int maxCommandsInBatch) {
+    processingContext.maxCommandsInBatch(maxCommandsInBatch);
+    return this;
+  }
+
+  /**
+   * Runs the processing steps inline, in which a command continues with writing its follow-up
+   * records, committing the state and executing its side effects right away, as long as these steps
+   * succeed on the first attempt. Only if a step fails, it is retried as usual.
+   */
+  public StreamProcessorBuilder inlineProcessingSteps(final boolean inlineProcessingSteps) {
+    processingContext.setInlineProcessingSteps(inlineProcessingSteps);
+    return this;
+  }
+
   public StreamProcessorBuilder eventApplierFactory(
       final Function<ZeebeState, EventApplier> eventApplierFactory) {
     this.eventApplierFactory = eventApplierFactory;
@@ -124,5 +144,11 @@ public final class StreamProcessorBuilder {
         processingContext.getWriters().response(), "No command response writer provided.");
     Objects.requireNonNull(zeebeDb, "No database provided.");
     Objects.requireNonNull(eventApplierFactory, "No factory for the event supplier provided.");
+    if (processingContext.getMaxCommandsInBatch() < 1) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected max commands in batch to be at least 1, but was %d.",
+              processingContext.getMaxCommandsInBatch()));
+    }
   }
 }
@@ -80,4 +80,19 @@ public final class NoopTypedStreamWriter implements TypedStreamWriter {
   public long flush() {
     return 0;
   }
+
+  @Override
+  public void mark() {
+    // no op implementation
+  }
+
+  @Override
+  public void resetToMark() {
+    // no op implementation
+  }
+
+  @Override
+  public int getBatchLength() {
+    return 0;
+  }
 }
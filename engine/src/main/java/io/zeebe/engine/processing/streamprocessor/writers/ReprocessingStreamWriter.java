@@ -22,6 +22,7 @@ public final class ReprocessingStreamWriter implements TypedStreamWriter {
   private final List<ReprocessingRecord> records = new ArrayList<>();
 
   private long sourceRecordPosition = -1L;
+  private int markedRecordCount;
 
   @Override
   public void appendRejection(
@@ -115,6 +116,23 @@ public final class ReprocessingStreamWriter implements TypedStreamWriter {
     return 0;
   }
 
+  @Override
+  public void mark() {
+    markedRecordCount = records.size();
+  }
+
+  @Override
+  public void resetToMark() {
+    if (records.size() > markedRecordCount) {
+      records.subList(markedRecordCount, records.size()).clear();
+    }
+  }
+
+  @Override
+  public int getBatchLength() {
+    return 0;
+  }
+
   public List<ReprocessingRecord> getRecords() {
     return records;
   }
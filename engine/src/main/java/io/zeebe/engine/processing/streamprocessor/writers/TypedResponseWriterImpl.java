@@ -14,8 +14,12 @@ import io.zeebe.protocol.record.RecordType;
 import io.zeebe.protocol.record.RejectionType;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.intent.Intent;
+import io.zeebe.util.buffer.DirectBufferWriter;
 import java.nio.charset.StandardCharsets;
+import org.agrona.BitUtil;
 import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
 public final class TypedResponseWriterImpl implements TypedResponseWriter, SideEffectProducer {
@@ -27,6 +31,20 @@ public final class TypedResponseWriterImpl implements TypedResponseWriter, SideE
   private int requestStreamId;
   private boolean isResponseStaged;
 
+  private RecordType recordType;
+  private Intent intent;
+  private long key;
+  private RejectionType rejectionType;
+  private DirectBuffer rejectionReason;
+  private ValueType valueType;
+  private UnpackedObject value;
+
+  // responses of previously processed commands which are not flushed yet
+  private final MutableDirectBuffer retainedResponses = new ExpandableArrayBuffer();
+  private final UnsafeBuffer retainedRejectionReason = new UnsafeBuffer(0, 0);
+  private final DirectBufferWriter retainedValueWriter = new DirectBufferWriter();
+  private int retainedResponsesLength;
+
   public TypedResponseWriterImpl(final CommandResponseWriter writer, final int partitionId) {
     this.writer = writer;
     this.partitionId = partitionId;
@@ -110,12 +128,115 @@ public final class TypedResponseWriterImpl implements TypedResponseWriter, SideE
 
   @Override
   public boolean flush() {
+    if (retainedResponsesLength > 0) {
+      flushRetainedResponses();
+
+      if (isResponseStaged) {
+        // writing the retained responses has overwritten the staged one
+        applyStagedResponse();
+      }
+    }
+
     if (isResponseStaged) {
       writer.tryWriteResponse(requestStreamId, requestId);
     }
     return true;
   }
 
+  /**
+   * Copies the staged response, such that it is not overwritten if the next command is processed
+   * before the response is flushed. The retained responses are written on the next {@link
+   * #flush()}, in the order they were retained, before the then staged response.
+   */
+  public void retainStagedResponse() {
+    if (!isResponseStaged) {
+      return;
+    }
+
+    final int rejectionReasonLength = rejectionReason.capacity();
+    final int valueLength = value.getLength();
+
+    int offset = retainedResponsesLength;
+    retainedResponses.putLong(offset, key);
+    offset += BitUtil.SIZE_OF_LONG;
+    retainedResponses.putLong(offset, requestId);
+    offset += BitUtil.SIZE_OF_LONG;
+    retainedResponses.putInt(offset, requestStreamId);
+    offset += BitUtil.SIZE_OF_INT;
+    retainedResponses.putShort(offset, recordType.value());
+    offset += BitUtil.SIZE_OF_SHORT;
+    retainedResponses.putShort(offset, valueType.value());
+    offset += BitUtil.SIZE_OF_SHORT;
+    retainedResponses.putShort(offset, intent.value());
+    offset += BitUtil.SIZE_OF_SHORT;
+    retainedResponses.putShort(offset, rejectionType.value());
+    offset += BitUtil.SIZE_OF_SHORT;
+
+    retainedResponses.putInt(offset, rejectionReasonLength);
+    offset += BitUtil.SIZE_OF_INT;
+    retainedResponses.putBytes(offset, rejectionReason, 0, rejectionReasonLength);
+    offset += rejectionReasonLength;
+
+    retainedResponses.putInt(offset, valueLength);
+    offset += BitUtil.SIZE_OF_INT;
+    value.write(retainedResponses, offset);
+    offset += valueLength;
+
+    retainedResponsesLength = offset;
+    isResponseStaged = false;
+  }
+
+  /**
+   * Writes only the retained responses, but not the staged one.
+   *
+   * @return always {@code true}, like {@link #flush()}
+   */
+  public boolean flushRetainedResponses() {
+    int offset = 0;
+    while (offset < retainedResponsesLength) {
+      final long retainedKey = retainedResponses.getLong(offset);
+      offset += BitUtil.SIZE_OF_LONG;
+      final long retainedRequestId = retainedResponses.getLong(offset);
+      offset += BitUtil.SIZE_OF_LONG;
+      final int retainedRequestStreamId = retainedResponses.getInt(offset);
+      offset += BitUtil.SIZE_OF_INT;
+      final RecordType retainedRecordType = RecordType.get(retainedResponses.getShort(offset));
+      offset += BitUtil.SIZE_OF_SHORT;
+      final ValueType retainedValueType = ValueType.get(retainedResponses.getShort(offset));
+      offset += BitUtil.SIZE_OF_SHORT;
+      final Intent retainedIntent =
+          Intent.fromProtocolValue(retainedValueType, retainedResponses.getShort(offset));
+      offset += BitUtil.SIZE_OF_SHORT;
+      final RejectionType retainedRejectionType =
+          RejectionType.get(retainedResponses.getShort(offset));
+      offset += BitUtil.SIZE_OF_SHORT;
+
+      final int rejectionReasonLength = retainedResponses.getInt(offset);
+      offset += BitUtil.SIZE_OF_INT;
+      retainedRejectionReason.wrap(retainedResponses, offset, rejectionReasonLength);
+      offset += rejectionReasonLength;
+
+      final int valueLength = retainedResponses.getInt(offset);
+      offset += BitUtil.SIZE_OF_INT;
+      retainedValueWriter.wrap(retainedResponses, offset, valueLength);
+      offset += valueLength;
+
+      writer
+          .partitionId(partitionId)
+          .key(retainedKey)
+          .intent(retainedIntent)
+          .recordType(retainedRecordType)
+          .valueType(retainedValueType)
+          .rejectionType(retainedRejectionType)
+          .rejectionReason(retainedRejectionReason)
+          .valueWriter(retainedValueWriter)
+          .tryWriteResponse(retainedRequestStreamId, retainedRequestId);
+    }
+
+    retainedResponsesLength = 0;
+    return true;
+  }
+
   private void stage(
       final RecordType type,
       final Intent intent,
@@ -126,22 +247,39 @@ public final class TypedResponseWriterImpl implements TypedResponseWriter, SideE
       final long requestId,
       final int requestStreamId,
       final UnpackedObject value) {
+    recordType = type;
+    this.intent = intent;
+    this.key = key;
+    this.rejectionType = rejectionType;
+    this.rejectionReason = rejectionReason;
+    this.valueType = valueType;
+    this.value = value;
+    this.requestId = requestId;
+    this.requestStreamId = requestStreamId;
+    isResponseStaged = true;
+
+    applyStagedResponse();
+  }
+
+  private void applyStagedResponse() {
     writer
         .partitionId(partitionId)
         .key(key)
         .intent(intent)
-        .recordType(type)
+        .recordType(recordType)
         .valueType(valueType)
         .rejectionType(rejectionType)
         .rejectionReason(rejectionReason)
         .valueWriter(value);
-
-    this.requestId = requestId;
-    this.requestStreamId = requestStreamId;
-    isResponseStaged = true;
   }
 
   public void reset() {
     isResponseStaged = false;
   }
+
+  /** Discards the staged response and all retained responses. */
+  public void resetAll() {
+    reset();
+    retainedResponsesLength = 0;
+  }
 }
@@ -12,4 +12,16 @@ public interface TypedStreamWriter
     extends TypedCommandWriter, TypedEventWriter, TypedRejectionWriter {
 
   void configureSourceContext(long sourceRecordPosition);
+
+  /**
+   * Remembers the current end of the appended records. The records which are appended afterwards
+   * can be discarded by {@link #resetToMark()}, without discarding the records appended before.
+   */
+  void mark();
+
+  /** Discards all not flushed records which were appended after the last {@link #mark()}. */
+  void resetToMark();
+
+  /** @return the length which the not flushed records would claim in the log write buffer */
+  int getBatchLength();
 }
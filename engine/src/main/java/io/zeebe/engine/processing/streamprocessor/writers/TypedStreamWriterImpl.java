@@ -121,6 +121,21 @@ public class TypedStreamWriterImpl implements TypedStreamWriter {
     return batchWriter.tryWrite();
   }
 
+  @Override
+  public void mark() {
+    batchWriter.mark();
+  }
+
+  @Override
+  public void resetToMark() {
+    batchWriter.resetToMark();
+  }
+
+  @Override
+  public int getBatchLength() {
+    return batchWriter.getBatchLength();
+  }
+
   @Override
   public void appendRejection(
       final TypedRecord<? extends RecordValue> command,
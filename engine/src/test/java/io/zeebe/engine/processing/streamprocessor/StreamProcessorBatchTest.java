@@ -0,0 +1,242 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.processing.streamprocessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.timeout;
+
+import io.zeebe.engine.processing.streamprocessor.sideeffect.SideEffectProducer;
+import io.zeebe.engine.processing.streamprocessor.writers.CommandResponseWriter;
+import io.zeebe.engine.processing.streamprocessor.writers.TypedResponseWriter;
+import io.zeebe.engine.processing.streamprocessor.writers.TypedStreamWriter;
+import io.zeebe.engine.util.StreamProcessorRule;
+import io.zeebe.protocol.impl.record.UnifiedRecordValue;
+import io.zeebe.protocol.impl.record.value.error.ErrorRecord;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
+import io.zeebe.test.util.TestUtil;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.awaitility.Awaitility;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.verification.VerificationWithTimeout;
+
+public final class StreamProcessorBatchTest {
+
+  private static final VerificationWithTimeout TIMEOUT = timeout(2_000L);
+
+  @Rule public final StreamProcessorRule streamProcessorRule = new StreamProcessorRule();
+
+  @Before
+  public void setUp() {
+    streamProcessorRule.withMaxCommandsInBatch(10);
+  }
+
+  @Test
+  public void shouldWriteFollowUpEventsOfBatch() {
+    // given
+    final long firstPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+    final long secondPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+    final long thirdPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+
+    // when
+    final StreamProcessor streamProcessor =
+        streamProcessorRule.startTypedStreamProcessor(
+            (processors, state) ->
+                processors.onEvent(
+                    ValueType.WORKFLOW_INSTANCE,
+                    WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                    new FollowUpEventProcessor()));
+
+    // then
+    final List<Record<WorkflowInstanceRecord>> activatedEvents = waitForActivated(3);
+    assertThat(activatedEvents)
+        .extracting(Record::getSourceRecordPosition)
+        .containsExactly(firstPosition, secondPosition, thirdPosition);
+
+    assertThat(streamProcessor.getLastWrittenPositionAsync().join())
+        .isEqualTo(activatedEvents.get(2).getPosition());
+    assertThat(streamProcessor.getLastProcessedPositionAsync().join()).isEqualTo(thirdPosition);
+  }
+
+  @Test
+  public void shouldWriteResponsesOfBatch() {
+    // given
+    final long firstPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+    final long secondPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+
+    // when
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new TypedRecordProcessor<>() {
+                  @Override
+                  public void processRecord(
+                      final long position,
+                      final TypedRecord<UnifiedRecordValue> record,
+                      final TypedResponseWriter responseWriter,
+                      final TypedStreamWriter streamWriter,
+                      final Consumer<SideEffectProducer> sideEffect) {
+                    responseWriter.writeEventOnCommand(
+                        position,
+                        WorkflowInstanceIntent.ELEMENT_ACTIVATED,
+                        record.getValue(),
+                        record);
+                  }
+                }));
+
+    // then
+    final CommandResponseWriter commandResponseWriter =
+        streamProcessorRule.getCommandResponseWriter();
+    final InOrder inOrder = inOrder(commandResponseWriter);
+
+    inOrder.verify(commandResponseWriter, TIMEOUT).key(firstPosition);
+    inOrder.verify(commandResponseWriter, TIMEOUT).tryWriteResponse(anyInt(), anyLong());
+    inOrder.verify(commandResponseWriter, TIMEOUT).key(secondPosition);
+    inOrder.verify(commandResponseWriter, TIMEOUT).tryWriteResponse(anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldProcessFailingCommandOfBatchOnItsOwn() {
+    // given
+    final long firstPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(
+            WorkflowInstanceIntent.ELEMENT_ACTIVATING, 1);
+    final long failingPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(
+            WorkflowInstanceIntent.ELEMENT_ACTIVATING, 2);
+    final long thirdPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(
+            WorkflowInstanceIntent.ELEMENT_ACTIVATING, 3);
+
+    // when
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new FollowUpEventProcessor() {
+                  @Override
+                  public void processRecord(
+                      final long position,
+                      final TypedRecord<UnifiedRecordValue> record,
+                      final TypedResponseWriter responseWriter,
+                      final TypedStreamWriter streamWriter,
+                      final Consumer<SideEffectProducer> sideEffect) {
+                    super.processRecord(position, record, responseWriter, streamWriter, sideEffect);
+                    if (position == failingPosition) {
+                      throw new RuntimeException("expected");
+                    }
+                  }
+                }));
+
+    // then
+    final List<Record<WorkflowInstanceRecord>> activatedEvents = waitForActivated(2);
+    assertThat(activatedEvents)
+        .extracting(Record::getSourceRecordPosition)
+        .containsExactly(firstPosition, thirdPosition);
+
+    final ErrorRecord errorRecord =
+        TestUtil.doRepeatedly(() -> streamProcessorRule.events().onlyErrorRecords().findFirst())
+            .until(Optional::isPresent)
+            .get()
+            .getValue();
+    assertThat(errorRecord.getErrorEventPosition()).isEqualTo(failingPosition);
+  }
+
+  @Test
+  public void shouldInvokeOnProcessedListenerForEachCommandOfBatch() {
+    // given
+    final long firstPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+    final long secondPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+    final List<Long> processedPositions = new CopyOnWriteArrayList<>();
+
+    // when
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, context) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new FollowUpEventProcessor()),
+        record -> processedPositions.add(record.getPosition()));
+
+    // then
+    Awaitility.await()
+        .untilAsserted(
+            () -> assertThat(processedPositions).containsExactly(firstPosition, secondPosition));
+  }
+
+  @Test
+  public void shouldInvokeOnProcessedListenerWithCommandsOfBatchAfterCommit() {
+    // given
+    streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING, 1);
+    streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING, 2);
+    streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING, 3);
+    final List<Long> processedInstanceKeys = new CopyOnWriteArrayList<>();
+
+    // when
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, context) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new FollowUpEventProcessor()),
+        record ->
+            processedInstanceKeys.add(
+                ((WorkflowInstanceRecord) record.getValue()).getWorkflowInstanceKey()));
+
+    // then
+    Awaitility.await()
+        .untilAsserted(() -> assertThat(processedInstanceKeys).containsExactly(1L, 2L, 3L));
+  }
+
+  private List<Record<WorkflowInstanceRecord>> waitForActivated(final int count) {
+    return TestUtil.doRepeatedly(
+            () ->
+                streamProcessorRule
+                    .events()
+                    .onlyWorkflowInstanceRecords()
+                    .withIntent(WorkflowInstanceIntent.ELEMENT_ACTIVATED)
+                    .collect(Collectors.toList()))
+        .until(records -> records.size() >= count);
+  }
+
+  private static class FollowUpEventProcessor implements TypedRecordProcessor<UnifiedRecordValue> {
+
+    @Override
+    public void processRecord(
+        final long position,
+        final TypedRecord<UnifiedRecordValue> record,
+        final TypedResponseWriter responseWriter,
+        final TypedStreamWriter streamWriter,
+        final Consumer<SideEffectProducer> sideEffect) {
+      streamWriter.appendFollowUpEvent(
+          record.getKey(), WorkflowInstanceIntent.ELEMENT_ACTIVATED, record.getValue());
+    }
+  }
+}
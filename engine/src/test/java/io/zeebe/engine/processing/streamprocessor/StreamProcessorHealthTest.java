@@ -311,5 +311,20 @@ public class StreamProcessorHealthTest {
       }
       return wrappedWriter.flush();
     }
+
+    @Override
+    public void mark() {
+      wrappedWriter.mark();
+    }
+
+    @Override
+    public void resetToMark() {
+      wrappedWriter.resetToMark();
+    }
+
+    @Override
+    public int getBatchLength() {
+      return wrappedWriter.getBatchLength();
+    }
   }
 }
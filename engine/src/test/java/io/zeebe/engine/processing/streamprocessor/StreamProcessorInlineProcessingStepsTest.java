@@ -0,0 +1,341 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.processing.streamprocessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.timeout;
+
+import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.DbKey;
+import io.zeebe.db.DbValue;
+import io.zeebe.db.TransactionContext;
+import io.zeebe.db.TransactionOperation;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.engine.processing.streamprocessor.sideeffect.SideEffectProducer;
+import io.zeebe.engine.processing.streamprocessor.writers.CommandResponseWriter;
+import io.zeebe.engine.processing.streamprocessor.writers.TypedResponseWriter;
+import io.zeebe.engine.processing.streamprocessor.writers.TypedStreamWriter;
+import io.zeebe.engine.state.DefaultZeebeDbFactory;
+import io.zeebe.engine.state.ZbColumnFamilies;
+import io.zeebe.engine.util.StreamProcessorRule;
+import io.zeebe.protocol.impl.record.UnifiedRecordValue;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
+import io.zeebe.test.util.TestUtil;
+import java.io.File;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.awaitility.Awaitility;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.verification.VerificationWithTimeout;
+
+public final class StreamProcessorInlineProcessingStepsTest {
+
+  private static final VerificationWithTimeout TIMEOUT = timeout(2_000L);
+  private static final int PARTITION_ID = 0;
+
+  private final AtomicBoolean failNextCommit = new AtomicBoolean();
+
+  @Rule
+  public final StreamProcessorRule streamProcessorRule =
+      new StreamProcessorRule(PARTITION_ID, 1, this::createDb);
+
+  @Before
+  public void setUp() {
+    streamProcessorRule.withInlineProcessingSteps(true);
+  }
+
+  @Test
+  public void shouldWriteFollowUpEventAndUpdateState() {
+    // given
+    final StreamProcessor streamProcessor =
+        streamProcessorRule.startTypedStreamProcessor(
+            (processors, state) ->
+                processors.onEvent(
+                    ValueType.WORKFLOW_INSTANCE,
+                    WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                    new TypedRecordProcessor<>() {
+                      @Override
+                      public void processRecord(
+                          final long position,
+                          final TypedRecord<UnifiedRecordValue> record,
+                          final TypedResponseWriter responseWriter,
+                          final TypedStreamWriter streamWriter,
+                          final Consumer<SideEffectProducer> sideEffect) {
+                        streamWriter.appendFollowUpEvent(
+                            record.getKey(),
+                            WorkflowInstanceIntent.ELEMENT_ACTIVATED,
+                            record.getValue());
+                      }
+                    }));
+
+    // when
+    final long position =
+        streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+
+    // then
+    final Record<WorkflowInstanceRecord> activatedEvent =
+        TestUtil.doRepeatedly(
+                () ->
+                    streamProcessorRule
+                        .events()
+                        .onlyWorkflowInstanceRecords()
+                        .withIntent(WorkflowInstanceIntent.ELEMENT_ACTIVATED)
+                        .findAny())
+            .until(Optional::isPresent)
+            .get();
+    assertThat(activatedEvent.getSourceRecordPosition()).isEqualTo(position);
+
+    Awaitility.await()
+        .untilAsserted(
+            () -> {
+              assertThat(streamProcessor.getLastWrittenPositionAsync().join())
+                  .isEqualTo(activatedEvent.getPosition());
+              assertThat(streamProcessor.getLastProcessedPositionAsync().join())
+                  .isEqualTo(position);
+            });
+  }
+
+  @Test
+  public void shouldWriteResponses() {
+    // given
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new TypedRecordProcessor<>() {
+                  @Override
+                  public void processRecord(
+                      final long position,
+                      final TypedRecord<UnifiedRecordValue> record,
+                      final TypedResponseWriter responseWriter,
+                      final TypedStreamWriter streamWriter,
+                      final Consumer<SideEffectProducer> sideEffect) {
+                    responseWriter.writeEventOnCommand(
+                        position,
+                        WorkflowInstanceIntent.ELEMENT_ACTIVATED,
+                        record.getValue(),
+                        record);
+                  }
+                }));
+
+    // when
+    final long firstPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+    final long secondPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+
+    // then
+    final CommandResponseWriter commandResponseWriter =
+        streamProcessorRule.getCommandResponseWriter();
+    final InOrder inOrder = inOrder(commandResponseWriter);
+
+    inOrder.verify(commandResponseWriter, TIMEOUT).key(firstPosition);
+    inOrder.verify(commandResponseWriter, TIMEOUT).tryWriteResponse(anyInt(), anyLong());
+    inOrder.verify(commandResponseWriter, TIMEOUT).key(secondPosition);
+    inOrder.verify(commandResponseWriter, TIMEOUT).tryWriteResponse(anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldRetrySideEffectsIfNotExecutedOnFirstAttempt() {
+    // given
+    final AtomicInteger sideEffectInvocations = new AtomicInteger();
+    final SideEffectProducer sideEffectProducer = () -> sideEffectInvocations.incrementAndGet() > 1;
+
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new TypedRecordProcessor<>() {
+                  @Override
+                  public void processRecord(
+                      final long position,
+                      final TypedRecord<UnifiedRecordValue> record,
+                      final TypedResponseWriter responseWriter,
+                      final TypedStreamWriter streamWriter,
+                      final Consumer<SideEffectProducer> sideEffect) {
+                    sideEffect.accept(sideEffectProducer);
+                  }
+                }));
+
+    // when
+    final long position =
+        streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+
+    // then
+    Awaitility.await()
+        .untilAsserted(
+            () ->
+                assertThat(streamProcessorRule.getLastSuccessfulProcessedRecordPosition())
+                    .isEqualTo(position));
+    Awaitility.await().untilAsserted(() -> assertThat(sideEffectInvocations).hasValue(2));
+  }
+
+  @Test
+  public void shouldNotWriteFollowUpEventsOfBatchAgainIfCommitFails() {
+    // given
+    streamProcessorRule.withMaxCommandsInBatch(10);
+    streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+    streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+
+    // when
+    final StreamProcessor streamProcessor =
+        streamProcessorRule.startTypedStreamProcessor(
+            (processors, state) ->
+                processors.onEvent(
+                    ValueType.WORKFLOW_INSTANCE,
+                    WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                    new TypedRecordProcessor<>() {
+                      @Override
+                      public void processRecord(
+                          final long position,
+                          final TypedRecord<UnifiedRecordValue> record,
+                          final TypedResponseWriter responseWriter,
+                          final TypedStreamWriter streamWriter,
+                          final Consumer<SideEffectProducer> sideEffect) {
+                        failNextCommit.set(true);
+                        streamWriter.appendFollowUpEvent(
+                            record.getKey(),
+                            WorkflowInstanceIntent.ELEMENT_ACTIVATED,
+                            record.getValue());
+                      }
+                    }));
+
+    // then
+    Awaitility.await().until(streamProcessor::isFailed);
+    assertThat(
+            streamProcessorRule
+                .events()
+                .onlyWorkflowInstanceRecords()
+                .withIntent(WorkflowInstanceIntent.ELEMENT_ACTIVATED)
+                .count())
+        .isEqualTo(2);
+  }
+
+  private ZeebeDb<ZbColumnFamilies> createDb(final File path) {
+    return new FailingCommitDb(DefaultZeebeDbFactory.defaultFactory().createDb(path));
+  }
+
+  /**
+   * Hands a transaction to the stream processor which fails its next commit, once the failure is
+   * requested. The column families use the transactions of the wrapped database as usual.
+   */
+  private final class FailingCommitDb implements ZeebeDb<ZbColumnFamilies> {
+    private final ZeebeDb<ZbColumnFamilies> db;
+
+    private FailingCommitDb(final ZeebeDb<ZbColumnFamilies> db) {
+      this.db = db;
+    }
+
+    @Override
+    public <KeyType extends DbKey, ValueType extends DbValue>
+        ColumnFamily<KeyType, ValueType> createColumnFamily(
+            final ZbColumnFamilies columnFamily,
+            final TransactionContext context,
+            final KeyType keyInstance,
+            final ValueType valueInstance) {
+      return db.createColumnFamily(columnFamily, unwrap(context), keyInstance, valueInstance);
+    }
+
+    @Override
+    public void createSnapshot(final File snapshotDir) {
+      db.createSnapshot(snapshotDir);
+    }
+
+    @Override
+    public Optional<String> getProperty(final String propertyName) {
+      return db.getProperty(propertyName);
+    }
+
+    @Override
+    public TransactionContext createContext() {
+      return new FailingCommitContext(db.createContext());
+    }
+
+    @Override
+    public boolean isEmpty(final ZbColumnFamilies column, final TransactionContext context) {
+      return db.isEmpty(column, unwrap(context));
+    }
+
+    @Override
+    public void dropColumnFamily(final ZbColumnFamilies column) {
+      db.dropColumnFamily(column);
+    }
+
+    @Override
+    public void close() throws Exception {
+      db.close();
+    }
+
+    private TransactionContext unwrap(final TransactionContext context) {
+      return context instanceof FailingCommitContext
+          ? ((FailingCommitContext) context).context
+          : context;
+    }
+  }
+
+  private final class FailingCommitContext implements TransactionContext {
+    private final TransactionContext context;
+
+    private FailingCommitContext(final TransactionContext context) {
+      this.context = context;
+    }
+
+    @Override
+    public void runInTransaction(final TransactionOperation operations) {
+      context.runInTransaction(operations);
+    }
+
+    @Override
+    public ZeebeDbTransaction getCurrentTransaction() {
+      final ZeebeDbTransaction transaction = context.getCurrentTransaction();
+      return new ZeebeDbTransaction() {
+        @Override
+        public void run(final TransactionOperation operations) throws Exception {
+          transaction.run(operations);
+        }
+
+        @Override
+        public void commit() throws Exception {
+          if (failNextCommit.compareAndSet(true, false)) {
+            throw new RuntimeException("expected");
+          }
+          transaction.commit();
+        }
+
+        @Override
+        public void rollback() throws Exception {
+          transaction.rollback();
+        }
+
+        @Override
+        public void setSavePoint() throws Exception {
+          transaction.setSavePoint();
+        }
+
+        @Override
+        public void rollbackToSavePoint() throws Exception {
+          transaction.rollbackToSavePoint();
+        }
+      };
+    }
+  }
+}
@@ -12,6 +12,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
@@ -322,6 +323,82 @@ public final class StreamProcessorReplayTest {
     assertThat(keyGenerator.nextKey()).isEqualTo(keyOfThisPartition + 1);
   }
 
+  @Test
+  public void shouldReplayEventsBeforeAndAfterReprocessedRecord() {
+    // given
+    final var commandPosition =
+        streamProcessorRule.writeCommand(WorkflowInstanceIntent.ACTIVATE_ELEMENT, RECORD);
+
+    streamProcessorRule.writeEvent(
+        WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+        RECORD,
+        writer -> writer.key(1L).sourceRecordPosition(commandPosition));
+
+    final var notMigratedRecord =
+        new WorkflowInstanceRecord().setBpmnElementType(BpmnElementType.SERVICE_TASK);
+    final var notMigratedEventPosition =
+        streamProcessorRule.writeEvent(
+            WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+            notMigratedRecord,
+            writer -> writer.key(2L).sourceRecordPosition(commandPosition));
+
+    streamProcessorRule.writeEvent(
+        WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+        RECORD,
+        writer -> writer.key(3L).sourceRecordPosition(notMigratedEventPosition));
+
+    // when
+    startStreamProcessor(typedRecordProcessor, eventApplier);
+
+    // then
+    final InOrder inOrder = inOrder(typedRecordProcessor, eventApplier);
+    inOrder.verify(eventApplier, TIMEOUT).applyState(eq(1L), eq(ELEMENT_ACTIVATING), any());
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT)
+        .processRecord(eq(notMigratedEventPosition), any(), any(), any(), any());
+    inOrder.verify(eventApplier, TIMEOUT).applyState(eq(3L), eq(ELEMENT_ACTIVATING), any());
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(EXPECTED_ON_RECOVERED_INVOCATIONS))
+        .onRecovered(any());
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldReplayEventsOneByOneIfBatchFails() {
+    // given
+    final var commandPosition =
+        streamProcessorRule.writeCommand(WorkflowInstanceIntent.ACTIVATE_ELEMENT, RECORD);
+
+    streamProcessorRule.writeEvent(
+        WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+        RECORD,
+        writer -> writer.key(1L).sourceRecordPosition(commandPosition));
+
+    streamProcessorRule.writeEvent(
+        WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+        RECORD,
+        writer -> writer.key(2L).sourceRecordPosition(commandPosition));
+
+    doThrow(new RuntimeException("expected"))
+        .doNothing()
+        .when(eventApplier)
+        .applyState(eq(1L), any(), any());
+
+    // when
+    startStreamProcessor(typedRecordProcessor, eventApplier);
+
+    // then
+    final InOrder inOrder = inOrder(typedRecordProcessor, eventApplier);
+    inOrder
+        .verify(eventApplier, TIMEOUT.times(2))
+        .applyState(eq(1L), eq(ELEMENT_ACTIVATING), any());
+    inOrder.verify(eventApplier, TIMEOUT).applyState(eq(2L), eq(ELEMENT_ACTIVATING), any());
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(EXPECTED_ON_RECOVERED_INVOCATIONS))
+        .onRecovered(any());
+    inOrder.verifyNoMoreInteractions();
+  }
+
   private void startStreamProcessor(
       final TypedRecordProcessor<?> typedRecordProcessor, final EventApplier eventApplier) {
     streamProcessorRule
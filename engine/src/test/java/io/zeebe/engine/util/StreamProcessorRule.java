@@ -122,6 +122,16 @@ public final class StreamProcessorRule implements TestRule {
     return this;
   }
 
+  public StreamProcessorRule withMaxCommandsInBatch(final int maxCommandsInBatch) {
+    streams.withMaxCommandsInBatch(maxCommandsInBatch);
+    return this;
+  }
+
+  public StreamProcessorRule withInlineProcessingSteps(final boolean inlineProcessingSteps) {
+    streams.withInlineProcessingSteps(inlineProcessingSteps);
+    return this;
+  }
+
   public LogStreamRecordWriter getLogStreamRecordWriter(final int partitionId) {
     return streamProcessingComposite.getLogStreamRecordWriter(partitionId);
   }
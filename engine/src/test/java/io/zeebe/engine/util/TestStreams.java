@@ -79,6 +79,8 @@ public final class TestStreams {
   private boolean snapshotWasTaken = false;
 
   private Function<ZeebeState, EventApplier> eventApplierFactory = EventAppliers::new;
+  private int maxCommandsInBatch = 1;
+  private boolean inlineProcessingSteps;
 
   public TestStreams(
       final TemporaryFolder dataDirectory,
@@ -102,6 +104,14 @@ public final class TestStreams {
     mockOnProcessedListener = mock(Consumer.class);
   }
 
+  public void withMaxCommandsInBatch(final int maxCommandsInBatch) {
+    this.maxCommandsInBatch = maxCommandsInBatch;
+  }
+
+  public void withInlineProcessingSteps(final boolean inlineProcessingSteps) {
+    this.inlineProcessingSteps = inlineProcessingSteps;
+  }
+
   public void withEventApplierFactory(
       final Function<ZeebeState, EventApplier> eventApplierFactory) {
     this.eventApplierFactory = eventApplierFactory;
@@ -256,6 +266,8 @@ public final class TestStreams {
             .streamProcessorFactory(factory)
             .detectReprocessingInconsistency(detectReprocessingInconsistency)
             .eventApplierFactory(eventApplierFactory)
+            .maxCommandsInBatch(maxCommandsInBatch)
+            .inlineProcessingSteps(inlineProcessingSteps)
             .build();
     streamProcessor.openAsync(false).join(15, TimeUnit.SECONDS);
 
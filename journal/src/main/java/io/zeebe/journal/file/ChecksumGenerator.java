@@ -15,19 +15,34 @@
  */
 package io.zeebe.journal.file;
 
-import java.util.zip.CRC32;
-import org.agrona.DirectBuffer;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
 
 public final class ChecksumGenerator {
 
-  private final CRC32 crc32 = new CRC32();
+  private final CRC32C crc32c = new CRC32C();
 
-  /** Compute checksum of given DirectBuffer */
-  public int compute(final DirectBuffer data) {
-    final byte[] slice = new byte[data.capacity()];
-    data.getBytes(0, slice);
-    crc32.reset();
-    crc32.update(slice);
-    return (int) crc32.getValue();
+  // a view of the last buffer, which is reused as long as the checksums of the same buffer are
+  // computed, e.g. of the mapped segment of a writer or reader
+  private ByteBuffer buffer;
+  private ByteBuffer view;
+
+  /**
+   * Compute the CRC32C checksum of the given region of the buffer. The bytes are read in place, and
+   * the position, limit and mark of {@code buffer} are not modified. Computing the checksums of the
+   * same buffer repeatedly allocates nothing.
+   */
+  public int compute(final ByteBuffer buffer, final int offset, final int length) {
+    if (buffer != this.buffer) {
+      this.buffer = buffer;
+      view = buffer.duplicate();
+    }
+
+    view.clear();
+    view.position(offset).limit(offset + length);
+
+    crc32c.reset();
+    crc32c.update(view);
+    return (int) crc32c.getValue();
   }
 }
@@ -23,6 +23,9 @@ import io.zeebe.journal.JournalRecord;
  */
 interface JournalIndex {
 
+  /** Returned by the lookup methods if no matching mapping exists. */
+  long NOT_FOUND = -1;
+
   /**
    * Indexes the record and its position with in a segment
    *
@@ -32,20 +35,63 @@ interface JournalIndex {
   void index(JournalRecord record, int position);
 
   /**
-   * Looks up the position of the given index.
+   * Adds a mapping which was previously indexed, e.g. when restoring the index of a segment from
+   * its index file. The mapping is added regardless of the density of the index.
+   *
+   * @param index the index of the record
+   * @param position the position of the record within its segment
+   * @param asqn the asqn of the record, or {@link SegmentedJournal#ASQN_IGNORE} if it has none
+   */
+  void restore(long index, int position, long asqn);
+
+  /**
+   * Visits all mappings with an index between {@code fromIndex} and {@code toIndex} (both
+   * inclusive), in ascending order of the index.
+   *
+   * @param fromIndex the lowest index to visit
+   * @param toIndex the highest index to visit
+   * @param visitor the visitor which is called for every mapping
+   */
+  void forEach(long fromIndex, long toIndex, IndexEntryVisitor visitor);
+
+  /**
+   * Looks up the greatest indexed index which is less than or equal to the given index.
    *
    * @param index the index to lookup
-   * @return the position of the given index or a lesser index
+   * @return the given index or a lesser index, or {@link #NOT_FOUND} if there is none
    */
-  IndexInfo lookup(long index);
+  long lookupIndex(long index);
+
+  /**
+   * Looks up the position of the given index, i.e. of the index returned by {@link
+   * #lookupIndex(long)}.
+   *
+   * @param index the index to lookup
+   * @return the position of the given index or a lesser index, or {@link #NOT_FOUND} if there is
+   *     none
+   */
+  int lookupPosition(long index);
+
+  /**
+   * Looks up the position of the given index. In contrast to {@link #lookupIndex(long)} and {@link
+   * #lookupPosition(long)}, this allocates a new {@link IndexInfo}.
+   *
+   * @param index the index to lookup
+   * @return the position of the given index or a lesser index, or null if there is none
+   */
+  default IndexInfo lookup(final long index) {
+    final long indexedIndex = lookupIndex(index);
+    return indexedIndex != NOT_FOUND ? new IndexInfo(indexedIndex, lookupPosition(index)) : null;
+  }
 
   /**
    * Look up the index for the given application sequence number.
    *
    * @param asqn
-   * @return the index of a record with asqn less than or equal to the given asqn.
+   * @return the index of a record with asqn less than or equal to the given asqn, or {@link
+   *     #NOT_FOUND} if there is none
    */
-  Long lookupAsqn(long asqn);
+  long lookupAsqn(long asqn);
 
   /**
    * Delete all entries after the given index.
@@ -67,4 +113,15 @@ interface JournalIndex {
 
   /** Delete all index mappings */
   void clear();
+
+  @FunctionalInterface
+  interface IndexEntryVisitor {
+
+    /**
+     * @param index the index of the record
+     * @param position the position of the record within its segment
+     * @param asqn the asqn of the record, or {@link SegmentedJournal#ASQN_IGNORE} if it has none
+     */
+    void visit(long index, int position, long asqn);
+  }
 }
@@ -15,6 +15,7 @@
  */
 package io.zeebe.journal.file;
 
+import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
 
@@ -60,6 +61,22 @@ class JournalMetrics {
           .labelNames(PARTITION_LABEL)
           .register();
 
+  private static final Histogram SEGMENT_PREALLOCATION_LEAD_TIME =
+      Histogram.build()
+          .namespace(NAMESPACE)
+          .name("segment_preallocation_lead_time")
+          .help("Time between preallocating a segment file and using it for a new segment")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Counter SEGMENT_PREALLOCATION_MISS =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("segment_preallocation_miss_count")
+          .help("Number of segment rollovers for which the preallocation was still in progress")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
   private final String logName;
 
   public JournalMetrics(final String logName) {
@@ -78,6 +95,14 @@ class JournalMetrics {
     SEGMENT_TRUNCATE_TIME.labels(logName).time(segmentTruncation);
   }
 
+  public void observeSegmentPreallocationLeadTime(final long leadTimeNanos) {
+    SEGMENT_PREALLOCATION_LEAD_TIME.labels(logName).observe(leadTimeNanos / 1_000_000_000d);
+  }
+
+  public void incSegmentPreallocationMiss() {
+    SEGMENT_PREALLOCATION_MISS.labels(logName).inc();
+  }
+
   public void observeJournalOpenDuration(final long durationMillis) {
     JOURNAL_OPEN_DURATION.labels(logName).set(durationMillis / 1000f);
   }
@@ -21,6 +21,9 @@ import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.collect.Sets;
 import io.zeebe.journal.StorageException;
+import io.zeebe.journal.file.record.JournalRecordBufferReader;
+import io.zeebe.journal.file.record.JournalRecordReaderUtil;
+import io.zeebe.journal.file.record.KryoSerializer;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Set;
@@ -33,12 +36,15 @@ import java.util.Set;
 class JournalSegment implements AutoCloseable {
 
   private final JournalSegmentFile file;
+  private final JournalSegmentIndexFile indexFile;
   private final JournalSegmentDescriptor descriptor;
   private final int maxEntrySize;
   private final JournalIndex index;
   private final MappedJournalSegmentWriter writer;
   private final Set<MappedJournalSegmentReader> readers = Sets.newConcurrentHashSet();
   private boolean open = true;
+  private boolean sealed;
+  private boolean indexFileWritten;
 
   public JournalSegment(
       final JournalSegmentFile file,
@@ -46,10 +52,13 @@ class JournalSegment implements AutoCloseable {
       final int maxEntrySize,
       final JournalIndex journalIndex) {
     this.file = file;
+    indexFile = new JournalSegmentIndexFile(file);
     this.descriptor = descriptor;
     this.maxEntrySize = maxEntrySize;
     index = journalIndex;
     writer = createWriter(file, maxEntrySize);
+    indexFileWritten = writer.isRestoredFromIndexFile();
+    sealed = indexFileWritten;
   }
 
   /**
@@ -70,6 +79,16 @@ class JournalSegment implements AutoCloseable {
     return descriptor.version();
   }
 
+  /**
+   * Returns whether records can be appended to the segment. Segments of the former version are only
+   * read until they are compacted away.
+   *
+   * @return true if the segment has the current version
+   */
+  boolean isWritable() {
+    return descriptor.version() == JournalSegmentDescriptor.VERSION;
+  }
+
   /**
    * Returns the segment's starting index.
    *
@@ -97,6 +116,16 @@ class JournalSegment implements AutoCloseable {
     return file;
   }
 
+  /**
+   * Returns the index file of the segment, which exists only if the segment is sealed and was
+   * closed since.
+   *
+   * @return The segment index file.
+   */
+  JournalSegmentIndexFile indexFile() {
+    return indexFile;
+  }
+
   /**
    * Returns the segment descriptor.
    *
@@ -141,7 +170,18 @@ class JournalSegment implements AutoCloseable {
    */
   MappedJournalSegmentReader createReader() {
     checkOpen();
-    return new MappedJournalSegmentReader(file, this, maxEntrySize, index);
+    return new MappedJournalSegmentReader(file, this, index);
+  }
+
+  /**
+   * Creates a reader for the records of the segment, which depends on the layout of its version.
+   *
+   * @return A new record reader.
+   */
+  JournalRecordBufferReader createRecordReader() {
+    return isWritable()
+        ? new JournalRecordReaderUtil(maxEntrySize)
+        : new KryoSerializer(maxEntrySize);
   }
 
   private MappedJournalSegmentWriter createWriter(
@@ -180,9 +220,41 @@ class JournalSegment implements AutoCloseable {
     open = false;
   }
 
+  /**
+   * Seals the segment. Must only be called once no more records are appended to the segment, e.g.
+   * when rolling over to the next segment. Its index file is not written right away, as this would
+   * block the append which triggers the rollover; see {@link #writeIndexFile()}.
+   */
+  void seal() {
+    sealed = true;
+  }
+
+  /** Unseals the segment, which deletes its index file. Must be called before modifying it. */
+  void unseal() {
+    sealed = false;
+    indexFileWritten = false;
+    indexFile.delete();
+  }
+
+  /**
+   * Writes the index file of the segment, if it is sealed and the file was not written yet. The
+   * records of the segment are flushed first, such that the file never refers to records which are
+   * not persisted. The file is optional, since the segment is scanned on open without it.
+   */
+  void writeIndexFile() {
+    if (!sealed || indexFileWritten || isEmpty()) {
+      return;
+    }
+
+    writer.flush();
+    indexFile.write(index(), writer.getLastIndex(), writer.getLastEntryPosition(), index);
+    indexFileWritten = true;
+  }
+
   /** Deletes the segment. */
   public void delete() {
     try {
+      indexFile.delete();
       Files.deleteIfExists(file.file().toPath());
     } catch (final IOException e) {
       throw new StorageException(e);
@@ -35,9 +35,9 @@ import java.nio.ByteBuffer;
  *   <li>{@code index} (64-bit signed integer) - The effective first index of the segment. This
  *       indicates the index at which the first entry should be written to the segment. Indexes are
  *       monotonically increasing thereafter.
- *   <li>{@code version} (64-bit signed integer) - The version of the segment. Versions are
- *       monotonically increasing starting at {@code 1}. Versions will only be incremented whenever
- *       the segment is rewritten to another memory/disk space, e.g. after log compaction.
+ *   <li>{@code version} (32-bit signed integer) - The version of the segment layout, which
+ *       defines how the records in the segment are written. Segments of the former version are
+ *       only read, and all records are appended to segments of the current version.
  *   <li>{@code maxSegmentSize} (32-bit unsigned integer) - The maximum number of bytes allowed in
  *       the segment.
  *   <li>{@code maxEntries} (32-bit signed integer) - The total number of expected entries in the
@@ -61,8 +61,12 @@ import java.nio.ByteBuffer;
 final class JournalSegmentDescriptor {
   public static final int BYTES = 64;
 
-  // Current segment version.
-  @VisibleForTesting static final int VERSION = 1;
+  // Current segment version, whose records are written in a fixed binary layout. New segments are
+  // always created with this version.
+  @VisibleForTesting static final int VERSION = 2;
+  // Former segment version, whose records are serialized with Kryo. Such segments are still read,
+  // but never written to, until they are compacted away.
+  @VisibleForTesting static final int KRYO_VERSION = 1;
 
   // The lengths of each field in the header.
   private static final int VERSION_LENGTH = Integer.BYTES; // 32-bit signed integer
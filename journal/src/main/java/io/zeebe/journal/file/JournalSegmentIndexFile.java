@@ -0,0 +1,252 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.journal.file;
+
+import io.zeebe.journal.StorageException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import org.agrona.IoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index file of a sealed segment, i.e. a segment to which no more records are appended. It contains
+ * the position of the last record in the segment and the index mappings of the segment, such that
+ * the segment does not have to be scanned when the journal is opened.
+ *
+ * <p>The file consists of a header followed by the index mappings:
+ *
+ * <ul>
+ *   <li>{@code version} (32-bit signed integer) - The version of the index file.
+ *   <li>{@code checksum} (32-bit signed integer) - The CRC32C checksum of everything after it.
+ *   <li>{@code lastIndex} (64-bit signed integer) - The index of the last record in the segment.
+ *   <li>{@code lastPosition} (32-bit signed integer) - The position of the last record in the
+ *       segment.
+ *   <li>{@code entryCount} (32-bit signed integer) - The number of index mappings which follow.
+ *   <li>For each mapping: {@code index} (64-bit signed integer), {@code position} (32-bit signed
+ *       integer) and {@code asqn} (64-bit signed integer).
+ * </ul>
+ *
+ * <p>The file must be deleted as soon as the segment is modified again, e.g. when it is truncated.
+ */
+final class JournalSegmentIndexFile {
+
+  static final int VERSION = 1;
+
+  private static final String EXTENSION = "idx";
+  private static final String TEMPORARY_EXTENSION = "idx.tmp";
+
+  private static final int VERSION_OFFSET = 0;
+  private static final int CHECKSUM_OFFSET = VERSION_OFFSET + Integer.BYTES;
+  private static final int LAST_INDEX_OFFSET = CHECKSUM_OFFSET + Integer.BYTES;
+  private static final int LAST_POSITION_OFFSET = LAST_INDEX_OFFSET + Long.BYTES;
+  private static final int ENTRY_COUNT_OFFSET = LAST_POSITION_OFFSET + Integer.BYTES;
+  private static final int HEADER_LENGTH = ENTRY_COUNT_OFFSET + Integer.BYTES;
+  private static final int ENTRY_LENGTH = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+  private static final Logger LOG = LoggerFactory.getLogger(JournalSegmentIndexFile.class);
+
+  private final File file;
+  private final File temporaryFile;
+  private final ChecksumGenerator checksumGenerator = new ChecksumGenerator();
+
+  JournalSegmentIndexFile(final JournalSegmentFile segmentFile) {
+    final File segment = segmentFile.file();
+    final String segmentName = segment.getName();
+    final String baseName = segmentName.substring(0, segmentName.lastIndexOf('.') + 1);
+    file = new File(segment.getParentFile(), baseName + EXTENSION);
+    temporaryFile = new File(segment.getParentFile(), baseName + TEMPORARY_EXTENSION);
+  }
+
+  File file() {
+    return file;
+  }
+
+  /**
+   * Writes the index file for a sealed segment. The file is first written to a temporary file,
+   * which is then atomically moved, such that a partially written file is never read.
+   *
+   * @param firstIndex the first index of the segment
+   * @param lastIndex the index of the last record of the segment
+   * @param lastPosition the position of the last record of the segment
+   * @param journalIndex the index which contains the mappings of the segment
+   */
+  void write(
+      final long firstIndex,
+      final long lastIndex,
+      final int lastPosition,
+      final JournalIndex journalIndex) {
+    final int[] entryCount = new int[1];
+    journalIndex.forEach(firstIndex, lastIndex, (index, position, asqn) -> entryCount[0]++);
+
+    final ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + entryCount[0] * ENTRY_LENGTH);
+    buffer.putInt(VERSION_OFFSET, VERSION);
+    buffer.putLong(LAST_INDEX_OFFSET, lastIndex);
+    buffer.putInt(LAST_POSITION_OFFSET, lastPosition);
+    buffer.putInt(ENTRY_COUNT_OFFSET, entryCount[0]);
+    buffer.position(HEADER_LENGTH);
+    journalIndex.forEach(
+        firstIndex,
+        lastIndex,
+        (index, position, asqn) -> buffer.putLong(index).putInt(position).putLong(asqn));
+    buffer.putInt(
+        CHECKSUM_OFFSET,
+        checksumGenerator.compute(
+            buffer, LAST_INDEX_OFFSET, buffer.capacity() - LAST_INDEX_OFFSET));
+    buffer.flip();
+
+    try (final FileChannel channel =
+        FileChannel.open(
+            temporaryFile.toPath(),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    } catch (final IOException e) {
+      throw new StorageException(e);
+    }
+
+    try {
+      Files.move(
+          temporaryFile.toPath(),
+          file.toPath(),
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (final IOException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  /**
+   * Reads the index file.
+   *
+   * @return the content of the index file, or null if the file does not exist or is invalid
+   */
+  SealedSegmentIndex read() {
+    if (!file.exists()) {
+      return null;
+    }
+
+    final MappedByteBuffer buffer;
+    try {
+      buffer = IoUtil.mapExistingFile(file, MapMode.READ_ONLY, file.getName());
+    } catch (final IllegalStateException e) {
+      LOG.warn("Failed to map index file {}, the segment will be scanned instead", file, e);
+      return null;
+    }
+
+    try {
+      return read(buffer);
+    } finally {
+      IoUtil.unmap(buffer);
+    }
+  }
+
+  private SealedSegmentIndex read(final ByteBuffer buffer) {
+    if (buffer.capacity() < HEADER_LENGTH || buffer.getInt(VERSION_OFFSET) != VERSION) {
+      LOG.warn("Index file {} has an unexpected format, the segment will be scanned instead", file);
+      return null;
+    }
+
+    final int entryCount = buffer.getInt(ENTRY_COUNT_OFFSET);
+    if (entryCount < 0 || buffer.capacity() != HEADER_LENGTH + entryCount * ENTRY_LENGTH) {
+      LOG.warn("Index file {} has an unexpected length, the segment will be scanned instead", file);
+      return null;
+    }
+
+    final int checksum =
+        checksumGenerator.compute(buffer, LAST_INDEX_OFFSET, buffer.capacity() - LAST_INDEX_OFFSET);
+    if (checksum != buffer.getInt(CHECKSUM_OFFSET)) {
+      LOG.warn("Index file {} is corrupted, the segment will be scanned instead", file);
+      return null;
+    }
+
+    final long[] indexes = new long[entryCount];
+    final int[] positions = new int[entryCount];
+    final long[] asqns = new long[entryCount];
+    buffer.position(HEADER_LENGTH);
+    for (int i = 0; i < entryCount; i++) {
+      indexes[i] = buffer.getLong();
+      positions[i] = buffer.getInt();
+      asqns[i] = buffer.getLong();
+    }
+
+    return new SealedSegmentIndex(
+        buffer.getLong(LAST_INDEX_OFFSET),
+        buffer.getInt(LAST_POSITION_OFFSET),
+        indexes,
+        positions,
+        asqns);
+  }
+
+  /** Deletes the index file, if it exists. */
+  void delete() {
+    try {
+      Files.deleteIfExists(temporaryFile.toPath());
+      Files.deleteIfExists(file.toPath());
+    } catch (final IOException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  /** The content of an index file. */
+  static final class SealedSegmentIndex {
+
+    private final long lastIndex;
+    private final int lastPosition;
+    private final long[] indexes;
+    private final int[] positions;
+    private final long[] asqns;
+
+    private SealedSegmentIndex(
+        final long lastIndex,
+        final int lastPosition,
+        final long[] indexes,
+        final int[] positions,
+        final long[] asqns) {
+      this.lastIndex = lastIndex;
+      this.lastPosition = lastPosition;
+      this.indexes = indexes;
+      this.positions = positions;
+      this.asqns = asqns;
+    }
+
+    long lastIndex() {
+      return lastIndex;
+    }
+
+    int lastPosition() {
+      return lastPosition;
+    }
+
+    /** Adds the index mappings of the segment to the given journal index. */
+    void restore(final JournalIndex journalIndex) {
+      for (int i = 0; i < indexes.length; i++) {
+        journalIndex.restore(indexes[i], positions[i], asqns[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.journal.file;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Preallocates the file of the next segment in the background, such that rolling over to a new
+ * segment does not have to create and allocate the file on the append path. The file is zero-filled
+ * and flushed, which allocates its blocks on disk. On rollover, it is only renamed to the name of
+ * the new segment.
+ *
+ * <p>At most one file is preallocated at a time. Its name is not a valid segment file name, so it
+ * is never loaded as a segment, e.g. after a crash. A file is only preallocated if enough disk
+ * space remains free afterwards, and rolling over never waits for a preallocation which is still in
+ * progress; in both cases, the segment file is created on rollover as without preallocation.
+ */
+final class JournalSegmentPreallocator implements AutoCloseable {
+
+  private static final String EXTENSION = "preallocated";
+  private static final int MAX_ZERO_BUFFER_SIZE = 1024 * 1024;
+  private static final long IDLE_THREAD_TIMEOUT_SECONDS = 10;
+
+  private static final Logger LOG = LoggerFactory.getLogger(JournalSegmentPreallocator.class);
+
+  private final File file;
+  private final int segmentSize;
+  private final long minFreeDiskSpace;
+  private final JournalMetrics journalMetrics;
+  private final ThreadPoolExecutor executor;
+  private ByteBuffer zeroBuffer;
+  private CompletableFuture<Long> preallocation;
+
+  JournalSegmentPreallocator(
+      final String name,
+      final File directory,
+      final int segmentSize,
+      final long minFreeDiskSpace,
+      final JournalMetrics journalMetrics) {
+    file = new File(directory, String.format("%s.%s", name, EXTENSION));
+    this.segmentSize = segmentSize;
+    this.minFreeDiskSpace = minFreeDiskSpace;
+    this.journalMetrics = journalMetrics;
+
+    executor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            IDLE_THREAD_TIMEOUT_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat(name + "-segment-preallocator")
+                .setDaemon(true)
+                .build());
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Starts preallocating the next segment file, unless one is already preallocated or the file
+   * would leave less than the minimum free disk space.
+   */
+  void preallocate() {
+    if (preallocation != null) {
+      return;
+    }
+
+    if (file.getParentFile().getUsableSpace() - segmentSize < minFreeDiskSpace) {
+      LOG.debug("Not enough free disk space to preallocate segment file {}", file);
+      return;
+    }
+
+    preallocation = CompletableFuture.supplyAsync(this::allocate, executor);
+  }
+
+  /**
+   * Moves the preallocated file to the given segment file. If the preallocation is still in
+   * progress, it does not wait for it, but keeps it for the next segment.
+   *
+   * @param segmentFile the file of the new segment
+   * @return true if the preallocated file was moved to the segment file, false if there was none
+   *     and the segment file has to be created by the caller
+   */
+  boolean moveTo(final File segmentFile) {
+    if (preallocation == null) {
+      return false;
+    }
+
+    final CompletableFuture<Long> pending = preallocation;
+    if (!pending.isDone()) {
+      journalMetrics.incSegmentPreallocationMiss();
+      return false;
+    }
+    preallocation = null;
+
+    final long preallocatedAt;
+    try {
+      preallocatedAt = pending.join();
+    } catch (final CompletionException e) {
+      LOG.warn("Failed to preallocate segment file {}, creating it on rollover", file, e);
+      return false;
+    }
+    journalMetrics.observeSegmentPreallocationLeadTime(System.nanoTime() - preallocatedAt);
+
+    try {
+      Files.move(file.toPath(), segmentFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      LOG.warn("Failed to move preallocated segment file {} to {}", file, segmentFile, e);
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+    try {
+      executor.awaitTermination(IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    preallocation = null;
+    try {
+      Files.deleteIfExists(file.toPath());
+    } catch (final IOException e) {
+      LOG.warn("Failed to delete preallocated segment file {}", file, e);
+    }
+  }
+
+  /** @return the time (in nanoseconds) at which the file was preallocated */
+  private long allocate() {
+    if (zeroBuffer == null) {
+      zeroBuffer = ByteBuffer.allocateDirect(Math.min(MAX_ZERO_BUFFER_SIZE, segmentSize));
+    }
+
+    try (final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        final FileChannel channel = raf.getChannel()) {
+      raf.setLength(segmentSize);
+
+      long position = 0;
+      while (position < segmentSize) {
+        zeroBuffer.clear();
+        zeroBuffer.limit((int) Math.min(zeroBuffer.capacity(), segmentSize - position));
+        position += channel.write(zeroBuffer, position);
+      }
+      channel.force(false);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return System.nanoTime();
+  }
+}
@@ -17,7 +17,7 @@
 package io.zeebe.journal.file;
 
 import io.zeebe.journal.JournalRecord;
-import io.zeebe.journal.file.record.JournalRecordReaderUtil;
+import io.zeebe.journal.file.record.JournalRecordBufferReader;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel.MapMode;
 import java.util.NoSuchElementException;
@@ -31,16 +31,15 @@ class MappedJournalSegmentReader {
   private final JournalSegment segment;
   private JournalRecord currentEntry;
   private JournalRecord nextEntry;
-  private final JournalRecordReaderUtil recordReader;
+  private final JournalRecordBufferReader recordReader;
 
   MappedJournalSegmentReader(
       final JournalSegmentFile file,
       final JournalSegment segment,
-      final int maxEntrySize,
       final JournalIndex index) {
     this.index = index;
     this.segment = segment;
-    recordReader = new JournalRecordReaderUtil(maxEntrySize);
+    recordReader = segment.createRecordReader();
     buffer =
         IoUtil.mapExistingFile(
             file.file(), MapMode.READ_ONLY, file.name(), 0, segment.descriptor().maxSegmentSize());
@@ -94,13 +93,15 @@ class MappedJournalSegmentReader {
 
     reset();
 
-    final var position = this.index.lookup(index - 1);
-    if (position != null && position.index() >= firstIndex && position.index() <= lastIndex) {
+    final long indexedIndex = this.index.lookupIndex(index - 1);
+    if (indexedIndex != JournalIndex.NOT_FOUND
+        && indexedIndex >= firstIndex
+        && indexedIndex <= lastIndex) {
       currentEntry = null;
-      buffer.position(position.position());
+      buffer.position(this.index.lookupPosition(index - 1));
 
       nextEntry = null;
-      readNext(position.index());
+      readNext(indexedIndex);
     }
 
     while (getNextIndex() < index && hasNext()) {
@@ -20,16 +20,15 @@ import io.zeebe.journal.JournalRecord;
 import io.zeebe.journal.StorageException;
 import io.zeebe.journal.StorageException.InvalidChecksum;
 import io.zeebe.journal.StorageException.InvalidIndex;
-import io.zeebe.journal.file.record.JournalRecordBufferWriter;
-import io.zeebe.journal.file.record.JournalRecordReaderUtil;
-import io.zeebe.journal.file.record.KryoSerializer;
+import io.zeebe.journal.file.record.JournalRecordBufferReader;
+import io.zeebe.journal.file.record.JournalRecordDescriptor;
 import io.zeebe.journal.file.record.PersistedJournalRecord;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
-import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import org.agrona.DirectBuffer;
 import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
 
 /** Segment writer. */
 class MappedJournalSegmentWriter {
@@ -39,11 +38,13 @@ class MappedJournalSegmentWriter {
   private final JournalIndex index;
   private final long firstIndex;
   private JournalRecord lastEntry;
+  private int lastEntryPosition;
   private boolean isOpen = true;
-  private final JournalRecordReaderUtil recordUtil;
+  private final JournalRecordBufferReader recordUtil;
   private final int maxEntrySize;
   private final ChecksumGenerator checksumGenerator = new ChecksumGenerator();
-  private final JournalRecordBufferWriter serializer = new KryoSerializer();
+  private final UnsafeBuffer recordBuffer = new UnsafeBuffer(0, 0);
+  private final boolean restoredFromIndexFile;
 
   MappedJournalSegmentWriter(
       final JournalSegmentFile file,
@@ -52,11 +53,14 @@ class MappedJournalSegmentWriter {
       final JournalIndex index) {
     this.segment = segment;
     this.maxEntrySize = maxEntrySize;
-    recordUtil = new JournalRecordReaderUtil(maxEntrySize);
+    recordUtil = segment.createRecordReader();
     this.index = index;
     firstIndex = segment.index();
     buffer = mapFile(file, segment);
-    reset(0);
+    restoredFromIndexFile = resetToSealedIndex(segment.indexFile());
+    if (!restoredFromIndexFile) {
+      reset(0);
+    }
   }
 
   private static MappedByteBuffer mapFile(
@@ -74,6 +78,16 @@ class MappedJournalSegmentWriter {
     return lastEntry;
   }
 
+  /** Returns the position of the last entry in the segment. Only valid if it is not empty. */
+  int getLastEntryPosition() {
+    return lastEntryPosition;
+  }
+
+  /** Returns whether the writer was reset to the end of the segment using its index file. */
+  boolean isRestoredFromIndexFile() {
+    return restoredFromIndexFile;
+  }
+
   public long getNextIndex() {
     if (lastEntry != null) {
       return lastEntry.index() + 1;
@@ -89,7 +103,8 @@ class MappedJournalSegmentWriter {
     // TODO: Should reject append if the asqn is not greater than the previous record
 
     final int recordStartPosition = buffer.position();
-    lastEntry = write(buffer, recordIndex, asqn, data);
+    lastEntry = write(recordIndex, asqn, data);
+    lastEntryPosition = recordStartPosition;
     index.index(lastEntry, recordStartPosition);
     return lastEntry;
   }
@@ -106,71 +121,104 @@ class MappedJournalSegmentWriter {
     }
 
     final int recordStartPosition = buffer.position();
-    lastEntry = write(buffer, record);
+    final JournalRecord writtenRecord = write(record.index(), record.asqn(), record.data());
+    if (writtenRecord.checksum() != record.checksum()) {
+      invalidate(recordStartPosition);
+      throw new InvalidChecksum("Checksum invalid for record " + record);
+    }
+
+    lastEntry = writtenRecord;
+    lastEntryPosition = recordStartPosition;
     index.index(lastEntry, recordStartPosition);
   }
 
   /**
-   * Create and writes a new JournalRecord with the given index,asqn and data to the buffer. After
-   * the method returns, the position of buffer will be advanced to a position were the next record
-   * will be written.
+   * Writes a new JournalRecord with the given index, asqn and data directly to the mapped buffer,
+   * and computes its checksum in place. After the method returns, the position of buffer will be
+   * advanced to a position were the next record will be written.
    */
-  private JournalRecord write(
-      final ByteBuffer buffer, final long index, final long asqn, final DirectBuffer data) {
+  private JournalRecord write(final long index, final long asqn, final DirectBuffer data) {
+    final int recordStartPosition = buffer.position();
+    final int length = data.capacity();
+    final int recordLength = JournalRecordDescriptor.recordLength(length);
 
-    // compute checksum and construct the record
-    // TODO: checksum should also include asqn. https://github.com/zeebe-io/zeebe/issues/6218
-    // TODO: It is now copying the data to calculate the checksum. This should be fixed when
-    // we change the serialization format. https://github.com/zeebe-io/zeebe/issues/6219
-    final var checksum = checksumGenerator.compute(data);
-    final var recordToWrite = new PersistedJournalRecord(index, asqn, checksum, data);
+    // If the entry length exceeds the maximum entry size then throw an exception.
+    if (recordLength > maxEntrySize) {
+      throw new StorageException.TooLarge(
+          "Entry size " + recordLength + " exceeds maximum allowed bytes (" + maxEntrySize + ")");
+    }
 
-    writeInternal(buffer, recordToWrite);
-    return recordToWrite;
+    if (recordStartPosition + recordLength > buffer.limit()) {
+      throw new BufferOverflowException();
+    }
+
+    recordBuffer.wrap(buffer, recordStartPosition, recordLength);
+    recordBuffer.putInt(
+        JournalRecordDescriptor.VERSION_OFFSET,
+        JournalRecordDescriptor.VERSION,
+        JournalRecordDescriptor.BYTE_ORDER);
+    recordBuffer.putInt(
+        JournalRecordDescriptor.LENGTH_OFFSET, length, JournalRecordDescriptor.BYTE_ORDER);
+    recordBuffer.putLong(
+        JournalRecordDescriptor.INDEX_OFFSET, index, JournalRecordDescriptor.BYTE_ORDER);
+    recordBuffer.putLong(
+        JournalRecordDescriptor.ASQN_OFFSET, asqn, JournalRecordDescriptor.BYTE_ORDER);
+    recordBuffer.putBytes(JournalRecordDescriptor.HEADER_LENGTH, data, 0, length);
+
+    final int checksum =
+        checksumGenerator.compute(
+            buffer,
+            recordStartPosition + JournalRecordDescriptor.CHECKSUM_COVERAGE_OFFSET,
+            JournalRecordDescriptor.checksumLength(length));
+    recordBuffer.putInt(
+        JournalRecordDescriptor.CHECKSUM_OFFSET, checksum, JournalRecordDescriptor.BYTE_ORDER);
+
+    buffer.position(recordStartPosition + recordLength);
+    return new PersistedJournalRecord(index, asqn, checksum, data);
   }
 
   /**
-   * Write the record to the buffer. After the method returns, the position of buffer will be
-   * advanced to a position were the next record will be written.
+   * Zeroes the checksum and version of the record at the given position, such that it is not read
+   * again, and resets the buffer to this position.
    */
-  private JournalRecord write(final ByteBuffer buffer, final JournalRecord record) {
-    final var checksum = checksumGenerator.compute(record.data());
-    if (checksum != record.checksum()) {
-      throw new InvalidChecksum("Checksum invalid for record " + record);
-    }
-    writeInternal(buffer, record);
-    return record;
+  private void invalidate(final int recordStartPosition) {
+    buffer.position(recordStartPosition);
+    buffer.putInt(0);
+    buffer.putInt(0);
+    buffer.position(recordStartPosition);
   }
 
-  private void writeInternal(final ByteBuffer buffer, final JournalRecord recordToWrite) {
-    final int recordStartPosition = buffer.position();
-    buffer.mark();
-    if (recordStartPosition + Integer.BYTES > buffer.limit()) {
-      throw new BufferOverflowException();
+  /**
+   * Resets the writer to the end of a sealed segment, using its index file instead of scanning all
+   * records. The index mappings of the segment are restored as well.
+   *
+   * @return true if the writer was reset, false if the index file does not exist or does not match
+   *     the segment, in which case the segment has to be scanned
+   */
+  private boolean resetToSealedIndex(final JournalSegmentIndexFile indexFile) {
+    final var sealedIndex = indexFile.read();
+    if (sealedIndex == null) {
+      return false;
     }
 
-    buffer.position(recordStartPosition + Integer.BYTES);
-    try {
-      serializer.write(recordToWrite, buffer);
-    } catch (final BufferOverflowException e) {
-      buffer.reset();
-      throw e;
+    final int position = sealedIndex.lastPosition();
+    if (position < JournalSegmentDescriptor.BYTES || position >= buffer.limit()) {
+      indexFile.delete();
+      return false;
     }
 
-    final int length = buffer.position() - (recordStartPosition + Integer.BYTES);
-
-    // If the entry length exceeds the maximum entry size then throw an exception.
-    if (length > maxEntrySize) {
-      // Just reset the buffer. There's no need to zero the bytes since we haven't written the
-      // length or checksum.
-      buffer.reset();
-      throw new StorageException.TooLarge(
-          "Entry size " + length + " exceeds maximum allowed bytes (" + maxEntrySize + ")");
+    buffer.position(position);
+    final var lastRecord = recordUtil.read(buffer, sealedIndex.lastIndex());
+    if (lastRecord == null) {
+      buffer.position(JournalSegmentDescriptor.BYTES);
+      indexFile.delete();
+      return false;
     }
 
-    buffer.position(recordStartPosition);
-    buffer.putInt(length);
-    buffer.position(recordStartPosition + Integer.BYTES + length);
+    lastEntry = lastRecord;
+    lastEntryPosition = position;
+    sealedIndex.restore(index);
+    return true;
   }
 
   private void reset(final long index) {
@@ -181,11 +229,13 @@ class MappedJournalSegmentWriter {
     buffer.mark();
     try {
       while (index == 0 || nextIndex <= index) {
+        final int position = buffer.position();
         final var nextEntry = recordUtil.read(buffer, nextIndex);
         if (nextEntry == null) {
           break;
         }
         lastEntry = nextEntry;
+        lastEntryPosition = position;
         nextIndex++;
         buffer.mark();
       }
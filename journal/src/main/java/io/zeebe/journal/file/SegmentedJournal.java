@@ -60,6 +60,7 @@ public class SegmentedJournal implements Journal {
   private volatile boolean open = true;
   private final long minFreeDiskSpace;
   private final JournalIndex journalIndex;
+  private final JournalSegmentPreallocator preallocator;
   private final SegmentedJournalWriter writer;
 
   public SegmentedJournal(
@@ -68,7 +69,8 @@ public class SegmentedJournal implements Journal {
       final int maxSegmentSize,
       final int maxEntrySize,
       final long minFreeSpace,
-      final JournalIndex journalIndex) {
+      final JournalIndex journalIndex,
+      final boolean preallocateSegments) {
     this.name = checkNotNull(name, "name cannot be null");
     this.directory = checkNotNull(directory, "directory cannot be null");
     this.maxSegmentSize = maxSegmentSize;
@@ -76,6 +78,11 @@ public class SegmentedJournal implements Journal {
     journalMetrics = new JournalMetrics(name);
     minFreeDiskSpace = minFreeSpace;
     this.journalIndex = journalIndex;
+    preallocator =
+        preallocateSegments
+            ? new JournalSegmentPreallocator(
+                name, directory, maxSegmentSize, getRequiredFreeDiskSpace(), journalMetrics)
+            : null;
     open();
     writer = new SegmentedJournalWriter(this);
   }
@@ -193,12 +200,28 @@ public class SegmentedJournal implements Journal {
         .forEach(
             segment -> {
               log.debug("Closing segment: {}", segment);
+              writeIndexFile(segment);
               segment.close();
             });
     currentSegment = null;
+    if (preallocator != null) {
+      preallocator.close();
+    }
     open = false;
   }
 
+  /**
+   * Writes the index file of a sealed segment on close, off the append path. Without it, the
+   * segment is scanned on the next open, so a failure is not fatal.
+   */
+  private void writeIndexFile(final JournalSegment segment) {
+    try {
+      segment.writeIndexFile();
+    } catch (final StorageException e) {
+      log.warn("Failed to write index file of segment {}, it will be scanned on open", segment, e);
+    }
+  }
+
   /** Opens the segments. */
   private synchronized void open() {
     final long startTime = System.currentTimeMillis();
@@ -211,6 +234,10 @@ public class SegmentedJournal implements Journal {
     // If a segment doesn't already exist, create an initial segment starting at index 1.
     if (!segments.isEmpty()) {
       currentSegment = segments.lastEntry().getValue();
+
+      // Only the last segment is appended to. The others are sealed, such that the index files of
+      // the segments which had to be scanned are written on close, and not scanned again.
+      segments.headMap(currentSegment.index()).values().forEach(JournalSegment::seal);
     } else {
       final JournalSegmentDescriptor descriptor =
           JournalSegmentDescriptor.builder()
@@ -225,6 +252,9 @@ public class SegmentedJournal implements Journal {
       segments.put(1L, currentSegment);
       journalMetrics.incSegmentCount();
     }
+    if (preallocator != null) {
+      preallocator.preallocate();
+    }
     journalMetrics.observeJournalOpenDuration(System.currentTimeMillis() - startTime);
   }
 
@@ -239,13 +269,16 @@ public class SegmentedJournal implements Journal {
 
   /** Asserts that enough disk space is available to allocate a new segment. */
   private void assertDiskSpace() {
-    if (directory().getUsableSpace()
-        < Math.max(maxSegmentSize() * SEGMENT_BUFFER_FACTOR, minFreeDiskSpace)) {
+    if (directory().getUsableSpace() < getRequiredFreeDiskSpace()) {
       throw new StorageException.OutOfDiskSpace(
           "Not enough space to allocate a new journal segment");
     }
   }
 
+  private long getRequiredFreeDiskSpace() {
+    return Math.max(maxSegmentSize() * SEGMENT_BUFFER_FACTOR, minFreeDiskSpace);
+  }
+
   private long maxSegmentSize() {
     return maxSegmentSize;
   }
@@ -398,6 +431,10 @@ public class SegmentedJournal implements Journal {
   /** Creates a new segment. */
   JournalSegment createSegment(final JournalSegmentDescriptor descriptor) {
     final File segmentFile = JournalSegmentFile.createSegmentFile(name, directory, descriptor.id());
+    if (preallocator != null) {
+      // if the file was preallocated, setting its length below does not change it
+      preallocator.moveTo(segmentFile);
+    }
 
     final RandomAccessFile raf;
     final FileChannel channel;
@@ -426,6 +463,9 @@ public class SegmentedJournal implements Journal {
     }
     final JournalSegment segment = newSegment(new JournalSegmentFile(segmentFile), descriptor);
     log.debug("Created segment: {}", segment);
+    if (preallocator != null) {
+      preallocator.preallocate();
+    }
     return segment;
   }
 
@@ -449,6 +489,19 @@ public class SegmentedJournal implements Journal {
       channel.read(buffer);
       buffer.flip();
       final JournalSegmentDescriptor descriptor = new JournalSegmentDescriptor(buffer);
+      if (descriptor.version() != JournalSegmentDescriptor.VERSION
+          && descriptor.version() != JournalSegmentDescriptor.KRYO_VERSION) {
+        // the records of the segment would not be found, such that it would appear to be empty
+        throw new StorageException(
+            String.format(
+                "Expected segment %s to have version %d or %d, but it has version %d, which is not"
+                    + " supported",
+                segmentFile.getName(),
+                JournalSegmentDescriptor.KRYO_VERSION,
+                JournalSegmentDescriptor.VERSION,
+                descriptor.version()));
+      }
+
       final JournalSegment segment = newSegment(new JournalSegmentFile(segmentFile), descriptor);
       log.debug("Loaded disk segment: {} ({})", descriptor.id(), segmentFile.getName());
       return segment;
@@ -518,6 +571,8 @@ public class SegmentedJournal implements Journal {
             segment.file().file(),
             previousSegment.file().file());
         corrupted = true;
+        // the following segments may have restored their mappings from their index files
+        journalIndex.deleteAfter(previousSegment.lastIndex());
       }
       if (corrupted) {
         segment.close();
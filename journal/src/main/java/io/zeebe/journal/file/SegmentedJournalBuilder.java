@@ -30,6 +30,7 @@ public class SegmentedJournalBuilder {
   private static final int DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
   private static final long DEFAULT_MIN_FREE_DISK_SPACE = 1024L * 1024 * 1024;
   private static final int DEFAULT_JOURNAL_INDEX_DENSITY = 100;
+  private static final boolean DEFAULT_PREALLOCATE_SEGMENTS = false;
 
   protected String name = DEFAULT_NAME;
   protected File directory = new File(DEFAULT_DIRECTORY);
@@ -38,6 +39,7 @@ public class SegmentedJournalBuilder {
 
   private long freeDiskSpace = DEFAULT_MIN_FREE_DISK_SPACE;
   private int journalIndexDensity = DEFAULT_JOURNAL_INDEX_DENSITY;
+  private boolean preallocateSegments = DEFAULT_PREALLOCATE_SEGMENTS;
 
   protected SegmentedJournalBuilder() {}
 
@@ -131,9 +133,31 @@ public class SegmentedJournalBuilder {
     return this;
   }
 
+  /**
+   * Sets whether the file of the next segment is preallocated in the background, returning the
+   * builder for method chaining.
+   *
+   * <p>When enabled, rolling over to a new segment only renames the preallocated file, instead of
+   * creating and allocating a new file on the append path. The journal must be closed to stop the
+   * background preallocation.
+   *
+   * @param preallocateSegments true to preallocate the next segment
+   * @return the journal builder
+   */
+  public SegmentedJournalBuilder withSegmentPreallocation(final boolean preallocateSegments) {
+    this.preallocateSegments = preallocateSegments;
+    return this;
+  }
+
   public SegmentedJournal build() {
     final JournalIndex journalIndex = new SparseJournalIndex(journalIndexDensity);
     return new SegmentedJournal(
-        name, directory, maxSegmentSize, maxEntrySize, freeDiskSpace, journalIndex);
+        name,
+        directory,
+        maxSegmentSize,
+        maxEntrySize,
+        freeDiskSpace,
+        journalIndex,
+        preallocateSegments);
   }
 }
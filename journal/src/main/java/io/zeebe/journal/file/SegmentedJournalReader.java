@@ -125,7 +125,7 @@ class SegmentedJournalReader implements JournalReader {
 
     // depending on the type of index, it's possible there is no ASQN indexed, in which case start
     // from the beginning
-    if (index == null) {
+    if (index == JournalIndex.NOT_FOUND) {
       seekToFirst();
     } else {
       seek(index);
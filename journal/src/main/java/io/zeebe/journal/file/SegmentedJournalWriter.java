@@ -46,6 +46,10 @@ class SegmentedJournalWriter {
   }
 
   public JournalRecord append(final long asqn, final DirectBuffer data) {
+    if (!currentSegment.isWritable()) {
+      rollOverFormerSegment();
+    }
+
     try {
       return currentWriter.append(asqn, data);
     } catch (final BufferOverflowException e) {
@@ -60,6 +64,10 @@ class SegmentedJournalWriter {
   }
 
   public void append(final JournalRecord record) {
+    if (!currentSegment.isWritable()) {
+      rollOverFormerSegment();
+    }
+
     try {
       currentWriter.append(record);
     } catch (final BufferOverflowException e) {
@@ -88,6 +96,9 @@ class SegmentedJournalWriter {
             currentWriter = currentSegment.writer();
           }
 
+          // The current segment may have been sealed before, but is modified again now.
+          currentSegment.unseal();
+
           // Truncate the current index.
           currentWriter.truncate(index);
 
@@ -104,8 +115,28 @@ class SegmentedJournalWriter {
     currentWriter.close();
   }
 
+  /**
+   * Segments of the former version are only read until they are compacted away, so the first append
+   * after opening or truncating such a segment rolls over to a new segment of the current version.
+   * An empty segment has nothing to keep, so it is replaced instead.
+   */
+  private void rollOverFormerSegment() {
+    while (!currentSegment.isWritable()) {
+      if (!currentSegment.isEmpty()) {
+        journalMetrics.observeSegmentCreation(this::createNewSegment);
+      } else if (currentSegment == journal.getFirstSegment()) {
+        reset(currentSegment.index());
+      } else {
+        journal.removeSegment(currentSegment);
+        currentSegment = journal.getLastSegment();
+        currentWriter = currentSegment.writer();
+      }
+    }
+  }
+
   private void createNewSegment() {
     currentWriter.flush();
+    currentSegment.seal();
     currentSegment = journal.getNextSegment();
     currentWriter = currentSegment.writer();
   }
@@ -16,17 +16,34 @@
 package io.zeebe.journal.file;
 
 import io.zeebe.journal.JournalRecord;
-import java.util.Map;
-import java.util.TreeMap;
 
+/**
+ * Indexes every {@code density}-th record. The mappings are kept in sorted primitive arrays, such
+ * that indexing does not allocate unless the arrays have to grow, and lookups never allocate.
+ * Mappings are usually added in ascending order of their index, which only appends to the arrays.
+ * Deleting mappings at the head or the tail only moves the boundaries of the valid range.
+ *
+ * <p>The asqn mappings are kept in separate arrays, since not every record has an asqn. It is
+ * assumed that the asqn of records grows with their index.
+ */
 class SparseJournalIndex implements JournalIndex {
 
+  private static final int INITIAL_CAPACITY = 64;
+
   private final int density;
-  private final TreeMap<Long, Integer> indexToPosition = new TreeMap<>();
-  private final TreeMap<Long, Long> asqnToIndex = new TreeMap<>();
-  // This is added to make deleteAfter and deleteUntil easier.
-  // TODO: Check if this can be improved. https://github.com/zeebe-io/zeebe/issues/6220
-  private final TreeMap<Long, Long> indexToAsqn = new TreeMap<>();
+
+  // index -> position mappings, sorted by index; valid in the range [head, tail)
+  private long[] indexes = new long[INITIAL_CAPACITY];
+  private int[] positions = new int[INITIAL_CAPACITY];
+  private long[] indexAsqns = new long[INITIAL_CAPACITY];
+  private int head;
+  private int tail;
+
+  // asqn -> index mappings, sorted by asqn; valid in the range [asqnHead, asqnTail)
+  private long[] asqns = new long[INITIAL_CAPACITY];
+  private long[] asqnIndexes = new long[INITIAL_CAPACITY];
+  private int asqnHead;
+  private int asqnTail;
 
   public SparseJournalIndex(final int density) {
     this.density = density;
@@ -36,55 +53,175 @@ class SparseJournalIndex implements JournalIndex {
   public void index(final JournalRecord indexedEntry, final int position) {
     final long index = indexedEntry.index();
     if (index % density == 0) {
-      indexToPosition.put(index, position);
-      final long asqn = indexedEntry.asqn();
-      if (asqn != SegmentedJournal.ASQN_IGNORE) {
-        asqnToIndex.put(asqn, index);
-        indexToAsqn.put(index, asqn);
-      }
+      restore(index, position, indexedEntry.asqn());
     }
   }
 
   @Override
-  public IndexInfo lookup(final long index) {
-    final Map.Entry<Long, Integer> entry = indexToPosition.floorEntry(index);
-    return entry != null ? new IndexInfo(entry.getKey(), entry.getValue()) : null;
+  public void restore(final long index, final int position, final long asqn) {
+    final int existing = floor(indexes, head, tail, index);
+    if (existing >= head && indexes[existing] == index) {
+      positions[existing] = position;
+      indexAsqns[existing] = asqn;
+    } else {
+      ensureIndexCapacity();
+      final int insertAt = floor(indexes, head, tail, index) + 1;
+      final int moved = tail - insertAt;
+      System.arraycopy(indexes, insertAt, indexes, insertAt + 1, moved);
+      System.arraycopy(positions, insertAt, positions, insertAt + 1, moved);
+      System.arraycopy(indexAsqns, insertAt, indexAsqns, insertAt + 1, moved);
+      indexes[insertAt] = index;
+      positions[insertAt] = position;
+      indexAsqns[insertAt] = asqn;
+      tail++;
+    }
+
+    if (asqn != SegmentedJournal.ASQN_IGNORE) {
+      restoreAsqn(asqn, index);
+    }
   }
 
   @Override
-  public Long lookupAsqn(final long asqn) {
-    final Map.Entry<Long, Long> entry = asqnToIndex.floorEntry(asqn);
-    return entry != null ? entry.getValue() : null;
+  public void forEach(final long fromIndex, final long toIndex, final IndexEntryVisitor visitor) {
+    for (int i = floor(indexes, head, tail, fromIndex - 1) + 1;
+        i < tail && indexes[i] <= toIndex;
+        i++) {
+      visitor.visit(indexes[i], positions[i], indexAsqns[i]);
+    }
+  }
+
+  @Override
+  public long lookupIndex(final long index) {
+    final int slot = floor(indexes, head, tail, index);
+    return slot >= head ? indexes[slot] : NOT_FOUND;
+  }
+
+  @Override
+  public int lookupPosition(final long index) {
+    final int slot = floor(indexes, head, tail, index);
+    return slot >= head ? positions[slot] : (int) NOT_FOUND;
+  }
+
+  @Override
+  public long lookupAsqn(final long asqn) {
+    final int slot = floor(asqns, asqnHead, asqnTail, asqn);
+    return slot >= asqnHead ? asqnIndexes[slot] : NOT_FOUND;
   }
 
   @Override
   public void deleteAfter(final long index) {
-    indexToPosition.tailMap(index, false).clear();
-    final var asqnEntryToDelete = indexToAsqn.ceilingEntry(index);
-    if (asqnEntryToDelete != null) {
-      final var asqnToDelete = asqnEntryToDelete.getValue();
-      indexToAsqn.tailMap(index, false).clear();
-      final boolean include = asqnEntryToDelete.getKey() > index;
-      asqnToIndex.tailMap(asqnToDelete, include).clear();
-    }
+    tail = floor(indexes, head, tail, index) + 1;
+    asqnTail = floor(asqnIndexes, asqnHead, asqnTail, index) + 1;
   }
 
   @Override
   public void deleteUntil(final long index) {
-    indexToPosition.headMap(index, false).clear();
+    head = floor(indexes, head, tail, index - 1) + 1;
 
-    final var asqnEntryToDelete = indexToAsqn.floorEntry(index);
-    if (asqnEntryToDelete != null) {
-      final var asqnToDelete = asqnEntryToDelete.getValue();
-      indexToAsqn.headMap(index, false).clear();
-      asqnToIndex.headMap(asqnToDelete, false).clear();
+    // keep the asqn of the greatest index which is less than or equal to the given index
+    final int asqnSlot = floor(asqnIndexes, asqnHead, asqnTail, index);
+    if (asqnSlot >= asqnHead) {
+      asqnHead = asqnSlot;
     }
   }
 
   @Override
   public void clear() {
-    indexToPosition.clear();
-    indexToAsqn.clear();
-    asqnToIndex.clear();
+    head = 0;
+    tail = 0;
+    asqnHead = 0;
+    asqnTail = 0;
+  }
+
+  private void restoreAsqn(final long asqn, final long index) {
+    final int existing = floor(asqns, asqnHead, asqnTail, asqn);
+    if (existing >= asqnHead && asqns[existing] == asqn) {
+      asqnIndexes[existing] = index;
+      return;
+    }
+
+    ensureAsqnCapacity();
+    final int insertAt = floor(asqns, asqnHead, asqnTail, asqn) + 1;
+    final int moved = asqnTail - insertAt;
+    System.arraycopy(asqns, insertAt, asqns, insertAt + 1, moved);
+    System.arraycopy(asqnIndexes, insertAt, asqnIndexes, insertAt + 1, moved);
+    asqns[insertAt] = asqn;
+    asqnIndexes[insertAt] = index;
+    asqnTail++;
+  }
+
+  /**
+   * Makes room for one more index mapping at the tail, either by moving the valid range to the
+   * beginning of the arrays if enough mappings were deleted at the head, or by growing the arrays.
+   */
+  private void ensureIndexCapacity() {
+    if (tail < indexes.length) {
+      return;
+    }
+
+    final int size = tail - head;
+    if (head > 0 && size < indexes.length / 2) {
+      System.arraycopy(indexes, head, indexes, 0, size);
+      System.arraycopy(positions, head, positions, 0, size);
+      System.arraycopy(indexAsqns, head, indexAsqns, 0, size);
+    } else {
+      final int newCapacity = indexes.length * 2;
+      indexes = copy(indexes, head, size, newCapacity);
+      positions = copy(positions, head, size, newCapacity);
+      indexAsqns = copy(indexAsqns, head, size, newCapacity);
+    }
+    head = 0;
+    tail = size;
+  }
+
+  /** See {@link #ensureIndexCapacity()}, but for the asqn mappings. */
+  private void ensureAsqnCapacity() {
+    if (asqnTail < asqns.length) {
+      return;
+    }
+
+    final int size = asqnTail - asqnHead;
+    if (asqnHead > 0 && size < asqns.length / 2) {
+      System.arraycopy(asqns, asqnHead, asqns, 0, size);
+      System.arraycopy(asqnIndexes, asqnHead, asqnIndexes, 0, size);
+    } else {
+      final int newCapacity = asqns.length * 2;
+      asqns = copy(asqns, asqnHead, size, newCapacity);
+      asqnIndexes = copy(asqnIndexes, asqnHead, size, newCapacity);
+    }
+    asqnHead = 0;
+    asqnTail = size;
+  }
+
+  /**
+   * Returns the slot of the greatest value in {@code values[from, to)} which is less than or equal
+   * to the given key, or {@code from - 1} if there is none. The values must be sorted.
+   */
+  private static int floor(final long[] values, final int from, final int to, final long key) {
+    int low = from;
+    int high = to;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (values[middle] <= key) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low - 1;
+  }
+
+  private static long[] copy(
+      final long[] values, final int from, final int size, final int newCapacity) {
+    final long[] copy = new long[newCapacity];
+    System.arraycopy(values, from, copy, 0, size);
+    return copy;
+  }
+
+  private static int[] copy(
+      final int[] values, final int from, final int size, final int newCapacity) {
+    final int[] copy = new int[newCapacity];
+    System.arraycopy(values, from, copy, 0, size);
+    return copy;
   }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,14 +18,17 @@ package io.zeebe.journal.file.record;
 import io.zeebe.journal.JournalRecord;
 import java.nio.ByteBuffer;
 
+/** Reads journal records which were written in one particular layout from a segment buffer. */
 public interface JournalRecordBufferReader {
 
   /**
-   * Reads the {@link JournalRecord} from the buffer at it's current position ({@code *
-   * buffer.position()}). A valid record must exist in the buffer at this position.
+   * Reads the record at the current position of the buffer. After the method returns, the position
+   * of {@code buffer} will be advanced to the next record. If there is no valid record with the
+   * expected index at the current position, null is returned and the position is not changed.
    *
-   * @param buffer to read
-   * @return a journal record that is read.
+   * @param buffer the buffer to read from
+   * @param expectedIndex the index which the record is expected to have
+   * @return the record, or null if there is no valid record at the current position
    */
-  JournalRecord read(ByteBuffer buffer);
+  JournalRecord read(ByteBuffer buffer, long expectedIndex);
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.journal.file.record;
+
+import java.nio.ByteOrder;
+
+/**
+ * Binary layout of a journal record in a segment. A record consists of a fixed-size header followed
+ * by the application data, which allows writing and reading it directly in the mapped segment
+ * without an intermediate serialization step.
+ *
+ * <pre>
+ *  0                   1                   2                   3
+ *  0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * |                           CHECKSUM                            |
+ * +---------------------------------------------------------------+
+ * |                            VERSION                            |
+ * +---------------------------------------------------------------+
+ * |                            LENGTH                             |
+ * +---------------------------------------------------------------+
+ * |                             INDEX                             |
+ * |                                                               |
+ * +---------------------------------------------------------------+
+ * |                             ASQN                              |
+ * |                                                               |
+ * +---------------------------------------------------------------+
+ * |                             DATA                             ...
+ * ...                                                             |
+ * +---------------------------------------------------------------+
+ * </pre>
+ *
+ * <p>The checksum is a CRC32C computed over everything that follows it, i.e. the remaining header
+ * fields and the data. A version of zero marks the end of the written records in a segment, since
+ * the unused part of a segment is zeroed.
+ */
+public final class JournalRecordDescriptor {
+
+  public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+  public static final int VERSION = 1;
+
+  public static final int CHECKSUM_OFFSET = 0;
+  public static final int VERSION_OFFSET = CHECKSUM_OFFSET + Integer.BYTES;
+  public static final int LENGTH_OFFSET = VERSION_OFFSET + Integer.BYTES;
+  public static final int INDEX_OFFSET = LENGTH_OFFSET + Integer.BYTES;
+  public static final int ASQN_OFFSET = INDEX_OFFSET + Long.BYTES;
+  public static final int HEADER_LENGTH = ASQN_OFFSET + Long.BYTES;
+
+  /** Offset of the first byte which is covered by the checksum. */
+  public static final int CHECKSUM_COVERAGE_OFFSET = VERSION_OFFSET;
+
+  private JournalRecordDescriptor() {}
+
+  public static int recordLength(final int dataLength) {
+    return HEADER_LENGTH + dataLength;
+  }
+
+  public static int checksumLength(final int dataLength) {
+    return recordLength(dataLength) - CHECKSUM_COVERAGE_OFFSET;
+  }
+}
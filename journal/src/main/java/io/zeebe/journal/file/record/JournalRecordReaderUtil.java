@@ -15,20 +15,30 @@
  */
 package io.zeebe.journal.file.record;
 
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.ASQN_OFFSET;
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.BYTE_ORDER;
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.CHECKSUM_COVERAGE_OFFSET;
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.CHECKSUM_OFFSET;
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.HEADER_LENGTH;
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.INDEX_OFFSET;
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.LENGTH_OFFSET;
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.VERSION;
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.VERSION_OFFSET;
+
 import io.zeebe.journal.JournalRecord;
 import io.zeebe.journal.file.ChecksumGenerator;
-import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 /**
  * Common methods used by SegmentWriter and MappedJournalSegmentReader to read records from a
  * buffer.
  */
-public final class JournalRecordReaderUtil {
-  private final JournalRecordBufferReader serializer = new KryoSerializer();
+public final class JournalRecordReaderUtil implements JournalRecordBufferReader {
 
   private final int maxEntrySize;
   private final ChecksumGenerator checksumGenerator = new ChecksumGenerator();
+  private final UnsafeBuffer headerBuffer = new UnsafeBuffer(0, 0);
 
   public JournalRecordReaderUtil(final int maxEntrySize) {
     this.maxEntrySize = maxEntrySize;
@@ -36,43 +46,56 @@ public final class JournalRecordReaderUtil {
 
   /**
    * Reads the JournalRecord in the buffer at the current position. After the methods returns, the
-   * position of {@code buffer} will be advanced to the next record.
+   * position of {@code buffer} will be advanced to the next record. If there is no valid record at
+   * the current position, null is returned and the position is not changed.
+   *
+   * <p>The data of the returned record is a view of the given buffer and is not copied, i.e. it is
+   * only valid as long as the underlying segment is not truncated or closed.
    */
+  @Override
   public JournalRecord read(final ByteBuffer buffer, final long expectedIndex) {
-    // Mark the buffer so it can be reset if necessary.
-    buffer.mark();
+    final int recordStartPosition = buffer.position();
+    if (recordStartPosition + HEADER_LENGTH > buffer.limit()) {
+      return null;
+    }
 
-    try {
-      // Read the length of the record.
-      final int length = buffer.getInt();
+    headerBuffer.wrap(buffer, recordStartPosition, HEADER_LENGTH);
+
+    // If no record was written at this position, the version is zero.
+    final int version = headerBuffer.getInt(VERSION_OFFSET, BYTE_ORDER);
+    if (version != VERSION) {
+      return null;
+    }
 
-      // If the buffer length is zero then return.
-      if (length <= 0 || length > maxEntrySize) {
-        buffer.reset();
-        return null;
-      }
+    final int length = headerBuffer.getInt(LENGTH_OFFSET, BYTE_ORDER);
+    if (length < 0 || length > maxEntrySize - HEADER_LENGTH) {
+      return null;
+    }
 
-      final ByteBuffer slice = buffer.slice();
-      slice.limit(length);
+    final int recordLength = JournalRecordDescriptor.recordLength(length);
+    if (recordStartPosition + recordLength > buffer.limit()) {
+      return null;
+    }
 
-      // If the stored checksum equals the computed checksum, return the record.
-      slice.rewind();
-      final JournalRecord record = serializer.read(slice);
-      final var checksum = record.checksum();
-      // TODO: checksum should also include asqn.
-      // TODO: It is now copying the data to calculate the checksum. This should be fixed.
-      final var expectedChecksum = checksumGenerator.compute(record.data());
-      if (checksum != expectedChecksum || expectedIndex != record.index()) {
-        buffer.reset();
-        return null;
-      }
-      buffer.position(buffer.position() + length);
-      buffer.mark();
-      return record;
+    final long index = headerBuffer.getLong(INDEX_OFFSET, BYTE_ORDER);
+    if (index != expectedIndex) {
+      return null;
+    }
 
-    } catch (final BufferUnderflowException e) {
-      buffer.reset();
+    // If the stored checksum equals the computed checksum, return the record.
+    final int checksum = headerBuffer.getInt(CHECKSUM_OFFSET, BYTE_ORDER);
+    final int expectedChecksum =
+        checksumGenerator.compute(
+            buffer,
+            recordStartPosition + CHECKSUM_COVERAGE_OFFSET,
+            JournalRecordDescriptor.checksumLength(length));
+    if (checksum != expectedChecksum) {
+      return null;
     }
-    return null;
+
+    final long asqn = headerBuffer.getLong(ASQN_OFFSET, BYTE_ORDER);
+    final var data = new UnsafeBuffer(buffer, recordStartPosition + HEADER_LENGTH, length);
+    buffer.position(recordStartPosition + recordLength);
+    return new PersistedJournalRecord(index, asqn, checksum, data);
   }
 }
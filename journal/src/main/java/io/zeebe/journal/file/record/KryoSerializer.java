@@ -1,5 +1,5 @@
 /*
- * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,15 +15,37 @@
  */
 package io.zeebe.journal.file.record;
 
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.ASQN_OFFSET;
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.BYTE_ORDER;
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.CHECKSUM_COVERAGE_OFFSET;
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.HEADER_LENGTH;
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.INDEX_OFFSET;
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.LENGTH_OFFSET;
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.VERSION;
+import static io.zeebe.journal.file.record.JournalRecordDescriptor.VERSION_OFFSET;
+
 import com.esotericsoftware.kryo.KryoException;
+import com.google.common.annotations.VisibleForTesting;
 import io.atomix.utils.serializer.Namespace;
 import io.atomix.utils.serializer.Namespaces;
 import io.zeebe.journal.JournalRecord;
-import java.nio.BufferOverflowException;
+import io.zeebe.journal.file.ChecksumGenerator;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
-public final class KryoSerializer implements JournalRecordBufferWriter, JournalRecordBufferReader {
+/**
+ * Reads records of segments of the former version, which were serialized with Kryo and prefixed by
+ * their length. Such segments are only read until they are compacted away; records are always
+ * written in the layout of {@link JournalRecordDescriptor}.
+ *
+ * <p>The checksum of a former record is a CRC32 over its data only. It is verified on read, and the
+ * returned record carries the checksum it has in the current layout, such that records of both
+ * versions can be replicated and appended alike.
+ */
+public final class KryoSerializer implements JournalRecordBufferReader {
   private static final Namespace NAMESPACE =
       new Namespace.Builder()
           .register(Namespaces.BASIC)
@@ -33,16 +55,84 @@ public final class KryoSerializer implements JournalRecordBufferWriter, JournalR
           .name("Journal")
           .build();
 
-  public JournalRecord read(final ByteBuffer buffer) {
-    return NAMESPACE.deserialize(buffer);
+  private final int maxEntrySize;
+  private final CRC32 crc32 = new CRC32();
+  private final ChecksumGenerator checksumGenerator = new ChecksumGenerator();
+
+  public KryoSerializer(final int maxEntrySize) {
+    this.maxEntrySize = maxEntrySize;
   }
 
-  public void write(final JournalRecord record, final ByteBuffer buffer) {
+  @Override
+  public JournalRecord read(final ByteBuffer buffer, final long expectedIndex) {
+    final int recordStartPosition = buffer.position();
+    if (recordStartPosition + Integer.BYTES > buffer.limit()) {
+      return null;
+    }
+
+    // If no record was written at this position, the length is zero.
+    final int length = buffer.getInt(recordStartPosition);
+    final int dataStartPosition = recordStartPosition + Integer.BYTES;
+    if (length <= 0 || length > maxEntrySize || dataStartPosition + length > buffer.limit()) {
+      return null;
+    }
+
+    final ByteBuffer slice = buffer.duplicate();
+    slice.limit(dataStartPosition + length).position(dataStartPosition);
+
+    final JournalRecord record;
     try {
-      NAMESPACE.serialize(record, buffer);
-    } catch (final KryoException e) {
-      // Happens when there is not enough space left in the buffer
-      throw new BufferOverflowException();
+      record = NAMESPACE.deserialize(slice.slice());
+    } catch (final KryoException | BufferUnderflowException e) {
+      return null;
+    }
+
+    if (record.index() != expectedIndex || record.checksum() != formerChecksum(record.data())) {
+      return null;
     }
+
+    buffer.position(dataStartPosition + length);
+    return new PersistedJournalRecord(
+        record.index(), record.asqn(), currentChecksum(record), record.data());
+  }
+
+  /**
+   * Writes a record in the former layout at the current position of the buffer, and advances the
+   * position past it. Records are not written in this layout anymore, so this is only used to
+   * create segments of the former version in tests.
+   */
+  @VisibleForTesting
+  public void write(
+      final long index, final long asqn, final DirectBuffer data, final ByteBuffer buffer) {
+    final int recordStartPosition = buffer.position();
+    final var record = new PersistedJournalRecord(index, asqn, formerChecksum(data), data);
+
+    buffer.position(recordStartPosition + Integer.BYTES);
+    NAMESPACE.serialize(record, buffer);
+    buffer.putInt(recordStartPosition, buffer.position() - recordStartPosition - Integer.BYTES);
+  }
+
+  private int formerChecksum(final DirectBuffer data) {
+    final byte[] bytes = new byte[data.capacity()];
+    data.getBytes(0, bytes);
+    crc32.reset();
+    crc32.update(bytes);
+    return (int) crc32.getValue();
+  }
+
+  private int currentChecksum(final JournalRecord record) {
+    final int length = record.data().capacity();
+    final var recordBuffer =
+        new UnsafeBuffer(ByteBuffer.allocate(JournalRecordDescriptor.recordLength(length)));
+    recordBuffer.putInt(VERSION_OFFSET, VERSION, BYTE_ORDER);
+    recordBuffer.putInt(LENGTH_OFFSET, length, BYTE_ORDER);
+    recordBuffer.putLong(INDEX_OFFSET, record.index(), BYTE_ORDER);
+    recordBuffer.putLong(ASQN_OFFSET, record.asqn(), BYTE_ORDER);
+    recordBuffer.putBytes(HEADER_LENGTH, record.data(), 0, length);
+
+    return checksumGenerator.compute(
+        recordBuffer.byteBuffer(),
+        CHECKSUM_COVERAGE_OFFSET,
+        JournalRecordDescriptor.checksumLength(length));
   }
 }
@@ -18,14 +18,15 @@ package io.zeebe.journal.file;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-import io.atomix.utils.serializer.Namespace;
-import io.atomix.utils.serializer.Namespaces;
 import io.zeebe.journal.Journal;
 import io.zeebe.journal.JournalReader;
 import io.zeebe.journal.JournalRecord;
 import io.zeebe.journal.StorageException.InvalidChecksum;
 import io.zeebe.journal.StorageException.InvalidIndex;
+import io.zeebe.journal.file.record.JournalRecordDescriptor;
 import io.zeebe.journal.file.record.PersistedJournalRecord;
+import java.io.File;
+import java.io.RandomAccessFile;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
@@ -38,14 +39,6 @@ import org.junit.jupiter.api.io.TempDir;
 public class JournalTest {
 
   @TempDir Path directory;
-  private final Namespace namespace =
-      new Namespace.Builder()
-          .register(Namespaces.BASIC)
-          .nextId(Namespaces.BEGIN_USER_CUSTOM_ID)
-          .register(PersistedJournalRecord.class)
-          .register(UnsafeBuffer.class)
-          .name("Journal")
-          .build();
   private byte[] entry;
   private final DirectBuffer data = new UnsafeBuffer();
   private Journal journal;
@@ -332,6 +325,51 @@ public class JournalTest {
         .isInstanceOf(InvalidChecksum.class);
   }
 
+  @Test
+  public void shouldNotAppendRecordWithDifferentAsqn() {
+    // given
+    final var receiverJournal =
+        SegmentedJournal.builder()
+            .withDirectory(directory.resolve("data-2").toFile())
+            .withJournalIndexDensity(5)
+            .build();
+    final var record = journal.append(1, data);
+
+    // when
+    final var otherAsqnRecord =
+        new PersistedJournalRecord(record.index(), 2, record.checksum(), record.data());
+
+    // then
+    assertThatThrownBy(() -> receiverJournal.append(otherAsqnRecord))
+        .isInstanceOf(InvalidChecksum.class);
+    assertThat(receiverJournal.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldNotReadCorruptedRecord() throws Exception {
+    // given
+    journal.append(1, data);
+    journal.append(2, data);
+    journal.close();
+
+    final File segmentFile =
+        directory.resolve("data").toFile().listFiles((dir, name) -> name.endsWith(".log"))[0];
+    try (final var file = new RandomAccessFile(segmentFile, "rw")) {
+      final int secondRecordDataOffset =
+          JournalSegmentDescriptor.BYTES
+              + getSerializedSize(data)
+              + JournalRecordDescriptor.HEADER_LENGTH;
+      file.seek(secondRecordDataOffset);
+      file.write(~entry[0]);
+    }
+
+    // when
+    journal = openJournal(getSerializedSize(data), 10);
+
+    // then
+    assertThat(journal.getLastIndex()).isEqualTo(1);
+  }
+
   @Test
   public void shouldReturnFirstIndex() {
     // when
@@ -416,8 +454,7 @@ public class JournalTest {
   }
 
   private int getSerializedSize(final DirectBuffer data) {
-    return namespace.serialize(new PersistedJournalRecord(1, 1, Integer.MAX_VALUE, data)).length
-        + Integer.BYTES;
+    return JournalRecordDescriptor.recordLength(data.capacity());
   }
 
   private SegmentedJournal openJournal(final int entrySize, final int entriesPerSegment) {
@@ -16,35 +16,38 @@
 package io.zeebe.journal.file;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-import io.atomix.utils.serializer.Namespace;
-import io.atomix.utils.serializer.Namespaces;
 import io.zeebe.journal.JournalReader;
 import io.zeebe.journal.JournalRecord;
-import io.zeebe.journal.file.record.PersistedJournalRecord;
+import io.zeebe.journal.StorageException;
+import io.zeebe.journal.file.record.JournalRecordDescriptor;
+import io.zeebe.journal.file.record.KryoSerializer;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import org.agrona.DirectBuffer;
+import org.agrona.IoUtil;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 public class SegmentedJournalTest {
 
+  // records serialized with Kryo are larger than in the current layout
+  private static final int FORMER_ENTRY_SIZE = 1024;
+
   @TempDir Path directory;
-  private final Namespace namespace =
-      new Namespace.Builder()
-          .register(Namespaces.BASIC)
-          .nextId(Namespaces.BEGIN_USER_CUSTOM_ID)
-          .register(PersistedJournalRecord.class)
-          .register(UnsafeBuffer.class)
-          .name("Journal")
-          .build();
   private final int journalIndexDensity = 5;
   private final DirectBuffer data = new UnsafeBuffer("test".getBytes(StandardCharsets.UTF_8));
-  private final int entrySize =
-      namespace.serialize(new PersistedJournalRecord(1, 1, Integer.MAX_VALUE, data)).length
-          + Integer.BYTES;
+  private final int entrySize = JournalRecordDescriptor.recordLength(data.capacity());
 
   @Test
   public void shouldDeleteIndexMappingsOnReset() {
@@ -305,9 +308,7 @@ public class SegmentedJournalTest {
   public void shouldAppendEntriesOfDifferentSizesOverSegmentSize() {
     // given
     data.wrap("1234567890".getBytes(StandardCharsets.UTF_8));
-    final int entrySize =
-        namespace.serialize(new PersistedJournalRecord(1, 1, Integer.MAX_VALUE, data)).length
-            + Integer.BYTES;
+    final int entrySize = JournalRecordDescriptor.recordLength(data.capacity());
     final SegmentedJournal journal = openJournal(1, entrySize);
     final JournalReader reader = journal.openReader();
 
@@ -323,6 +324,302 @@ public class SegmentedJournalTest {
     assertThat(reader.hasNext()).isFalse();
   }
 
+  @Test
+  public void shouldWriteIndexFileOfSealedSegmentOnClose() {
+    // given
+    final int entriesPerSegment = 10;
+    final SegmentedJournal journal = openJournal(entriesPerSegment);
+    for (int i = 0; i < entriesPerSegment + 1; i++) {
+      journal.append(i + 1, data);
+    }
+    final File firstIndexFile = journal.getFirstSegment().indexFile().file();
+    final File lastIndexFile = journal.getLastSegment().indexFile().file();
+
+    // when - the segment is sealed on rollover, but its index file is not written on append
+    assertThat(firstIndexFile).doesNotExist();
+    journal.close();
+
+    // then
+    assertThat(firstIndexFile).exists();
+    assertThat(lastIndexFile).doesNotExist();
+  }
+
+  @Test
+  public void shouldWriteIndexFileOfScannedSegmentOnClose() throws Exception {
+    // given
+    final int entriesPerSegment = 10;
+    SegmentedJournal journal = openJournal(entriesPerSegment);
+    for (int i = 0; i < entriesPerSegment + 1; i++) {
+      journal.append(i + 1, data);
+    }
+    final File indexFile = journal.getFirstSegment().indexFile().file();
+    journal.close();
+    Files.delete(indexFile.toPath());
+
+    // when
+    journal = openJournal(entriesPerSegment);
+    journal.close();
+
+    // then
+    assertThat(indexFile).exists();
+    journal = openJournal(entriesPerSegment);
+    assertThat(journal.getFirstSegment().lastIndex()).isEqualTo(entriesPerSegment);
+    assertThat(journal.getLastIndex()).isEqualTo(entriesPerSegment + 1);
+  }
+
+  @Test
+  public void shouldRestoreSealedSegmentFromIndexFile() {
+    // given
+    final int entriesPerSegment = 10;
+    SegmentedJournal journal = openJournal(entriesPerSegment);
+    for (int i = 0; i < 2 * entriesPerSegment + 1; i++) {
+      journal.append(i + 1, data);
+    }
+    journal.close();
+
+    // when
+    journal = openJournal(entriesPerSegment);
+
+    // then
+    assertThat(journal.getFirstSegment().lastIndex()).isEqualTo(entriesPerSegment);
+    assertThat(journal.getLastIndex()).isEqualTo(2 * entriesPerSegment + 1);
+    assertThat(journal.getJournalIndex().lookup(journalIndexDensity).index())
+        .isEqualTo(journalIndexDensity);
+    assertThat(journal.getJournalIndex().lookupAsqn(2 * journalIndexDensity))
+        .isEqualTo(2 * journalIndexDensity);
+
+    final JournalReader reader = journal.openReader();
+    assertThat(reader.seek(entriesPerSegment)).isEqualTo(entriesPerSegment);
+    assertThat(reader.next().index()).isEqualTo(entriesPerSegment);
+  }
+
+  @Test
+  public void shouldScanSealedSegmentIfIndexFileIsCorrupted() throws Exception {
+    // given
+    final int entriesPerSegment = 10;
+    SegmentedJournal journal = openJournal(entriesPerSegment);
+    for (int i = 0; i < entriesPerSegment + 1; i++) {
+      journal.append(i + 1, data);
+    }
+    final File indexFile = journal.getFirstSegment().indexFile().file();
+    journal.close();
+    final byte[] indexFileContent = Files.readAllBytes(indexFile.toPath());
+    indexFileContent[indexFileContent.length - 1] ^= 1;
+    Files.write(indexFile.toPath(), indexFileContent);
+
+    // when
+    journal = openJournal(entriesPerSegment);
+
+    // then
+    assertThat(journal.getFirstSegment().lastIndex()).isEqualTo(entriesPerSegment);
+    assertThat(journal.getLastIndex()).isEqualTo(entriesPerSegment + 1);
+  }
+
+  @Test
+  public void shouldDeleteIndexFileWhenSealedSegmentIsTruncated() {
+    // given
+    final int entriesPerSegment = 10;
+    SegmentedJournal journal = openJournal(entriesPerSegment);
+    for (int i = 0; i < entriesPerSegment + 1; i++) {
+      journal.append(i + 1, data);
+    }
+    final File indexFile = journal.getFirstSegment().indexFile().file();
+    journal.close();
+    journal = openJournal(entriesPerSegment);
+    assertThat(indexFile).exists();
+
+    // when
+    journal.deleteAfter(journalIndexDensity);
+
+    // then
+    assertThat(indexFile).doesNotExist();
+    journal.close();
+    assertThat(indexFile).doesNotExist();
+    journal = openJournal(entriesPerSegment);
+    assertThat(journal.getLastIndex()).isEqualTo(journalIndexDensity);
+  }
+
+  @Test
+  public void shouldRollOverToPreallocatedSegment() {
+    // given
+    final int entriesPerSegment = 2;
+    final File dataDirectory = directory.resolve("data").toFile();
+    try (final SegmentedJournal journal =
+        SegmentedJournal.builder()
+            .withDirectory(dataDirectory)
+            .withMaxSegmentSize(entrySize * entriesPerSegment + JournalSegmentDescriptor.BYTES)
+            .withMaxEntrySize(entrySize)
+            .withJournalIndexDensity(journalIndexDensity)
+            .withSegmentPreallocation(true)
+            .build()) {
+
+      // when
+      for (int i = 0; i < 2 * entriesPerSegment + 1; i++) {
+        journal.append(i + 1, data);
+      }
+
+      // then
+      assertThat(journal.getLastSegment().descriptor().id()).isEqualTo(3);
+      assertThat(journal.getLastIndex()).isEqualTo(2 * entriesPerSegment + 1);
+      final JournalReader reader = journal.openReader();
+      for (int i = 1; i <= 2 * entriesPerSegment + 1; i++) {
+        assertThat(reader.next().index()).isEqualTo(i);
+      }
+      assertThat(reader.hasNext()).isFalse();
+    }
+
+    // then
+    assertThat(dataDirectory.listFiles((dir, name) -> name.endsWith(".preallocated"))).isEmpty();
+  }
+
+  @Test
+  public void shouldNotPreallocateSegmentWithoutFreeDiskSpace() {
+    // given
+    final File dataDirectory = directory.resolve("data").toFile();
+
+    // when
+    try (final SegmentedJournal journal =
+        SegmentedJournal.builder()
+            .withDirectory(dataDirectory)
+            .withMaxSegmentSize(entrySize * 2 + JournalSegmentDescriptor.BYTES)
+            .withMaxEntrySize(entrySize)
+            .withJournalIndexDensity(journalIndexDensity)
+            .withFreeDiskSpace(Long.MAX_VALUE)
+            .withSegmentPreallocation(true)
+            .build()) {
+
+      // then
+      assertThat(journal.getFirstSegment()).isNotNull();
+      assertThat(dataDirectory.listFiles((dir, name) -> name.endsWith(".preallocated"))).isEmpty();
+    }
+  }
+
+  @Test
+  public void shouldFailToOpenSegmentOfUnknownVersion() throws Exception {
+    // given
+    final SegmentedJournal journal = openJournal(10);
+    journal.append(1, data);
+    final File segmentFile = journal.getFirstSegment().file().file();
+    journal.close();
+
+    try (final FileChannel channel =
+        FileChannel.open(segmentFile.toPath(), StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 3), 0);
+    }
+
+    // when - then
+    assertThatThrownBy(() -> openJournal(10))
+        .isInstanceOf(StorageException.class)
+        .hasMessageContaining(segmentFile.getName())
+        .hasMessageContaining("version 3");
+  }
+
+  @Test
+  public void shouldReadRecordsOfSegmentOfFormerVersion() throws Exception {
+    // given
+    final SegmentedJournal journal = openJournal(10, FORMER_ENTRY_SIZE);
+    journal.append(1, data);
+    final File segmentFile = journal.getFirstSegment().file().file();
+    journal.close();
+    rewriteAsSegmentOfFormerVersion(segmentFile, 3);
+
+    // when
+    final SegmentedJournal reopened = openJournal(10, FORMER_ENTRY_SIZE);
+    final JournalReader reader = reopened.openReader();
+
+    // then
+    for (int index = 1; index <= 3; index++) {
+      assertThat(reader.hasNext()).isTrue();
+      final JournalRecord record = reader.next();
+      assertThat(record.index()).isEqualTo(index);
+      assertThat(record.asqn()).isEqualTo(index);
+      assertThat(record.data()).isEqualTo(data);
+    }
+    assertThat(reader.hasNext()).isFalse();
+    assertThat(reopened.getLastIndex()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldAppendToNewSegmentAfterSegmentOfFormerVersion() throws Exception {
+    // given
+    final SegmentedJournal journal = openJournal(10, FORMER_ENTRY_SIZE);
+    journal.append(1, data);
+    final File segmentFile = journal.getFirstSegment().file().file();
+    journal.close();
+    rewriteAsSegmentOfFormerVersion(segmentFile, 3);
+    final SegmentedJournal reopened = openJournal(10, FORMER_ENTRY_SIZE);
+
+    // when
+    final JournalRecord appended = reopened.append(4, data);
+
+    // then
+    assertThat(appended.index()).isEqualTo(4);
+    assertThat(reopened.getFirstSegment().isWritable()).isFalse();
+    assertThat(reopened.getLastSegment().isWritable()).isTrue();
+    assertThat(reopened.getLastSegment().index()).isEqualTo(4);
+
+    final JournalReader reader = reopened.openReader();
+    for (int index = 1; index <= 4; index++) {
+      assertThat(reader.hasNext()).isTrue();
+      assertThat(reader.next().index()).isEqualTo(index);
+    }
+    assertThat(reader.hasNext()).isFalse();
+  }
+
+  @Test
+  public void shouldAppendRecordsOfSegmentOfFormerVersion() throws Exception {
+    // given
+    final SegmentedJournal journal = openJournal(10, FORMER_ENTRY_SIZE);
+    journal.append(1, data);
+    final File segmentFile = journal.getFirstSegment().file().file();
+    journal.close();
+    rewriteAsSegmentOfFormerVersion(segmentFile, 3);
+    final SegmentedJournal reopened = openJournal(10, FORMER_ENTRY_SIZE);
+    final SegmentedJournal follower =
+        SegmentedJournal.builder()
+            .withDirectory(directory.resolve("follower").toFile())
+            .withMaxSegmentSize(10 * FORMER_ENTRY_SIZE + JournalSegmentDescriptor.BYTES)
+            .withMaxEntrySize(FORMER_ENTRY_SIZE)
+            .withJournalIndexDensity(journalIndexDensity)
+            .build();
+
+    // when - the records carry the checksum of the current layout, so they can be replicated
+    final JournalReader reader = reopened.openReader();
+    while (reader.hasNext()) {
+      follower.append(reader.next());
+    }
+
+    // then
+    assertThat(follower.getLastIndex()).isEqualTo(3);
+    assertThat(follower.getLastSegment().isWritable()).isTrue();
+  }
+
+  /**
+   * Rewrites the given segment as a segment of the former version, which contains the given number
+   * of records serialized with Kryo.
+   */
+  private void rewriteAsSegmentOfFormerVersion(final File segmentFile, final int records)
+      throws IOException {
+    try (final FileChannel channel =
+        FileChannel.open(segmentFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      final MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, channel.size());
+      buffer.putInt(0, JournalSegmentDescriptor.KRYO_VERSION);
+      buffer.position(JournalSegmentDescriptor.BYTES);
+      while (buffer.hasRemaining()) {
+        buffer.put((byte) 0);
+      }
+
+      buffer.position(JournalSegmentDescriptor.BYTES);
+      final KryoSerializer serializer = new KryoSerializer(FORMER_ENTRY_SIZE);
+      for (int index = 1; index <= records; index++) {
+        serializer.write(index, index, data, buffer);
+      }
+
+      buffer.force();
+      IoUtil.unmap(buffer);
+    }
+  }
+
   private SegmentedJournal openJournal(final float entriesPerSegment) {
     return openJournal(entriesPerSegment, entrySize);
   }
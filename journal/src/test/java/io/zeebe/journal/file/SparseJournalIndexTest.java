@@ -21,6 +21,8 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 
 import io.zeebe.journal.JournalRecord;
 import io.zeebe.journal.file.record.PersistedJournalRecord;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 /** Sparse journal index test. */
@@ -156,10 +158,10 @@ public class SparseJournalIndexTest {
     assertNull(index.lookup(5));
     assertNull(index.lookup(8));
     assertNull(index.lookup(10));
-    assertNull(index.lookupAsqn(40));
-    assertNull(index.lookupAsqn(50));
-    assertNull(index.lookupAsqn(80));
-    assertNull(index.lookupAsqn(100));
+    assertEquals(JournalIndex.NOT_FOUND, index.lookupAsqn(40));
+    assertEquals(JournalIndex.NOT_FOUND, index.lookupAsqn(50));
+    assertEquals(JournalIndex.NOT_FOUND, index.lookupAsqn(80));
+    assertEquals(JournalIndex.NOT_FOUND, index.lookupAsqn(100));
   }
 
   @Test
@@ -209,8 +211,84 @@ public class SparseJournalIndexTest {
     assertNull(index.lookup(4));
     assertNull(index.lookup(5));
     assertNull(index.lookup(8));
-    assertNull(index.lookupAsqn(40));
-    assertNull(index.lookupAsqn(50));
-    assertNull(index.lookupAsqn(80));
+    assertEquals(JournalIndex.NOT_FOUND, index.lookupAsqn(40));
+    assertEquals(JournalIndex.NOT_FOUND, index.lookupAsqn(50));
+    assertEquals(JournalIndex.NOT_FOUND, index.lookupAsqn(80));
+  }
+
+  @Test
+  public void shouldVisitRestoredMappingsInRange() {
+    // given - every 5 index is added
+    final JournalIndex index = new SparseJournalIndex(5);
+    index.restore(5, 10, 50);
+    index.restore(10, 20, SegmentedJournal.ASQN_IGNORE);
+    index.restore(15, 30, 150);
+
+    // when
+    final List<String> visited = new ArrayList<>();
+    index.forEach(1, 10, (idx, position, asqn) -> visited.add(idx + ":" + position + ":" + asqn));
+
+    // then
+    assertEquals(List.of("5:10:50", "10:20:-1"), visited);
+    assertEquals(15, index.lookupAsqn(150));
+  }
+
+  @Test
+  public void shouldKeepMappingsWhenGrowing() {
+    // given
+    final JournalIndex index = new SparseJournalIndex(1);
+
+    // when
+    for (int i = 1; i <= 1_000; i++) {
+      index.index(asJournalRecord(i, i * 10), i * 2);
+    }
+
+    // then
+    assertEquals(1, index.lookupIndex(1));
+    assertEquals(2, index.lookupPosition(1));
+    assertEquals(1_000, index.lookupIndex(5_000));
+    assertEquals(2_000, index.lookupPosition(5_000));
+    assertEquals(500, index.lookupAsqn(5_005));
+  }
+
+  @Test
+  public void shouldKeepMappingsWhenReusingDeletedHead() {
+    // given
+    final JournalIndex index = new SparseJournalIndex(1);
+    for (int i = 1; i <= 100; i++) {
+      index.index(asJournalRecord(i, i * 10), i * 2);
+    }
+    index.deleteUntil(90);
+
+    // when
+    for (int i = 101; i <= 200; i++) {
+      index.index(asJournalRecord(i, i * 10), i * 2);
+    }
+
+    // then
+    assertEquals(JournalIndex.NOT_FOUND, index.lookupIndex(89));
+    assertEquals(90, index.lookupIndex(90));
+    assertEquals(180, index.lookupPosition(90));
+    assertEquals(200, index.lookupIndex(300));
+    assertEquals(150, index.lookupAsqn(1_505));
+  }
+
+  @Test
+  public void shouldRestoreMappingsOutOfOrder() {
+    // given
+    final JournalIndex index = new SparseJournalIndex(5);
+
+    // when
+    index.restore(15, 30, 150);
+    index.restore(5, 10, 50);
+    index.restore(10, 20, 100);
+
+    // then
+    assertEquals(5, index.lookupIndex(9));
+    assertEquals(10, index.lookupPosition(9));
+    assertEquals(10, index.lookupIndex(14));
+    assertEquals(20, index.lookupPosition(14));
+    assertEquals(10, index.lookupAsqn(149));
+    assertEquals(15, index.lookupAsqn(150));
   }
 }
@@ -23,6 +23,7 @@ import static org.agrona.BitUtil.SIZE_OF_LONG;
 
 import io.zeebe.dispatcher.ClaimedFragmentBatch;
 import io.zeebe.dispatcher.Dispatcher;
+import io.zeebe.dispatcher.impl.log.LogBufferAppender;
 import io.zeebe.logstreams.log.LogStreamBatchWriter;
 import io.zeebe.logstreams.log.LogStreamBatchWriter.LogEntryBuilder;
 import io.zeebe.protocol.Protocol;
@@ -49,6 +50,10 @@ public final class LogStreamBatchWriterImpl implements LogStreamBatchWriter, Log
   private int eventLength;
   private int eventCount;
 
+  private int markedEventBufferOffset;
+  private int markedEventLength;
+  private int markedEventCount;
+
   private final Dispatcher logWriteBuffer;
   private final int logId;
 
@@ -92,6 +97,37 @@ public final class LogStreamBatchWriterImpl implements LogStreamBatchWriter, Log
     eventCount = 0;
     sourceEventPosition = -1L;
     resetEvent();
+    mark();
+  }
+
+  @Override
+  public void mark() {
+    copyExistingEventToBuffer();
+    resetEvent();
+
+    markedEventBufferOffset = eventBufferOffset;
+    markedEventLength = eventLength;
+    markedEventCount = eventCount;
+  }
+
+  @Override
+  public void resetToMark() {
+    resetEvent();
+
+    eventBufferOffset = markedEventBufferOffset;
+    eventLength = markedEventLength;
+    eventCount = markedEventCount;
+  }
+
+  @Override
+  public int getBatchLength() {
+    int count = eventCount;
+    int length = eventLength;
+    if (valueWriter != null) {
+      count += 1;
+      length += metadataWriter.getLength() + valueWriter.getLength();
+    }
+    return LogBufferAppender.claimedBatchLength(count, length + (count * HEADER_BLOCK_LENGTH));
   }
 
   @Override
@@ -168,6 +204,9 @@ public final class LogStreamBatchWriterImpl implements LogStreamBatchWriter, Log
     eventBuffer.putInt(eventBufferOffset, sourceIndex, Protocol.ENDIANNESS);
     eventBufferOffset += SIZE_OF_INT;
 
+    eventBuffer.putLong(eventBufferOffset, sourceEventPosition, Protocol.ENDIANNESS);
+    eventBufferOffset += SIZE_OF_LONG;
+
     eventBuffer.putInt(eventBufferOffset, metadataLength, Protocol.ENDIANNESS);
     eventBufferOffset += SIZE_OF_INT;
 
@@ -236,6 +275,9 @@ public final class LogStreamBatchWriterImpl implements LogStreamBatchWriter, Log
       final int sourceIndex = eventBuffer.getInt(eventBufferOffset, Protocol.ENDIANNESS);
       eventBufferOffset += SIZE_OF_INT;
 
+      final long sourceEventPosition = eventBuffer.getLong(eventBufferOffset, Protocol.ENDIANNESS);
+      eventBufferOffset += SIZE_OF_LONG;
+
       final int metadataLength = eventBuffer.getInt(eventBufferOffset, Protocol.ENDIANNESS);
       eventBufferOffset += SIZE_OF_INT;
 
@@ -17,7 +17,10 @@ import org.agrona.DirectBuffer;
  * <p>Note that the log entry data is buffered until {@link #tryWrite()} is called.
  */
 public interface LogStreamBatchWriter extends LogStreamWriter {
-  /** Set the source event for all log entries. */
+  /**
+   * Set the source event for all log entries which are added afterwards. Log entries which were
+   * added before keep their source event.
+   */
   LogStreamBatchWriter sourceRecordPosition(long position);
 
   /** Returns the builder to add a new log entry to the batch. */
@@ -28,6 +31,21 @@ public interface LogStreamBatchWriter extends LogStreamWriter {
   /** Discard all non-written batch data. */
   void reset();
 
+  /**
+   * Remembers the current end of the batch. The log entries which are added afterwards can be
+   * discarded by {@link #resetToMark()}, without discarding the entries which were added before.
+   */
+  void mark();
+
+  /** Discard all non-written log entries which were added after the last {@link #mark()}. */
+  void resetToMark();
+
+  /**
+   * @return the length which the batch would claim in the write buffer if it was written now; it
+   *     must be less than {@link #getMaxFragmentLength()}
+   */
+  int getBatchLength();
+
   /** Builder to add a log entry to the batch. */
   interface LogEntryBuilder {
     /** Use the default values as key. */
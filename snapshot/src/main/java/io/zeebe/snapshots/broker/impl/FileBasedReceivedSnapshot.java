@@ -7,8 +7,6 @@
  */
 package io.zeebe.snapshots.broker.impl;
 
-import static java.nio.file.StandardOpenOption.CREATE_NEW;
-
 import io.zeebe.snapshots.broker.SnapshotId;
 import io.zeebe.snapshots.raft.PersistedSnapshot;
 import io.zeebe.snapshots.raft.ReceivedSnapshot;
@@ -19,12 +17,18 @@ import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +43,10 @@ public class FileBasedReceivedSnapshot implements ReceivedSnapshot {
   private final FileBasedSnapshotStore snapshotStore;
 
   private final FileBasedSnapshotMetadata metadata;
+  // a file may be split into several chunks, so chunks are identified by file name and position
+  private final Set<String> appliedChunks = new HashSet<>();
+  // files which are hard-linked from the latest local snapshot, instead of being received
+  private final Set<String> reusedFiles = new HashSet<>();
   private long expectedSnapshotChecksum;
   private int expectedTotalCount;
 
@@ -65,12 +73,57 @@ public class FileBasedReceivedSnapshot implements ReceivedSnapshot {
     return actor.call(() -> applyInternal(snapshotChunk));
   }
 
-  private boolean containsChunk(final String chunkId) {
-    return Files.exists(directory.resolve(chunkId));
+  @Override
+  public ActorFuture<Set<String>> reuseFiles(final Map<String, Long> fileChecksums) {
+    return actor.call(() -> reuseFilesInternal(fileChecksums));
+  }
+
+  private Set<String> reuseFilesInternal(final Map<String, Long> fileChecksums) throws IOException {
+    final var latestSnapshot = snapshotStore.getLatestSnapshot();
+    if (latestSnapshot.isEmpty() || fileChecksums.isEmpty() || !appliedChunks.isEmpty()) {
+      return Set.copyOf(reusedFiles);
+    }
+
+    final var latestDirectory = latestSnapshot.get().getPath();
+    final var latestFileChecksums = latestSnapshot.get().getFileChecksums();
+    FileUtil.ensureDirectoryExists(directory);
+
+    for (final var fileChecksum : fileChecksums.entrySet()) {
+      final var fileName = fileChecksum.getKey();
+      // the checksum file belongs to a specific snapshot, it is never shared
+      if (SnapshotChecksum.isChecksumFile(fileName)
+          || reusedFiles.contains(fileName)
+          || !fileChecksum.getValue().equals(latestFileChecksums.get(fileName))) {
+        continue;
+      }
+
+      try {
+        Files.createLink(directory.resolve(fileName), latestDirectory.resolve(fileName));
+        reusedFiles.add(fileName);
+      } catch (final IOException | UnsupportedOperationException e) {
+        LOGGER.debug(
+            "Failed to link file {} of snapshot {}, it will be received instead",
+            fileName,
+            latestDirectory,
+            e);
+      }
+    }
+
+    LOGGER.debug(
+        "Reusing {} of {} files of snapshot {} from {}",
+        reusedFiles.size(),
+        fileChecksums.size(),
+        metadata,
+        latestDirectory);
+    return Set.copyOf(reusedFiles);
+  }
+
+  private static String chunkKey(final SnapshotChunk snapshotChunk) {
+    return snapshotChunk.getChunkName() + "@" + snapshotChunk.getFileBlockPosition();
   }
 
   private boolean applyInternal(final SnapshotChunk snapshotChunk) throws IOException {
-    if (containsChunk(snapshotChunk.getChunkName())) {
+    if (appliedChunks.contains(chunkKey(snapshotChunk))) {
       return true;
     }
 
@@ -107,13 +160,17 @@ public class FileBasedReceivedSnapshot implements ReceivedSnapshot {
     final var tmpSnapshotDirectory = directory;
     FileUtil.ensureDirectoryExists(tmpSnapshotDirectory);
 
-    final var snapshotFile = tmpSnapshotDirectory.resolve(chunkName);
-    if (Files.exists(snapshotFile)) {
-      LOGGER.debug("Received a snapshot snapshotChunk which already exist '{}'.", snapshotFile);
-      return FAILED;
+    if (reusedFiles.contains(chunkName)) {
+      LOGGER.trace("Ignore snapshot snapshotChunk {}, because the file is reused", chunkName);
+      return SUCCESS;
     }
 
-    LOGGER.debug("Consume snapshot snapshotChunk {} of snapshot {}", chunkName, snapshotId);
+    final var snapshotFile = tmpSnapshotDirectory.resolve(chunkName);
+    LOGGER.debug(
+        "Consume snapshot snapshotChunk {} at position {} of snapshot {}",
+        chunkName,
+        snapshotChunk.getFileBlockPosition(),
+        snapshotId);
     return writeReceivedSnapshotChunk(snapshotChunk, snapshotFile);
   }
 
@@ -174,8 +231,18 @@ public class FileBasedReceivedSnapshot implements ReceivedSnapshot {
 
   private boolean writeReceivedSnapshotChunk(
       final SnapshotChunk snapshotChunk, final Path snapshotFile) throws IOException {
-    Files.write(snapshotFile, snapshotChunk.getContent(), CREATE_NEW, StandardOpenOption.WRITE);
-    LOGGER.trace("Wrote replicated snapshot chunk to file {}", snapshotFile);
+    final ByteBuffer content = ByteBuffer.wrap(snapshotChunk.getContent());
+    final long position = snapshotChunk.getFileBlockPosition();
+    try (final FileChannel channel =
+        FileChannel.open(snapshotFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      while (content.hasRemaining()) {
+        channel.write(content, position + content.position());
+      }
+    }
+
+    appliedChunks.add(chunkKey(snapshotChunk));
+    LOGGER.trace(
+        "Wrote replicated snapshot chunk to file {} at position {}", snapshotFile, position);
     return SUCCESS;
   }
 
@@ -233,41 +300,47 @@ public class FileBasedReceivedSnapshot implements ReceivedSnapshot {
       return;
     }
 
-    if (files.length != expectedTotalCount) {
+    // chunks of reused files are not received, in which case the combined checksum of all files is
+    // verified only
+    if (reusedFiles.isEmpty() && appliedChunks.size() != expectedTotalCount) {
       future.completeExceptionally(
           new IllegalStateException(
               String.format(
-                  "Expected '%d' chunk files for this snapshot, but found '%d'. Files are: %s.",
-                  expectedSnapshotChecksum, files.length, Arrays.toString(files))));
+                  "Expected '%d' chunks for this snapshot, but applied '%d'. Files are: %s.",
+                  expectedTotalCount, appliedChunks.size(), Arrays.toString(files))));
       return;
     }
 
-    if (!verifyChecksums(future)) {
+    final SortedMap<String, Long> fileChecksums = verifyChecksums(future);
+    if (fileChecksums == null) {
       return;
     }
 
     try {
-      final PersistedSnapshot value = snapshotStore.newSnapshot(metadata, directory);
+      final PersistedSnapshot value = snapshotStore.newSnapshot(metadata, directory, fileChecksums);
       future.complete(value);
     } catch (final Exception e) {
       future.completeExceptionally(e);
     }
   }
 
-  private boolean verifyChecksums(final CompletableActorFuture<PersistedSnapshot> future) {
+  /** @return the checksums of the files if the snapshot is valid, otherwise null */
+  private SortedMap<String, Long> verifyChecksums(
+      final CompletableActorFuture<PersistedSnapshot> future) {
 
     try {
-      if (SnapshotChecksum.verify(directory)) {
-        return true;
+      final var fileChecksums = SnapshotChecksum.calculateFileChecksums(directory);
+      if (SnapshotChecksum.combine(fileChecksums) == SnapshotChecksum.read(directory)) {
+        return fileChecksums;
       } else {
         future.completeExceptionally(
             new IllegalStateException("Snapshot is corrupted. Checksum does not match"));
-        return false;
+        return null;
       }
     } catch (final IOException e) {
       future.completeExceptionally(
           new UncheckedIOException("Unexpected exception on calculating snapshot checksum.", e));
-      return false;
+      return null;
     }
   }
 
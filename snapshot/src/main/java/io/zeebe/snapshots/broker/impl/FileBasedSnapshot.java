@@ -15,7 +15,9 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.Objects;
+import java.util.SortedMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,10 +28,19 @@ public final class FileBasedSnapshot implements PersistedSnapshot {
 
   private final Path directory;
   private final FileBasedSnapshotMetadata metadata;
-
-  FileBasedSnapshot(final Path directory, final FileBasedSnapshotMetadata metadata) {
+  private final int maxChunkSize;
+  // calculated when the snapshot is verified, so that its files do not have to be read again
+  private final SortedMap<String, Long> fileChecksums;
+
+  FileBasedSnapshot(
+      final Path directory,
+      final FileBasedSnapshotMetadata metadata,
+      final int maxChunkSize,
+      final SortedMap<String, Long> fileChecksums) {
     this.directory = directory;
     this.metadata = metadata;
+    this.maxChunkSize = maxChunkSize;
+    this.fileChecksums = fileChecksums;
   }
 
   public FileBasedSnapshotMetadata getMetadata() {
@@ -63,7 +74,8 @@ public final class FileBasedSnapshot implements PersistedSnapshot {
   @Override
   public SnapshotChunkReader newChunkReader() {
     try {
-      return new FileBasedSnapshotChunkReader(directory, SnapshotChecksum.read(directory));
+      return new FileBasedSnapshotChunkReader(
+          directory, SnapshotChecksum.read(directory), maxChunkSize);
     } catch (final IOException e) {
       throw new UncheckedIOException(e);
     }
@@ -97,6 +109,11 @@ public final class FileBasedSnapshot implements PersistedSnapshot {
     return metadata.getSnapshotIdAsString();
   }
 
+  @Override
+  public Map<String, Long> getFileChecksums() {
+    return fileChecksums;
+  }
+
   @Override
   public void close() {
     // nothing to be done
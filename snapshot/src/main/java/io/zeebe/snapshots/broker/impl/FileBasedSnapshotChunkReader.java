@@ -17,46 +17,66 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Comparator;
 import java.util.NavigableSet;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.TreeSet;
-import org.agrona.AsciiSequenceView;
-import org.agrona.DirectBuffer;
-import org.agrona.concurrent.UnsafeBuffer;
 
 /**
- * Implements a chunk reader where each chunk is a single file in a root directory. Chunks are then
- * ordered lexicographically, and the files are assumed to be immutable, i.e. no more are added to
- * the directory once this is created.
+ * Implements a chunk reader where each chunk is a range of bytes of a file in a root directory.
+ * Each file is split into chunks of at most {@code maxChunkSize} bytes; an empty file is a single
+ * empty chunk. Chunks are ordered lexicographically by file name, and then by their position in the
+ * file. The files are assumed to be immutable, i.e. no more are added to the directory once this is
+ * created.
+ *
+ * <p>A chunk is only read when it is requested, with a positional read of its range, such that a
+ * large file is never read into memory at once.
+ *
+ * <p>The ID of a chunk consists of the file name, followed by the position of the chunk in the file
+ * as 64-bit integer.
  */
 public final class FileBasedSnapshotChunkReader implements SnapshotChunkReader {
   static final Charset ID_CHARSET = StandardCharsets.US_ASCII;
 
+  private static final Comparator<ChunkRange> CHUNK_ORDER =
+      Comparator.comparing(ChunkRange::fileName).thenComparingLong(ChunkRange::position);
+
   private final Path directory;
-  private final NavigableSet<CharSequence> chunks;
-  private final CharSequenceView chunkIdView;
+  private final NavigableSet<ChunkRange> chunks;
 
-  private NavigableSet<CharSequence> chunksView;
+  private NavigableSet<ChunkRange> chunksView;
   private final int totalCount;
   private final long snapshotChecksum;
   private final String snapshotID;
 
-  FileBasedSnapshotChunkReader(final Path directory, final long checksum) throws IOException {
+  FileBasedSnapshotChunkReader(final Path directory, final long checksum, final int maxChunkSize)
+      throws IOException {
     this.directory = directory;
-    chunks = collectChunks(directory);
+    chunks = collectChunks(directory, maxChunkSize);
     totalCount = chunks.size();
     chunksView = chunks;
-    chunkIdView = new CharSequenceView();
 
     snapshotChecksum = checksum;
 
     snapshotID = directory.getFileName().toString();
   }
 
-  private NavigableSet<CharSequence> collectChunks(final Path directory) throws IOException {
-    final var set = new TreeSet<>(CharSequence::compare);
-    try (final var stream = Files.list(directory).sorted()) {
-      stream.map(directory::relativize).map(Path::toString).forEach(set::add);
+  private NavigableSet<ChunkRange> collectChunks(final Path directory, final int maxChunkSize)
+      throws IOException {
+    final var set = new TreeSet<>(CHUNK_ORDER);
+    try (final var stream = Files.list(directory)) {
+      for (final var file : (Iterable<Path>) stream::iterator) {
+        final var fileName = directory.relativize(file).toString();
+        final long fileSize = Files.size(file);
+
+        long position = 0;
+        do {
+          final int length = (int) Math.min(maxChunkSize, fileSize - position);
+          set.add(new ChunkRange(fileName, position, length));
+          position += length;
+        } while (position < fileSize);
+      }
     }
     return set;
   }
@@ -67,8 +87,7 @@ public final class FileBasedSnapshotChunkReader implements SnapshotChunkReader {
       return;
     }
 
-    final var path = decodeChunkId(id);
-    chunksView = chunks.tailSet(path, true);
+    chunksView = chunks.tailSet(decodeChunkId(id), true);
   }
 
   @Override
@@ -77,7 +96,18 @@ public final class FileBasedSnapshotChunkReader implements SnapshotChunkReader {
       return null;
     }
 
-    return encodeChunkId(chunksView.first());
+    final var chunk = chunksView.first();
+    return encodeChunkId(chunk.fileName(), chunk.position());
+  }
+
+  @Override
+  public void excludeChunks(final Set<String> chunkNames) {
+    if (chunksView.isEmpty()) {
+      return;
+    }
+
+    final var lastChunk = chunksView.last();
+    chunksView.removeIf(chunk -> chunk != lastChunk && chunkNames.contains(chunk.fileName()));
   }
 
   @Override
@@ -93,36 +123,56 @@ public final class FileBasedSnapshotChunkReader implements SnapshotChunkReader {
 
   @Override
   public SnapshotChunk next() {
-    final var chunkName = chunksView.pollFirst();
-    if (chunkName == null) {
+    final var chunk = chunksView.pollFirst();
+    if (chunk == null) {
       throw new NoSuchElementException();
     }
 
-    final var path = directory.resolve(chunkName.toString());
+    final var path = directory.resolve(chunk.fileName());
 
     try {
-      return SnapshotChunkUtil.createSnapshotChunkFromFile(
-          path.toFile(), snapshotID, totalCount, snapshotChecksum);
+      return SnapshotChunkUtil.createSnapshotChunkFromFileRange(
+          path, chunk.position(), chunk.length(), snapshotID, totalCount, snapshotChecksum);
     } catch (final IOException e) {
       throw new UncheckedIOException(e);
     }
   }
 
-  private ByteBuffer encodeChunkId(final CharSequence path) {
-    return ByteBuffer.wrap(path.toString().getBytes(ID_CHARSET)).order(Protocol.ENDIANNESS);
+  static ByteBuffer encodeChunkId(final String fileName, final long position) {
+    final byte[] name = fileName.getBytes(ID_CHARSET);
+    final ByteBuffer id = ByteBuffer.allocate(name.length + Long.BYTES).order(Protocol.ENDIANNESS);
+    id.put(name).putLong(position).flip();
+    return id;
   }
 
-  private CharSequence decodeChunkId(final ByteBuffer id) {
-    return chunkIdView.wrap(id);
+  private static ChunkRange decodeChunkId(final ByteBuffer id) {
+    final var buffer = id.duplicate().order(Protocol.ENDIANNESS);
+    final byte[] name = new byte[buffer.remaining() - Long.BYTES];
+    buffer.get(name);
+    return new ChunkRange(new String(name, ID_CHARSET), buffer.getLong(), 0);
   }
 
-  private static final class CharSequenceView {
-    private final DirectBuffer wrapper = new UnsafeBuffer();
-    private final AsciiSequenceView view = new AsciiSequenceView();
+  private static final class ChunkRange {
+    private final String fileName;
+    private final long position;
+    private final int length;
+
+    private ChunkRange(final String fileName, final long position, final int length) {
+      this.fileName = fileName;
+      this.position = position;
+      this.length = length;
+    }
+
+    private String fileName() {
+      return fileName;
+    }
+
+    private long position() {
+      return position;
+    }
 
-    private CharSequence wrap(final ByteBuffer buffer) {
-      wrapper.wrap(buffer);
-      return view.wrap(wrapper, 0, wrapper.capacity());
+    private int length() {
+      return length;
     }
   }
 }
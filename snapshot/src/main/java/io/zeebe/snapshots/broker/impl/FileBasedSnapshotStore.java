@@ -33,6 +33,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -62,13 +63,17 @@ public final class FileBasedSnapshotStore extends Actor
   private final AtomicLong receivingSnapshotStartCount;
   private final Set<PersistableSnapshot> pendingSnapshots = new HashSet<>();
   private final String actorName;
+  // the maximum size of a chunk when replicating a snapshot
+  private final int maxChunkSize;
 
   public FileBasedSnapshotStore(
       final int nodeId,
       final int partitionId,
       final SnapshotMetrics snapshotMetrics,
       final Path snapshotsDirectory,
-      final Path pendingDirectory) {
+      final Path pendingDirectory,
+      final int maxChunkSize) {
+    this.maxChunkSize = maxChunkSize;
     this.snapshotsDirectory = snapshotsDirectory;
     this.pendingDirectory = pendingDirectory;
     this.snapshotMetrics = snapshotMetrics;
@@ -124,8 +129,9 @@ public final class FileBasedSnapshotStore extends Actor
     if (optionalMeta.isPresent()) {
       final var metadata = optionalMeta.get();
       try {
-        if (SnapshotChecksum.verify(path)) {
-          return new FileBasedSnapshot(path, metadata);
+        final var fileChecksums = SnapshotChecksum.calculateFileChecksums(path);
+        if (SnapshotChecksum.combine(fileChecksums) == SnapshotChecksum.read(path)) {
+          return new FileBasedSnapshot(path, metadata, maxChunkSize, fileChecksums);
         } else {
           LOGGER.warn(
               "Cannot load snapshot in {}. The checksum stored does not match the checksum calculated.",
@@ -353,7 +359,10 @@ public final class FileBasedSnapshotStore extends Actor
     return (persistedSnapshot != null && persistedSnapshot.getMetadata().compareTo(metadata) >= 0);
   }
 
-  PersistedSnapshot newSnapshot(final FileBasedSnapshotMetadata metadata, final Path directory) {
+  PersistedSnapshot newSnapshot(
+      final FileBasedSnapshotMetadata metadata,
+      final Path directory,
+      final SortedMap<String, Long> fileChecksums) {
     final var currentPersistedSnapshot = currentPersistedSnapshotRef.get();
 
     if (isCurrentSnapshotNewer(metadata)) {
@@ -365,7 +374,8 @@ public final class FileBasedSnapshotStore extends Actor
     final var destination = buildSnapshotDirectory(metadata);
     moveToSnapshotDirectory(directory, destination);
 
-    final var newPersistedSnapshot = new FileBasedSnapshot(destination, metadata);
+    final var newPersistedSnapshot =
+        new FileBasedSnapshot(destination, metadata, maxChunkSize, fileChecksums);
     final var failed =
         !currentPersistedSnapshotRef.compareAndSet(currentPersistedSnapshot, newPersistedSnapshot);
     if (failed) {
@@ -31,15 +31,29 @@ public final class FileBasedSnapshotStoreFactory
     implements SnapshotStoreSupplier, ReceivableSnapshotStoreFactory {
   public static final String SNAPSHOTS_DIRECTORY = "snapshots";
   public static final String PENDING_DIRECTORY = "pending";
+  public static final int DEFAULT_MAX_CHUNK_SIZE = 1024 * 1024;
 
   private final Int2ObjectHashMap<FileBasedSnapshotStore> partitionSnapshotStores =
       new Int2ObjectHashMap<>();
   private final ActorScheduler actorScheduler;
   private final int nodeId;
+  private final int maxChunkSize;
 
   public FileBasedSnapshotStoreFactory(final ActorScheduler actorScheduler, final int nodeId) {
+    this(actorScheduler, nodeId, DEFAULT_MAX_CHUNK_SIZE);
+  }
+
+  /**
+   * @param actorScheduler the scheduler on which the snapshot stores are run
+   * @param nodeId the id of the local node
+   * @param maxChunkSize the maximum size in bytes of a chunk when a snapshot is replicated; larger
+   *     files are split into several chunks
+   */
+  public FileBasedSnapshotStoreFactory(
+      final ActorScheduler actorScheduler, final int nodeId, final int maxChunkSize) {
     this.actorScheduler = actorScheduler;
     this.nodeId = nodeId;
+    this.maxChunkSize = maxChunkSize;
   }
 
   @Override
@@ -64,7 +78,8 @@ public final class FileBasedSnapshotStoreFactory
             partitionId,
             new SnapshotMetrics(Integer.toString(partitionId)),
             snapshotDirectory,
-            pendingDirectory);
+            pendingDirectory,
+            maxChunkSize);
     actorScheduler.submitActor(snapshotStore).join();
     return snapshotStore;
   }
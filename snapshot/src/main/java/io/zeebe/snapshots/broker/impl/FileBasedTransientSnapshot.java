@@ -16,6 +16,7 @@ import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.SortedMap;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import org.slf4j.Logger;
@@ -35,6 +36,7 @@ public final class FileBasedTransientSnapshot implements TransientSnapshot {
   private final ActorFuture<Boolean> takenFuture = new CompletableActorFuture<>();
   private boolean isValid = false;
   private PersistedSnapshot snapshot;
+  private SortedMap<String, Long> fileChecksums;
 
   FileBasedTransientSnapshot(
       final FileBasedSnapshotMetadata metadata,
@@ -84,8 +86,8 @@ public final class FileBasedTransientSnapshot implements TransientSnapshot {
   }
 
   private void calculateAndPersistChecksum() throws IOException {
-    final var checksum = SnapshotChecksum.calculate(directory);
-    SnapshotChecksum.persist(directory, checksum);
+    fileChecksums = SnapshotChecksum.calculateFileChecksums(directory);
+    SnapshotChecksum.persist(directory, SnapshotChecksum.combine(fileChecksums));
   }
 
   @Override
@@ -123,7 +125,7 @@ public final class FileBasedTransientSnapshot implements TransientSnapshot {
             return;
           }
           try {
-            snapshot = snapshotStore.newSnapshot(metadata, directory);
+            snapshot = snapshotStore.newSnapshot(metadata, directory, fileChecksums);
             future.complete(snapshot);
           } catch (final Exception e) {
             future.completeExceptionally(e);
@@ -12,8 +12,9 @@ import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.zip.CRC32C;
 
@@ -44,14 +45,37 @@ final class SnapshotChecksum {
   }
 
   public static long calculate(final Path snapshotDirectory) throws IOException {
+    return combine(calculateFileChecksums(snapshotDirectory));
+  }
+
+  /**
+   * Calculates the checksum of each file of the snapshot, except the checksum file itself.
+   *
+   * @return the checksums by file name, ordered by file name
+   */
+  public static SortedMap<String, Long> calculateFileChecksums(final Path snapshotDirectory)
+      throws IOException {
     try (final var fileStream = Files.list(snapshotDirectory).sorted()) {
-      return createCombinedChecksum(
+      return createFileChecksums(
           fileStream
               .filter(path -> !path.endsWith(CHECKSUM_FILE_NAME))
               .collect(Collectors.toList()));
     }
   }
 
+  /** @return the combined checksum of the snapshot, given the checksums of its files */
+  public static long combine(final SortedMap<String, Long> fileChecksums) {
+    final CRC32C checksumGenerator = new CRC32C();
+    fileChecksums
+        .values()
+        .forEach(c -> checksumGenerator.update(ByteBuffer.allocate(Long.BYTES).putLong(0, c)));
+    return checksumGenerator.getValue();
+  }
+
+  static boolean isChecksumFile(final String fileName) {
+    return CHECKSUM_FILE_NAME.equals(fileName);
+  }
+
   public static void persist(final Path snapshotDirectory, final long checksum) throws IOException {
     final var file = snapshotDirectory.resolve(CHECKSUM_FILE_NAME).toFile();
     // If checksum file already exists, don't overwrite it
@@ -68,21 +92,20 @@ final class SnapshotChecksum {
     return expectedChecksum == actualChecksum;
   }
 
-  /** computes a checksum for the files, in the order they're presented */
-  private static long createCombinedChecksum(final List<Path> paths) throws IOException {
+  /** computes a checksum for each of the files */
+  private static SortedMap<String, Long> createFileChecksums(final List<Path> paths)
+      throws IOException {
     final CRC32C checksumGenerator = new CRC32C();
-    final List<Long> chunkChecksum = new ArrayList<>();
+    final SortedMap<String, Long> fileChecksums = new TreeMap<>();
 
     for (final var path : paths) {
       if (!path.endsWith(CHECKSUM_FILE_NAME)) {
         checksumGenerator.update(Files.readAllBytes(path));
-        chunkChecksum.add(checksumGenerator.getValue());
+        fileChecksums.put(path.getFileName().toString(), checksumGenerator.getValue());
         checksumGenerator.reset();
       }
     }
 
-    chunkChecksum.forEach(
-        c -> checksumGenerator.update(ByteBuffer.allocate(Long.BYTES).putLong(0, c)));
-    return checksumGenerator.getValue();
+    return fileChecksums;
   }
 }
@@ -8,9 +8,12 @@
 package io.zeebe.snapshots.broker.impl;
 
 import io.zeebe.snapshots.raft.SnapshotChunk;
-import java.io.File;
+import java.io.EOFException;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.zip.CRC32;
 
 final class SnapshotChunkUtil {
@@ -23,23 +26,47 @@ final class SnapshotChunkUtil {
     return crc32.getValue();
   }
 
-  static SnapshotChunk createSnapshotChunkFromFile(
-      final File snapshotChunkFile,
+  /**
+   * Reads the given range of a file with a positional read, and creates a chunk of it. The file is
+   * never read beyond the range, such that the memory needed for a chunk is bounded by its length.
+   */
+  static SnapshotChunk createSnapshotChunkFromFileRange(
+      final Path snapshotFile,
+      final long position,
+      final int length,
       final String snapshotId,
       final int totalCount,
       final long snapshotChecksum)
       throws IOException {
-    final byte[] content;
-    content = Files.readAllBytes(snapshotChunkFile.toPath());
+    final byte[] content = new byte[length];
+    final ByteBuffer buffer = ByteBuffer.wrap(content);
+    try (final FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, position + buffer.position()) < 0) {
+          throw new EOFException(
+              String.format(
+                  "Expected to read %d bytes at position %d of %s, but reached the end of the file",
+                  length, position, snapshotFile));
+        }
+      }
+    }
+
     final long checksum = createChecksum(content);
     return new SnapshotChunkImpl(
-        snapshotId, totalCount, snapshotChunkFile.getName(), checksum, content, snapshotChecksum);
+        snapshotId,
+        totalCount,
+        snapshotFile.getFileName().toString(),
+        position,
+        checksum,
+        content,
+        snapshotChecksum);
   }
 
   private static final class SnapshotChunkImpl implements SnapshotChunk {
     private final String snapshotId;
     private final int totalCount;
     private final String chunkName;
+    private final long fileBlockPosition;
     private final byte[] content;
     private final long snapshotChecksum;
     private final long checksum;
@@ -48,12 +75,14 @@ final class SnapshotChunkUtil {
         final String snapshotId,
         final int totalCount,
         final String chunkName,
+        final long fileBlockPosition,
         final long checksum,
         final byte[] content,
         final long snapshotChecksum) {
       this.snapshotId = snapshotId;
       this.totalCount = totalCount;
       this.chunkName = chunkName;
+      this.fileBlockPosition = fileBlockPosition;
       this.checksum = checksum;
       this.content = content;
       this.snapshotChecksum = snapshotChecksum;
@@ -74,6 +103,11 @@ final class SnapshotChunkUtil {
       return chunkName;
     }
 
+    @Override
+    public long getFileBlockPosition() {
+      return fileBlockPosition;
+    }
+
     @Override
     public long getChecksum() {
       return checksum;
@@ -10,6 +10,7 @@ package io.zeebe.snapshots.raft;
 import io.atomix.utils.time.WallClockTimestamp;
 import io.zeebe.util.CloseableSilently;
 import java.nio.file.Path;
+import java.util.Map;
 
 /** Represents a snapshot, which was persisted at the {@link PersistedSnapshotStore}. */
 public interface PersistedSnapshot extends CloseableSilently {
@@ -75,4 +76,12 @@ public interface PersistedSnapshot extends CloseableSilently {
 
   /** @return the identifier of the snapshot */
   String getId();
+
+  /**
+   * Returns the checksum of each file of the snapshot, which allows a receiver to detect which
+   * files it already has, e.g. as part of its own latest snapshot.
+   *
+   * @return the checksums by file name; empty if the checksums are not known
+   */
+  Map<String, Long> getFileChecksums();
 }
@@ -9,6 +9,8 @@ package io.zeebe.snapshots.raft;
 
 import io.zeebe.util.sched.future.ActorFuture;
 import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * A received volatile snapshot, which consist of several {@link SnapshotChunk}'s. It can be
@@ -31,4 +33,14 @@ public interface ReceivedSnapshot extends PersistableSnapshot {
    * @return returns true if everything succeeds, false otherwise
    */
   ActorFuture<Boolean> apply(SnapshotChunk chunk) throws IOException;
+
+  /**
+   * Reuses the files of the latest local snapshot which are also part of this snapshot, i.e. which
+   * have the same name and checksum, such that they do not have to be received again. Chunks of
+   * reused files are ignored when they are applied. Must be called before any chunk is applied.
+   *
+   * @param fileChecksums the checksums of the files of this snapshot, by file name
+   * @return the names of the reused files
+   */
+  ActorFuture<Set<String>> reuseFiles(Map<String, Long> fileChecksums);
 }
@@ -19,6 +19,12 @@ public interface SnapshotChunk {
   /** @return the name of the current chunk (e.g. file name) */
   String getChunkName();
 
+  /**
+   * @return the position of the content in the file of the chunk, as a file may be split into
+   *     several chunks
+   */
+  long getFileBlockPosition();
+
   /** @return the checksum of the content, can be use to verify the integrity of the content */
   long getChecksum();
 
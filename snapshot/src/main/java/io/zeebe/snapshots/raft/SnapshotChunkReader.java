@@ -10,6 +10,7 @@ package io.zeebe.snapshots.raft;
 import io.zeebe.util.CloseableSilently;
 import java.nio.ByteBuffer;
 import java.util.Iterator;
+import java.util.Set;
 
 /**
  * Represents a snapshot chunk reader, which means it is used to chunk an {@link PersistedSnapshot}
@@ -32,4 +33,13 @@ public interface SnapshotChunkReader extends Iterator<SnapshotChunk>, CloseableS
    * @return the next chunk ID
    */
   ByteBuffer nextId();
+
+  /**
+   * Skips all remaining chunks with one of the given names, e.g. because the receiver already has
+   * them. The last remaining chunk is never skipped, such that the receiver can still be notified
+   * of the completion of the snapshot with it.
+   *
+   * @param chunkNames the names of the chunks to skip
+   */
+  void excludeChunks(Set<String> chunkNames);
 }
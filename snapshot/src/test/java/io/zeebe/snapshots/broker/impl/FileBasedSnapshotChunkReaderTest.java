@@ -17,6 +17,7 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.NavigableSet;
+import java.util.Set;
 import java.util.TreeSet;
 import org.junit.Rule;
 import org.junit.Test;
@@ -70,8 +71,85 @@ public final class FileBasedSnapshotChunkReaderTest {
     assertThat(reader.hasNext()).isFalse();
   }
 
+  @Test
+  public void shouldSplitFileIntoChunksOfMaxSize() throws IOException {
+    // given
+    final var directory = temporaryFolder.getRoot().toPath();
+    Files.write(directory.resolve("file"), "0123456789".getBytes());
+    final var reader = new FileBasedSnapshotChunkReader(directory, 1, 4);
+
+    // when
+    final var ids = new ArrayList<ByteBuffer>();
+    final var chunks = new ArrayList<SnapshotChunk>();
+    while (reader.hasNext()) {
+      ids.add(reader.nextId());
+      chunks.add(reader.next());
+    }
+
+    // then
+    assertThat(ids).containsExactly(asBuffer("file", 0), asBuffer("file", 4), asBuffer("file", 8));
+    assertThat(chunks).extracting(SnapshotChunk::getChunkName).containsOnly("file");
+    assertThat(chunks).extracting(SnapshotChunk::getTotalCount).containsOnly(3);
+    assertThat(chunks).extracting(SnapshotChunk::getFileBlockPosition).containsExactly(0L, 4L, 8L);
+    assertThat(chunks)
+        .extracting(chunk -> new String(chunk.getContent()))
+        .containsExactly("0123", "4567", "89");
+  }
+
+  @Test
+  public void shouldSeekToChunkWithinFile() throws IOException {
+    // given
+    final var directory = temporaryFolder.getRoot().toPath();
+    Files.write(directory.resolve("file"), "0123456789".getBytes());
+    final var reader = new FileBasedSnapshotChunkReader(directory, 1, 4);
+
+    // when
+    reader.seek(asBuffer("file", 4));
+
+    // then
+    final var chunk = reader.next();
+    assertThat(chunk.getFileBlockPosition()).isEqualTo(4L);
+    assertThat(chunk.getContent()).isEqualTo("4567".getBytes());
+    assertThat(reader.nextId()).isEqualTo(asBuffer("file", 8));
+  }
+
+  @Test
+  public void shouldExcludeChunks() {
+    // given
+    final var reader = newReader(chunksOf("a", "b", "c", "d"));
+
+    // when
+    reader.excludeChunks(Set.of("b", "c"));
+
+    // then
+    final var chunks = new ArrayList<SnapshotChunk>();
+    while (reader.hasNext()) {
+      chunks.add(reader.next());
+    }
+    assertThat(chunks).extracting(SnapshotChunk::getChunkName).containsExactly("a", "d");
+    assertThat(chunks).extracting(SnapshotChunk::getTotalCount).containsOnly(4);
+  }
+
+  @Test
+  public void shouldNotExcludeLastChunk() {
+    // given
+    final var reader = newReader(chunksOf("a", "b", "c"));
+    reader.next();
+
+    // when
+    reader.excludeChunks(Set.of("b", "c"));
+
+    // then
+    assertThat(reader.next().getChunkName()).isEqualTo("c");
+    assertThat(reader.hasNext()).isFalse();
+  }
+
   private ByteBuffer asBuffer(final CharSequence chunk) {
-    return ByteBuffer.wrap(chunk.toString().getBytes(FileBasedSnapshotChunkReader.ID_CHARSET));
+    return asBuffer(chunk, 0);
+  }
+
+  private ByteBuffer asBuffer(final CharSequence chunk, final long position) {
+    return FileBasedSnapshotChunkReader.encodeChunkId(chunk.toString(), position);
   }
 
   private NavigableSet<CharSequence> chunksOf(final CharSequence... chunks) {
@@ -92,7 +170,7 @@ public final class FileBasedSnapshotChunkReaderTest {
     }
 
     try {
-      return new FileBasedSnapshotChunkReader(directory, 1);
+      return new FileBasedSnapshotChunkReader(directory, 1, 1024);
     } catch (final IOException e) {
       throw new UncheckedIOException(e);
     }
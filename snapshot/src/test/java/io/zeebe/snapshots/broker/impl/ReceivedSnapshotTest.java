@@ -13,6 +13,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.atomix.utils.time.WallClockTimestamp;
 import io.zeebe.snapshots.broker.ConstructableSnapshotStore;
+import io.zeebe.snapshots.raft.PersistedSnapshot;
 import io.zeebe.snapshots.raft.ReceivableSnapshotStore;
 import io.zeebe.util.FileUtil;
 import io.zeebe.util.sched.ActorScheduler;
@@ -21,6 +22,7 @@ import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Rule;
@@ -109,6 +111,83 @@ public class ReceivedSnapshotTest {
     assertThat(receivedPersistedSnapshot.getId()).isEqualTo(persistedSnapshot.getId());
   }
 
+  @Test
+  public void shouldPersistSnapshotWithFilesSplitIntoSeveralChunks() throws Exception {
+    // given
+    final int partitionId = 1;
+    final var senderFactory = new FileBasedSnapshotStoreFactory(createActorScheduler(), 1, 3);
+    senderFactory.createReceivableSnapshotStore(
+        temporaryFolder.newFolder("chunked").toPath(), partitionId);
+    final var transientSnapshot =
+        senderFactory
+            .getConstructableSnapshotStore(partitionId)
+            .newTransientSnapshot(1L, 0L, 1, 0)
+            .get();
+    transientSnapshot.take(
+        p -> takeSnapshot(p, List.of("file1", "file2"), List.of("this is", "content")));
+    final var persistedSnapshot = transientSnapshot.persist().join();
+
+    // when
+    final var receivedSnapshot =
+        receiverSnapshotStore.newReceivedSnapshot(persistedSnapshot.getId());
+    try (final var snapshotChunkReader = persistedSnapshot.newChunkReader()) {
+      while (snapshotChunkReader.hasNext()) {
+        assertThat(receivedSnapshot.apply(snapshotChunkReader.next()).join()).isTrue();
+      }
+    }
+    final var receivedPersistedSnapshot = receivedSnapshot.persist().join();
+
+    // then
+    assertThat(receivedPersistedSnapshot.getPath().resolve("file1")).hasContent("this is");
+    assertThat(receivedPersistedSnapshot.getPath().resolve("file2")).hasContent("content");
+  }
+
+  @Test
+  public void shouldReuseFilesOfLatestSnapshot() throws Exception {
+    // given
+    final var firstSnapshot = takeSnapshot(1L, List.of("file1", "file2"), List.of("this", "is"));
+    receiveSnapshot(firstSnapshot);
+    final var secondSnapshot =
+        takeSnapshot(2L, List.of("file1", "file2", "file3"), List.of("this", "was", "content"));
+
+    // when
+    final var receivedSnapshot = receiverSnapshotStore.newReceivedSnapshot(secondSnapshot.getId());
+    final var reusedFiles = receivedSnapshot.reuseFiles(secondSnapshot.getFileChecksums()).join();
+    final var appliedChunkNames = new ArrayList<String>();
+    try (final var snapshotChunkReader = secondSnapshot.newChunkReader()) {
+      snapshotChunkReader.excludeChunks(reusedFiles);
+      while (snapshotChunkReader.hasNext()) {
+        final var chunk = snapshotChunkReader.next();
+        appliedChunkNames.add(chunk.getChunkName());
+        assertThat(receivedSnapshot.apply(chunk).join()).isTrue();
+      }
+    }
+    final var receivedPersistedSnapshot = receivedSnapshot.persist().join();
+
+    // then
+    assertThat(reusedFiles).containsExactly("file1");
+    assertThat(appliedChunkNames).containsExactly("CHECKSUM", "file2", "file3");
+    assertThat(receivedPersistedSnapshot.getPath().resolve("file1")).hasContent("this");
+    assertThat(receivedPersistedSnapshot.getPath().resolve("file2")).hasContent("was");
+    assertThat(receivedPersistedSnapshot.getPath().resolve("file3")).hasContent("content");
+  }
+
+  @Test
+  public void shouldNotReuseFilesWithoutLatestSnapshot() throws Exception {
+    // given
+    final var persistedSnapshot =
+        takeSnapshot(1L, List.of("file1", "file2"), List.of("this", "is"));
+    final var receivedSnapshot =
+        receiverSnapshotStore.newReceivedSnapshot(persistedSnapshot.getId());
+
+    // when
+    final var reusedFiles =
+        receivedSnapshot.reuseFiles(persistedSnapshot.getFileChecksums()).join();
+
+    // then
+    assertThat(reusedFiles).isEmpty();
+  }
+
   @Test
   public void shouldReturnTrueOnConsumingChunk() throws Exception {
     // given
@@ -259,6 +338,24 @@ public class ReceivedSnapshotTest {
     receivedSnapshot.abort();
   }
 
+  private PersistedSnapshot takeSnapshot(
+      final long index, final List<String> fileNames, final List<String> fileContents) {
+    final var transientSnapshot = senderSnapshotStore.newTransientSnapshot(index, 0L, 1, 0).get();
+    transientSnapshot.take(p -> takeSnapshot(p, fileNames, fileContents));
+    return transientSnapshot.persist().join();
+  }
+
+  private void receiveSnapshot(final PersistedSnapshot persistedSnapshot) throws IOException {
+    final var receivedSnapshot =
+        receiverSnapshotStore.newReceivedSnapshot(persistedSnapshot.getId());
+    try (final var snapshotChunkReader = persistedSnapshot.newChunkReader()) {
+      while (snapshotChunkReader.hasNext()) {
+        receivedSnapshot.apply(snapshotChunkReader.next()).join();
+      }
+    }
+    receivedSnapshot.persist().join();
+  }
+
   private boolean takeSnapshot(
       final Path path, final List<String> fileNames, final List<String> fileContents) {
     assertThat(fileNames).hasSize(fileContents.size());
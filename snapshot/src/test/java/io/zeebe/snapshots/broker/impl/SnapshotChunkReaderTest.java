@@ -82,10 +82,10 @@ public class SnapshotChunkReaderTest {
 
     assertThat(snapshotChunkIds)
         .containsExactly(
-            asByteBuffer("CHECKSUM"),
-            asByteBuffer("file1"),
-            asByteBuffer("file2"),
-            asByteBuffer("file3"));
+            FileBasedSnapshotChunkReader.encodeChunkId("CHECKSUM", 0),
+            FileBasedSnapshotChunkReader.encodeChunkId("file1", 0),
+            FileBasedSnapshotChunkReader.encodeChunkId("file2", 0),
+            FileBasedSnapshotChunkReader.encodeChunkId("file3", 0));
 
     final var expectedSnapshotChecksum = SnapshotChecksum.calculate(persistedSnapshot.getPath());
 
@@ -122,7 +122,7 @@ public class SnapshotChunkReaderTest {
     final var snapshotChunks = new ArrayList<SnapshotChunk>();
     final var snapshotChunkIds = new ArrayList<ByteBuffer>();
     try (final var snapshotChunkReader = persistedSnapshot.newChunkReader()) {
-      snapshotChunkReader.seek(asByteBuffer("file2"));
+      snapshotChunkReader.seek(FileBasedSnapshotChunkReader.encodeChunkId("file2", 0));
       while (snapshotChunkReader.hasNext()) {
         snapshotChunkIds.add(snapshotChunkReader.nextId());
         snapshotChunks.add(snapshotChunkReader.next());
@@ -133,7 +133,10 @@ public class SnapshotChunkReaderTest {
     assertThat(snapshotChunkIds).hasSize(2);
     assertThat(snapshotChunks).hasSize(2);
 
-    assertThat(snapshotChunkIds).containsExactly(asByteBuffer("file2"), asByteBuffer("file3"));
+    assertThat(snapshotChunkIds)
+        .containsExactly(
+            FileBasedSnapshotChunkReader.encodeChunkId("file2", 0),
+            FileBasedSnapshotChunkReader.encodeChunkId("file3", 0));
 
     final var expectedSnapshotChecksum = SnapshotChecksum.calculate(persistedSnapshot.getPath());
 
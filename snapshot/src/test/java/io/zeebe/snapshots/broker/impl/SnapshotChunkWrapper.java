@@ -71,6 +71,11 @@ public final class SnapshotChunkWrapper implements SnapshotChunk {
     return wrappedChunk.getChunkName();
   }
 
+  @Override
+  public long getFileBlockPosition() {
+    return wrappedChunk.getFileBlockPosition();
+  }
+
   @Override
   public long getChecksum() {
     if (checksum == null) {
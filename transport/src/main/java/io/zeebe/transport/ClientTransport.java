@@ -25,8 +25,8 @@ public interface ClientTransport extends AutoCloseable {
    *
    * <ul>
    *   <li>Not garbage-free
-   *   <li>n intermediary copies of the request (one local copy for making retries, one copy on the
-   *       send buffer per try)
+   *   <li>no intermediary copies of the request; it is written directly to the send buffer on every
+   *       try, and must therefore not be modified until the returned future is completed
    *
    * @param nodeAddressSupplier supplier for the node address the retries are executed against
    *     (retries may be executed against different nodes). The supplier may resolve to <code>null
@@ -53,8 +53,8 @@ public interface ClientTransport extends AutoCloseable {
    *
    * <ul>
    *   <li>Not garbage-free
-   *   <li>n intermediary copies of the request (one local copy for making retries, one copy on the
-   *       send buffer per try)
+   *   <li>no intermediary copies of the request; it is written directly to the send buffer on every
+   *       try, and must therefore not be modified until the returned future is completed
    *
    * @param nodeAddressSupplier supplier for the node address the retries are executed against
    *     (retries may be executed against different nodes). The supplier may resolve to <code>null
@@ -84,7 +84,8 @@ public interface ClientTransport extends AutoCloseable {
    *
    * <ul>
    *   <li>Not garbage-free
-   *   <li>1 intermediary copies of the request
+   *   <li>no intermediary copies of the request; it is written directly to the send buffer, and
+   *       must therefore not be modified until the returned future is completed
    *
    * @param nodeAddressSupplier supplier for the node address the retries are executed against
    *     (retries may be executed against different nodes). The supplier may resolve to <code>null
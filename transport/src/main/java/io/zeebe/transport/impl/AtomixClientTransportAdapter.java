@@ -7,6 +7,7 @@
  */
 package io.zeebe.transport.impl;
 
+import io.atomix.cluster.messaging.MessagePayload;
 import io.atomix.cluster.messaging.MessagingException;
 import io.atomix.cluster.messaging.MessagingService;
 import io.zeebe.transport.ClientRequest;
@@ -61,11 +62,9 @@ public final class AtomixClientTransportAdapter extends Actor implements ClientT
       final boolean shouldRetry,
       final Duration timeout) {
 
-    // copy once
-    final var length = clientRequest.getLength();
-    final var requestBytes = new byte[length];
-    final var buffer = new UnsafeBuffer(requestBytes);
-    clientRequest.write(buffer, 0);
+    // copy once into a pooled buffer, as the caller may reuse the request while it is still queued
+    // to be sent; retries send the same copy, which is released once the request is done
+    final var payload = MessagePayload.copyOf(clientRequest);
 
     final var partitionId = clientRequest.getPartitionId();
 
@@ -75,7 +74,7 @@ public final class AtomixClientTransportAdapter extends Actor implements ClientT
             requestFuture,
             nodeAddressSupplier,
             partitionId,
-            requestBytes,
+            payload,
             responseValidator,
             shouldRetry,
             timeout);
@@ -143,9 +142,14 @@ public final class AtomixClientTransportAdapter extends Actor implements ClientT
           requestContext.getTopicName());
     }
 
-    final var requestBytes = requestContext.getRequestBytes();
+    // the pooled copy of the request is sent as it is, without copying it again
     messagingService
-        .sendAndReceive(nodeAddress, requestContext.getTopicName(), requestBytes, calculateTimeout)
+        .sendAndReceive(
+            nodeAddress,
+            requestContext.getTopicName(),
+            requestContext.getRequest(),
+            true,
+            calculateTimeout)
         .whenComplete(
             (response, errorOnRequest) ->
                 actor.run(() -> handleResponse(requestContext, response, errorOnRequest)));
@@ -7,38 +7,53 @@
  */
 package io.zeebe.transport.impl;
 
+import io.atomix.cluster.messaging.MessagePayload;
 import io.atomix.cluster.messaging.MessagingService;
 import io.zeebe.transport.RequestHandler;
 import io.zeebe.transport.ServerResponse;
 import io.zeebe.transport.ServerTransport;
+import io.zeebe.transport.impl.InFlightRequests.PendingRequest;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import org.agrona.DirectBuffer;
 import org.agrona.collections.Int2ObjectHashMap;
-import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
 
+/**
+ * Receives requests for the partitions it is subscribed to, and sends the responses back.
+ *
+ * <p>The requests which wait for a response are tracked per partition in {@link InFlightRequests},
+ * which can be accessed from any thread. Requests are registered on the messaging threads and
+ * responses are sent directly from the thread which calls {@link #sendResponse(ServerResponse)}.
+ * Only the request handlers are called on the transport actor, as they are not thread-safe.
+ */
 public class AtomixServerTransport extends Actor implements ServerTransport {
 
   private static final Logger LOG = Loggers.TRANSPORT_LOGGER;
   private static final String API_TOPIC_FORMAT = "command-api-%d";
+  private static final int MAX_IN_FLIGHT_REQUESTS_PER_PARTITION = 1 << 15;
+  private static final String ERROR_MSG_UNSUBSCRIBED =
+      "Node unsubscribed from partition %d before responding to the request.";
   private static final String ERROR_MSG_MISSING_PARTITON_MAP =
       "Node already unsubscribed from partition %d, this can only happen when atomix does not cleanly remove its handlers.";
+  private static final String ERROR_MSG_TOO_MANY_REQUESTS =
+      "Node cannot accept the request for partition %d, either because there are already %d requests in flight, or because it unsubscribed from the partition.";
 
-  private final Int2ObjectHashMap<Long2ObjectHashMap<CompletableFuture<byte[]>>>
-      partitionsRequestMap;
-  private final AtomicLong requestCount;
+  private final Map<Integer, InFlightRequests> partitionsRequests;
+  private final Int2ObjectHashMap<AtomicLong> partitionsRequestSequences;
   private final DirectBuffer reusableRequestBuffer;
   private final MessagingService messagingService;
   private final String actorName;
 
   public AtomixServerTransport(final int nodeId, final MessagingService messagingService) {
     this.messagingService = messagingService;
-    partitionsRequestMap = new Int2ObjectHashMap<>();
-    requestCount = new AtomicLong(0);
+    partitionsRequests = new ConcurrentHashMap<>();
+    partitionsRequestSequences = new Int2ObjectHashMap<>();
     reusableRequestBuffer = new UnsafeBuffer(0, 0);
     actorName = buildActorName(nodeId, "ServerTransport");
   }
@@ -53,7 +68,7 @@ public class AtomixServerTransport extends Actor implements ServerTransport {
     actor
         .call(
             () -> {
-              for (int partitionId : partitionsRequestMap.keySet()) {
+              for (final int partitionId : partitionsRequests.keySet()) {
                 removePartition(partitionId);
               }
               actor.close();
@@ -69,8 +84,14 @@ public class AtomixServerTransport extends Actor implements ServerTransport {
           if (LOG.isTraceEnabled()) {
             LOG.trace("Subscribe for topic {}", topicName);
           }
-          partitionsRequestMap.put(partitionId, new Long2ObjectHashMap<>());
-          messagingService.registerHandler(
+          // the sequence outlives the subscription, as responses to requests of a previous
+          // subscription may still be sent afterwards and must not match any new request
+          final var requestSequence =
+              partitionsRequestSequences.computeIfAbsent(partitionId, id -> new AtomicLong());
+          partitionsRequests.put(
+              partitionId,
+              new InFlightRequests(requestSequence, MAX_IN_FLIGHT_REQUESTS_PER_PARTITION));
+          messagingService.registerBufferHandler(
               topicName,
               (sender, request) -> handleAtomixRequest(request, partitionId, requestHandler));
         });
@@ -89,84 +110,96 @@ public class AtomixServerTransport extends Actor implements ServerTransport {
 
     messagingService.unregisterHandler(topicName);
 
-    final var requestMap = partitionsRequestMap.remove(partitionId);
-    if (requestMap != null) {
-      requestMap.clear();
+    final var requests = partitionsRequests.remove(partitionId);
+    if (requests != null) {
+      // the requests are only released by the messaging service once they are completed
+      requests.close(new IllegalStateException(String.format(ERROR_MSG_UNSUBSCRIBED, partitionId)));
     }
   }
 
-  private CompletableFuture<byte[]> handleAtomixRequest(
-      final byte[] requestBytes, final int partitionId, final RequestHandler requestHandler) {
-    final var completableFuture = new CompletableFuture<byte[]>();
-    actor.call(
-        () -> {
-          final var requestId = requestCount.getAndIncrement();
-          final var requestMap = partitionsRequestMap.get(partitionId);
-          if (requestMap == null) {
-            final var errorMsg = String.format(ERROR_MSG_MISSING_PARTITON_MAP, partitionId);
-            LOG.trace(errorMsg);
-            completableFuture.completeExceptionally(new IllegalStateException(errorMsg));
-            return;
-          }
+  private CompletableFuture<MessagePayload> handleAtomixRequest(
+      final DirectBuffer request, final int partitionId, final RequestHandler requestHandler) {
+    final var requests = partitionsRequests.get(partitionId);
+    if (requests == null) {
+      final var errorMsg = String.format(ERROR_MSG_MISSING_PARTITON_MAP, partitionId);
+      LOG.trace(errorMsg);
+      return CompletableFuture.failedFuture(new IllegalStateException(errorMsg));
+    }
 
-          try {
-            reusableRequestBuffer.wrap(requestBytes);
-            requestHandler.onRequest(
-                this, partitionId, requestId, reusableRequestBuffer, 0, requestBytes.length);
-            if (LOG.isTraceEnabled()) {
-              LOG.trace("Handled request {} for topic {}", requestId, topicName(partitionId));
-            }
-            // we only add the request to the map after successful handling
-            requestMap.put(requestId, completableFuture);
-          } catch (final Exception exception) {
-            LOG.error(
-                "Unexpected exception on handling request for partition {}.",
-                partitionId,
-                exception);
-            completableFuture.completeExceptionally(exception);
-          }
-        });
+    // the request is registered before it is handled, as the response may be sent concurrently
+    final var pendingRequest = requests.register();
+    if (pendingRequest == null) {
+      final var errorMsg =
+          String.format(
+              ERROR_MSG_TOO_MANY_REQUESTS, partitionId, MAX_IN_FLIGHT_REQUESTS_PER_PARTITION);
+      LOG.trace(errorMsg);
+      return CompletableFuture.failedFuture(new IllegalStateException(errorMsg));
+    }
 
-    return completableFuture;
+    actor.run(() -> handleRequest(request, partitionId, requestHandler, requests, pendingRequest));
+    return pendingRequest;
+  }
+
+  private void handleRequest(
+      final DirectBuffer request,
+      final int partitionId,
+      final RequestHandler requestHandler,
+      final InFlightRequests requests,
+      final PendingRequest pendingRequest) {
+    if (pendingRequest.isDone()) {
+      // the partition was unsubscribed in the meantime, and the request may already be released
+      return;
+    }
+
+    final var requestId = pendingRequest.getRequestId();
+    try {
+      // the request is a view of the received frame, which is valid until we respond
+      reusableRequestBuffer.wrap(request);
+      requestHandler.onRequest(
+          this, partitionId, requestId, reusableRequestBuffer, 0, request.capacity());
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("Handled request {} for topic {}", requestId, topicName(partitionId));
+      }
+    } catch (final Exception exception) {
+      LOG.error(
+          "Unexpected exception on handling request for partition {}.", partitionId, exception);
+      requests.remove(requestId);
+      pendingRequest.completeExceptionally(exception);
+    }
   }
 
   @Override
   public void sendResponse(final ServerResponse response) {
     final var requestId = response.getRequestId();
     final var partitionId = response.getPartitionId();
-    final var length = response.getLength();
-    final var bytes = new byte[length];
-
-    // here we can't reuse an buffer, because sendResponse can be called concurrently
-    final var unsafeBuffer = new UnsafeBuffer(bytes);
-    response.write(unsafeBuffer, 0);
 
-    actor.run(
-        () -> {
-          final var requestMap = partitionsRequestMap.get(partitionId);
-          if (requestMap == null) {
-            LOG.warn(
-                "Node is no longer leader for partition {}, tried to respond on request with id {}",
-                partitionId,
-                requestId);
-            return;
-          }
+    final var requests = partitionsRequests.get(partitionId);
+    if (requests == null) {
+      LOG.warn(
+          "Node is no longer leader for partition {}, tried to respond on request with id {}",
+          partitionId,
+          requestId);
+      return;
+    }
 
-          final var completableFuture = requestMap.remove(requestId);
-          if (completableFuture != null) {
-            if (LOG.isTraceEnabled()) {
-              LOG.trace(
-                  "Send response to request {} for topic {}", requestId, topicName(partitionId));
-            }
-
-            completableFuture.complete(bytes);
-          } else if (LOG.isTraceEnabled()) {
-            LOG.trace(
-                "Wasn't able to send response to request {} for topic {}",
-                requestId,
-                topicName(partitionId));
-          }
-        });
+    final var pendingRequest = requests.remove(requestId);
+    if (pendingRequest != null) {
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("Send response to request {} for topic {}", requestId, topicName(partitionId));
+      }
+
+      // here we can't reuse an buffer, because sendResponse can be called concurrently; the pooled
+      // copy is released by the messaging service once it was sent
+      final var payload = MessagePayload.copyOf(response);
+      if (!pendingRequest.complete(payload)) {
+        payload.release();
+      }
+    } else if (LOG.isTraceEnabled()) {
+      LOG.trace(
+          "Wasn't able to send response to request {} for topic {}",
+          requestId,
+          topicName(partitionId));
+    }
   }
 
   static String topicName(final int partitionId) {
@@ -0,0 +1,117 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport.impl;
+
+import io.atomix.cluster.messaging.MessagePayload;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.agrona.BitUtil;
+
+/**
+ * Tracks the requests of a partition which wait for a response, in a preallocated ring of slots
+ * which is indexed by the request id. Request ids are taken from a sequence per partition. Both
+ * registering and completing a request are lock-free, such that a response can be sent from any
+ * thread.
+ *
+ * <p>A slot can only be reused once its previous request was removed. If a slot is still occupied,
+ * the next request id is tried instead, such that a request which is never responded to only blocks
+ * its own slot. Only if all slots are occupied, a request is rejected.
+ */
+final class InFlightRequests {
+
+  private final AtomicLong requestSequence;
+  private final AtomicReferenceArray<PendingRequest> slots;
+  private final int mask;
+  private volatile boolean closed;
+
+  InFlightRequests(final AtomicLong requestSequence, final int capacity) {
+    this.requestSequence = requestSequence;
+    final int size = BitUtil.findNextPositivePowerOfTwo(capacity);
+    slots = new AtomicReferenceArray<>(size);
+    mask = size - 1;
+  }
+
+  /**
+   * Registers a new request, which waits for its response until it is removed again.
+   *
+   * @return the registered request, or null if all slots are occupied or this was already closed
+   */
+  PendingRequest register() {
+    for (int attempt = 0; attempt < slots.length() && !closed; attempt++) {
+      final long requestId = requestSequence.getAndIncrement();
+      final int slot = slot(requestId);
+      if (slots.get(slot) != null) {
+        continue;
+      }
+
+      final var request = new PendingRequest(requestId);
+      if (slots.compareAndSet(slot, null, request)) {
+        // if closed concurrently, close may or may not have seen the request; either way it must
+        // not stay registered
+        if (closed) {
+          slots.compareAndSet(slot, request, null);
+          return null;
+        }
+        return request;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Removes the request with the given id, such that it can be completed by the caller.
+   *
+   * @param requestId the id of the request to remove
+   * @return the removed request, or null if no request with this id is registered
+   */
+  PendingRequest remove(final long requestId) {
+    final int slot = slot(requestId);
+    final var request = slots.get(slot);
+    if (request != null
+        && request.getRequestId() == requestId
+        && slots.compareAndSet(slot, request, null)) {
+      return request;
+    }
+
+    return null;
+  }
+
+  /**
+   * Rejects all further registrations, and completes all registered requests exceptionally.
+   *
+   * @param error the error with which to complete the registered requests
+   */
+  void close(final Throwable error) {
+    closed = true;
+    for (int slot = 0; slot < slots.length(); slot++) {
+      final var request = slots.getAndSet(slot, null);
+      if (request != null) {
+        request.completeExceptionally(error);
+      }
+    }
+  }
+
+  private int slot(final long requestId) {
+    return (int) (requestId & mask);
+  }
+
+  /** A request which waits for its response; completed with the serialized response. */
+  static final class PendingRequest extends CompletableFuture<MessagePayload> {
+    private final long requestId;
+
+    private PendingRequest(final long requestId) {
+      this.requestId = requestId;
+    }
+
+    long getRequestId() {
+      return requestId;
+    }
+  }
+}
@@ -9,6 +9,7 @@ package io.zeebe.transport.impl;
 
 import static io.zeebe.transport.impl.AtomixServerTransport.topicName;
 
+import io.atomix.cluster.messaging.MessagePayload;
 import io.atomix.utils.net.Address;
 import io.zeebe.util.sched.ScheduledTimer;
 import io.zeebe.util.sched.clock.ActorClock;
@@ -24,26 +25,27 @@ final class RequestContext {
   private final CompletableActorFuture<DirectBuffer> currentFuture;
   private final Supplier<String> nodeAddressSupplier;
   private final int partitionId;
-  private final byte[] requestBytes;
+  private final MessagePayload request;
   private final boolean shouldRetry;
   private final long startTime;
   private final Duration timeout;
   private final Predicate<DirectBuffer> responseValidator;
 
   private ScheduledTimer scheduledTimer;
+  private boolean released;
 
   RequestContext(
       final CompletableActorFuture<DirectBuffer> currentFuture,
       final Supplier<String> nodeAddressSupplier,
       final int partitionId,
-      final byte[] requestBytes,
+      final MessagePayload request,
       final Predicate<DirectBuffer> responseValidator,
       final boolean shouldRetry,
       final Duration timeout) {
     this.currentFuture = currentFuture;
     this.nodeAddressSupplier = nodeAddressSupplier;
     this.partitionId = partitionId;
-    this.requestBytes = requestBytes;
+    this.request = request;
     this.shouldRetry = shouldRetry;
     startTime = ActorClock.currentTimeMillis();
     this.responseValidator = responseValidator;
@@ -63,8 +65,8 @@ final class RequestContext {
     return topicName(partitionId);
   }
 
-  byte[] getRequestBytes() {
-    return requestBytes;
+  MessagePayload getRequest() {
+    return request;
   }
 
   public Duration getTimeout() {
@@ -90,11 +92,22 @@ final class RequestContext {
   public void complete(final DirectBuffer buffer) {
     currentFuture.complete(buffer);
     cancelTimer();
+    releaseRequest();
   }
 
   public void completeExceptionally(final Throwable throwable) {
     currentFuture.completeExceptionally(throwable);
     cancelTimer();
+    releaseRequest();
+  }
+
+  private void releaseRequest() {
+    // the messaging service no longer needs the request once it returned from sending it, so it
+    // can be released while a response to it may still arrive
+    if (!released) {
+      released = true;
+      request.release();
+    }
   }
 
   private void cancelTimer() {
@@ -110,6 +123,7 @@ final class RequestContext {
   public void timeout() {
     currentFuture.completeExceptionally(
         new TimeoutException("Request timed out after " + timeout.toString()));
+    releaseRequest();
   }
 
   public boolean shouldRetry() {
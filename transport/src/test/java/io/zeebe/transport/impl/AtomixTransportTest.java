@@ -22,6 +22,7 @@ import io.zeebe.transport.RequestHandler;
 import io.zeebe.transport.ServerOutput;
 import io.zeebe.transport.ServerTransport;
 import io.zeebe.transport.TransportFactory;
+import io.zeebe.util.buffer.BufferUtil;
 import io.zeebe.util.sched.testing.ActorSchedulerRule;
 import java.net.ConnectException;
 import java.time.Duration;
@@ -231,6 +232,30 @@ public class AtomixTransportTest {
     assertThat(incomingRequestFuture).isNotCompleted();
   }
 
+  @Test
+  public void shouldFailPendingRequestsOnUnsubscribe() {
+    // given
+    final var incomingRequestFuture = new CompletableFuture<byte[]>();
+    serverTransport
+        .subscribe(
+            0,
+            (output, partitionId, requestId, buffer, offset, length) ->
+                incomingRequestFuture.complete(BufferUtil.bufferAsArray(buffer)))
+        .join();
+    final var requestFuture =
+        clientTransport.sendRequest(
+            nodeAddressSupplier, new Request("messageABC"), REQUEST_TIMEOUT);
+    incomingRequestFuture.join();
+
+    // when
+    serverTransport.unsubscribe(0).join();
+
+    // then
+    assertThatThrownBy(requestFuture::join)
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(MessagingException.RemoteHandlerFailure.class);
+  }
+
   @Test
   public void shouldTimeoutAfterDurationOnNonExistingRemote() {
     // given
@@ -341,14 +366,42 @@ public class AtomixTransportTest {
     assertThat(response.byteArray()).isEqualTo("messageABC".getBytes());
   }
 
+  @Test
+  public void shouldSendRequestAsItWasWhenSentIfReusedBeforeSending() throws InterruptedException {
+    // given
+    final var retryLatch = new CountDownLatch(3);
+    final var request = new Request("messageABC");
+    final var requestFuture =
+        clientTransport.sendRequestWithRetry(
+            () -> {
+              retryLatch.countDown();
+              return serverAddress;
+            },
+            request,
+            REQUEST_TIMEOUT);
+
+    // when
+    retryLatch.await(REQUEST_TIMEOUT.dividedBy(2).toMillis(), TimeUnit.MILLISECONDS);
+    request.setMsg("messageXYZ");
+    serverTransport.subscribe(0, new DirectlyResponder());
+
+    // then
+    final var response = requestFuture.join();
+    assertThat(response.byteArray()).isEqualTo("messageABC".getBytes());
+  }
+
   private static final class Request implements ClientRequest {
 
-    private final String msg;
+    private String msg;
 
     public Request(final String msg) {
       this.msg = msg;
     }
 
+    public void setMsg(final String msg) {
+      this.msg = msg;
+    }
+
     @Override
     public int getPartitionId() {
       return 0;
@@ -390,7 +443,7 @@ public class AtomixTransportTest {
               .buffer(buffer, 0, length)
               .setRequestId(requestId)
               .setPartitionId(partitionId);
-      requestConsumer.accept(buffer.byteArray());
+      requestConsumer.accept(BufferUtil.bufferAsArray(buffer));
       serverOutput.sendResponse(serverResponse);
     }
   }
@@ -0,0 +1,115 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+public final class InFlightRequestsTest {
+
+  private final InFlightRequests requests = new InFlightRequests(new AtomicLong(), 4);
+
+  @Test
+  public void shouldAssignIdsFromSequence() {
+    // when
+    final var first = requests.register();
+    final var second = requests.register();
+
+    // then
+    assertThat(first.getRequestId()).isZero();
+    assertThat(second.getRequestId()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRemoveRegisteredRequest() {
+    // given
+    final var request = requests.register();
+
+    // when
+    final var removed = requests.remove(request.getRequestId());
+
+    // then
+    assertThat(removed).isSameAs(request);
+    assertThat(requests.remove(request.getRequestId())).isNull();
+  }
+
+  @Test
+  public void shouldNotRemoveRequestWithDifferentIdInSameSlot() {
+    // given
+    for (int i = 0; i < 4; i++) {
+      requests.remove(requests.register().getRequestId());
+    }
+    final var request = requests.register();
+
+    // when
+    final var removed = requests.remove(request.getRequestId() - 4);
+
+    // then
+    assertThat(removed).isNull();
+    assertThat(requests.remove(request.getRequestId())).isSameAs(request);
+  }
+
+  @Test
+  public void shouldSkipOccupiedSlots() {
+    // given
+    final var pending = requests.register();
+    requests.remove(requests.register().getRequestId());
+    requests.remove(requests.register().getRequestId());
+    requests.remove(requests.register().getRequestId());
+
+    // when
+    final var request = requests.register();
+
+    // then
+    assertThat(request.getRequestId()).isEqualTo(pending.getRequestId() + 5);
+  }
+
+  @Test
+  public void shouldRejectRequestIfAllSlotsAreOccupied() {
+    // given
+    for (int i = 0; i < 4; i++) {
+      requests.register();
+    }
+
+    // when
+    final var request = requests.register();
+
+    // then
+    assertThat(request).isNull();
+  }
+
+  @Test
+  public void shouldCompletePendingRequestsOnClose() {
+    // given
+    final var request = requests.register();
+    final var error = new IllegalStateException("closed");
+
+    // when
+    requests.close(error);
+
+    // then
+    assertThat(request.handle((response, failure) -> failure).join()).isSameAs(error);
+    assertThat(requests.remove(request.getRequestId())).isNull();
+    assertThat(requests.register()).isNull();
+  }
+
+  @Test
+  public void shouldContinueSequenceOfPreviousRequests() {
+    // given
+    final var sequence = new AtomicLong(10);
+
+    // when
+    final var request = new InFlightRequests(sequence, 4).register();
+
+    // then
+    assertThat(request.getRequestId()).isEqualTo(10);
+    assertThat(sequence.get()).isEqualTo(11);
+  }
+}
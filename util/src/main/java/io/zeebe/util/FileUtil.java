@@ -19,6 +19,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.function.Predicate;
 import org.slf4j.Logger;
 
 public final class FileUtil {
@@ -65,17 +66,37 @@ public final class FileUtil {
 
   public static void copySnapshot(final Path runtimeDirectory, final Path snapshotDirectory)
       throws Exception {
-    Files.walkFileTree(snapshotDirectory, new SnapshotCopier(snapshotDirectory, runtimeDirectory));
+    copySnapshot(runtimeDirectory, snapshotDirectory, file -> false);
+  }
+
+  /**
+   * Copies the given snapshot into the runtime directory. Files which are never modified once
+   * written, as determined by the given predicate, are hard linked instead of copied, such that
+   * they share their content with the snapshot. If a file cannot be linked, e.g. because the
+   * directories are on different file systems, it is copied instead.
+   *
+   * @param runtimeDirectory the directory to copy the snapshot to
+   * @param snapshotDirectory the directory of the snapshot
+   * @param isImmutable returns true for files which can be linked instead of copied
+   */
+  public static void copySnapshot(
+      final Path runtimeDirectory, final Path snapshotDirectory, final Predicate<Path> isImmutable)
+      throws Exception {
+    Files.walkFileTree(
+        snapshotDirectory, new SnapshotCopier(snapshotDirectory, runtimeDirectory, isImmutable));
   }
 
   public static final class SnapshotCopier extends SimpleFileVisitor<Path> {
 
     private final Path targetPath;
     private final Path sourcePath;
+    private final Predicate<Path> isImmutable;
 
-    SnapshotCopier(final Path sourcePath, final Path targetPath) {
+    SnapshotCopier(
+        final Path sourcePath, final Path targetPath, final Predicate<Path> isImmutable) {
       this.sourcePath = sourcePath;
       this.targetPath = targetPath;
+      this.isImmutable = isImmutable;
     }
 
     @Override
@@ -96,6 +117,10 @@ public final class FileUtil {
     public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
       final Path newFile = targetPath.resolve(sourcePath.relativize(file));
 
+      if (isImmutable.test(file) && tryLink(file, newFile)) {
+        return CONTINUE;
+      }
+
       try {
         Files.copy(file, newFile);
       } catch (final IOException ioException) {
@@ -105,6 +130,16 @@ public final class FileUtil {
       return CONTINUE;
     }
 
+    private boolean tryLink(final Path file, final Path newFile) {
+      try {
+        Files.createLink(newFile, file);
+        return true;
+      } catch (final IOException | UnsupportedOperationException linkException) {
+        LOG.debug("Failed to link {} to {}, copying it instead.", file, newFile, linkException);
+        return false;
+      }
+    }
+
     @Override
     public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
       LOG.error("Problem on copying snapshot to runtime.", exc);
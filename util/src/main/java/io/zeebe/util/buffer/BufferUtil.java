@@ -212,4 +212,35 @@ public final class BufferUtil {
 
     return true;
   }
+
+  /**
+   * Performs byte wise comparison of a given buffer and a prefix, without copying any of them.
+   *
+   * @param prefix the prefix to look for
+   * @param prefixOffset offset in the prefix buffer
+   * @param prefixLength length of the prefix
+   * @param content the buffer to check against
+   * @param contentOffset the offset in the content buffer
+   * @param contentLength the length of the content to check
+   * @return true if buffer starts with the all bytes contained in prefix
+   */
+  public static boolean startsWith(
+      final DirectBuffer prefix,
+      final int prefixOffset,
+      final int prefixLength,
+      final DirectBuffer content,
+      int contentOffset,
+      final int contentLength) {
+    if (contentLength < prefixLength) {
+      return false;
+    }
+
+    for (int i = prefixOffset; i < prefixLength; i++, contentOffset++) {
+      if (content.getByte(contentOffset) != prefix.getByte(i)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
 }
@@ -12,7 +12,9 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -46,4 +48,43 @@ public final class FileUtilTest {
             })
         .isInstanceOf(NoSuchFileException.class);
   }
+
+  @Test
+  public void shouldLinkImmutableFilesOnCopySnapshot() throws Exception {
+    // given
+    final Path snapshot = tempFolder.newFolder("snapshot").toPath();
+    final Path runtime = tempFolder.getRoot().toPath().resolve("runtime");
+    Files.writeString(snapshot.resolve("000001.sst"), "immutable");
+    Files.writeString(snapshot.resolve("MANIFEST-000001"), "mutable");
+
+    // when
+    FileUtil.copySnapshot(
+        runtime, snapshot, file -> file.getFileName().toString().endsWith(".sst"));
+
+    // then
+    assertThat(runtime.resolve("000001.sst")).hasContent("immutable");
+    assertThat(runtime.resolve("MANIFEST-000001")).hasContent("mutable");
+    assertThat(Files.isSameFile(runtime.resolve("000001.sst"), snapshot.resolve("000001.sst")))
+        .isTrue();
+    assertThat(
+            Files.isSameFile(
+                runtime.resolve("MANIFEST-000001"), snapshot.resolve("MANIFEST-000001")))
+        .isFalse();
+  }
+
+  @Test
+  public void shouldCopyAllFilesOnCopySnapshot() throws Exception {
+    // given
+    final Path snapshot = tempFolder.newFolder("snapshot").toPath();
+    final Path runtime = tempFolder.getRoot().toPath().resolve("runtime");
+    Files.writeString(snapshot.resolve("000001.sst"), "immutable");
+
+    // when
+    FileUtil.copySnapshot(runtime, snapshot);
+
+    // then
+    assertThat(runtime.resolve("000001.sst")).hasContent("immutable");
+    assertThat(Files.isSameFile(runtime.resolve("000001.sst"), snapshot.resolve("000001.sst")))
+        .isFalse();
+  }
 }
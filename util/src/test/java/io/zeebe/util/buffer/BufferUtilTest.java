@@ -111,6 +111,25 @@ public final class BufferUtilTest {
     assertThat(bytes).isNotSameAs(BYTES1);
   }
 
+  @Test
+  public void shouldCheckIfDirectBufferStartsWithPrefix() {
+    // given
+    final var content = new ExpandableDirectByteBuffer();
+    content.putBytes(0, BYTES3);
+
+    // then
+    assertThat(BufferUtil.startsWith(asBuffer(BYTES1), 0, BYTES1.length, content, 0, BYTES3.length))
+        .isTrue();
+    assertThat(BufferUtil.startsWith(asBuffer(BYTES2), 0, BYTES2.length, content, 0, BYTES3.length))
+        .isFalse();
+    assertThat(
+            BufferUtil.startsWith(
+                asBuffer(BYTES2), 0, BYTES2.length, content, BYTES1.length, BYTES2.length))
+        .isTrue();
+    assertThat(BufferUtil.startsWith(asBuffer(BYTES3), 0, BYTES3.length, content, 0, BYTES1.length))
+        .isFalse();
+  }
+
   public DirectBuffer asBuffer(final byte[] bytes) {
     return new UnsafeBuffer(bytes);
   }
@@ -61,4 +61,13 @@ public interface ZeebeDb<ColumnFamilyType extends Enum<ColumnFamilyType>> extend
    * @return {@code true} if the column is empty, otherwise {@code false}
    */
   boolean isEmpty(ColumnFamilyType column, TransactionContext context);
+
+  /**
+   * Removes all key-value pairs of the given column family at once, which is much cheaper than
+   * deleting them one by one. This is not part of any transaction, so it should not be called while
+   * a transaction which modifies the column family is open.
+   *
+   * @param column the enum of the column family to drop
+   */
+  void dropColumnFamily(ColumnFamilyType column);
 }
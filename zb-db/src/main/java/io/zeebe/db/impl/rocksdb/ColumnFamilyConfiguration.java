@@ -0,0 +1,101 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb;
+
+import org.rocksdb.CompactionStyle;
+
+/**
+ * Tuning of a single column family. Except for the read cache, the settings are only used for
+ * physical column families, see {@link
+ * RocksDbConfiguration#setPhysicalColumnFamiliesEnabled(boolean)}, and only apply on top of Zeebe's
+ * default column family options; user-provided column family options replace them completely.
+ */
+public final class ColumnFamilyConfiguration {
+
+  public static final int DEFAULT_PREFIX_EXTRACTOR_LENGTH = Long.BYTES;
+  public static final int DEFAULT_BLOOM_FILTER_BITS_PER_KEY = 10;
+  public static final CompactionStyle DEFAULT_COMPACTION_STYLE = CompactionStyle.LEVEL;
+  public static final long DEFAULT_READ_CACHE_SIZE = 0;
+
+  /**
+   * The length of the key prefix which is used for prefix bloom filters and prefix seeks. Every key
+   * starts with the 8 byte column family prefix, so a longer prefix only makes sense if the keys of
+   * the column family start with a common fixed length part, e.g. a long key.
+   */
+  private int prefixExtractorLength = DEFAULT_PREFIX_EXTRACTOR_LENGTH;
+
+  private int bloomFilterBitsPerKey = DEFAULT_BLOOM_FILTER_BITS_PER_KEY;
+
+  /**
+   * The compaction style of the column family. Universal compaction reduces the write amplification
+   * for short-lived entries, e.g. of queue-like column families. Be aware that FIFO compaction
+   * deletes the oldest files once the column family grows too large, regardless of whether their
+   * entries are still in use.
+   *
+   * <p>https://github.com/facebook/rocksdb/wiki/Compaction
+   */
+  private CompactionStyle compactionStyle = DEFAULT_COMPACTION_STYLE;
+
+  /**
+   * The approximate amount of memory in bytes used to cache the committed entries of the column
+   * family in memory, such that repeated reads of the same keys don't have to go to RocksDB. The
+   * least recently used entries are evicted once the cache is full. Setting it to 0 (the default)
+   * disables the cache.
+   */
+  private long readCacheSize = DEFAULT_READ_CACHE_SIZE;
+
+  public int getPrefixExtractorLength() {
+    return prefixExtractorLength;
+  }
+
+  public ColumnFamilyConfiguration setPrefixExtractorLength(final int prefixExtractorLength) {
+    this.prefixExtractorLength = prefixExtractorLength;
+    return this;
+  }
+
+  public int getBloomFilterBitsPerKey() {
+    return bloomFilterBitsPerKey;
+  }
+
+  public ColumnFamilyConfiguration setBloomFilterBitsPerKey(final int bloomFilterBitsPerKey) {
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+    return this;
+  }
+
+  public CompactionStyle getCompactionStyle() {
+    return compactionStyle;
+  }
+
+  public ColumnFamilyConfiguration setCompactionStyle(final CompactionStyle compactionStyle) {
+    this.compactionStyle = compactionStyle;
+    return this;
+  }
+
+  public long getReadCacheSize() {
+    return readCacheSize;
+  }
+
+  public ColumnFamilyConfiguration setReadCacheSize(final long readCacheSize) {
+    this.readCacheSize = readCacheSize;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "ColumnFamilyConfiguration{"
+        + "prefixExtractorLength="
+        + prefixExtractorLength
+        + ", bloomFilterBitsPerKey="
+        + bloomFilterBitsPerKey
+        + ", compactionStyle="
+        + compactionStyle
+        + ", readCacheSize="
+        + readCacheSize
+        + '}';
+  }
+}
@@ -7,6 +7,8 @@
  */
 package io.zeebe.db.impl.rocksdb;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 public final class RocksDbConfiguration {
@@ -18,6 +20,8 @@ public final class RocksDbConfiguration {
   public static final boolean DEFAULT_STATISTICS_ENABLED = false;
   public static final boolean DEFAULT_WAL_DISABLED = false;
   public static final int DEFAULT_IO_RATE_BYTES_PER_SECOND = 0;
+  public static final boolean DEFAULT_PHYSICAL_COLUMN_FAMILIES_ENABLED = false;
+  public static final boolean DEFAULT_WRITE_BATCH_TRANSACTIONS_ENABLED = false;
 
   private Properties columnFamilyOptions = new Properties();
   private boolean statisticsEnabled = DEFAULT_STATISTICS_ENABLED;
@@ -46,6 +50,30 @@ public final class RocksDbConfiguration {
    */
   private int ioRateBytesPerSecond = DEFAULT_IO_RATE_BYTES_PER_SECOND;
 
+  /**
+   * Stores each logical column family in its own physical RocksDB column family, instead of storing
+   * all of them in the default column family. This gives each column family its own memtables,
+   * compactions and filters, which can be tuned per column family via {@link
+   * #setColumnFamilyConfigurations(Map)}. The memtables of all column families share the memory
+   * limit.
+   *
+   * <p>A logical column family which already has entries in the default column family stays there,
+   * and one which already has its own physical column family keeps it even if this is disabled
+   * again, such that existing state is never lost.
+   */
+  private boolean physicalColumnFamiliesEnabled = DEFAULT_PHYSICAL_COLUMN_FAMILIES_ENABLED;
+
+  /**
+   * Keeps the writes of a transaction in an indexed write batch, which is written to a plain
+   * RocksDB database on commit, instead of using optimistic RocksDB transactions. This avoids
+   * tracking the written keys for conflict detection, but concurrent transactions writing the same
+   * keys overwrite each other. It must only be enabled if there is a single writer, as with the
+   * stream processor.
+   */
+  private boolean writeBatchTransactionsEnabled = DEFAULT_WRITE_BATCH_TRANSACTIONS_ENABLED;
+
+  private Map<String, ColumnFamilyConfiguration> columnFamilyConfigurations = new HashMap<>();
+
   public RocksDbConfiguration() {}
 
   public Properties getColumnFamilyOptions() {
@@ -112,6 +140,45 @@ public final class RocksDbConfiguration {
     return this;
   }
 
+  public boolean isPhysicalColumnFamiliesEnabled() {
+    return physicalColumnFamiliesEnabled;
+  }
+
+  public RocksDbConfiguration setPhysicalColumnFamiliesEnabled(
+      final boolean physicalColumnFamiliesEnabled) {
+    this.physicalColumnFamiliesEnabled = physicalColumnFamiliesEnabled;
+    return this;
+  }
+
+  public boolean isWriteBatchTransactionsEnabled() {
+    return writeBatchTransactionsEnabled;
+  }
+
+  public RocksDbConfiguration setWriteBatchTransactionsEnabled(
+      final boolean writeBatchTransactionsEnabled) {
+    this.writeBatchTransactionsEnabled = writeBatchTransactionsEnabled;
+    return this;
+  }
+
+  public Map<String, ColumnFamilyConfiguration> getColumnFamilyConfigurations() {
+    return columnFamilyConfigurations;
+  }
+
+  /**
+   * @param columnFamilyConfigurations the tuning of the column families, by the name of the logical
+   *     column family
+   */
+  public RocksDbConfiguration setColumnFamilyConfigurations(
+      final Map<String, ColumnFamilyConfiguration> columnFamilyConfigurations) {
+    this.columnFamilyConfigurations = columnFamilyConfigurations;
+    return this;
+  }
+
+  public ColumnFamilyConfiguration getColumnFamilyConfiguration(final String columnFamilyName) {
+    return columnFamilyConfigurations.getOrDefault(
+        columnFamilyName, new ColumnFamilyConfiguration());
+  }
+
   public boolean isWalDisabled() {
     return walDisabled;
   }
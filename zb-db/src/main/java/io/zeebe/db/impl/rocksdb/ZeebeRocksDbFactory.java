@@ -15,12 +15,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.function.Function;
 import org.agrona.CloseHelper;
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.BloomFilter;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.CompactionPriority;
-import org.rocksdb.CompactionStyle;
 import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
 import org.rocksdb.DataBlockIndexType;
@@ -33,6 +33,7 @@ import org.rocksdb.RocksDBException;
 import org.rocksdb.Statistics;
 import org.rocksdb.StatsLevel;
 import org.rocksdb.TableFormatConfig;
+import org.rocksdb.WriteBufferManager;
 
 public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamilyType>>
     implements ZeebeDbFactory<ColumnFamilyType> {
@@ -63,17 +64,36 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
     final List<AutoCloseable> closeables = new ArrayList<>();
     try {
       // column family options have to be closed as last
-      final var columnFamilyOptions = createColumnFamilyOptions(closeables);
+      final var blockCache = createBlockCache(closeables);
+      final var columnFamilyOptions =
+          createColumnFamilyOptions(closeables, blockCache, new ColumnFamilyConfiguration());
       closeables.add(columnFamilyOptions);
-      final var dbOptions = createDefaultDbOptions(closeables);
+      final var dbOptions = createDefaultDbOptions(closeables, blockCache);
       closeables.add(dbOptions);
 
       final var options = new Options(dbOptions, columnFamilyOptions);
       closeables.add(options);
 
-      db =
-          ZeebeTransactionDb.openTransactionalDb(
-              options, pathName.getAbsolutePath(), closeables, rocksDbConfiguration);
+      final Function<String, ColumnFamilyOptions> physicalColumnFamilyOptionsFactory =
+          columnFamilyName ->
+              createPhysicalColumnFamilyOptions(closeables, blockCache, columnFamilyName);
+      if (rocksDbConfiguration.isWriteBatchTransactionsEnabled()) {
+        db =
+            ZeebeTransactionDb.openWriteBatchDb(
+                options,
+                pathName.getAbsolutePath(),
+                closeables,
+                rocksDbConfiguration,
+                physicalColumnFamilyOptionsFactory);
+      } else {
+        db =
+            ZeebeTransactionDb.openTransactionalDb(
+                options,
+                pathName.getAbsolutePath(),
+                closeables,
+                rocksDbConfiguration,
+                physicalColumnFamilyOptionsFactory);
+      }
 
     } catch (final RocksDBException e) {
       CloseHelper.quietCloseAll(closeables);
@@ -82,7 +102,8 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
     return db;
   }
 
-  private DBOptions createDefaultDbOptions(final List<AutoCloseable> closeables) {
+  private DBOptions createDefaultDbOptions(
+      final List<AutoCloseable> closeables, final LRUCache blockCache) {
     final var dbOptions =
         new DBOptions()
             .setErrorIfExists(false)
@@ -91,7 +112,7 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
             .setMaxOpenFiles(rocksDbConfiguration.getMaxOpenFiles())
             // 1 flush, 1 compaction
             .setMaxBackgroundJobs(2)
-            // we only use the default CF
+            // physical column families are created explicitly once they are used
             .setCreateMissingColumnFamilies(false)
             // may not be necessary when WAL is disabled, but nevertheless recommended to avoid
             // many small SST files
@@ -111,6 +132,17 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
       dbOptions.setRateLimiter(rateLimiter);
     }
 
+    if (rocksDbConfiguration.isPhysicalColumnFamiliesEnabled()) {
+      // every physical column family has its own memtables, so we limit the memory of all
+      // memtables together to the memory which would otherwise be used by a single one. The
+      // manager charges the memtable memory to the block cache, which is sized to hold this budget
+      // in addition to the blocks (see createBlockCache); otherwise the reservations for the
+      // memtables would evict the data, index and filter blocks
+      final var writeBufferManager = new WriteBufferManager(getWriteBufferMemory(), blockCache);
+      closeables.add(writeBufferManager);
+      dbOptions.setWriteBufferManager(writeBufferManager);
+    }
+
     if (rocksDbConfiguration.isStatisticsEnabled()) {
       final var statistics = new Statistics();
       closeables.add(statistics);
@@ -128,6 +160,14 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
 
   /** @return Options which are used on all column families */
   ColumnFamilyOptions createColumnFamilyOptions(final List<AutoCloseable> closeables) {
+    return createColumnFamilyOptions(
+        closeables, createBlockCache(closeables), new ColumnFamilyConfiguration());
+  }
+
+  private ColumnFamilyOptions createColumnFamilyOptions(
+      final List<AutoCloseable> closeables,
+      final LRUCache blockCache,
+      final ColumnFamilyConfiguration columnFamilyConfiguration) {
     final var userProvidedColumnFamilyOptions = rocksDbConfiguration.getColumnFamilyOptions();
     final var hasUserOptions = !userProvidedColumnFamilyOptions.isEmpty();
 
@@ -135,7 +175,25 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
       return createFromUserOptions(userProvidedColumnFamilyOptions);
     }
 
-    return createDefaultColumnFamilyOptions(closeables);
+    return createDefaultColumnFamilyOptions(closeables, blockCache, columnFamilyConfiguration);
+  }
+
+  private ColumnFamilyOptions createPhysicalColumnFamilyOptions(
+      final List<AutoCloseable> closeables,
+      final LRUCache blockCache,
+      final String columnFamilyName) {
+    final List<AutoCloseable> optionsCloseables = new ArrayList<>();
+    final var columnFamilyOptions =
+        createColumnFamilyOptions(
+            optionsCloseables,
+            blockCache,
+            rocksDbConfiguration.getColumnFamilyConfiguration(columnFamilyName));
+    optionsCloseables.add(columnFamilyOptions);
+
+    // column family options have to be closed as last, even if the column family is only created
+    // after the database was opened
+    closeables.addAll(0, optionsCloseables);
+    return columnFamilyOptions;
   }
 
   private ColumnFamilyOptions createFromUserOptions(
@@ -155,13 +213,13 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
   }
 
   private ColumnFamilyOptions createDefaultColumnFamilyOptions(
-      final List<AutoCloseable> closeables) {
+      final List<AutoCloseable> closeables,
+      final LRUCache blockCache,
+      final ColumnFamilyConfiguration columnFamilyConfiguration) {
     final var columnFamilyOptions = new ColumnFamilyOptions();
 
     final var totalMemoryBudget = rocksDbConfiguration.getMemoryLimit();
-    // recommended by RocksDB, but we could tweak it; keep in mind we're also caching the indexes
-    // and filters into the block cache, so we don't need to account for more memory there
-    final var blockCacheMemory = totalMemoryBudget / 3;
+    final var blockCacheMemory = getBlockCacheMemory();
     // flushing the memtables is done asynchronously, so there may be multiple memtables in memory,
     // although only a single one is writable. once we have too many memtables, writes will stop.
     // since prefix iteration is our bread n butter, we will build an additional filter for each
@@ -179,11 +237,13 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
             ((totalMemoryBudget - blockCacheMemory) / (double) maxConcurrentMemtableCount)
                 * (1 - memtablePrefixFilterMemory));
 
-    final var tableConfig = createTableFormatConfig(closeables, blockCacheMemory);
+    final var tableConfig =
+        createTableFormatConfig(
+            closeables, blockCache, columnFamilyConfiguration.getBloomFilterBitsPerKey());
 
     return columnFamilyOptions
         // to extract our column family type (used as prefix) and seek faster
-        .useFixedLengthPrefixExtractor(Long.BYTES)
+        .useFixedLengthPrefixExtractor(columnFamilyConfiguration.getPrefixExtractorLength())
         .setMemtablePrefixBloomSizeRatio(memtablePrefixFilterMemory)
         // memtables
         // merge at least 3 memtables per L0 file, otherwise all memtables are flushed as individual
@@ -196,7 +256,7 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
         // compaction
         .setLevelCompactionDynamicLevelBytes(true)
         .setCompactionPriority(CompactionPriority.OldestSmallestSeqFirst)
-        .setCompactionStyle(CompactionStyle.LEVEL)
+        .setCompactionStyle(columnFamilyConfiguration.getCompactionStyle())
         // L-0 means immediately flushed memtables
         .setLevel0FileNumCompactionTrigger(maxConcurrentMemtableCount)
         .setLevel0SlowdownWritesTrigger(
@@ -230,18 +290,43 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
         .setTableFormatConfig(tableConfig);
   }
 
-  private TableFormatConfig createTableFormatConfig(
-      final List<AutoCloseable> closeables, final long blockCacheMemory) {
+  private long getBlockCacheMemory() {
+    // recommended by RocksDB, but we could tweak it; keep in mind we're also caching the indexes
+    // and filters into the block cache, so we don't need to account for more memory there
+    return rocksDbConfiguration.getMemoryLimit() / 3;
+  }
+
+  private long getWriteBufferMemory() {
+    return rocksDbConfiguration.getMemoryLimit() - getBlockCacheMemory();
+  }
+
+  /**
+   * @return the block cache, which is shared by all column families. With physical column families,
+   *     the memory of the memtables is charged to it as well, such that its capacity is the whole
+   *     memory limit; RocksJava doesn't allow to limit the memtables without charging a cache.
+   */
+  private LRUCache createBlockCache(final List<AutoCloseable> closeables) {
+    final var capacity =
+        rocksDbConfiguration.isPhysicalColumnFamiliesEnabled()
+            ? getBlockCacheMemory() + getWriteBufferMemory()
+            : getBlockCacheMemory();
+
     // you can use the perf context to check if we're often blocked on the block cache mutex, in
     // which case we want to increase the number of shards (shard count == 2^shardBits)
-    final var cache = new LRUCache(blockCacheMemory, 8, false, 0.15);
+    final var cache = new LRUCache(capacity, 8, false, 0.15);
     closeables.add(cache);
+    return cache;
+  }
 
-    final var filter = new BloomFilter(10, false);
+  private TableFormatConfig createTableFormatConfig(
+      final List<AutoCloseable> closeables,
+      final LRUCache blockCache,
+      final int bloomFilterBitsPerKey) {
+    final var filter = new BloomFilter(bloomFilterBitsPerKey, false);
     closeables.add(filter);
 
     return new BlockBasedTableConfig()
-        .setBlockCache(cache)
+        .setBlockCache(blockCache)
         // increasing block size means reducing memory usage, but increasing read iops
         .setBlockSize(32 * 1024L)
         // full and partitioned filters use a more efficient bloom filter implementation when
@@ -0,0 +1,193 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Caches the committed entries of a single column family in memory, such that repeated reads of the
+ * same keys don't have to go to RocksDB. The cache is shared by all transactions of the database.
+ * It only contains committed state: the writes of a transaction are kept in its {@link
+ * TransactionCache} and are only applied here once the transaction is committed.
+ *
+ * <p>The cache is bounded by the approximate memory of its entries, and evicts the least recently
+ * used entries once it is full. It also remembers keys which don't exist, since state is often
+ * checked for existence.
+ *
+ * <p>Reads which miss the cache are stored via {@link #putIfUnchanged(long, UnsafeBuffer, byte[])},
+ * which ignores the value if the cache was changed by a commit since the read started. Otherwise a
+ * concurrent commit could be overwritten with the value which was read before it.
+ */
+final class ColumnFamilyCache implements AutoCloseable {
+
+  /** Marks a key which does not exist in the column family. */
+  static final byte[] MISSING = new byte[0];
+
+  /** the approximate memory of a cache entry, besides its key and value */
+  private static final int ENTRY_OVERHEAD = 64;
+
+  private static final String COLUMN_FAMILY_LABEL = "columnFamily";
+
+  private static final Counter HITS =
+      Counter.build()
+          .namespace("zeebe")
+          .name("rocksdb_read_cache_hits_total")
+          .help("Number of column family reads which were answered by the read cache")
+          .labelNames(COLUMN_FAMILY_LABEL)
+          .register();
+
+  private static final Counter MISSES =
+      Counter.build()
+          .namespace("zeebe")
+          .name("rocksdb_read_cache_misses_total")
+          .help("Number of column family reads which had to be answered by RocksDB")
+          .labelNames(COLUMN_FAMILY_LABEL)
+          .register();
+
+  private static final Gauge SIZE =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("rocksdb_read_cache_size_bytes")
+          .help("Approximate memory used by the read cache of the column family")
+          .labelNames(COLUMN_FAMILY_LABEL)
+          .register();
+
+  // access ordered, i.e. the first entry is the least recently used one
+  private final Map<UnsafeBuffer, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final long capacity;
+  private final Counter.Child hits;
+  private final Counter.Child misses;
+  private final Gauge.Child sizeGauge;
+
+  private long size;
+  private long version;
+
+  ColumnFamilyCache(final String columnFamilyName, final long capacity) {
+    this.capacity = capacity;
+    hits = HITS.labels(columnFamilyName);
+    misses = MISSES.labels(columnFamilyName);
+    sizeGauge = SIZE.labels(columnFamilyName);
+  }
+
+  /**
+   * @param key the key to look up
+   * @return the cached value, {@link #MISSING} if the key is cached as not existing, or null if the
+   *     key is not cached
+   */
+  synchronized byte[] get(final UnsafeBuffer key) {
+    final byte[] value = entries.get(key);
+    if (value != null) {
+      hits.inc();
+    } else {
+      misses.inc();
+    }
+    return value;
+  }
+
+  /** Records a read which was answered by the writes of the current transaction. */
+  void recordHit() {
+    hits.inc();
+  }
+
+  /** Records a read which had to be answered by RocksDB, without consulting the cache. */
+  void recordMiss() {
+    misses.inc();
+  }
+
+  /** @return the version of the cache, which changes whenever committed writes are applied to it */
+  synchronized long getVersion() {
+    return version;
+  }
+
+  /**
+   * Caches the value which was read from RocksDB, unless the cache was changed since the given
+   * version was obtained, i.e. before the value was read.
+   *
+   * @param version the version of the cache before the value was read
+   * @param key the key of the value; it is copied
+   * @param value the value, or null if the key does not exist; it must not be modified afterwards
+   */
+  synchronized void putIfUnchanged(final long version, final UnsafeBuffer key, final byte[] value) {
+    if (this.version == version) {
+      final byte[] keyCopy = new byte[key.capacity()];
+      key.getBytes(0, keyCopy);
+      put(new UnsafeBuffer(keyCopy), value != null ? value : MISSING);
+    }
+  }
+
+  /**
+   * Applies the writes of a committed transaction.
+   *
+   * @param writes the written values by key, where {@link #MISSING} marks a deleted key and {@link
+   *     TransactionCache#UNKNOWN} a key whose value is not known
+   */
+  synchronized void apply(final Map<UnsafeBuffer, byte[]> writes) {
+    version++;
+    writes.forEach(
+        (key, value) -> {
+          if (value != TransactionCache.UNKNOWN) {
+            put(key, value);
+          } else {
+            remove(key);
+          }
+        });
+  }
+
+  /** Removes all entries, e.g. after the column family was dropped. */
+  synchronized void clear() {
+    version++;
+    entries.clear();
+    updateSize(-size);
+  }
+
+  @Override
+  public void close() {
+    clear();
+  }
+
+  private void put(final UnsafeBuffer key, final byte[] value) {
+    remove(key);
+
+    final long entrySize = entrySize(key, value);
+    if (entrySize > capacity) {
+      return;
+    }
+
+    entries.put(key, value);
+    updateSize(entrySize);
+
+    final Iterator<Entry<UnsafeBuffer, byte[]>> iterator = entries.entrySet().iterator();
+    while (size > capacity) {
+      final var eldest = iterator.next();
+      iterator.remove();
+      updateSize(-entrySize(eldest.getKey(), eldest.getValue()));
+    }
+  }
+
+  private void remove(final UnsafeBuffer key) {
+    final byte[] value = entries.remove(key);
+    if (value != null) {
+      updateSize(-entrySize(key, value));
+    }
+  }
+
+  private void updateSize(final long delta) {
+    size += delta;
+    sizeGauge.inc(delta);
+  }
+
+  private static long entrySize(final UnsafeBuffer key, final byte[] value) {
+    return ENTRY_OVERHEAD + key.capacity() + value.length;
+  }
+}
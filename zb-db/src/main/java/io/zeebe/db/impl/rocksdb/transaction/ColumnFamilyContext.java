@@ -10,14 +10,19 @@ package io.zeebe.db.impl.rocksdb.transaction;
 import io.zeebe.db.DbKey;
 import io.zeebe.db.DbValue;
 import io.zeebe.db.impl.ZeebeDbConstants;
+import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Queue;
 import java.util.function.ObjIntConsumer;
 import org.agrona.DirectBuffer;
 import org.agrona.ExpandableArrayBuffer;
+import org.agrona.ExpandableDirectByteBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksIterator;
 
-public class ColumnFamilyContext {
+public class ColumnFamilyContext implements AutoCloseable {
 
   private static final byte[] ZERO_SIZE_ARRAY = new byte[0];
 
@@ -28,15 +33,17 @@ public class ColumnFamilyContext {
   private final DirectBuffer keyViewBuffer = new UnsafeBuffer(0, 0);
   private final DirectBuffer valueViewBuffer = new UnsafeBuffer(0, 0);
 
-  private final Queue<ExpandableArrayBuffer> prefixKeyBuffers;
+  private final Queue<IterationBuffers> iterationBuffers;
+  // the buffers of the innermost running prefix iteration
+  private final Deque<IterationBuffers> activeIterationBuffers = new ArrayDeque<>();
   private int keyLength;
   private final long columnFamilyPrefix;
 
   ColumnFamilyContext(final long columnFamilyPrefix) {
     this.columnFamilyPrefix = columnFamilyPrefix;
-    prefixKeyBuffers = new ArrayDeque<>();
-    prefixKeyBuffers.add(new ExpandableArrayBuffer());
-    prefixKeyBuffers.add(new ExpandableArrayBuffer());
+    iterationBuffers = new ArrayDeque<>();
+    iterationBuffers.add(new IterationBuffers());
+    iterationBuffers.add(new IterationBuffers());
   }
 
   public void writeKey(final DbKey key) {
@@ -63,13 +70,36 @@ public class ColumnFamilyContext {
     return valueBuffer.byteArray();
   }
 
-  public void wrapKeyView(final byte[] key) {
-    if (key != null) {
-      // wrap without the column family key
-      keyViewBuffer.wrap(key, Long.BYTES, key.length - Long.BYTES);
-    } else {
-      keyViewBuffer.wrap(ZERO_SIZE_ARRAY);
+  /**
+   * Copies the key of the current entry of the iterator into a reusable buffer of the running
+   * prefix iteration, and wraps the key view around it, without the column family key.
+   *
+   * @return the length of the complete key
+   */
+  public int wrapKeyView(final RocksIterator iterator) {
+    final ExpandableDirectByteBuffer keyBuffer = activeIterationBuffers.element().keyBuffer;
+    int keyLength = iterator.key(clear(keyBuffer));
+    if (keyLength > keyBuffer.capacity()) {
+      keyBuffer.checkLimit(keyLength);
+      keyLength = iterator.key(clear(keyBuffer));
     }
+
+    keyViewBuffer.wrap(keyBuffer, Long.BYTES, keyLength - Long.BYTES);
+    return keyLength;
+  }
+
+  /**
+   * Applies the read options of the running prefix iteration for the given prefix, see {@link
+   * IterationReadOptions#apply(DirectBuffer, int, boolean)}.
+   */
+  public ReadOptions getIterationReadOptions(
+      final DirectBuffer prefixKey, final int prefixLength, final boolean prefixSeek) {
+    return activeIterationBuffers.element().readOptions.apply(prefixKey, prefixLength, prefixSeek);
+  }
+
+  /** @return the buffer which contains the complete key which was copied by {@link #wrapKeyView} */
+  public DirectBuffer getIteratorKeyBuffer() {
+    return activeIterationBuffers.element().keyBuffer;
   }
 
   public DirectBuffer getKeyView() {
@@ -88,6 +118,27 @@ public class ColumnFamilyContext {
     }
   }
 
+  /**
+   * Copies the value of the current entry of the iterator into a reusable buffer of the running
+   * prefix iteration, and wraps the value view around it.
+   */
+  public void wrapValueView(final RocksIterator iterator) {
+    final ExpandableDirectByteBuffer valueBuffer = activeIterationBuffers.element().valueBuffer;
+    int valueLength = iterator.value(clear(valueBuffer));
+    if (valueLength > valueBuffer.capacity()) {
+      valueBuffer.checkLimit(valueLength);
+      valueLength = iterator.value(clear(valueBuffer));
+    }
+
+    valueViewBuffer.wrap(valueBuffer, 0, valueLength);
+  }
+
+  private static ByteBuffer clear(final ExpandableDirectByteBuffer buffer) {
+    final ByteBuffer byteBuffer = buffer.byteBuffer();
+    byteBuffer.clear();
+    return byteBuffer;
+  }
+
   public DirectBuffer getValueView() {
     return isValueViewEmpty() ? null : valueViewBuffer;
   }
@@ -96,21 +147,44 @@ public class ColumnFamilyContext {
     return valueViewBuffer.capacity() == ZERO_SIZE_ARRAY.length;
   }
 
-  public void withPrefixKey(final DbKey key, final ObjIntConsumer<byte[]> prefixKeyConsumer) {
-    if (prefixKeyBuffers.peek() == null) {
+  /**
+   * Writes the given key prefixed with the column family key into a reusable direct buffer, and
+   * passes it with its length to the consumer. The position and limit of the {@link
+   * DirectBuffer#byteBuffer()} of the buffer are set to the prefix, such that it can be used to
+   * seek. While the consumer runs, the entries of the iterator are copied into buffers which belong
+   * to this prefix iteration, such that a nested iteration doesn't overwrite them.
+   */
+  public void withPrefixKey(final DbKey key, final ObjIntConsumer<DirectBuffer> prefixKeyConsumer) {
+    if (iterationBuffers.peek() == null) {
       throw new IllegalStateException(
           "Currently nested prefix iterations are not supported! This will cause unexpected behavior.");
     }
 
-    final ExpandableArrayBuffer prefixKeyBuffer = prefixKeyBuffers.remove();
+    final IterationBuffers buffers = iterationBuffers.remove();
+    final ExpandableDirectByteBuffer prefixKeyBuffer = buffers.prefixKeyBuffer;
+    activeIterationBuffers.push(buffers);
     try {
       prefixKeyBuffer.putLong(0, columnFamilyPrefix, ZeebeDbConstants.ZB_DB_BYTE_ORDER);
       key.write(prefixKeyBuffer, Long.BYTES);
       final int prefixLength = Long.BYTES + key.getLength();
+      clear(prefixKeyBuffer).limit(prefixLength);
 
-      prefixKeyConsumer.accept(prefixKeyBuffer.byteArray(), prefixLength);
+      prefixKeyConsumer.accept(prefixKeyBuffer, prefixLength);
     } finally {
-      prefixKeyBuffers.add(prefixKeyBuffer);
+      activeIterationBuffers.pop();
+      iterationBuffers.add(buffers);
     }
   }
+
+  @Override
+  public void close() {
+    iterationBuffers.forEach(buffers -> buffers.readOptions.close());
+  }
+
+  private static final class IterationBuffers {
+    private final ExpandableDirectByteBuffer prefixKeyBuffer = new ExpandableDirectByteBuffer();
+    private final ExpandableDirectByteBuffer keyBuffer = new ExpandableDirectByteBuffer();
+    private final ExpandableDirectByteBuffer valueBuffer = new ExpandableDirectByteBuffer();
+    private final IterationReadOptions readOptions = new IterationReadOptions();
+  }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import org.rocksdb.ColumnFamilyHandle;
+
+/**
+ * References the RocksDB column family in which a logical column family is stored. This is either
+ * the default column family, which is shared by all logical column families without their own, or a
+ * physical column family of its own. The handle of a physical column family changes when it is
+ * dropped and recreated, so it must always be accessed through this reference.
+ */
+final class ColumnFamilyReference {
+
+  private final boolean physical;
+  private final int prefixExtractorLength;
+  private ColumnFamilyHandle handle;
+  private long nativeHandle;
+
+  /** References the default column family, which is shared with other logical column families. */
+  ColumnFamilyReference(final ColumnFamilyHandle defaultHandle) {
+    physical = false;
+    prefixExtractorLength = Long.BYTES;
+    setHandle(defaultHandle);
+  }
+
+  /** References a physical column family of its own. */
+  ColumnFamilyReference(final ColumnFamilyHandle handle, final int prefixExtractorLength) {
+    physical = true;
+    this.prefixExtractorLength = prefixExtractorLength;
+    setHandle(handle);
+  }
+
+  ColumnFamilyHandle getHandle() {
+    return handle;
+  }
+
+  long getNativeHandle() {
+    return nativeHandle;
+  }
+
+  /** @return true if the logical column family has its own physical column family */
+  boolean isPhysical() {
+    return physical;
+  }
+
+  /**
+   * @return the length of the fixed prefix extractor of the column family; prefix seeks with a
+   *     shorter prefix must not use prefix mode
+   */
+  int getPrefixExtractorLength() {
+    return prefixExtractorLength;
+  }
+
+  void setHandle(final ColumnFamilyHandle handle) {
+    this.handle = handle;
+    nativeHandle = ZeebeTransactionDb.getNativeHandle(handle);
+  }
+}
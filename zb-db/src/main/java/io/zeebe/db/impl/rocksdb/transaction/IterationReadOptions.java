@@ -0,0 +1,111 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import org.agrona.DirectBuffer;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.Slice;
+
+/**
+ * The read options of a prefix iteration, which bound the iteration to the keys with the given
+ * prefix. Without an upper bound, RocksDB has to skip over all deleted entries behind the prefix
+ * until it finds the next live key, which is expensive for queue-like column families with many
+ * deletions, e.g. job deadlines or timers.
+ *
+ * <p>RocksJava copies the bound into a native slice, so the bound is only replaced if it differs
+ * from the bound of the previous iteration. Iterations over a whole column family, or repeatedly
+ * over the same prefix, don't allocate anything.
+ *
+ * <p>This class is not thread-safe, and the options must not be applied again while an iterator
+ * which was created with them is still in use.
+ */
+final class IterationReadOptions implements AutoCloseable {
+
+  private final ReadOptions readOptions =
+      new ReadOptions()
+          // setting a positive value to readahead is only useful when using network storage with
+          // high latency, at the cost of making iterators expensiver (memory and computation wise)
+          .setReadaheadSize(0);
+
+  private byte[] upperBound;
+  private Slice upperBoundSlice;
+  private Boolean prefixSeek;
+
+  /**
+   * @param prefix the buffer which contains the prefix
+   * @param prefixLength the length of the prefix
+   * @param prefixSeek true if the prefix is at least as long as the prefix extractor of the column
+   *     family, such that the prefix bloom filters can be used
+   * @return the read options to create the iterator of the iteration with
+   */
+  ReadOptions apply(final DirectBuffer prefix, final int prefixLength, final boolean prefixSeek) {
+    if (this.prefixSeek == null || this.prefixSeek != prefixSeek) {
+      readOptions.setTotalOrderSeek(!prefixSeek).setPrefixSameAsStart(prefixSeek);
+      this.prefixSeek = prefixSeek;
+    }
+
+    final int upperBoundLength = getUpperBoundLength(prefix, prefixLength);
+    if (!isUpperBound(prefix, upperBoundLength)) {
+      setUpperBound(prefix, upperBoundLength);
+    }
+
+    return readOptions;
+  }
+
+  /**
+   * The upper bound of a prefix is the smallest key which is greater than all keys with the prefix,
+   * i.e. the prefix without its trailing 0xFF bytes, and the last remaining byte incremented. Every
+   * prefix starts with the column family ordinal, so there is always an upper bound.
+   *
+   * @return the length of the upper bound
+   */
+  private static int getUpperBoundLength(final DirectBuffer prefix, final int prefixLength) {
+    int length = prefixLength;
+    while (length > 0 && prefix.getByte(length - 1) == (byte) 0xFF) {
+      length--;
+    }
+    return length;
+  }
+
+  private boolean isUpperBound(final DirectBuffer prefix, final int upperBoundLength) {
+    if (upperBound == null || upperBound.length != upperBoundLength) {
+      return false;
+    }
+
+    final int last = upperBoundLength - 1;
+    for (int i = 0; i < last; i++) {
+      if (upperBound[i] != prefix.getByte(i)) {
+        return false;
+      }
+    }
+    return upperBound[last] == (byte) (prefix.getByte(last) + 1);
+  }
+
+  private void setUpperBound(final DirectBuffer prefix, final int upperBoundLength) {
+    final byte[] newUpperBound = new byte[upperBoundLength];
+    prefix.getBytes(0, newUpperBound);
+    newUpperBound[upperBoundLength - 1]++;
+
+    final Slice newUpperBoundSlice = new Slice(newUpperBound);
+    readOptions.setIterateUpperBound(newUpperBoundSlice);
+    if (upperBoundSlice != null) {
+      upperBoundSlice.close();
+    }
+
+    upperBound = newUpperBound;
+    upperBoundSlice = newUpperBoundSlice;
+  }
+
+  @Override
+  public void close() {
+    readOptions.close();
+    if (upperBoundSlice != null) {
+      upperBoundSlice.close();
+    }
+  }
+}
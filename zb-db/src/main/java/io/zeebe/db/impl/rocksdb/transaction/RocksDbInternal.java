@@ -17,16 +17,15 @@ import static org.rocksdb.Status.Code.TimedOut;
 import static org.rocksdb.Status.Code.TryAgain;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.EnumSet;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
-import org.rocksdb.RocksIterator;
 import org.rocksdb.RocksObject;
 import org.rocksdb.Status;
 import org.rocksdb.Status.Code;
 import org.rocksdb.Transaction;
+import org.rocksdb.WriteBatchWithIndex;
 
 public final class RocksDbInternal {
 
@@ -39,7 +38,9 @@ public final class RocksDbInternal {
   static Method getWithHandle;
   static Method removeWithHandle;
 
-  static Method seekMethod;
+  static Method batchPutWithHandle;
+  static Method batchGetWithHandle;
+  static Method batchRemoveWithHandle;
 
   static {
     RocksDB.loadLibrary();
@@ -58,7 +59,9 @@ public final class RocksDbInternal {
     getWithHandle();
     removeWithHandle();
 
-    seekWithHandle();
+    batchPutWithHandle();
+    batchGetWithHandle();
+    batchRemoveWithHandle();
   }
 
   private static void nativeHandles() throws NoSuchFieldException {
@@ -98,22 +101,37 @@ public final class RocksDbInternal {
     removeWithHandle.setAccessible(true);
   }
 
-  private static void seekWithHandle() throws NoSuchMethodException {
-    seekMethod =
-        RocksIterator.class.getDeclaredMethod("seek0", long.class, byte[].class, int.class);
-    seekMethod.setAccessible(true);
+  //    final native void put(final long handle, final byte[] key, final int keyLen,
+  //      final byte[] value, final int valueLen, final long cfHandle)
+
+  private static void batchPutWithHandle() throws NoSuchMethodException {
+    batchPutWithHandle =
+        WriteBatchWithIndex.class.getDeclaredMethod(
+            "put", Long.TYPE, byte[].class, Integer.TYPE, byte[].class, Integer.TYPE, Long.TYPE);
+    batchPutWithHandle.setAccessible(true);
   }
 
-  public static void seek(
-      final RocksIterator iterator,
-      final long nativeHandle,
-      final byte[] target,
-      final int targetLength) {
-    try {
-      seekMethod.invoke(iterator, nativeHandle, target, targetLength);
-    } catch (final IllegalAccessException | InvocationTargetException e) {
-      throw new RuntimeException("Unexpected error occurred trying to seek with RocksIterator", e);
-    }
+  //    private native byte[] getFromBatchAndDB(final long handle, final long dbHandle,
+  //      final long readOptHandle, final byte[] key, final int keyLen, final long cfHandle)
+
+  private static void batchGetWithHandle() throws NoSuchMethodException {
+    batchGetWithHandle =
+        WriteBatchWithIndex.class.getDeclaredMethod(
+            "getFromBatchAndDB",
+            Long.TYPE,
+            Long.TYPE,
+            Long.TYPE,
+            byte[].class,
+            Integer.TYPE,
+            Long.TYPE);
+    batchGetWithHandle.setAccessible(true);
+  }
+
+  private static void batchRemoveWithHandle() throws NoSuchMethodException {
+    batchRemoveWithHandle =
+        WriteBatchWithIndex.class.getDeclaredMethod(
+            "delete", Long.TYPE, byte[].class, Integer.TYPE, Long.TYPE);
+    batchRemoveWithHandle.setAccessible(true);
   }
 
   static boolean isRocksDbExceptionRecoverable(final RocksDBException rdbex) {
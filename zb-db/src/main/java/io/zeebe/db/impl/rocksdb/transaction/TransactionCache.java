@@ -0,0 +1,111 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.agrona.collections.IntArrayList;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Keeps the writes of a transaction to column families with a read cache, such that they are
+ * visible to reads in the same transaction, and can be applied to the {@link ColumnFamilyCache}
+ * once the transaction is committed. On a rollback they are discarded.
+ *
+ * <p>RocksDB does not tell which writes are discarded when rolling back to a save point. Instead,
+ * the keys which were written after the save point are marked as {@link #UNKNOWN}, such that they
+ * are read from the transaction, and removed from the read cache on commit.
+ */
+final class TransactionCache {
+
+  /** Marks a key which was written in the transaction, but whose value is not known. */
+  static final byte[] UNKNOWN = new byte[0];
+
+  private final Map<ColumnFamilyCache, Map<UnsafeBuffer, byte[]>> writes = new HashMap<>();
+
+  // the writes since the first save point, such that they can be marked as unknown on rollback
+  private final List<ColumnFamilyCache> loggedCaches = new ArrayList<>();
+  private final List<UnsafeBuffer> loggedKeys = new ArrayList<>();
+  private final IntArrayList savePoints = new IntArrayList();
+
+  private boolean hasWrites;
+
+  /**
+   * @param cache the read cache of the column family
+   * @param key the key to look up
+   * @return the value which was written in the transaction, {@link ColumnFamilyCache#MISSING} if
+   *     the key was deleted, {@link #UNKNOWN} if the value is not known, or null if the key was not
+   *     written
+   */
+  byte[] get(final ColumnFamilyCache cache, final UnsafeBuffer key) {
+    if (!hasWrites) {
+      return null;
+    }
+
+    final var cacheWrites = writes.get(cache);
+    return cacheWrites != null ? cacheWrites.get(key) : null;
+  }
+
+  /**
+   * @param cache the read cache of the column family
+   * @param key the written key; it must not be modified afterwards
+   * @param value the written value, or {@link ColumnFamilyCache#MISSING} if the key was deleted; it
+   *     must not be modified afterwards
+   */
+  void put(final ColumnFamilyCache cache, final byte[] key, final byte[] value) {
+    final var keyBuffer = new UnsafeBuffer(key);
+    writes.computeIfAbsent(cache, c -> new HashMap<>()).put(keyBuffer, value);
+    hasWrites = true;
+
+    if (!savePoints.isEmpty()) {
+      loggedCaches.add(cache);
+      loggedKeys.add(keyBuffer);
+    }
+  }
+
+  boolean hasWrites() {
+    return hasWrites;
+  }
+
+  void setSavePoint() {
+    savePoints.addInt(loggedKeys.size());
+  }
+
+  void rollbackToSavePoint() {
+    final int savePoint = savePoints.popInt();
+    for (int i = loggedKeys.size() - 1; i >= savePoint; i--) {
+      writes.get(loggedCaches.remove(i)).put(loggedKeys.remove(i), UNKNOWN);
+    }
+  }
+
+  /** Applies the writes to the read caches, after the transaction was committed. */
+  void commit() {
+    if (hasWrites) {
+      writes.forEach(
+          (cache, cacheWrites) -> {
+            if (!cacheWrites.isEmpty()) {
+              cache.apply(cacheWrites);
+            }
+          });
+    }
+    clear();
+  }
+
+  /** Discards the writes and save points, e.g. after the transaction was rolled back. */
+  void clear() {
+    if (hasWrites) {
+      writes.values().forEach(Map::clear);
+      hasWrites = false;
+    }
+    loggedCaches.clear();
+    loggedKeys.clear();
+    savePoints.clear();
+  }
+}
@@ -14,10 +14,12 @@ import io.zeebe.db.DbKey;
 import io.zeebe.db.DbValue;
 import io.zeebe.db.KeyValuePairVisitor;
 import io.zeebe.db.TransactionContext;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksIterator;
 
@@ -33,6 +35,10 @@ class TransactionalColumnFamily<
   private final ValueType valueInstance;
   private final KeyType keyInstance;
   private final ColumnFamilyContext columnFamilyContext;
+  private final ColumnFamilyReference columnFamilyReference;
+  // null if the column family has no read cache
+  private final ColumnFamilyCache cache;
+  private final UnsafeBuffer cacheKey = new UnsafeBuffer(0, 0);
 
   TransactionalColumnFamily(
       final ZeebeTransactionDb<ColumnFamilyNames> transactionDb,
@@ -45,6 +51,9 @@ class TransactionalColumnFamily<
     this.keyInstance = keyInstance;
     this.valueInstance = valueInstance;
     columnFamilyContext = new ColumnFamilyContext(columnFamily.ordinal());
+    columnFamilyReference = transactionDb.getColumnFamilyReference(columnFamily);
+    cache = transactionDb.getColumnFamilyCache(columnFamily);
+    transactionDb.addClosable(columnFamilyContext);
   }
 
   private void ensureInOpenTransaction(
@@ -62,11 +71,20 @@ class TransactionalColumnFamily<
           columnFamilyContext.writeValue(value);
 
           transaction.put(
-              transactionDb.getDefaultNativeHandle(),
+              columnFamilyReference.getNativeHandle(),
               columnFamilyContext.getKeyBufferArray(),
               columnFamilyContext.getKeyLength(),
               columnFamilyContext.getValueBufferArray(),
               value.getLength());
+
+          if (cache != null) {
+            transaction
+                .getTransactionCache()
+                .put(
+                    cache,
+                    copyKey(),
+                    Arrays.copyOf(columnFamilyContext.getValueBufferArray(), value.getLength()));
+          }
         });
   }
 
@@ -86,17 +104,54 @@ class TransactionalColumnFamily<
     ensureInOpenTransaction(
         context,
         transaction -> {
-          final byte[] value =
-              transaction.get(
-                  transactionDb.getDefaultNativeHandle(),
-                  transactionDb.getReadOptionsNativeHandle(),
-                  columnFamilyContext.getKeyBufferArray(),
-                  columnFamilyContext.getKeyLength());
-          columnFamilyContext.wrapValueView(value);
+          if (cache != null) {
+            readCachedValue(transaction);
+          } else {
+            columnFamilyContext.wrapValueView(readValue(transaction));
+          }
         });
     return columnFamilyContext.getValueView();
   }
 
+  private byte[] readValue(final ZeebeTransaction transaction) throws Exception {
+    return transaction.get(
+        columnFamilyReference.getNativeHandle(),
+        transactionDb.getReadOptionsNativeHandle(),
+        columnFamilyContext.getKeyBufferArray(),
+        columnFamilyContext.getKeyLength());
+  }
+
+  /**
+   * Reads the value of the current key from the writes of the transaction, or else from the read
+   * cache. Only if neither knows the value, it is read from RocksDB and added to the read cache.
+   */
+  private void readCachedValue(final ZeebeTransaction transaction) throws Exception {
+    cacheKey.wrap(columnFamilyContext.getKeyBufferArray(), 0, columnFamilyContext.getKeyLength());
+
+    byte[] value = transaction.getTransactionCache().get(cache, cacheKey);
+    if (value == TransactionCache.UNKNOWN) {
+      // the write was rolled back to a save point, only the transaction knows the current value
+      cache.recordMiss();
+      value = readValue(transaction);
+    } else if (value != null) {
+      cache.recordHit();
+    } else {
+      value = cache.get(cacheKey);
+      if (value == null) {
+        final long version = cache.getVersion();
+        value = readValue(transaction);
+        cache.putIfUnchanged(version, cacheKey, value);
+      }
+    }
+
+    columnFamilyContext.wrapValueView(value != ColumnFamilyCache.MISSING ? value : null);
+  }
+
+  private byte[] copyKey() {
+    return Arrays.copyOf(
+        columnFamilyContext.getKeyBufferArray(), columnFamilyContext.getKeyLength());
+  }
+
   @Override
   public void forEach(final Consumer<ValueType> consumer) {
     forEach(context, consumer);
@@ -129,16 +184,21 @@ class TransactionalColumnFamily<
     columnFamilyContext.writeKey(key);
     ensureInOpenTransaction(
         context,
-        transaction ->
-            transaction.delete(
-                transactionDb.getDefaultNativeHandle(),
-                columnFamilyContext.getKeyBufferArray(),
-                columnFamilyContext.getKeyLength()));
+        transaction -> {
+          transaction.delete(
+              columnFamilyReference.getNativeHandle(),
+              columnFamilyContext.getKeyBufferArray(),
+              columnFamilyContext.getKeyLength());
+
+          if (cache != null) {
+            transaction.getTransactionCache().put(cache, copyKey(), ColumnFamilyCache.MISSING);
+          }
+        });
   }
 
   @Override
   public boolean exists(final KeyType key) {
-    columnFamilyContext.wrapValueView(new byte[0]);
+    columnFamilyContext.wrapValueView((byte[]) null);
     ensureInOpenTransaction(
         context,
         transaction -> {
@@ -196,7 +256,7 @@ class TransactionalColumnFamily<
 
   RocksIterator newIterator(final TransactionContext context, final ReadOptions options) {
     final var currentTransaction = (ZeebeTransaction) context.getCurrentTransaction();
-    return currentTransaction.newIterator(options, transactionDb.getDefaultHandle());
+    return currentTransaction.newIterator(options, columnFamilyReference.getHandle());
   }
 
   protected <KeyType extends DbKey, ValueType extends DbValue> void whileEqualPrefix(
@@ -227,7 +287,7 @@ class TransactionalColumnFamily<
       final BiConsumer<KeyType, ValueType> visitor) {
     whileEqualPrefix(
         context,
-        new DbNullKey(),
+        DbNullKey.INSTANCE,
         keyInstance,
         valueInstance,
         (k, v) -> {
@@ -245,15 +305,16 @@ class TransactionalColumnFamily<
       final KeyType keyInstance,
       final ValueType valueInstance,
       final KeyValuePairVisitor<KeyType, ValueType> visitor) {
-    whileEqualPrefix(context, new DbNullKey(), keyInstance, valueInstance, visitor);
+    whileEqualPrefix(context, DbNullKey.INSTANCE, keyInstance, valueInstance, visitor);
   }
 
   /**
    * NOTE: it doesn't seem possible in Java RocksDB to set a flexible prefix extractor on iterators
    * at the moment, so using prefixes seem to be mostly related to skipping files that do not
-   * contain keys with the given prefix (which is useful anyway), but it will still iterate over all
-   * keys contained in those files, so we still need to make sure the key actually matches the
-   * prefix.
+   * contain keys with the given prefix (which is useful anyway). The iteration is additionally
+   * bounded by the upper bound of the prefix, such that RocksDB stops at the end of the prefix. The
+   * uncommitted writes of the transaction are not necessarily bounded by it, so we still need to
+   * make sure the key actually matches the prefix.
    *
    * <p>While iterating over subsequent keys we have to validate it.
    */
@@ -269,20 +330,26 @@ class TransactionalColumnFamily<
             ensureInOpenTransaction(
                 context,
                 transaction -> {
-                  try (final RocksIterator iterator =
-                      newIterator(context, transactionDb.getPrefixReadOptions())) {
+                  final ReadOptions readOptions =
+                      columnFamilyContext.getIterationReadOptions(
+                          prefixKey,
+                          prefixLength,
+                          prefixLength >= columnFamilyReference.getPrefixExtractorLength());
+                  try (final RocksIterator iterator = newIterator(context, readOptions)) {
 
                     boolean shouldVisitNext = true;
 
-                    for (RocksDbInternal.seek(
-                            iterator,
-                            ZeebeTransactionDb.getNativeHandle(iterator),
-                            prefixKey,
-                            prefixLength);
+                    for (iterator.seek(prefixKey.byteBuffer());
                         iterator.isValid() && shouldVisitNext;
                         iterator.next()) {
-                      final byte[] keyBytes = iterator.key();
-                      if (!startsWith(prefixKey, 0, prefixLength, keyBytes, 0, keyBytes.length)) {
+                      final int keyLength = columnFamilyContext.wrapKeyView(iterator);
+                      if (!startsWith(
+                          prefixKey,
+                          0,
+                          prefixLength,
+                          columnFamilyContext.getIteratorKeyBuffer(),
+                          0,
+                          keyLength)) {
                         break;
                       }
 
@@ -297,10 +364,8 @@ class TransactionalColumnFamily<
       final ValueType valueInstance,
       final KeyValuePairVisitor<KeyType, ValueType> iteratorConsumer,
       final RocksIterator iterator) {
-    final var keyBytes = iterator.key();
-
-    columnFamilyContext.wrapKeyView(keyBytes);
-    columnFamilyContext.wrapValueView(iterator.value());
+    // the key view was already wrapped to check the prefix
+    columnFamilyContext.wrapValueView(iterator);
 
     final DirectBuffer keyViewBuffer = columnFamilyContext.getKeyView();
     keyInstance.wrap(keyViewBuffer, 0, keyViewBuffer.capacity());
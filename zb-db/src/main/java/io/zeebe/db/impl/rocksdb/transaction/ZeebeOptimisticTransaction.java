@@ -0,0 +1,103 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.Transaction;
+
+/**
+ * A transaction of an optimistic transaction database. The RocksDB transaction keeps the writes,
+ * and checks on commit that no other transaction wrote the same keys in the meantime.
+ */
+class ZeebeOptimisticTransaction extends ZeebeTransaction {
+
+  private final long nativeHandle;
+  private final TransactionRenovator transactionRenovator;
+
+  private Transaction transaction;
+
+  ZeebeOptimisticTransaction(
+      final Transaction transaction,
+      final TransactionRenovator transactionRenovator,
+      final Object cacheCommitLock) {
+    super(cacheCommitLock);
+    this.transactionRenovator = transactionRenovator;
+    this.transaction = transaction;
+    nativeHandle = ZeebeTransactionDb.getNativeHandle(transaction);
+  }
+
+  @Override
+  public void put(
+      final long columnFamilyHandle,
+      final byte[] key,
+      final int keyLength,
+      final byte[] value,
+      final int valueLength)
+      throws Exception {
+    RocksDbInternal.putWithHandle.invoke(
+        transaction, nativeHandle, key, keyLength, value, valueLength, columnFamilyHandle, false);
+  }
+
+  @Override
+  public byte[] get(
+      final long columnFamilyHandle,
+      final long readOptionsHandle,
+      final byte[] key,
+      final int keyLength)
+      throws Exception {
+    return (byte[])
+        RocksDbInternal.getWithHandle.invoke(
+            transaction, nativeHandle, readOptionsHandle, key, keyLength, columnFamilyHandle);
+  }
+
+  @Override
+  public void delete(final long columnFamilyHandle, final byte[] key, final int keyLength)
+      throws Exception {
+    RocksDbInternal.removeWithHandle.invoke(
+        transaction, nativeHandle, key, keyLength, columnFamilyHandle, false);
+  }
+
+  @Override
+  public RocksIterator newIterator(final ReadOptions options, final ColumnFamilyHandle handle) {
+    return transaction.getIterator(options, handle);
+  }
+
+  @Override
+  protected void renew() {
+    // the old transaction is reused, so the native handle stays the same
+    transaction = transactionRenovator.renewTransaction(transaction);
+  }
+
+  @Override
+  protected void commitWrites() throws RocksDBException {
+    transaction.commit();
+  }
+
+  @Override
+  protected void rollbackWrites() throws RocksDBException {
+    transaction.rollback();
+  }
+
+  @Override
+  protected void setSavePointInternal() throws RocksDBException {
+    transaction.setSavePoint();
+  }
+
+  @Override
+  protected void rollbackToSavePointInternal() throws RocksDBException {
+    transaction.rollbackToSavePoint();
+  }
+
+  @Override
+  public void close() {
+    transaction.close();
+  }
+}
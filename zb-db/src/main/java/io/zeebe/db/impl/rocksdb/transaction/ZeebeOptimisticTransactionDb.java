@@ -0,0 +1,56 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.OptimisticTransactionDB;
+import org.rocksdb.Transaction;
+
+/**
+ * A database whose transactions are optimistic RocksDB transactions, which detect conflicting
+ * writes of concurrent transactions on commit.
+ */
+class ZeebeOptimisticTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames>>
+    extends ZeebeTransactionDb<ColumnFamilyNames> implements TransactionRenovator {
+
+  private final OptimisticTransactionDB optimisticTransactionDB;
+
+  ZeebeOptimisticTransactionDb(
+      final ColumnFamilyHandle defaultHandle,
+      final Map<String, ColumnFamilyHandle> physicalColumnFamilyHandles,
+      final OptimisticTransactionDB optimisticTransactionDB,
+      final List<AutoCloseable> closables,
+      final RocksDbConfiguration rocksDbConfiguration,
+      final Function<String, ColumnFamilyOptions> columnFamilyOptionsFactory) {
+    super(
+        defaultHandle,
+        physicalColumnFamilyHandles,
+        optimisticTransactionDB,
+        closables,
+        rocksDbConfiguration,
+        columnFamilyOptionsFactory);
+    this.optimisticTransactionDB = optimisticTransactionDB;
+  }
+
+  @Override
+  protected ZeebeTransaction createTransaction() {
+    final Transaction transaction =
+        optimisticTransactionDB.beginTransaction(getDefaultWriteOptions());
+    return new ZeebeOptimisticTransaction(transaction, this, getCacheCommitLock());
+  }
+
+  @Override
+  public Transaction renewTransaction(final Transaction oldTransaction) {
+    return optimisticTransactionDB.beginTransaction(getDefaultWriteOptions(), oldTransaction);
+  }
+}
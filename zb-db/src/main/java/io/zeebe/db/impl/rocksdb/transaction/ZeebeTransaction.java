@@ -16,61 +16,60 @@ import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
-import org.rocksdb.Transaction;
 
-public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
+/**
+ * A transaction of a {@link ZeebeTransactionDb}, which is reused for subsequent transactions once
+ * it was committed or rolled back. Its writes are only visible to reads of the same transaction
+ * until it is committed. Subclasses implement how the writes are kept and committed.
+ */
+public abstract class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
 
-  private final long nativeHandle;
-  private final TransactionRenovator transactionRenovator;
+  private final TransactionCache transactionCache = new TransactionCache();
+  private final Object cacheCommitLock;
 
   private boolean inCurrentTransaction;
-  private Transaction transaction;
 
-  public ZeebeTransaction(
-      final Transaction transaction, final TransactionRenovator transactionRenovator) {
-    this.transactionRenovator = transactionRenovator;
-    this.transaction = transaction;
-    try {
-      nativeHandle = RocksDbInternal.nativeHandle.getLong(transaction);
-    } catch (final Exception ex) {
-      throw new RuntimeException(ex);
-    }
+  /**
+   * @param cacheCommitLock guards the commits of all transactions which write to read caches, such
+   *     that the caches are updated in the same order as the database
+   */
+  protected ZeebeTransaction(final Object cacheCommitLock) {
+    this.cacheCommitLock = cacheCommitLock;
   }
 
-  public void put(
-      final long columnFamilyHandle,
-      final byte[] key,
-      final int keyLength,
-      final byte[] value,
-      final int valueLength)
-      throws Exception {
-    RocksDbInternal.putWithHandle.invoke(
-        transaction, nativeHandle, key, keyLength, value, valueLength, columnFamilyHandle, false);
-  }
+  public abstract void put(
+      long columnFamilyHandle, byte[] key, int keyLength, byte[] value, int valueLength)
+      throws Exception;
 
-  public byte[] get(
-      final long columnFamilyHandle,
-      final long readOptionsHandle,
-      final byte[] key,
-      final int keyLength)
-      throws Exception {
-    return (byte[])
-        RocksDbInternal.getWithHandle.invoke(
-            transaction, nativeHandle, readOptionsHandle, key, keyLength, columnFamilyHandle);
-  }
+  public abstract byte[] get(
+      long columnFamilyHandle, long readOptionsHandle, byte[] key, int keyLength) throws Exception;
 
-  public void delete(final long columnFamilyHandle, final byte[] key, final int keyLength)
-      throws Exception {
-    RocksDbInternal.removeWithHandle.invoke(
-        transaction, nativeHandle, key, keyLength, columnFamilyHandle, false);
-  }
+  public abstract void delete(long columnFamilyHandle, byte[] key, int keyLength) throws Exception;
+
+  /**
+   * @return an iterator over the committed entries of the column family, merged with the writes of
+   *     this transaction
+   */
+  public abstract RocksIterator newIterator(ReadOptions options, ColumnFamilyHandle handle);
+
+  /** Prepares the next transaction, after the previous one was committed or rolled back. */
+  protected abstract void renew();
+
+  protected abstract void commitWrites() throws RocksDBException;
+
+  protected abstract void rollbackWrites() throws RocksDBException;
 
-  public RocksIterator newIterator(final ReadOptions options, final ColumnFamilyHandle handle) {
-    return transaction.getIterator(options, handle);
+  protected abstract void setSavePointInternal() throws RocksDBException;
+
+  protected abstract void rollbackToSavePointInternal() throws RocksDBException;
+
+  TransactionCache getTransactionCache() {
+    return transactionCache;
   }
 
   void resetTransaction() {
-    transaction = transactionRenovator.renewTransaction(transaction);
+    transactionCache.clear();
+    renew();
     inCurrentTransaction = true;
   }
 
@@ -117,17 +116,56 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
     }
   }
 
+  @Override
+  public void setSavePoint() throws RocksDBException {
+    try {
+      setSavePointInternal();
+      transactionCache.setSavePoint();
+    } catch (final RocksDBException rdbex) {
+      final String errorMessage =
+          "Unexpected error occurred during RocksDB transaction save point.";
+      if (isRocksDbExceptionRecoverable(rdbex)) {
+        throw new ZeebeDbException(errorMessage, rdbex);
+      }
+      throw rdbex;
+    }
+  }
+
+  @Override
+  public void rollbackToSavePoint() throws RocksDBException {
+    try {
+      rollbackToSavePointInternal();
+      transactionCache.rollbackToSavePoint();
+    } catch (final RocksDBException rdbex) {
+      final String errorMessage =
+          "Unexpected error occurred during RocksDB transaction rollback to save point.";
+      if (isRocksDbExceptionRecoverable(rdbex)) {
+        throw new ZeebeDbException(errorMessage, rdbex);
+      }
+      throw rdbex;
+    }
+  }
+
   void commitInternal() throws RocksDBException {
     inCurrentTransaction = false;
-    transaction.commit();
+    if (!transactionCache.hasWrites()) {
+      commitWrites();
+      transactionCache.clear();
+      return;
+    }
+
+    synchronized (cacheCommitLock) {
+      commitWrites();
+      transactionCache.commit();
+    }
   }
 
   void rollbackInternal() throws RocksDBException {
     inCurrentTransaction = false;
-    transaction.rollback();
+    transactionCache.clear();
+    rollbackWrites();
   }
 
-  public void close() {
-    transaction.close();
-  }
+  @Override
+  public abstract void close();
 }
@@ -13,47 +13,96 @@ import io.zeebe.db.DbValue;
 import io.zeebe.db.TransactionContext;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.ZeebeDbException;
-import io.zeebe.db.impl.DbNil;
+import io.zeebe.db.impl.ZeebeDbConstants;
 import io.zeebe.db.impl.rocksdb.Loggers;
 import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.zeebe.util.buffer.BufferUtil;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.collections.MutableBoolean;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.rocksdb.Checkpoint;
+import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
 import org.rocksdb.RocksObject;
-import org.rocksdb.Transaction;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 
-public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames>>
-    implements ZeebeDb<ColumnFamilyNames>, TransactionRenovator {
+/**
+ * The RocksDB based {@link ZeebeDb}. How the writes of a transaction are kept until they are
+ * committed depends on the implementation, see {@link #openTransactionalDb} and {@link
+ * #openWriteBatchDb}.
+ */
+public abstract class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames>>
+    implements ZeebeDb<ColumnFamilyNames> {
 
   private static final Logger LOG = Loggers.DB_LOGGER;
   private static final String ERROR_MESSAGE_CLOSE_RESOURCE =
       "Expected to close RocksDB resource successfully, but exception was thrown. Will continue to close remaining resources.";
-  private final OptimisticTransactionDB optimisticTransactionDB;
+  // properties which RocksDB reports per column family, and which are summed up over all of them;
+  // all others are reported for the whole database, e.g. of the shared block cache
+  private static final Set<String> COLUMN_FAMILY_PROPERTIES =
+      Set.of(
+          "rocksdb.cur-size-all-mem-tables",
+          "rocksdb.cur-size-active-mem-table",
+          "rocksdb.size-all-mem-tables",
+          "rocksdb.num-entries-imm-mem-tables",
+          "rocksdb.mem-table-flush-pending",
+          "rocksdb.estimate-table-readers-mem",
+          "rocksdb.total-sst-files-size",
+          "rocksdb.live-sst-files-size",
+          "rocksdb.estimate-num-keys",
+          "rocksdb.estimate-live-data-size");
+  private final RocksDB rocksDb;
   private final List<AutoCloseable> closables;
   private final ReadOptions prefixReadOptions;
+  private final ReadOptions totalOrderReadOptions;
   private final ReadOptions defaultReadOptions;
   private final WriteOptions defaultWriteOptions;
   private final ColumnFamilyHandle defaultHandle;
   private final long defaultNativeHandle;
+  private final Map<String, ColumnFamilyHandle> physicalColumnFamilyHandles;
+  private final Function<String, ColumnFamilyOptions> columnFamilyOptionsFactory;
+  private final RocksDbConfiguration rocksDbConfiguration;
+  private final boolean physicalColumnFamiliesEnabled;
+  private final Int2ObjectHashMap<ColumnFamilyReference> columnFamilyReferences =
+      new Int2ObjectHashMap<>();
+  private final Int2ObjectHashMap<ColumnFamilyCache> columnFamilyCaches = new Int2ObjectHashMap<>();
+  private final Object cacheCommitLock = new Object();
 
   protected ZeebeTransactionDb(
       final ColumnFamilyHandle defaultHandle,
-      final OptimisticTransactionDB optimisticTransactionDB,
+      final Map<String, ColumnFamilyHandle> physicalColumnFamilyHandles,
+      final RocksDB rocksDb,
       final List<AutoCloseable> closables,
-      final RocksDbConfiguration rocksDbConfiguration) {
+      final RocksDbConfiguration rocksDbConfiguration,
+      final Function<String, ColumnFamilyOptions> columnFamilyOptionsFactory) {
     this.defaultHandle = defaultHandle;
     defaultNativeHandle = getNativeHandle(defaultHandle);
-    this.optimisticTransactionDB = optimisticTransactionDB;
+    this.physicalColumnFamilyHandles = physicalColumnFamilyHandles;
+    this.rocksDb = rocksDb;
     this.closables = closables;
+    this.columnFamilyOptionsFactory = columnFamilyOptionsFactory;
+    this.rocksDbConfiguration = rocksDbConfiguration;
+    physicalColumnFamiliesEnabled = rocksDbConfiguration.isPhysicalColumnFamiliesEnabled();
 
     prefixReadOptions =
         new ReadOptions()
@@ -64,26 +113,134 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
             // wise)
             .setReadaheadSize(0);
     closables.add(prefixReadOptions);
+    // used to seek with a prefix which is shorter than the prefix extractor of the column family
+    totalOrderReadOptions = new ReadOptions().setTotalOrderSeek(true).setReadaheadSize(0);
+    closables.add(totalOrderReadOptions);
     defaultReadOptions = new ReadOptions();
     closables.add(defaultReadOptions);
     defaultWriteOptions = new WriteOptions().setDisableWAL(rocksDbConfiguration.isWalDisabled());
     closables.add(defaultWriteOptions);
   }
 
+  /**
+   * Opens the database with all of its existing column families, as an optimistic transaction
+   * database. Its transactions detect whether another transaction wrote the same keys concurrently.
+   *
+   * @param options the options of the database and its default column family
+   * @param path the path of the database
+   * @param closables the resources to close when the database is closed
+   * @param rocksDbConfiguration the configuration of the database
+   * @param columnFamilyOptionsFactory creates the options of a physical column family by its name;
+   *     the factory is responsible to close them after the database
+   */
   public static <ColumnFamilyNames extends Enum<ColumnFamilyNames>>
       ZeebeTransactionDb<ColumnFamilyNames> openTransactionalDb(
           final Options options,
           final String path,
           final List<AutoCloseable> closables,
-          final RocksDbConfiguration rocksDbConfiguration)
+          final RocksDbConfiguration rocksDbConfiguration,
+          final Function<String, ColumnFamilyOptions> columnFamilyOptionsFactory)
           throws RocksDBException {
+    final List<ColumnFamilyDescriptor> descriptors =
+        createColumnFamilyDescriptors(options, path, closables, columnFamilyOptionsFactory);
+    final List<ColumnFamilyHandle> handles = new ArrayList<>();
     final OptimisticTransactionDB optimisticTransactionDB =
-        OptimisticTransactionDB.open(options, path);
+        OptimisticTransactionDB.open(
+            createDbOptions(options, closables), path, descriptors, handles);
     closables.add(optimisticTransactionDB);
-    final var defaultColumnFamilyHandle = optimisticTransactionDB.getDefaultColumnFamily();
+    // column family handles have to be closed before the database
+    closables.addAll(handles);
+
+    return new ZeebeOptimisticTransactionDb<>(
+        handles.get(0),
+        getPhysicalColumnFamilyHandles(descriptors, handles),
+        optimisticTransactionDB,
+        closables,
+        rocksDbConfiguration,
+        columnFamilyOptionsFactory);
+  }
+
+  /**
+   * Opens the database with all of its existing column families, as a plain database whose
+   * transactions keep their writes in a write batch, which is written to the database on commit.
+   * This avoids the overhead of tracking conflicts between transactions, but is only safe if there
+   * is a single writer.
+   *
+   * @see #openTransactionalDb(Options, String, List, RocksDbConfiguration, Function)
+   */
+  public static <ColumnFamilyNames extends Enum<ColumnFamilyNames>>
+      ZeebeTransactionDb<ColumnFamilyNames> openWriteBatchDb(
+          final Options options,
+          final String path,
+          final List<AutoCloseable> closables,
+          final RocksDbConfiguration rocksDbConfiguration,
+          final Function<String, ColumnFamilyOptions> columnFamilyOptionsFactory)
+          throws RocksDBException {
+    final List<ColumnFamilyDescriptor> descriptors =
+        createColumnFamilyDescriptors(options, path, closables, columnFamilyOptionsFactory);
+    final List<ColumnFamilyHandle> handles = new ArrayList<>();
+    final RocksDB rocksDb =
+        RocksDB.open(createDbOptions(options, closables), path, descriptors, handles);
+    closables.add(rocksDb);
+    // column family handles have to be closed before the database
+    closables.addAll(handles);
+
+    return new ZeebeWriteBatchDb<>(
+        handles.get(0),
+        getPhysicalColumnFamilyHandles(descriptors, handles),
+        rocksDb,
+        closables,
+        rocksDbConfiguration,
+        columnFamilyOptionsFactory);
+  }
+
+  private static List<ColumnFamilyDescriptor> createColumnFamilyDescriptors(
+      final Options options,
+      final String path,
+      final List<AutoCloseable> closables,
+      final Function<String, ColumnFamilyOptions> columnFamilyOptionsFactory)
+      throws RocksDBException {
+    final var defaultColumnFamilyOptions = new ColumnFamilyOptions(options);
+    // column family options have to be closed as last
+    closables.add(0, defaultColumnFamilyOptions);
+    final List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+    descriptors.add(
+        new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY, defaultColumnFamilyOptions));
+    for (final byte[] name : listColumnFamilies(options, path)) {
+      if (!Arrays.equals(name, RocksDB.DEFAULT_COLUMN_FAMILY)) {
+        descriptors.add(
+            new ColumnFamilyDescriptor(
+                name, columnFamilyOptionsFactory.apply(new String(name, StandardCharsets.UTF_8))));
+      }
+    }
+    return descriptors;
+  }
+
+  private static DBOptions createDbOptions(
+      final Options options, final List<AutoCloseable> closables) {
+    final var dbOptions = new DBOptions(options);
+    closables.add(dbOptions);
+    return dbOptions;
+  }
 
-    return new ZeebeTransactionDb<>(
-        defaultColumnFamilyHandle, optimisticTransactionDB, closables, rocksDbConfiguration);
+  private static Map<String, ColumnFamilyHandle> getPhysicalColumnFamilyHandles(
+      final List<ColumnFamilyDescriptor> descriptors, final List<ColumnFamilyHandle> handles) {
+    final Map<String, ColumnFamilyHandle> physicalColumnFamilyHandles = new HashMap<>();
+    for (int i = 1; i < handles.size(); i++) {
+      physicalColumnFamilyHandles.put(
+          new String(descriptors.get(i).getName(), StandardCharsets.UTF_8), handles.get(i));
+    }
+    return physicalColumnFamilyHandles;
+  }
+
+  private static List<byte[]> listColumnFamilies(final Options options, final String path)
+      throws RocksDBException {
+    if (!new File(path, "CURRENT").exists()) {
+      // the database does not exist yet
+      return List.of();
+    }
+
+    return RocksDB.listColumnFamilies(options, path);
   }
 
   static long getNativeHandle(final RocksObject object) {
@@ -95,14 +252,127 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     }
   }
 
+  /** Creates a new transaction of the database, which is reused by a transaction context. */
+  protected abstract ZeebeTransaction createTransaction();
+
+  protected RocksDB getRocksDb() {
+    return rocksDb;
+  }
+
+  protected WriteOptions getDefaultWriteOptions() {
+    return defaultWriteOptions;
+  }
+
+  protected Object getCacheCommitLock() {
+    return cacheCommitLock;
+  }
+
   protected ReadOptions getPrefixReadOptions() {
     return prefixReadOptions;
   }
 
+  synchronized void addClosable(final AutoCloseable closable) {
+    closables.add(closable);
+  }
+
   protected ColumnFamilyHandle getDefaultHandle() {
     return defaultHandle;
   }
 
+  /**
+   * Returns the RocksDB column family in which the given logical column family is stored. If the
+   * logical column family was not used yet, and physical column families are enabled, a new
+   * physical column family is created for it, unless it already has entries in the default column
+   * family.
+   */
+  synchronized ColumnFamilyReference getColumnFamilyReference(
+      final ColumnFamilyNames columnFamily) {
+    var reference = columnFamilyReferences.get(columnFamily.ordinal());
+    if (reference == null) {
+      reference = createColumnFamilyReference(columnFamily);
+      columnFamilyReferences.put(columnFamily.ordinal(), reference);
+    }
+    return reference;
+  }
+
+  private ColumnFamilyReference createColumnFamilyReference(final ColumnFamilyNames columnFamily) {
+    final var physicalHandle = physicalColumnFamilyHandles.get(columnFamily.name());
+    final int prefixExtractorLength =
+        rocksDbConfiguration
+            .getColumnFamilyConfiguration(columnFamily.name())
+            .getPrefixExtractorLength();
+    if (physicalHandle != null) {
+      return new ColumnFamilyReference(physicalHandle, prefixExtractorLength);
+    }
+
+    if (physicalColumnFamiliesEnabled && !hasEntriesInDefaultColumnFamily(columnFamily)) {
+      return new ColumnFamilyReference(
+          createPhysicalColumnFamily(columnFamily.name()), prefixExtractorLength);
+    }
+
+    return new ColumnFamilyReference(defaultHandle);
+  }
+
+  /**
+   * Returns the read cache of the given column family, which is shared by all of its instances.
+   *
+   * @return the read cache, or null if the column family has no read cache configured
+   */
+  synchronized ColumnFamilyCache getColumnFamilyCache(final ColumnFamilyNames columnFamily) {
+    var cache = columnFamilyCaches.get(columnFamily.ordinal());
+    if (cache == null) {
+      final long readCacheSize =
+          rocksDbConfiguration.getColumnFamilyConfiguration(columnFamily.name()).getReadCacheSize();
+      if (readCacheSize <= 0) {
+        return null;
+      }
+
+      cache = new ColumnFamilyCache(columnFamily.name(), readCacheSize);
+      columnFamilyCaches.put(columnFamily.ordinal(), cache);
+      closables.add(cache);
+    }
+    return cache;
+  }
+
+  private boolean hasEntriesInDefaultColumnFamily(final ColumnFamilyNames columnFamily) {
+    final byte[] prefix = columnFamilyPrefix(columnFamily.ordinal());
+    try (final RocksIterator iterator = rocksDb.newIterator(defaultHandle, prefixReadOptions)) {
+      return seekToPrefix(iterator, prefix);
+    }
+  }
+
+  /** @return true if the iterator contains any key with the given prefix */
+  private static boolean seekToPrefix(final RocksIterator iterator, final byte[] prefix) {
+    iterator.seek(prefix);
+    if (!iterator.isValid()) {
+      return false;
+    }
+
+    final byte[] key = iterator.key();
+    return BufferUtil.startsWith(prefix, 0, prefix.length, key, 0, key.length);
+  }
+
+  private ColumnFamilyHandle createPhysicalColumnFamily(final String name) {
+    try {
+      final var handle =
+          rocksDb.createColumnFamily(
+              new ColumnFamilyDescriptor(
+                  name.getBytes(StandardCharsets.UTF_8), columnFamilyOptionsFactory.apply(name)));
+      closables.add(handle);
+      physicalColumnFamilyHandles.put(name, handle);
+      return handle;
+    } catch (final RocksDBException e) {
+      throw new ZeebeDbException(
+          String.format("Failed to create physical column family %s.", name), e);
+    }
+  }
+
+  private static byte[] columnFamilyPrefix(final long columnFamilyPrefix) {
+    final byte[] prefix = new byte[Long.BYTES];
+    new UnsafeBuffer(prefix).putLong(0, columnFamilyPrefix, ZeebeDbConstants.ZB_DB_BYTE_ORDER);
+    return prefix;
+  }
+
   protected long getReadOptionsNativeHandle() {
     return getNativeHandle(defaultReadOptions);
   }
@@ -123,7 +393,7 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
 
   @Override
   public void createSnapshot(final File snapshotDir) {
-    try (final Checkpoint checkpoint = Checkpoint.create(optimisticTransactionDB)) {
+    try (final Checkpoint checkpoint = Checkpoint.create(rocksDb)) {
       try {
         checkpoint.createCheckpoint(snapshotDir.getAbsolutePath());
       } catch (final RocksDBException rocksException) {
@@ -137,17 +407,49 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
   public Optional<String> getProperty(final String propertyName) {
     String propertyValue = null;
     try {
-      propertyValue = optimisticTransactionDB.getProperty(defaultHandle, propertyName);
+      if (physicalColumnFamilyHandles.isEmpty()
+          || !COLUMN_FAMILY_PROPERTIES.contains(propertyName)) {
+        propertyValue = rocksDb.getProperty(defaultHandle, propertyName);
+      } else {
+        // sum up the property over all column families
+        propertyValue = String.valueOf(rocksDb.getAggregatedLongProperty(propertyName));
+      }
     } catch (final RocksDBException rde) {
       LOG.debug(rde.getMessage(), rde);
     }
     return Optional.ofNullable(propertyValue);
   }
 
+  @Override
+  public synchronized void dropColumnFamily(final ColumnFamilyNames columnFamily) {
+    final var reference = getColumnFamilyReference(columnFamily);
+    try {
+      if (reference.isPhysical()) {
+        final var oldHandle = reference.getHandle();
+        rocksDb.dropColumnFamily(oldHandle);
+        closables.remove(oldHandle);
+        oldHandle.close();
+        reference.setHandle(createPhysicalColumnFamily(columnFamily.name()));
+      } else {
+        rocksDb.deleteRange(
+            defaultHandle,
+            columnFamilyPrefix(columnFamily.ordinal()),
+            columnFamilyPrefix(columnFamily.ordinal() + 1L));
+      }
+    } catch (final RocksDBException e) {
+      throw new ZeebeDbException(
+          String.format("Failed to drop column family %s.", columnFamily), e);
+    }
+
+    final var cache = columnFamilyCaches.get(columnFamily.ordinal());
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
   @Override
   public TransactionContext createContext() {
-    final Transaction transaction = optimisticTransactionDB.beginTransaction(defaultWriteOptions);
-    final ZeebeTransaction zeebeTransaction = new ZeebeTransaction(transaction, this);
+    final ZeebeTransaction zeebeTransaction = createTransaction();
     closables.add(zeebeTransaction);
     return new DefaultTransactionContext(zeebeTransaction);
   }
@@ -155,13 +457,23 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
   @Override
   public boolean isEmpty(
       final ColumnFamilyNames columnFamilyName, final TransactionContext context) {
-    return createColumnFamily(columnFamilyName, context, DbNullKey.INSTANCE, DbNil.INSTANCE)
-        .isEmpty();
-  }
+    final var columnFamilyReference = getColumnFamilyReference(columnFamilyName);
+    final byte[] prefix = columnFamilyPrefix(columnFamilyName.ordinal());
+    final ReadOptions readOptions =
+        prefix.length < columnFamilyReference.getPrefixExtractorLength()
+            ? totalOrderReadOptions
+            : prefixReadOptions;
 
-  @Override
-  public Transaction renewTransaction(final Transaction oldTransaction) {
-    return optimisticTransactionDB.beginTransaction(defaultWriteOptions, oldTransaction);
+    final var isEmpty = new MutableBoolean(true);
+    context.runInTransaction(
+        () -> {
+          final var transaction = (ZeebeTransaction) context.getCurrentTransaction();
+          try (final RocksIterator iterator =
+              transaction.newIterator(readOptions, columnFamilyReference.getHandle())) {
+            isEmpty.set(!seekToPrefix(iterator, prefix));
+          }
+        });
+    return isEmpty.get();
   }
 
   @Override
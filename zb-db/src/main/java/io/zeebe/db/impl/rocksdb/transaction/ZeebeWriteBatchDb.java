@@ -0,0 +1,46 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.RocksDB;
+
+/**
+ * A database whose transactions keep their writes in a write batch, see {@link
+ * ZeebeWriteBatchTransaction}. It must only be used if there is a single writer.
+ */
+class ZeebeWriteBatchDb<ColumnFamilyNames extends Enum<ColumnFamilyNames>>
+    extends ZeebeTransactionDb<ColumnFamilyNames> {
+
+  ZeebeWriteBatchDb(
+      final ColumnFamilyHandle defaultHandle,
+      final Map<String, ColumnFamilyHandle> physicalColumnFamilyHandles,
+      final RocksDB rocksDb,
+      final List<AutoCloseable> closables,
+      final RocksDbConfiguration rocksDbConfiguration,
+      final Function<String, ColumnFamilyOptions> columnFamilyOptionsFactory) {
+    super(
+        defaultHandle,
+        physicalColumnFamilyHandles,
+        rocksDb,
+        closables,
+        rocksDbConfiguration,
+        columnFamilyOptionsFactory);
+  }
+
+  @Override
+  protected ZeebeTransaction createTransaction() {
+    return new ZeebeWriteBatchTransaction(
+        getRocksDb(), getDefaultWriteOptions(), getCacheCommitLock());
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatchWithIndex;
+import org.rocksdb.WriteOptions;
+
+/**
+ * A transaction which keeps its writes in an indexed write batch, and writes the batch to the
+ * database on commit. Reads and iterators merge the batch with the database, such that the writes
+ * are visible within the transaction.
+ *
+ * <p>In contrast to an optimistic transaction, it doesn't track conflicts with other transactions,
+ * i.e. concurrent writes of the same keys overwrite each other. It must only be used if there is a
+ * single writer.
+ */
+class ZeebeWriteBatchTransaction extends ZeebeTransaction {
+
+  private final RocksDB database;
+  private final long databaseHandle;
+  private final WriteOptions writeOptions;
+  // overwrite the previous write of the same key, which is required to iterate over the batch
+  private final WriteBatchWithIndex batch = new WriteBatchWithIndex(true);
+  private final long batchHandle = ZeebeTransactionDb.getNativeHandle(batch);
+
+  ZeebeWriteBatchTransaction(
+      final RocksDB database, final WriteOptions writeOptions, final Object cacheCommitLock) {
+    super(cacheCommitLock);
+    this.database = database;
+    this.writeOptions = writeOptions;
+    databaseHandle = ZeebeTransactionDb.getNativeHandle(database);
+  }
+
+  @Override
+  public void put(
+      final long columnFamilyHandle,
+      final byte[] key,
+      final int keyLength,
+      final byte[] value,
+      final int valueLength)
+      throws Exception {
+    RocksDbInternal.batchPutWithHandle.invoke(
+        batch, batchHandle, key, keyLength, value, valueLength, columnFamilyHandle);
+  }
+
+  @Override
+  public byte[] get(
+      final long columnFamilyHandle,
+      final long readOptionsHandle,
+      final byte[] key,
+      final int keyLength)
+      throws Exception {
+    return (byte[])
+        RocksDbInternal.batchGetWithHandle.invoke(
+            batch,
+            batchHandle,
+            databaseHandle,
+            readOptionsHandle,
+            key,
+            keyLength,
+            columnFamilyHandle);
+  }
+
+  @Override
+  public void delete(final long columnFamilyHandle, final byte[] key, final int keyLength)
+      throws Exception {
+    RocksDbInternal.batchRemoveWithHandle.invoke(
+        batch, batchHandle, key, keyLength, columnFamilyHandle);
+  }
+
+  @Override
+  public RocksIterator newIterator(final ReadOptions options, final ColumnFamilyHandle handle) {
+    // the returned iterator takes over the base iterator, and closes it when it is closed
+    return batch.newIteratorWithBase(handle, database.newIterator(handle, options), options);
+  }
+
+  @Override
+  protected void renew() {
+    batch.clear();
+  }
+
+  @Override
+  protected void commitWrites() throws RocksDBException {
+    database.write(writeOptions, batch);
+    // keep the batch if the write fails, such that the commit can be retried
+    batch.clear();
+  }
+
+  @Override
+  protected void rollbackWrites() {
+    batch.clear();
+  }
+
+  @Override
+  protected void setSavePointInternal() {
+    batch.setSavePoint();
+  }
+
+  @Override
+  protected void rollbackToSavePointInternal() throws RocksDBException {
+    batch.rollbackToSavePoint();
+  }
+
+  @Override
+  public void close() {
+    batch.close();
+  }
+}
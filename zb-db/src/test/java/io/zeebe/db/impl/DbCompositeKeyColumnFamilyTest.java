@@ -258,6 +258,28 @@ public final class DbCompositeKeyColumnFamilyTest {
     assertThat(secondKeyParts).containsExactly(12L, 13L, 53L, 213L);
   }
 
+  @Test
+  public void shouldUseWhileEqualPrefixWithDifferentPrefixes() {
+    // given
+    putKeyValuePair("foo", 12, "foo value");
+    putKeyValuePair("foobar", 53, "foobar value");
+    putKeyValuePair("hello", 34, "hello value");
+
+    // when
+    final List<String> values = new ArrayList<>();
+    for (final String prefix : List.of("foo", "hello", "foobar", "foo", "unknown")) {
+      firstKey.wrapString(prefix);
+      columnFamily.whileEqualPrefix(
+          firstKey,
+          (key, value) -> {
+            values.add(value.toString());
+          });
+    }
+
+    // then
+    assertThat(values).containsExactly("foo value", "hello value", "foobar value", "foo value");
+  }
+
   @Test
   public void shouldUseGetWhileIterating() {
     // given
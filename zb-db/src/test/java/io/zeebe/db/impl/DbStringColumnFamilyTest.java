@@ -225,6 +225,29 @@ public final class DbStringColumnFamilyTest {
             "Currently nested prefix iterations are not supported! This will cause unexpected behavior.");
   }
 
+  @Test
+  public void shouldIterateOverLargeKeysAndValues() {
+    // given
+    final String largeKey = "k".repeat(1024);
+    final String largeValue = "v".repeat(64 * 1024);
+    putKeyValuePair("a", "small");
+    putKeyValuePair(largeKey, largeValue);
+    putKeyValuePair("z", "small again");
+
+    // when
+    final List<String> keys = new ArrayList<>();
+    final List<String> values = new ArrayList<>();
+    columnFamily.forEach(
+        (key, value) -> {
+          keys.add(key.toString());
+          values.add(value.toString());
+        });
+
+    // then
+    assertThat(keys).containsExactly("a", "z", largeKey);
+    assertThat(values).containsExactly("small", "small again", largeValue);
+  }
+
   private void putKeyValuePair(final String key, final String value) {
     this.key.wrapString(key);
     this.value.wrapString(value);
@@ -0,0 +1,263 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.prometheus.client.CollectorRegistry;
+import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.TransactionContext;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.impl.DbLong;
+import io.zeebe.db.impl.rocksdb.ColumnFamilyConfiguration;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class ColumnFamilyCacheTest {
+
+  // a cached entry of the column family takes 64 + 16 + 8 bytes
+  private static final long SMALL_CACHE_SIZE = 3 * 88;
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final DbLong key = new DbLong();
+  private final DbLong value = new DbLong();
+  private final DbLong otherKey = new DbLong();
+  private final DbLong otherValue = new DbLong();
+
+  private ZeebeDb<TestColumnFamilies> db;
+  private TransactionContext context;
+  private ColumnFamily<DbLong, DbLong> columnFamily;
+  private ColumnFamily<DbLong, DbLong> otherColumnFamily;
+
+  @Before
+  public void setup() throws Exception {
+    final var configuration =
+        new RocksDbConfiguration()
+            .setColumnFamilyConfigurations(
+                Map.of(
+                    TestColumnFamilies.CACHED.name(),
+                    new ColumnFamilyConfiguration().setReadCacheSize(1024 * 1024),
+                    TestColumnFamilies.SMALL_CACHE.name(),
+                    new ColumnFamilyConfiguration().setReadCacheSize(SMALL_CACHE_SIZE)));
+    db =
+        ZeebeRocksDbFactory.<TestColumnFamilies>newFactory(configuration)
+            .createDb(temporaryFolder.newFolder());
+    context = db.createContext();
+    columnFamily = db.createColumnFamily(TestColumnFamilies.CACHED, context, key, value);
+    otherColumnFamily =
+        db.createColumnFamily(TestColumnFamilies.CACHED, db.createContext(), otherKey, otherValue);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    db.close();
+  }
+
+  @Test
+  public void shouldReadCommittedValueFromCache() {
+    // given
+    put(columnFamily, 1, 10);
+    final double hits = getHits(TestColumnFamilies.CACHED);
+
+    // when
+    final Long cachedValue = get(otherColumnFamily, 1);
+
+    // then
+    assertThat(cachedValue).isEqualTo(10);
+    assertThat(getHits(TestColumnFamilies.CACHED)).isEqualTo(hits + 1);
+  }
+
+  @Test
+  public void shouldCacheMissingKey() {
+    // given
+    assertThat(get(columnFamily, 1)).isNull();
+    final double hits = getHits(TestColumnFamilies.CACHED);
+
+    // when
+    final boolean exists = exists(otherColumnFamily, 1);
+
+    // then
+    assertThat(exists).isFalse();
+    assertThat(getHits(TestColumnFamilies.CACHED)).isEqualTo(hits + 1);
+  }
+
+  @Test
+  public void shouldReadUncommittedWritesOnlyInTransaction() {
+    // given
+    put(columnFamily, 1, 10);
+
+    // when
+    context.runInTransaction(
+        () -> {
+          put(columnFamily, 1, 20);
+          put(columnFamily, 2, 30);
+
+          // then
+          assertThat(get(columnFamily, 1)).isEqualTo(20);
+          assertThat(get(columnFamily, 2)).isEqualTo(30);
+          assertThat(get(otherColumnFamily, 1)).isEqualTo(10);
+          assertThat(get(otherColumnFamily, 2)).isNull();
+        });
+
+    assertThat(get(otherColumnFamily, 1)).isEqualTo(20);
+    assertThat(get(otherColumnFamily, 2)).isEqualTo(30);
+  }
+
+  @Test
+  public void shouldDiscardRolledBackWrites() throws Exception {
+    // given
+    put(columnFamily, 1, 10);
+    final var transaction = context.getCurrentTransaction();
+    put(columnFamily, 1, 20);
+    delete(columnFamily, 1);
+    put(columnFamily, 2, 30);
+
+    // when
+    transaction.rollback();
+
+    // then
+    assertThat(get(columnFamily, 1)).isEqualTo(10);
+    assertThat(get(columnFamily, 2)).isNull();
+    assertThat(get(otherColumnFamily, 1)).isEqualTo(10);
+    assertThat(get(otherColumnFamily, 2)).isNull();
+  }
+
+  @Test
+  public void shouldDiscardWritesAfterSavePoint() throws Exception {
+    // given
+    put(columnFamily, 1, 10);
+    final var transaction = context.getCurrentTransaction();
+    put(columnFamily, 2, 20);
+    transaction.setSavePoint();
+    put(columnFamily, 1, 30);
+    delete(columnFamily, 2);
+    put(columnFamily, 3, 40);
+
+    // when
+    transaction.rollbackToSavePoint();
+
+    // then
+    assertThat(get(columnFamily, 1)).isEqualTo(10);
+    assertThat(get(columnFamily, 2)).isEqualTo(20);
+    assertThat(get(columnFamily, 3)).isNull();
+
+    transaction.commit();
+    assertThat(get(otherColumnFamily, 1)).isEqualTo(10);
+    assertThat(get(otherColumnFamily, 2)).isEqualTo(20);
+    assertThat(get(otherColumnFamily, 3)).isNull();
+  }
+
+  @Test
+  public void shouldNotReadDeletedValue() {
+    // given
+    put(columnFamily, 1, 10);
+    assertThat(get(otherColumnFamily, 1)).isEqualTo(10);
+
+    // when
+    delete(columnFamily, 1);
+
+    // then
+    assertThat(get(columnFamily, 1)).isNull();
+    assertThat(get(otherColumnFamily, 1)).isNull();
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedEntries() {
+    // given
+    final var smallCacheColumnFamily =
+        db.createColumnFamily(TestColumnFamilies.SMALL_CACHE, context, key, value);
+    for (long i = 1; i <= 5; i++) {
+      put(smallCacheColumnFamily, i, i * 10);
+    }
+    final double hits = getHits(TestColumnFamilies.SMALL_CACHE);
+
+    // when
+    for (long i = 5; i >= 1; i--) {
+      assertThat(get(smallCacheColumnFamily, i)).isEqualTo(i * 10);
+    }
+
+    // then only the last three written entries were still cached
+    assertThat(getHits(TestColumnFamilies.SMALL_CACHE)).isEqualTo(hits + 3);
+    assertThat(
+            CollectorRegistry.defaultRegistry.getSampleValue(
+                "zeebe_rocksdb_read_cache_size_bytes",
+                new String[] {"columnFamily"},
+                new String[] {TestColumnFamilies.SMALL_CACHE.name()}))
+        .isEqualTo(SMALL_CACHE_SIZE);
+  }
+
+  @Test
+  public void shouldClearCacheWhenColumnFamilyIsDropped() {
+    // given
+    put(columnFamily, 1, 10);
+    assertThat(get(columnFamily, 1)).isEqualTo(10);
+
+    // when
+    db.dropColumnFamily(TestColumnFamilies.CACHED);
+
+    // then
+    assertThat(get(columnFamily, 1)).isNull();
+  }
+
+  @Test
+  public void shouldNotCreateCacheByDefault() {
+    // when
+    final var cache =
+        ((ZeebeTransactionDb<TestColumnFamilies>) db)
+            .getColumnFamilyCache(TestColumnFamilies.NOT_CACHED);
+
+    // then
+    assertThat(cache).isNull();
+  }
+
+  private void put(final ColumnFamily<DbLong, DbLong> columnFamily, final long k, final long v) {
+    key.wrapLong(k);
+    value.wrapLong(v);
+    columnFamily.put(key, value);
+  }
+
+  private void delete(final ColumnFamily<DbLong, DbLong> columnFamily, final long k) {
+    key.wrapLong(k);
+    columnFamily.delete(key);
+  }
+
+  private Long get(final ColumnFamily<DbLong, DbLong> columnFamily, final long k) {
+    final var keyInstance = columnFamily == otherColumnFamily ? otherKey : key;
+    keyInstance.wrapLong(k);
+    final DbLong result = columnFamily.get(keyInstance);
+    return result == null ? null : result.getValue();
+  }
+
+  private boolean exists(final ColumnFamily<DbLong, DbLong> columnFamily, final long k) {
+    final var keyInstance = columnFamily == otherColumnFamily ? otherKey : key;
+    keyInstance.wrapLong(k);
+    return columnFamily.exists(keyInstance);
+  }
+
+  private static double getHits(final TestColumnFamilies columnFamily) {
+    final Double hits =
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            "zeebe_rocksdb_read_cache_hits_total",
+            new String[] {"columnFamily"},
+            new String[] {columnFamily.name()});
+    return hits == null ? 0 : hits;
+  }
+
+  private enum TestColumnFamilies {
+    CACHED,
+    SMALL_CACHE,
+    NOT_CACHED
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.After;
+import org.junit.Test;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+
+public final class IterationReadOptionsTest {
+
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  private final IterationReadOptions iterationReadOptions = new IterationReadOptions();
+
+  @After
+  public void tearDown() {
+    iterationReadOptions.close();
+  }
+
+  @Test
+  public void shouldSetUpperBoundOfPrefix() {
+    // given
+    final byte[] prefix = {0, 0, 1, 5};
+
+    // when
+    final ReadOptions readOptions = apply(prefix, true);
+
+    // then
+    assertThat(readOptions.iterateUpperBound().data()).containsExactly(0, 0, 1, 6);
+    assertThat(readOptions.prefixSameAsStart()).isTrue();
+    assertThat(readOptions.totalOrderSeek()).isFalse();
+  }
+
+  @Test
+  public void shouldSkipTrailingMaxBytesInUpperBound() {
+    // given
+    final byte[] prefix = {0, 0, 1, (byte) 0xFF, (byte) 0xFF};
+
+    // when
+    final ReadOptions readOptions = apply(prefix, true);
+
+    // then
+    assertThat(readOptions.iterateUpperBound().data()).containsExactly(0, 0, 2);
+  }
+
+  @Test
+  public void shouldReplaceUpperBoundOfDifferentPrefix() {
+    // given
+    apply(new byte[] {0, 0, 1, 5}, true);
+
+    // when
+    final ReadOptions readOptions = apply(new byte[] {0, 0, 1, 5, 3}, false);
+
+    // then
+    assertThat(readOptions.iterateUpperBound().data()).containsExactly(0, 0, 1, 5, 4);
+    assertThat(readOptions.prefixSameAsStart()).isFalse();
+    assertThat(readOptions.totalOrderSeek()).isTrue();
+  }
+
+  @Test
+  public void shouldKeepUpperBoundOfSamePrefix() {
+    // given
+    final byte[] prefix = {0, 0, 1, 5};
+    apply(prefix, true);
+
+    // when
+    final ReadOptions readOptions = apply(prefix.clone(), true);
+
+    // then
+    assertThat(readOptions.iterateUpperBound().data()).containsExactly(0, 0, 1, 6);
+  }
+
+  private ReadOptions apply(final byte[] prefix, final boolean prefixSeek) {
+    // the prefix buffer is usually larger than the prefix
+    final byte[] buffer = new byte[prefix.length + 4];
+    System.arraycopy(prefix, 0, buffer, 0, prefix.length);
+    return iterationReadOptions.apply(new UnsafeBuffer(buffer), prefix.length, prefixSeek);
+  }
+}
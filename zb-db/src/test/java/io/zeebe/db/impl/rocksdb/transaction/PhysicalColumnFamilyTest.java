@@ -0,0 +1,254 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.impl.DbLong;
+import io.zeebe.db.impl.rocksdb.ColumnFamilyConfiguration;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class PhysicalColumnFamilyTest {
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final DbLong key = new DbLong();
+  private final DbLong value = new DbLong();
+  private File pathName;
+
+  @Before
+  public void setup() throws Exception {
+    pathName = temporaryFolder.newFolder();
+  }
+
+  @Test
+  public void shouldCreatePhysicalColumnFamilyIfEnabled() throws Exception {
+    // given
+    final var db = openDb(true);
+
+    // when
+    put(db, TestColumnFamilies.ONE, 1);
+
+    // then
+    assertThat(isPhysical(db, TestColumnFamilies.ONE)).isTrue();
+    assertThat(get(db, TestColumnFamilies.ONE, 1)).isEqualTo(1);
+    db.close();
+  }
+
+  @Test
+  public void shouldNotCreatePhysicalColumnFamilyByDefault() throws Exception {
+    // given
+    final var db = openDb(false);
+
+    // when
+    put(db, TestColumnFamilies.ONE, 1);
+
+    // then
+    assertThat(isPhysical(db, TestColumnFamilies.ONE)).isFalse();
+    assertThat(get(db, TestColumnFamilies.ONE, 1)).isEqualTo(1);
+    db.close();
+  }
+
+  @Test
+  public void shouldReopenPhysicalColumnFamilies() throws Exception {
+    // given
+    var db = openDb(true);
+    put(db, TestColumnFamilies.ONE, 1);
+    put(db, TestColumnFamilies.TWO, 2);
+    db.close();
+
+    // when
+    db = openDb(false);
+
+    // then
+    assertThat(isPhysical(db, TestColumnFamilies.ONE)).isTrue();
+    assertThat(isPhysical(db, TestColumnFamilies.TWO)).isTrue();
+    assertThat(get(db, TestColumnFamilies.ONE, 1)).isEqualTo(1);
+    assertThat(get(db, TestColumnFamilies.TWO, 2)).isEqualTo(2);
+    db.close();
+  }
+
+  @Test
+  public void shouldKeepExistingColumnFamilyInDefaultColumnFamily() throws Exception {
+    // given
+    var db = openDb(false);
+    put(db, TestColumnFamilies.ONE, 1);
+    db.close();
+
+    // when
+    db = openDb(true);
+    put(db, TestColumnFamilies.TWO, 2);
+
+    // then
+    assertThat(isPhysical(db, TestColumnFamilies.ONE)).isFalse();
+    assertThat(isPhysical(db, TestColumnFamilies.TWO)).isTrue();
+    assertThat(get(db, TestColumnFamilies.ONE, 1)).isEqualTo(1);
+    assertThat(get(db, TestColumnFamilies.TWO, 2)).isEqualTo(2);
+    db.close();
+  }
+
+  @Test
+  public void shouldDropPhysicalColumnFamily() throws Exception {
+    // given
+    final var db = openDb(true);
+    put(db, TestColumnFamilies.ONE, 1);
+    put(db, TestColumnFamilies.TWO, 2);
+
+    // when
+    db.dropColumnFamily(TestColumnFamilies.ONE);
+
+    // then
+    assertThat(get(db, TestColumnFamilies.ONE, 1)).isNull();
+    assertThat(get(db, TestColumnFamilies.TWO, 2)).isEqualTo(2);
+    put(db, TestColumnFamilies.ONE, 3);
+    assertThat(get(db, TestColumnFamilies.ONE, 3)).isEqualTo(3);
+    db.close();
+  }
+
+  @Test
+  public void shouldDropSharedColumnFamily() throws Exception {
+    // given
+    final var db = openDb(false);
+    put(db, TestColumnFamilies.ONE, 1);
+    put(db, TestColumnFamilies.TWO, 2);
+    put(db, TestColumnFamilies.THREE, 3);
+
+    // when
+    db.dropColumnFamily(TestColumnFamilies.TWO);
+
+    // then
+    assertThat(get(db, TestColumnFamilies.ONE, 1)).isEqualTo(1);
+    assertThat(get(db, TestColumnFamilies.TWO, 2)).isNull();
+    assertThat(get(db, TestColumnFamilies.THREE, 3)).isEqualTo(3);
+    db.close();
+  }
+
+  @Test
+  public void shouldIterateOverAllKeysWithLongerPrefixExtractor() throws Exception {
+    // given
+    final var configuration =
+        new RocksDbConfiguration()
+            .setPhysicalColumnFamiliesEnabled(true)
+            .setColumnFamilyConfigurations(
+                Map.of(
+                    TestColumnFamilies.ONE.name(),
+                    new ColumnFamilyConfiguration().setPrefixExtractorLength(2 * Long.BYTES)));
+    final var db =
+        ZeebeRocksDbFactory.<TestColumnFamilies>newFactory(configuration).createDb(pathName);
+    put(db, TestColumnFamilies.ONE, 1);
+    put(db, TestColumnFamilies.ONE, 2);
+    put(db, TestColumnFamilies.ONE, 3);
+
+    // when
+    final List<Long> keys = new ArrayList<>();
+    columnFamily(db, TestColumnFamilies.ONE).forEach((k, v) -> keys.add(k.getValue()));
+
+    // then
+    assertThat(keys).containsExactly(1L, 2L, 3L);
+    db.close();
+  }
+
+  @Test
+  public void shouldSumColumnFamilyPropertiesOverPhysicalColumnFamilies() throws Exception {
+    // given
+    final var db = openDb(true);
+
+    // when
+    put(db, TestColumnFamilies.ONE, 1);
+    put(db, TestColumnFamilies.TWO, 2);
+    put(db, TestColumnFamilies.TWO, 3);
+
+    // then
+    assertThat(db.getProperty("rocksdb.estimate-num-keys")).hasValue("3");
+    db.close();
+  }
+
+  @Test
+  public void shouldNotSumDatabasePropertiesOverPhysicalColumnFamilies() throws Exception {
+    // given
+    final var db = openDb(true);
+    put(db, TestColumnFamilies.ONE, 1);
+    put(db, TestColumnFamilies.TWO, 2);
+
+    // when
+    final var capacity = db.getProperty("rocksdb.block-cache-capacity");
+
+    // then - the shared cache also holds the memtables, so its capacity is the whole memory limit
+    assertThat(capacity).hasValue(String.valueOf(new RocksDbConfiguration().getMemoryLimit()));
+    db.close();
+  }
+
+  @Test
+  public void shouldOnlyUseBlockCacheForBlocksWithoutPhysicalColumnFamilies() throws Exception {
+    // given
+    final var db = openDb(false);
+
+    // when
+    final var capacity = db.getProperty("rocksdb.block-cache-capacity");
+
+    // then
+    assertThat(capacity)
+        .hasValue(String.valueOf(new RocksDbConfiguration().getMemoryLimit() / 3));
+    db.close();
+  }
+
+  private ZeebeDb<TestColumnFamilies> openDb(final boolean physicalColumnFamiliesEnabled) {
+    return openDb(physicalColumnFamiliesEnabled, pathName);
+  }
+
+  private ZeebeDb<TestColumnFamilies> openDb(
+      final boolean physicalColumnFamiliesEnabled, final File pathName) {
+    return ZeebeRocksDbFactory.<TestColumnFamilies>newFactory(
+            new RocksDbConfiguration()
+                .setPhysicalColumnFamiliesEnabled(physicalColumnFamiliesEnabled))
+        .createDb(pathName);
+  }
+
+  private ColumnFamily<DbLong, DbLong> columnFamily(
+      final ZeebeDb<TestColumnFamilies> db, final TestColumnFamilies columnFamily) {
+    return db.createColumnFamily(columnFamily, db.createContext(), key, value);
+  }
+
+  private void put(
+      final ZeebeDb<TestColumnFamilies> db, final TestColumnFamilies columnFamily, final long k) {
+    key.wrapLong(k);
+    value.wrapLong(k);
+    columnFamily(db, columnFamily).put(key, value);
+  }
+
+  private Long get(
+      final ZeebeDb<TestColumnFamilies> db, final TestColumnFamilies columnFamily, final long k) {
+    key.wrapLong(k);
+    final DbLong result = columnFamily(db, columnFamily).get(key);
+    return result == null ? null : result.getValue();
+  }
+
+  private static boolean isPhysical(
+      final ZeebeDb<TestColumnFamilies> db, final TestColumnFamilies columnFamily) {
+    return ((ZeebeTransactionDb<TestColumnFamilies>) db)
+        .getColumnFamilyReference(columnFamily)
+        .isPhysical();
+  }
+
+  private enum TestColumnFamilies {
+    ONE,
+    TWO,
+    THREE
+  }
+}
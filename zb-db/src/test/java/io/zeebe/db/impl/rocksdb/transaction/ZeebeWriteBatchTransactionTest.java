@@ -0,0 +1,188 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.TransactionContext;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.db.impl.DbCompositeKey;
+import io.zeebe.db.impl.DbLong;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class ZeebeWriteBatchTransactionTest {
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final DbLong firstKey = new DbLong();
+  private final DbLong secondKey = new DbLong();
+  private final DbCompositeKey<DbLong, DbLong> key = new DbCompositeKey<>(firstKey, secondKey);
+  private final DbLong value = new DbLong();
+  private final DbLong otherFirstKey = new DbLong();
+  private final DbLong otherSecondKey = new DbLong();
+  private final DbCompositeKey<DbLong, DbLong> otherKey =
+      new DbCompositeKey<>(otherFirstKey, otherSecondKey);
+  private final DbLong otherValue = new DbLong();
+
+  private ZeebeDb<TestColumnFamilies> db;
+  private TransactionContext context;
+  private ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbLong> columnFamily;
+  private ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbLong> otherColumnFamily;
+
+  @Before
+  public void setup() throws Exception {
+    db =
+        ZeebeRocksDbFactory.<TestColumnFamilies>newFactory(
+                new RocksDbConfiguration().setWriteBatchTransactionsEnabled(true))
+            .createDb(temporaryFolder.newFolder());
+    context = db.createContext();
+    columnFamily = db.createColumnFamily(TestColumnFamilies.DEFAULT, context, key, value);
+    otherColumnFamily =
+        db.createColumnFamily(TestColumnFamilies.DEFAULT, db.createContext(), otherKey, otherValue);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    db.close();
+  }
+
+  @Test
+  public void shouldUseWriteBatchDb() {
+    assertThat(db).isInstanceOf(ZeebeWriteBatchDb.class);
+  }
+
+  @Test
+  public void shouldReadOwnWritesBeforeCommit() throws Exception {
+    // given
+    final ZeebeDbTransaction transaction = context.getCurrentTransaction();
+
+    // when
+    put(1, 1, 10);
+
+    // then
+    assertThat(get(columnFamily, 1, 1)).isEqualTo(10);
+    assertThat(get(otherColumnFamily, 1, 1)).isNull();
+    transaction.rollback();
+  }
+
+  @Test
+  public void shouldWriteBatchOnCommit() {
+    // when
+    context.runInTransaction(
+        () -> {
+          put(1, 1, 10);
+          put(1, 2, 20);
+          delete(1, 2);
+        });
+
+    // then
+    assertThat(get(otherColumnFamily, 1, 1)).isEqualTo(10);
+    assertThat(get(otherColumnFamily, 1, 2)).isNull();
+  }
+
+  @Test
+  public void shouldDiscardBatchOnRollback() throws Exception {
+    // given
+    context.runInTransaction(() -> put(1, 1, 10));
+    final ZeebeDbTransaction transaction = context.getCurrentTransaction();
+    put(1, 1, 11);
+    put(1, 2, 20);
+
+    // when
+    transaction.rollback();
+
+    // then
+    assertThat(get(columnFamily, 1, 1)).isEqualTo(10);
+    assertThat(get(columnFamily, 1, 2)).isNull();
+  }
+
+  @Test
+  public void shouldRollbackToSavePoint() throws Exception {
+    // given
+    final ZeebeDbTransaction transaction = context.getCurrentTransaction();
+    put(1, 1, 10);
+    transaction.setSavePoint();
+    put(1, 1, 11);
+    put(1, 2, 20);
+
+    // when
+    transaction.rollbackToSavePoint();
+    transaction.commit();
+
+    // then
+    assertThat(get(otherColumnFamily, 1, 1)).isEqualTo(10);
+    assertThat(get(otherColumnFamily, 1, 2)).isNull();
+  }
+
+  @Test
+  public void shouldIterateOverBatchAndDatabase() throws Exception {
+    // given
+    context.runInTransaction(
+        () -> {
+          put(1, 1, 10);
+          put(1, 2, 20);
+          put(1, 3, 30);
+          put(2, 1, 40);
+        });
+    final ZeebeDbTransaction transaction = context.getCurrentTransaction();
+    put(1, 1, 11);
+    delete(1, 2);
+    put(1, 4, 50);
+
+    // when
+    final List<Long> values = new ArrayList<>();
+    firstKey.wrapLong(1);
+    columnFamily.whileEqualPrefix(
+        firstKey,
+        (k, v) -> {
+          values.add(v.getValue());
+        });
+    transaction.rollback();
+
+    // then
+    assertThat(values).containsExactly(11L, 30L, 50L);
+  }
+
+  private void put(final long first, final long second, final long v) {
+    firstKey.wrapLong(first);
+    secondKey.wrapLong(second);
+    value.wrapLong(v);
+    columnFamily.put(key, value);
+  }
+
+  private void delete(final long first, final long second) {
+    firstKey.wrapLong(first);
+    secondKey.wrapLong(second);
+    columnFamily.delete(key);
+  }
+
+  private Long get(
+      final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbLong> columnFamily,
+      final long first,
+      final long second) {
+    final var keyInstance = columnFamily == otherColumnFamily ? otherKey : key;
+    keyInstance.getFirst().wrapLong(first);
+    keyInstance.getSecond().wrapLong(second);
+    final DbLong result = columnFamily.get(keyInstance);
+    return result == null ? null : result.getValue();
+  }
+
+  private enum TestColumnFamilies {
+    DEFAULT
+  }
+}